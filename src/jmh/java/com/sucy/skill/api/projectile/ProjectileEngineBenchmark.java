@@ -0,0 +1,85 @@
+package com.sucy.skill.api.projectile;
+
+import com.sucy.skill.api.Settings;
+import com.sucy.skill.api.util.EntityIndex;
+import com.sucy.skill.testutil.BenchmarkServer;
+import org.bukkit.Location;
+import org.bukkit.World;
+import org.bukkit.entity.Player;
+import org.bukkit.entity.Zombie;
+import org.bukkit.util.Vector;
+import org.openjdk.jmh.annotations.*;
+
+import java.util.Random;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Ticks 5,000 piercing projectiles flying through a crowd of 200 zombies.
+ * Each measured batch is one second of server ticks, starting from a
+ * fresh volley so every tick moves the full number of projectiles.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.SingleShotTime)
+@OutputTimeUnit(TimeUnit.MILLISECONDS)
+@Warmup(iterations = 5, batchSize = ProjectileEngineBenchmark.TICKS)
+@Measurement(iterations = 10, batchSize = ProjectileEngineBenchmark.TICKS)
+@Fork(1)
+public class ProjectileEngineBenchmark {
+    static final int TICKS = 20;
+
+    private static final int PROJECTILES = 5_000;
+    private static final int ZOMBIES     = 200;
+
+    private BenchmarkServer server;
+    private World           world;
+    private Player          shooter;
+    private Random          random;
+
+    @Setup(Level.Trial)
+    public void setup() {
+        server = new BenchmarkServer();
+        server.start();
+        world = server.getWorld();
+        shooter = server.genPlayer("Shooter");
+        random = new Random(5000);
+
+        for (int i = 0; i < ZOMBIES; i++) {
+            world.spawn(new Location(world, 8000 + random.nextDouble() * 100, 65, 8000 + random.nextDouble() * 100), Zombie.class);
+        }
+    }
+
+    @Setup(Level.Iteration)
+    public void fire() {
+        ProjectileEngine.clear();
+        EntityIndex.tick();
+
+        Settings settings = new Settings();
+        settings.set(ParticleProjectile.SPEED, 1.5, 0);
+        settings.set(ParticleProjectile.STEPS, 1);
+        settings.set(ParticleProjectile.RADIUS, 0.1, 0);
+        settings.set(ParticleProjectile.GRAVITY, 0, 0);
+        settings.set(ParticleProjectile.DRAG, 0, 0);
+        settings.set("pierce", true);
+
+        for (int i = 0; i < PROJECTILES; i++) {
+            Location loc = new Location(world, 8000 + random.nextDouble() * 100, 65.5, 8000 + random.nextDouble() * 100);
+            Vector   dir = new Vector(random.nextDouble() - 0.5, 0, random.nextDouble() - 0.5);
+            loc.setDirection(dir.lengthSquared() == 0 ? new Vector(1, 0, 0) : dir.normalize());
+            new ParticleProjectile(shooter, 1, loc, settings, TICKS * 2);
+        }
+    }
+
+    @TearDown(Level.Trial)
+    public void tearDown() {
+        ProjectileEngine.clear();
+        EntityIndex.clear();
+        server.stop();
+    }
+
+    @Benchmark
+    public int tick() {
+        EntityIndex.tick();
+        ProjectileEngine.tick();
+        return ProjectileEngine.size();
+    }
+}
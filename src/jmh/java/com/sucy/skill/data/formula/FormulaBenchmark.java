@@ -0,0 +1,50 @@
+package com.sucy.skill.data.formula;
+
+import com.sucy.skill.data.formula.value.CustomValue;
+import org.openjdk.jmh.annotations.*;
+
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Compares computing a formula with the compiled {@link Formula} against
+ * the {@link LegacyFormula} interpreter it replaced, for equations like
+ * the ones attributes, exp and particle settings use.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class FormulaBenchmark {
+    @Param({"v+a*2", "(v*2+a)/sqrt(a+1)", "sin(v*10)*a+abs(v-a)"})
+    private String equation;
+
+    private LegacyFormula legacy;
+    private Formula       compiled;
+    private double        v;
+    private double        a;
+
+    @Setup
+    public void setup() {
+        legacy = new LegacyFormula(equation, new CustomValue("v"), new CustomValue("a"));
+        compiled = new Formula(equation, new CustomValue("v"), new CustomValue("a"));
+        v = 12;
+        a = 7;
+    }
+
+    @Benchmark
+    public double legacy() {
+        return legacy.compute(v, a);
+    }
+
+    @Benchmark
+    public double compiledVarargs() {
+        return compiled.compute(new double[]{v, a});
+    }
+
+    @Benchmark
+    public double compiled() {
+        return compiled.compute(v, a);
+    }
+}
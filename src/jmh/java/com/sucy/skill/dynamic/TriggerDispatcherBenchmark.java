@@ -0,0 +1,107 @@
+package com.sucy.skill.dynamic;
+
+import be.seeseemelk.mockbukkit.entity.PlayerMock;
+import com.sucy.skill.api.CastData;
+import com.sucy.skill.api.Settings;
+import com.sucy.skill.dynamic.trigger.Trigger;
+import com.sucy.skill.dynamic.trigger.TriggerComponent;
+import com.sucy.skill.testutil.BenchmarkServer;
+import org.bukkit.entity.LivingEntity;
+import org.bukkit.event.player.PlayerToggleSneakEvent;
+import org.openjdk.jmh.annotations.*;
+
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Measures the cost of dispatching one event as the number of skills using
+ * the trigger grows. The caster has every 50th skill, so the cost should
+ * follow the caster's own skills rather than every skill on the server,
+ * and an event for a player with none of the skills should stay flat.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class TriggerDispatcherBenchmark {
+    @Param({"1", "10", "100", "400", "1000"})
+    private int skills;
+
+    private BenchmarkServer        server;
+    private SneakTrigger           trigger;
+    private TriggerDispatcher      dispatcher;
+    private PlayerToggleSneakEvent casterEvent;
+    private PlayerToggleSneakEvent idleEvent;
+
+    @Setup
+    public void setup() {
+        server = new BenchmarkServer();
+        server.start();
+
+        PlayerMock caster = server.genPlayer("Caster");
+        PlayerMock idle   = server.genPlayer("Idle");
+        trigger = new SneakTrigger();
+        for (int i = 0; i < skills; i++) {
+            TriggerHandler handler = new TriggerHandler(new DynamicSkill("Skill " + i), "Skill " + i, trigger, new TriggerComponent());
+            if (i % 50 == 0) {
+                handler.init(caster, 1);
+            }
+        }
+
+        dispatcher = TriggerDispatcher.get(trigger);
+        casterEvent = new PlayerToggleSneakEvent(caster, true);
+        idleEvent = new PlayerToggleSneakEvent(idle, true);
+    }
+
+    @TearDown
+    public void tearDown() {
+        TriggerDispatcher.clear();
+        server.stop();
+    }
+
+    @Benchmark
+    public int casterWithSkills() {
+        dispatcher.dispatch(casterEvent, trigger);
+        return trigger.calls;
+    }
+
+    @Benchmark
+    public int casterWithoutSkills() {
+        dispatcher.dispatch(idleEvent, trigger);
+        return trigger.calls;
+    }
+
+    private static class SneakTrigger implements Trigger<PlayerToggleSneakEvent> {
+        private int calls;
+
+        @Override
+        public String getKey() {
+            return "BENCHMARK";
+        }
+
+        @Override
+        public Class<PlayerToggleSneakEvent> getEvent() {
+            return PlayerToggleSneakEvent.class;
+        }
+
+        @Override
+        public boolean shouldTrigger(PlayerToggleSneakEvent event, int level, Settings settings) {
+            calls++;
+            return false;
+        }
+
+        @Override
+        public void setValues(PlayerToggleSneakEvent event, CastData data) {}
+
+        @Override
+        public LivingEntity getCaster(PlayerToggleSneakEvent event) {
+            return event.getPlayer();
+        }
+
+        @Override
+        public LivingEntity getTarget(PlayerToggleSneakEvent event, Settings settings) {
+            return event.getPlayer();
+        }
+    }
+}
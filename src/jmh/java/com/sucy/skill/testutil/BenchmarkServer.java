@@ -0,0 +1,31 @@
+package com.sucy.skill.testutil;
+
+import be.seeseemelk.mockbukkit.WorldMock;
+
+/**
+ * The mocked server and plugin from {@link MockedTest}, started and stopped
+ * by hand so benchmarks can set it up once per trial
+ */
+public class BenchmarkServer extends MockedTest {
+
+    /**
+     * Starts the mocked server and enables SkillAPI on it
+     */
+    public void start() {
+        setupServer();
+    }
+
+    /**
+     * Disables SkillAPI and shuts the mocked server down
+     */
+    public void stop() {
+        destroy();
+    }
+
+    /**
+     * @return the world added to the mocked server
+     */
+    public WorldMock getWorld() {
+        return world;
+    }
+}
@@ -24,6 +24,7 @@
 
 package com.sucy.skill;
 
+import com.sucy.skill.api.RelationCache;
 import com.sucy.skill.api.SkillAPIAttributeProvider;
 import com.sucy.skill.api.armorstand.ArmorStandManager;
 import com.sucy.skill.api.classes.RPGClass;
@@ -32,14 +33,23 @@ import com.sucy.skill.api.player.PlayerAccounts;
 import com.sucy.skill.api.player.PlayerClass;
 import com.sucy.skill.api.player.PlayerData;
 import com.sucy.skill.api.player.PlayerSkill;
+import com.sucy.skill.api.projectile.ProjectileEngine;
+import com.sucy.skill.api.target.LineOfSight;
+import com.sucy.skill.api.util.EntityIndex;
+import com.sucy.skill.api.util.EntityMeta;
+import com.sucy.skill.api.util.Expirations;
 import com.sucy.skill.data.PlayerStats;
 import com.sucy.skill.data.Settings;
+import com.sucy.skill.data.io.BinaryIO;
 import com.sucy.skill.data.io.ConfigIO;
 import com.sucy.skill.data.io.IOManager;
+import com.sucy.skill.data.io.PooledSQLIO;
 import com.sucy.skill.data.io.SQLIO;
 import com.sucy.skill.data.io.VoidIO;
 import com.sucy.skill.dynamic.DynamicClass;
 import com.sucy.skill.dynamic.DynamicSkill;
+import com.sucy.skill.dynamic.TriggerDispatcher;
+import com.sucy.skill.dynamic.TriggerQueue;
 import com.sucy.skill.exception.SkillAPINotEnabledException;
 import com.sucy.skill.gui.tool.GUITool;
 import com.sucy.skill.hook.PlaceholderAPIHook;
@@ -52,7 +62,9 @@ import com.sucy.skill.task.CooldownTask;
 import com.sucy.skill.task.GUITask;
 import com.sucy.skill.task.ManaTask;
 import com.sucy.skill.task.SaveTask;
+import com.sucy.skill.task.ServerTickTask;
 import com.sucy.skill.thread.MainThread;
+import com.sucy.skill.thread.SyncQueue;
 import mc.promcteam.engine.NexEngine;
 import mc.promcteam.engine.manager.api.menu.YAMLMenu;
 import mc.promcteam.engine.mccore.config.CommentedConfig;
@@ -62,6 +74,7 @@ import mc.promcteam.engine.registry.attribute.AttributeRegistry;
 import org.bukkit.Bukkit;
 import org.bukkit.ChatColor;
 import org.bukkit.OfflinePlayer;
+import org.bukkit.entity.Entity;
 import org.bukkit.entity.Player;
 import org.bukkit.event.HandlerList;
 import org.bukkit.metadata.FixedMetadataValue;
@@ -75,6 +88,7 @@ import org.bukkit.scheduler.BukkitTask;
 
 import java.io.File;
 import java.util.*;
+import java.util.concurrent.TimeUnit;
 
 /**
  * <p>The main class of the plugin which has the accessor methods into most of the API</p>
@@ -86,7 +100,7 @@ public class SkillAPI extends JavaPlugin {
 
     private final HashMap<String, com.sucy.skill.api.skills.Skill> skills  = new HashMap<>();
     private final HashMap<String, RPGClass>                        classes = new HashMap<>();
-    private final HashMap<String, PlayerAccounts>                  players = new HashMap<>();
+    private final PlayerRegistry                                   players = new PlayerRegistry();
     private final ArrayList<String>                                groups  = new ArrayList<>();
 
     private final List<SkillAPIListener> listeners = new ArrayList<>();
@@ -102,6 +116,7 @@ public class SkillAPI extends JavaPlugin {
 
     private MainThread mainThread;
     private BukkitTask manaTask;
+    private BukkitTask tickTask;
 
     private boolean loaded    = false;
     private boolean disabling = false;
@@ -322,21 +337,20 @@ public class SkillAPI extends JavaPlugin {
             return null;
         }
 
-        // Already loaded for some reason, no need to load again
-        String id = player.getUniqueId().toString().toLowerCase();
-        if (inst().players.containsKey(id)) {
-            return singleton.players.get(id);
+        // Already loaded for some reason, no need to load again. Data that is being
+        // unloaded because the player just left is kept and used again.
+        PlayerAccounts existing = inst().players.acquire(player.getUniqueId());
+        if (existing != null) {
+            return existing;
         }
 
-        // Load the data
-        return doLoad(player);
-    }
-
-    private static PlayerAccounts doLoad(OfflinePlayer player) {
-        // Load the data
+        // Load the data, keeping whichever copy got registered first if
+        // another thread loaded the same player in the meantime
         PlayerAccounts data = singleton.io.loadData(player);
-        singleton.players.put(player.getUniqueId().toString(), data);
-        return data;
+        if (data == null) {
+            return null;
+        }
+        return singleton.players.putIfAbsent(data, PlayerRegistry.State.LOADED);
     }
 
     /**
@@ -346,7 +360,7 @@ public class SkillAPI extends JavaPlugin {
      * @param player player to fake data for
      */
     public static void initFakeData(final OfflinePlayer player) {
-        inst().players.computeIfAbsent(player.getUniqueId().toString(), id -> new PlayerAccounts(player));
+        inst().players.putIfAbsent(new PlayerAccounts(player), PlayerRegistry.State.LOADING);
     }
 
     /**
@@ -354,18 +368,34 @@ public class SkillAPI extends JavaPlugin {
      * has made since joining.
      */
     public static void reloadPlayerData(final Player player) {
-        doLoad(player);
+        // Players who left while their data was loading don't get it registered again
+        PlayerAccounts data = singleton.io.loadData(player);
+        if (data != null) {
+            singleton.players.replace(data, PlayerRegistry.State.LOADED);
+        }
     }
 
     /**
-     * Saves all player data to the configs. This
-     * should be called asynchronously to avoid problems
-     * with the main server loop.
+     * Saves all player data to the configs. The data is copied
+     * immediately and written in the background, so this
+     * should be called from the main server thread.
      */
     public static void saveData() {
         inst().io.saveAll();
     }
 
+    /**
+     * Saves player data to the configs, optionally only writing the
+     * accounts that changed since they were last saved. The data
+     * is copied immediately and written in the background, so this
+     * should be called from the main server thread.
+     *
+     * @param onlyDirty whether to skip accounts without unsaved changes
+     */
+    public static void saveData(boolean onlyDirty) {
+        inst().io.saveAll(onlyDirty);
+    }
+
     /**
      * Checks whether SkillAPI currently has loaded data for the
      * given player. This returning false doesn't necessarily mean the
@@ -376,9 +406,7 @@ public class SkillAPI extends JavaPlugin {
      * @return true if data has loaded, false otherwise
      */
     public static boolean hasPlayerData(OfflinePlayer player) {
-        return singleton != null && player != null && singleton.players.containsKey(player.getUniqueId()
-                .toString()
-                .toLowerCase());
+        return singleton != null && player != null && singleton.players.contains(player.getUniqueId());
     }
 
     /**
@@ -392,18 +420,23 @@ public class SkillAPI extends JavaPlugin {
     }
 
     public static void unloadPlayerData(final OfflinePlayer player, final boolean skipSaving) {
-        if (singleton == null || player == null || singleton.disabling
-                || !singleton.players.containsKey(player.getUniqueId().toString().toLowerCase())) {
+        if (singleton == null || player == null || singleton.disabling) {
             return;
         }
 
-        singleton.getServer().getScheduler().runTaskAsynchronously(singleton, () -> {
-            PlayerAccounts accounts = getPlayerAccountData(player);
-            if (!skipSaving) {
-                singleton.io.saveData(accounts);
-            }
-            singleton.players.remove(player.getUniqueId().toString().toLowerCase());
-        });
+        UUID           id       = player.getUniqueId();
+        PlayerAccounts accounts = singleton.players.get(id);
+        if (accounts == null || !singleton.players.setState(id, PlayerRegistry.State.UNLOADING)) {
+            return;
+        }
+
+        // The data is copied here and written in the background by the save queue
+        if (!skipSaving) {
+            singleton.io.saveData(accounts);
+        }
+
+        // Left registered if the player rejoined in the meantime
+        singleton.players.remove(id, PlayerRegistry.State.UNLOADING);
     }
 
     /**
@@ -419,23 +452,30 @@ public class SkillAPI extends JavaPlugin {
             return null;
         }
 
-        String id = player.getUniqueId().toString().toLowerCase();
-        if (!inst().players.containsKey(id)) {
-            PlayerAccounts data = loadPlayerData(player);
-            singleton.players.put(id, data);
-            return data;
-        } else {
-            return singleton.players.get(id);
-        }
+        PlayerAccounts data = inst().players.get(player.getUniqueId());
+        return data != null ? data : loadPlayerData(player);
     }
 
     /**
-     * Retrieves all the player data of SkillAPI. It is recommended not to
-     * modify this map. Instead, use helper methods within individual player data.
+     * Retrieves all the player data of SkillAPI keyed by the lowercase
+     * string UUID of each player. The map is a live, read-only view of
+     * the player registry: it always shows the currently loaded data and
+     * throws an {@link UnsupportedOperationException} if modified.
      *
      * @return all SkillAPI player data
+     * @deprecated use {@link #getPlayerRegistry()} instead
      */
-    public static HashMap<String, PlayerAccounts> getPlayerAccountData() {
+    @Deprecated
+    public static Map<String, PlayerAccounts> getPlayerAccountData() {
+        return inst().players.asMap();
+    }
+
+    /**
+     * Retrieves the registry of loaded player data. Safe to use from any thread.
+     *
+     * @return loaded player data registry
+     */
+    public static PlayerRegistry getPlayerRegistry() {
         return inst().players;
     }
 
@@ -481,14 +521,24 @@ public class SkillAPI extends JavaPlugin {
     }
 
     /**
-     * Sets a value to an entity's metadata
+     * Sets a value to an entity's metadata. Keys the API keeps in
+     * {@link EntityMeta} slots are stored there instead.
      *
      * @param target entity to set to
      * @param key    key to store under
      * @param value  value to store
      */
     public static void setMeta(Metadatable target, String key, Object value) {
-        target.setMetadata(key, new FixedMetadataValue(inst(), value));
+        final EntityMeta.Slot<?> slot = target instanceof Entity ? EntityMeta.getSlot(key) : null;
+        if (slot != null && slot.getType().isInstance(value)) {
+            setSlot((Entity) target, slot, value);
+        } else {
+            target.setMetadata(key, new FixedMetadataValue(inst(), value));
+        }
+    }
+
+    private static <T> void setSlot(Entity target, EntityMeta.Slot<T> slot, Object value) {
+        EntityMeta.set(target, slot, slot.getType().cast(value));
     }
 
     /**
@@ -499,10 +549,18 @@ public class SkillAPI extends JavaPlugin {
      * @return the stored value
      */
     public static Object getMeta(Metadatable target, String key) {
+        final Object slotted = getSlot(target, key);
+        if (slotted != null) return slotted;
+
         List<MetadataValue> meta = target.getMetadata(key);
         return meta == null || meta.size() == 0 ? null : meta.get(0).value();
     }
 
+    private static Object getSlot(Metadatable target, String key) {
+        final EntityMeta.Slot<?> slot = target instanceof Entity ? EntityMeta.getSlot(key) : null;
+        return slot == null ? null : EntityMeta.get((Entity) target, slot);
+    }
+
     /**
      * Retrieves metadata from an entity
      *
@@ -511,6 +569,9 @@ public class SkillAPI extends JavaPlugin {
      * @return the stored value
      */
     public static int getMetaInt(Metadatable target, String key) {
+        final Object slotted = getSlot(target, key);
+        if (slotted instanceof Number) return ((Number) slotted).intValue();
+
         return target.getMetadata(key).get(0).asInt();
     }
 
@@ -522,6 +583,9 @@ public class SkillAPI extends JavaPlugin {
      * @return the stored value
      */
     public static double getMetaDouble(Metadatable target, String key) {
+        final Object slotted = getSlot(target, key);
+        if (slotted instanceof Number) return ((Number) slotted).doubleValue();
+
         return target.getMetadata(key).get(0).asDouble();
     }
 
@@ -532,6 +596,10 @@ public class SkillAPI extends JavaPlugin {
      * @param key    key metadata was stored under
      */
     public static void removeMeta(Metadatable target, String key) {
+        final EntityMeta.Slot<?> slot = target instanceof Entity ? EntityMeta.getSlot(key) : null;
+        if (slot != null) {
+            EntityMeta.remove((Entity) target, slot);
+        }
         target.removeMetadata(key, inst());
     }
 
@@ -555,6 +623,24 @@ public class SkillAPI extends JavaPlugin {
         YAMLMenu.reloadMenus(inst);
     }
 
+    /**
+     * Reloads only the dynamic skills and classes whose files changed since they
+     * were loaded, without restarting the plugin
+     *
+     * @return number of skills and classes that were reloaded or added
+     */
+    public static int reloadChanged() {
+        return inst().registrationManager.reloadChanged();
+    }
+
+    /**
+     * Reloads the dynamic skills and classes whose files changed like {@link #reloadChanged()},
+     * but reads and builds the files off the server thread and swaps them in on a later tick
+     */
+    public static void reloadChangedAsync() {
+        inst().registrationManager.reloadChangedAsync();
+    }
+
     @Override
     public void onLoad() {
         MimicHook.init(this);
@@ -586,6 +672,19 @@ public class SkillAPI extends JavaPlugin {
             manaTask = null;
         }
 
+        if (tickTask != null) {
+            tickTask.cancel();
+            tickTask = null;
+        }
+        registrationManager.close();
+
+        // Apply whatever the main thread left behind before shutting down
+        SyncQueue.drain(Long.MAX_VALUE);
+
+        ProjectileEngine.clear();
+        Expirations.clear();
+        EntityMeta.clearAll();
+
         for (SkillAPIListener listener : listeners) {
             listener.cleanup();
         }
@@ -600,12 +699,15 @@ public class SkillAPI extends JavaPlugin {
         }
 
         io.saveAll();
+        io.close();
 
         skills.clear();
         classes.clear();
         players.clear();
 
         HandlerList.unregisterAll(this);
+        TriggerDispatcher.clear();
+        TriggerQueue.clear();
         cmd.clear();
 
         loaded = false;
@@ -660,7 +762,13 @@ public class SkillAPI extends JavaPlugin {
         if(settings.isVolatileStorage()) {
             io = new VoidIO(this);
         }else {
-            io = settings.isUseSql() ? new SQLIO(this) : new ConfigIO(this);
+            if (!settings.isUseSql()) {
+                io = settings.isBinaryFormat() ? new BinaryIO(this) : new ConfigIO(this);
+            } else if (settings.getSqlPoolSize() > 0) {
+                io = new PooledSQLIO(this);
+            } else {
+                io = new SQLIO(this);
+            }
         }
         PlayerStats.init();
         ClassBoardManager.registerText();
@@ -686,6 +794,8 @@ public class SkillAPI extends JavaPlugin {
         listen(new StatusListener(), true);
         listen(new ToolListener(), true);
         listen(new KillListener(), true);
+        listen(new EntityIndexListener(), true);
+        listen(new RelationListener(), true);
         listen(new AddonListener(), true);
         listen(new ClickListener(), true);
         listen(new BarListener(), settings.isSkillBarEnabled());
@@ -735,11 +845,33 @@ public class SkillAPI extends JavaPlugin {
         }
         MainThread.register(new GUITask(this));
 
+        // Per-tick work runs as ordered steps of one task so caches are
+        // moved on to the new tick before triggers and projectiles look them up
+        ServerTickTask tick       = new ServerTickTask();
+        long           syncBudget = TimeUnit.MILLISECONDS.toNanos(settings.getSyncBudget());
+        tick.add("sync", () -> SyncQueue.drain(syncBudget));
+        tick.add("entity index", EntityIndex::tick);
+        tick.add("relation cache", RelationCache::tick);
+        tick.add("line of sight", LineOfSight::tick);
+        tick.add("triggers", TriggerQueue::drain);
+        tick.add("projectiles", ProjectileEngine::tick);
+        tick.add("expiry", Expirations::tick);
+        tick.add("entity meta", EntityMeta::sweep, 100);
+        tick.add("cast data", DynamicSkill::reclaimCastData, 1200);
+        if (settings.getHotReloadSeconds() > 0) {
+            tick.add("hot reload", SkillAPI::reloadChangedAsync, settings.getHotReloadSeconds() * 20);
+        }
+        tickTask = Bukkit.getScheduler().runTaskTimer(this, tick, 1, 1);
+
         GUITool.init();
 
         // Load player data
-        players.putAll(io.loadAll());
-        for (PlayerAccounts accounts : players.values()) {
+        for (PlayerAccounts accounts : io.loadAll().values()) {
+            if (accounts != null) {
+                players.put(accounts, PlayerRegistry.State.LOADED);
+            }
+        }
+        for (PlayerAccounts accounts : players.getAll()) {
             accounts.getActiveData().init(accounts.getPlayer());
         }
 
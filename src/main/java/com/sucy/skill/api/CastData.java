@@ -1,38 +1,123 @@
 package com.sucy.skill.api;
 
 import com.sucy.skill.SkillAPI;
-import com.sucy.skill.api.player.PlayerData;
+import com.sucy.skill.manager.IAttributeManager;
 import mc.promcteam.engine.mccore.util.MobManager;
 import org.bukkit.entity.LivingEntity;
 import org.bukkit.entity.Player;
 
-import java.util.HashMap;
 import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
 
+/**
+ * Values skills store for a caster, such as those set by value mechanics and triggers.
+ * <p>
+ * Keys are interned to IDs shared by every caster, see {@link #id(String)}, and values are kept
+ * in a small open-addressed table. {@code attr:<attribute>} keys are not stored but looked up
+ * from the player when read, and {@code caster} always refers to the caster unless overwritten.
+ * <p>
+ * Each value is either kept for the entity ({@link Scope#ENTITY}) or only while the caster
+ * keeps casting ({@link Scope#CAST}), such as the values triggers store for their effects.
+ */
 public class CastData {
-    private final Map<String, Object> data = new HashMap<>();
+    private static final String ATTRIBUTE_PREFIX = "attr:";
+    private static final int    INITIAL_CAPACITY = 8;
+
+    private static final Map<String, Integer> IDS        = new ConcurrentHashMap<>();
+    private static volatile String[]          attributes = new String[64];
+    private static int                        nextId;
+
+    public static final int CASTER = id("caster");
+
+    private final LivingEntity caster;
+
+    private int[]     keys      = new int[INITIAL_CAPACITY];
+    private Object[]  values    = new Object[INITIAL_CAPACITY];
+    private boolean[] castLocal = new boolean[INITIAL_CAPACITY];
+    private int       size;
+    private int       castValues;
+    private int       depth;
+    private boolean   active;
 
     public CastData(LivingEntity caster) {
-        data.put("caster", caster);
-
-        // Load the player's attributes as attr:<attribute> into the castData map
-        if (caster instanceof Player) {
-            for (String attr : SkillAPI.getAttributeManager().getAttributes().keySet()) {
-                data.put("attr:" + attr.toLowerCase(), (PlayerDataConsumer) () -> {
-                    PlayerData playerData = SkillAPI.getPlayerData((Player) caster);
-                    int        stage      = playerData.getInvestedAttributeStage(attr);
-                    return stage;
-                });
-            }
+        this.caster = caster;
+    }
+
+    /**
+     * Gets the ID for a value key, giving it a new one if it hasn't been used yet.
+     * Components should get the IDs of their keys once when loading.
+     *
+     * @param key value key
+     * @return ID of the key
+     */
+    public static int id(String key) {
+        Integer id = IDS.get(key);
+        return id != null ? id : register(key);
+    }
+
+    private static synchronized int register(String key) {
+        Integer id = IDS.get(key);
+        if (id != null) return id;
+
+        final int next = nextId++;
+        if (next == attributes.length) {
+            final String[] grown = new String[next * 2];
+            System.arraycopy(attributes, 0, grown, 0, next);
+            attributes = grown;
+        }
+        if (key.startsWith(ATTRIBUTE_PREFIX)) {
+            attributes[next] = key.substring(ATTRIBUTE_PREFIX.length()).toLowerCase();
         }
+        IDS.put(key, next);
+        return next;
+    }
+
+    /**
+     * Gets the ID of a key without giving unused keys one, so looking up keys
+     * from placeholders and the like doesn't grow the key table
+     */
+    private static int find(String key) {
+        Integer id = IDS.get(key);
+        return id == null ? -1 : id;
+    }
+
+    /**
+     * @return number of keys that have been given IDs
+     */
+    public static int getKeyCount() {
+        return IDS.size();
+    }
+
+    public LivingEntity getCaster() {
+        return caster;
     }
 
     public boolean contains(String key) {
-        return data.containsKey(key) && data.get(key) != null;
+        return getRaw(key) != null;
     }
 
     public Object getRaw(String key) {
-        return data.get(key);
+        final int id = find(key);
+        if (id >= 0) return getRaw(id);
+
+        return key.startsWith(ATTRIBUTE_PREFIX)
+                ? getAttribute(key.substring(ATTRIBUTE_PREFIX.length()).toLowerCase())
+                : null;
+    }
+
+    /**
+     * Gets a value by the ID of its key
+     *
+     * @param id ID from {@link #id(String)}
+     * @return stored value or null if not set
+     */
+    public Object getRaw(int id) {
+        final int slot = slot(id);
+        if (slot >= 0) return values[slot];
+
+        if (id == CASTER) return caster;
+        final String[] attributes = CastData.attributes;
+        return id < attributes.length && attributes[id] != null ? getAttribute(attributes[id]) : null;
     }
 
     public double getDouble(String key) {
@@ -52,9 +137,9 @@ public class CastData {
     }
 
     public String get(String key) {
-        if (!contains(key)) return null;
+        Object obj = getRaw(key);
+        if (obj == null) return null;
 
-        Object obj = data.get(key);
         if (obj instanceof Player) {
             obj = ((Player) obj).getName();
         } else if (obj instanceof LivingEntity) {
@@ -73,11 +158,218 @@ public class CastData {
         return def;
     }
 
+    /**
+     * Stores a value for the entity until it is removed or the entity is gone
+     *
+     * @param key   value key
+     * @param value value to store, or null to remove it
+     */
     public void put(String key, Object value) {
-        data.put(key, value);
+        put(id(key), value, Scope.ENTITY);
+    }
+
+    /**
+     * Stores a value with the given lifetime
+     *
+     * @param key   value key
+     * @param value value to store, or null to remove it
+     * @param scope how long to keep the value
+     */
+    public void put(String key, Object value, Scope scope) {
+        put(id(key), value, scope);
+    }
+
+    /**
+     * Stores a value by the ID of its key
+     *
+     * @param id    ID from {@link #id(String)}
+     * @param value value to store, or null to remove it
+     * @param scope how long to keep the value
+     */
+    public void put(int id, Object value, Scope scope) {
+        if (value == null) {
+            remove(id);
+            return;
+        }
+
+        final boolean local = scope == Scope.CAST;
+        int           slot  = slot(id);
+        if (slot < 0) {
+            if ((size + 1) * 2 > keys.length) {
+                rehash(keys.length * 2, false);
+            }
+            slot = free(id);
+            keys[slot] = id + 1;
+            size++;
+        } else if (castLocal[slot]) {
+            castValues--;
+        }
+        values[slot] = value;
+        castLocal[slot] = local;
+        if (local) castValues++;
     }
 
     public void remove(String key) {
-        data.remove(key);
+        final int id = find(key);
+        if (id >= 0) remove(id);
+    }
+
+    /**
+     * Removes a value by the ID of its key
+     *
+     * @param id ID from {@link #id(String)}
+     */
+    public void remove(int id) {
+        final int slot = slot(id);
+        if (slot >= 0) removeAt(slot);
+    }
+
+    /**
+     * Marks the start of a cast or trigger, keeping the values stored with
+     * {@link Scope#CAST} alive. Every call must be matched with {@link #endCast()}.
+     */
+    public void beginCast() {
+        depth++;
+        active = true;
+    }
+
+    /**
+     * Marks the end of a cast started with {@link #beginCast()}
+     */
+    public void endCast() {
+        if (depth > 0) depth--;
+    }
+
+    /**
+     * @return true if a cast is in progress for the caster
+     */
+    public boolean isCasting() {
+        return depth > 0;
+    }
+
+    /**
+     * Drops the values stored with {@link Scope#CAST} if the caster hasn't started a cast
+     * since the last time this was called and isn't in the middle of one
+     *
+     * @return true if nothing is stored anymore
+     */
+    public boolean reclaim() {
+        if (!active && depth == 0 && castValues > 0) {
+            rehash(keys.length, true);
+        }
+        active = false;
+        return size == 0;
+    }
+
+    /**
+     * @return number of stored values
+     */
+    public int size() {
+        return size;
+    }
+
+    public boolean isEmpty() {
+        return size == 0;
+    }
+
+    /**
+     * Estimates the memory used by this data, not counting the stored values themselves
+     *
+     * @return estimated size in bytes
+     */
+    public long estimateBytes() {
+        // Object header and fields, then three arrays with their headers
+        return 40 + 3 * 16 + keys.length * 9L;
+    }
+
+    private Object getAttribute(String attribute) {
+        if (!(caster instanceof Player)) return null;
+
+        final IAttributeManager manager = SkillAPI.getAttributeManager();
+        if (manager == null || manager.getAttribute(attribute) == null) return null;
+
+        return SkillAPI.getPlayerData((Player) caster).getInvestedAttributeStage(attribute);
+    }
+
+    private static int hash(int id) {
+        return id * 0x9E3779B9;
+    }
+
+    private int slot(int id) {
+        final int mask = keys.length - 1;
+        final int key  = id + 1;
+        for (int i = hash(id) & mask; ; i = (i + 1) & mask) {
+            if (keys[i] == key) return i;
+            if (keys[i] == 0) return -1;
+        }
+    }
+
+    private int free(int id) {
+        final int mask = keys.length - 1;
+        int       i    = hash(id) & mask;
+        while (keys[i] != 0) {
+            i = (i + 1) & mask;
+        }
+        return i;
+    }
+
+    /**
+     * Removes a slot and shifts back the values after it that were placed past
+     * their preferred slot, so lookups never need to skip over removed slots
+     */
+    private void removeAt(int slot) {
+        final int mask = keys.length - 1;
+        if (castLocal[slot]) castValues--;
+        size--;
+
+        int gap = slot;
+        for (int i = (slot + 1) & mask; keys[i] != 0; i = (i + 1) & mask) {
+            final int home = hash(keys[i] - 1) & mask;
+            if (((i - home) & mask) >= ((i - gap) & mask)) {
+                keys[gap] = keys[i];
+                values[gap] = values[i];
+                castLocal[gap] = castLocal[i];
+                gap = i;
+            }
+        }
+        keys[gap] = 0;
+        values[gap] = null;
+        castLocal[gap] = false;
+    }
+
+    private void rehash(int capacity, boolean dropCastValues) {
+        final int[]     oldKeys   = keys;
+        final Object[]  oldValues = values;
+        final boolean[] oldLocal  = castLocal;
+
+        keys = new int[capacity];
+        values = new Object[capacity];
+        castLocal = new boolean[capacity];
+        size = 0;
+        castValues = 0;
+        for (int i = 0; i < oldKeys.length; i++) {
+            if (oldKeys[i] == 0 || (dropCastValues && oldLocal[i])) continue;
+
+            final int slot = free(oldKeys[i] - 1);
+            keys[slot] = oldKeys[i];
+            values[slot] = oldValues[i];
+            castLocal[slot] = oldLocal[i];
+            size++;
+            if (oldLocal[i]) castValues++;
+        }
+    }
+
+    /**
+     * How long a stored value is kept
+     */
+    public enum Scope {
+        /**
+         * Kept until it is removed or the entity is gone
+         */
+        ENTITY,
+        /**
+         * Dropped once the caster has stopped casting for a while
+         */
+        CAST
     }
 }
@@ -14,6 +14,7 @@ import org.bukkit.event.entity.EntityDamageEvent;
 import org.jetbrains.annotations.NotNull;
 
 import java.lang.reflect.InvocationTargetException;
+import java.util.List;
 
 /**
  * ProSkillAPI © 2023
@@ -97,4 +98,24 @@ public interface CombatProtection {
 
     boolean canAttack(final LivingEntity attacker, final LivingEntity defender, EntityDamageEvent.DamageCause cause);
 
+    /**
+     * Checks which of several targets the attacker can hit. Protection that can answer
+     * for many targets at once, such as a region lookup around the attacker, should
+     * override this instead of being asked for each target separately.
+     *
+     * @param attacker  the attacking entity
+     * @param defenders the targets to check
+     * @param cause     the cause of the damage
+     * @return whether each target can be attacked, in the same order as the targets
+     */
+    default boolean[] canAttack(final LivingEntity attacker,
+                                final List<LivingEntity> defenders,
+                                EntityDamageEvent.DamageCause cause) {
+        final boolean[] result = new boolean[defenders.size()];
+        for (int i = 0; i < result.length; i++) {
+            result[i] = canAttack(attacker, defenders.get(i), cause);
+        }
+        return result;
+    }
+
 }
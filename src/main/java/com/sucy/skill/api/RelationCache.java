@@ -0,0 +1,104 @@
+package com.sucy.skill.api;
+
+import org.bukkit.entity.Entity;
+import org.bukkit.event.entity.EntityDamageEvent;
+
+import java.util.EnumMap;
+import java.util.HashMap;
+import java.util.Map;
+
+/**
+ * ProSkillAPI © 2023
+ * com.sucy.skill.api.RelationCache
+ * <p>
+ * Remembers whether combat protection let one entity attack another so a
+ * skill hitting many targets, or a projectile hitting the same target again,
+ * doesn't ask every protection plugin each time. Results only last a few
+ * ticks. Plugins that change who can attack whom (teams, parties, regions)
+ * should call {@link #invalidate(Entity)} or {@link #clear()} when they do.
+ */
+public class RelationCache {
+    private static final Map<EntityDamageEvent.DamageCause, Map<Long, Long>> RELATIONS =
+            new EnumMap<>(EntityDamageEvent.DamageCause.class);
+
+    private static long tick;
+    private static long nextPrune;
+    private static int  lifespan = 1;
+
+    /**
+     * Sets how many ticks results are remembered for, 0 to disable the cache
+     *
+     * @param ticks number of ticks to remember results for
+     */
+    public static void setLifespan(int ticks) {
+        lifespan = Math.max(0, ticks);
+        clear();
+    }
+
+    /**
+     * Moves the cache on to the next tick, dropping expired results now
+     * and then. This is called by the API every tick.
+     */
+    public static void tick() {
+        tick++;
+        if (tick >= nextPrune) {
+            RELATIONS.values().forEach(relations -> relations.values().removeIf(value -> (value >> 1) <= tick));
+            nextPrune = tick + Math.max(lifespan, 20);
+        }
+    }
+
+    /**
+     * Gets a remembered result
+     *
+     * @param attacker attacking entity
+     * @param target   target entity
+     * @param cause    cause of the damage
+     * @return whether the attacker could attack the target or null if not known
+     */
+    public static Boolean get(Entity attacker, Entity target, EntityDamageEvent.DamageCause cause) {
+        final Map<Long, Long> relations = RELATIONS.get(cause);
+        if (relations == null) return null;
+
+        final Long value = relations.get(key(attacker, target));
+        if (value == null || (value >> 1) <= tick) return null;
+        return (value & 1) == 1;
+    }
+
+    /**
+     * Remembers whether an entity could attack another
+     *
+     * @param attacker  attacking entity
+     * @param target    target entity
+     * @param cause     cause of the damage
+     * @param canAttack whether the attacker could attack the target
+     */
+    public static void put(Entity attacker, Entity target, EntityDamageEvent.DamageCause cause, boolean canAttack) {
+        if (lifespan == 0) return;
+
+        RELATIONS.computeIfAbsent(cause, c -> new HashMap<>())
+                .put(key(attacker, target), ((tick + lifespan) << 1) | (canAttack ? 1 : 0));
+    }
+
+    /**
+     * Forgets every result involving the entity, either as the
+     * attacker or the target
+     *
+     * @param entity entity whose relations changed
+     */
+    public static void invalidate(Entity entity) {
+        final long id = entity.getEntityId() & 0xFFFFFFFFL;
+        RELATIONS.values().forEach(relations -> relations.keySet()
+                .removeIf(key -> (key >>> 32) == id || (key & 0xFFFFFFFFL) == id));
+    }
+
+    /**
+     * Forgets every remembered result
+     */
+    public static void clear() {
+        RELATIONS.clear();
+    }
+
+    private static long key(Entity attacker, Entity target) {
+        return ((long) attacker.getEntityId() << 32) | (target.getEntityId() & 0xFFFFFFFFL);
+    }
+}
@@ -32,9 +32,15 @@ import mc.promcteam.engine.mccore.config.parse.DataSection;
 import mc.promcteam.engine.mccore.config.parse.NumberParser;
 
 import java.util.ArrayList;
+import java.util.Collections;
 import java.util.HashMap;
 import java.util.LinkedHashMap;
 import java.util.List;
+import java.util.Locale;
+import java.util.Map;
+import java.util.Objects;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
 
 /**
  * <p>Represents a set of settings that store configurable data for an object.</p>
@@ -44,6 +50,8 @@ public class Settings {
     private static final String SCALE = "-scale";
 
     private final HashMap<String, Object> settings;
+    private final Map<String, Parsed>     parsed = new ConcurrentHashMap<>();
+    private       int                     version;
 
     public Settings() {
         this.settings = new LinkedHashMap<>();
@@ -62,7 +70,11 @@ public class Settings {
      * @param value setting value
      */
     public void set(String key, Object value) {
+        boolean changed = !settings.containsKey(key) || !Objects.equals(settings.get(key), value);
         settings.put(key, value);
+        if (changed) {
+            changed(key);
+        }
     }
 
     /**
@@ -77,8 +89,8 @@ public class Settings {
      * @param scale value scale
      */
     public void set(String key, double base, double scale) {
-        settings.put(key + BASE, base);
-        settings.put(key + SCALE, scale);
+        set(key + BASE, base);
+        set(key + SCALE, scale);
     }
 
     /**
@@ -94,9 +106,9 @@ public class Settings {
      */
     public void setBase(String key, double value) {
         if (!settings.containsKey(key + SCALE)) {
-            settings.put(key + SCALE, 0.0);
+            set(key + SCALE, 0.0);
         }
-        settings.put(key + BASE, value);
+        set(key + BASE, value);
     }
 
     /**
@@ -112,9 +124,9 @@ public class Settings {
      */
     public void setScale(String key, double value) {
         if (!settings.containsKey(key + BASE)) {
-            settings.put(key + BASE, 0.0);
+            set(key + BASE, 0.0);
         }
-        settings.put(key + SCALE, value);
+        set(key + SCALE, value);
     }
 
     /**
@@ -138,7 +150,11 @@ public class Settings {
      */
     public double getDouble(String key, double defaultValue) {
         if (settings.containsKey(key)) {
-            return NumberParser.parseDouble(settings.get(key).toString());
+            Parsed parsed = getParsed(key);
+            if (parsed.number == null) {
+                parsed.number = NumberParser.parseDouble(settings.get(key).toString());
+            }
+            return parsed.number;
         } else {
             set(key, defaultValue);
             return defaultValue;
@@ -166,7 +182,11 @@ public class Settings {
      */
     public int getInt(String key, int defaultValue) {
         if (settings.containsKey(key)) {
-            return Integer.parseInt(settings.get(key).toString());
+            Parsed parsed = getParsed(key);
+            if (parsed.integer == null) {
+                parsed.integer = Integer.parseInt(settings.get(key).toString());
+            }
+            return parsed.integer;
         } else {
             set(key, defaultValue);
             return defaultValue;
@@ -181,7 +201,7 @@ public class Settings {
      * @return boolean setting value
      */
     public boolean getBool(String key) {
-        return settings.containsKey(key) && Boolean.parseBoolean(settings.get(key).toString());
+        return settings.containsKey(key) && parseBool(key);
     }
 
     /**
@@ -194,7 +214,7 @@ public class Settings {
      */
     public boolean getBool(String key, boolean defaultValue) {
         if (settings.containsKey(key)) {
-            return Boolean.parseBoolean(settings.get(key).toString());
+            return parseBool(key);
         } else {
             set(key, defaultValue);
             return defaultValue;
@@ -229,6 +249,41 @@ public class Settings {
         }
     }
 
+    /**
+     * Retrieves an enum value from the settings. Names are matched ignoring
+     * case and with spaces in place of underscores. If the setting is not
+     * set or isn't a valid name, this will instead return the default value.
+     *
+     * @param key          setting key
+     * @param type         enum class
+     * @param defaultValue the default value in case not set or invalid
+     * @param <T>          enum type
+     * @return enum setting value
+     */
+    public <T extends Enum<T>> T getEnum(String key, Class<T> type, T defaultValue) {
+        if (!settings.containsKey(key) || settings.get(key) == null) {
+            return defaultValue;
+        }
+
+        Parsed parsed = getParsed(key);
+        if (parsed.enumType != type) {
+            String name   = settings.get(key).toString().toUpperCase(Locale.US).replace(' ', '_');
+            T      result = null;
+            for (T value : type.getEnumConstants()) {
+                if (value.name().equals(name)) {
+                    result = value;
+                    break;
+                }
+            }
+            if (result == null) {
+                Logger.invalid("Invalid " + type.getSimpleName() + " \"" + settings.get(key) + "\" for " + key);
+            }
+            parsed.constant = result;
+            parsed.enumType = type;
+        }
+        return parsed.constant == null ? defaultValue : type.cast(parsed.constant);
+    }
+
     /**
      * Retrieves a string list from the settings
      *
@@ -292,7 +347,7 @@ public class Settings {
         if (!settings.containsKey(key + BASE)) {
             return 0;
         } else {
-            return NumberParser.parseDouble(settings.get(key + BASE).toString());
+            return getDouble(key + BASE);
         }
     }
 
@@ -307,7 +362,7 @@ public class Settings {
         if (!settings.containsKey(key + SCALE)) {
             return 0;
         } else {
-            return NumberParser.parseDouble(settings.get(key + SCALE).toString());
+            return getDouble(key + SCALE);
         }
     }
 
@@ -351,6 +406,9 @@ public class Settings {
         settings.remove(key);
         settings.remove(key + BASE);
         settings.remove(key + SCALE);
+        changed(key);
+        changed(key + BASE);
+        changed(key + SCALE);
     }
 
     /**
@@ -403,6 +461,48 @@ public class Settings {
         for (String key : config.keys()) {
             settings.put(key, config.get(key));
         }
+        parsed.clear();
+        version++;
+    }
+
+    /**
+     * @return keys of all defined settings
+     */
+    public Set<String> keys() {
+        return Collections.unmodifiableSet(settings.keySet());
+    }
+
+    /**
+     * Gets a counter that changes whenever a setting is added, changed or
+     * removed. Anything compiled from the settings can compare this to
+     * know when it is out of date.
+     *
+     * @return current version of the settings
+     */
+    public int getVersion() {
+        return version;
+    }
+
+    private void changed(String key) {
+        parsed.remove(key);
+        version++;
+    }
+
+    private Parsed getParsed(String key) {
+        Parsed result = parsed.get(key);
+        if (result == null) {
+            result = new Parsed();
+            parsed.put(key, result);
+        }
+        return result;
+    }
+
+    private boolean parseBool(String key) {
+        Parsed parsed = getParsed(key);
+        if (parsed.bool == null) {
+            parsed.bool = Boolean.parseBoolean(settings.get(key).toString());
+        }
+        return parsed.bool;
     }
 
     /**
@@ -414,4 +514,15 @@ public class Settings {
             Logger.log("- " + key + ": " + settings.get(key).toString());
         }
     }
+
+    /**
+     * Typed values parsed from a setting, so each is only parsed once
+     */
+    private static final class Parsed {
+        private Double   number;
+        private Integer  integer;
+        private Boolean  bool;
+        private Enum<?>  constant;
+        private Class<?> enumType;
+    }
 }
@@ -2,12 +2,12 @@ package com.sucy.skill.api.armorstand;
 
 import org.bukkit.entity.LivingEntity;
 
-import java.util.HashMap;
 import java.util.Iterator;
 import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
 
 public class ArmorStandData {
-    private final HashMap<String, ArmorStandInstance> armorStands = new HashMap<>();
+    private final Map<String, ArmorStandInstance> armorStands = new ConcurrentHashMap<>();
     private final LivingEntity                        target;
 
     /**
@@ -1,7 +1,6 @@
 package com.sucy.skill.api.armorstand;
 
-import com.sucy.skill.SkillAPI;
-import org.bukkit.Bukkit;
+import com.sucy.skill.thread.SyncQueue;
 import org.bukkit.Location;
 import org.bukkit.entity.ArmorStand;
 import org.bukkit.entity.LivingEntity;
@@ -16,6 +15,8 @@ public class ArmorStandInstance {
     private              double       upward;
     private              double       right;
 
+    private final SyncQueue.Key key = new SyncQueue.Key(ArmorStandInstance.class, this);
+
     public ArmorStandInstance(ArmorStand armorStand, LivingEntity target) {
         this.armorStand = armorStand;
         this.target = target;
@@ -42,7 +43,7 @@ public class ArmorStandInstance {
      * Removes the armor stand
      */
     public void remove() {
-        Bukkit.getScheduler().runTask(SkillAPI.inst(), () -> armorStand.remove());
+        SyncQueue.run(armorStand::remove);
     }
 
     /**
@@ -50,13 +51,17 @@ public class ArmorStandInstance {
      */
     public void tick() {
         if (follow) {
-            Bukkit.getScheduler().runTask(SkillAPI.inst(), () -> {
-                Location loc  = target.getLocation().clone();
-                Vector   dir  = loc.getDirection().setY(0).normalize();
-                Vector   side = dir.clone().crossProduct(UP);
-                loc.add(dir.multiply(forward)).add(0, upward, 0).add(side.multiply(right));
-                armorStand.teleport(loc);
-            });
+            // The target's location is read on the server thread, and only
+            // the latest position matters if the server falls behind
+            SyncQueue.submit(key, this::follow);
         }
     }
+
+    private void follow() {
+        Location loc  = target.getLocation();
+        Vector   dir  = loc.getDirection().setY(0).normalize();
+        Vector   side = dir.clone().crossProduct(UP);
+        loc.add(dir.multiply(forward)).add(0, upward, 0).add(side.multiply(right));
+        armorStand.teleport(loc);
+    }
 }
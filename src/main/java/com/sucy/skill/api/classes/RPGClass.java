@@ -560,6 +560,22 @@ public abstract class RPGClass implements IconHolder {
         }
     }
 
+    /**
+     * Swaps a skill the class provides for a reloaded copy of it. This is
+     * used by the API when a skill file changes.
+     *
+     * @param skill       skill to replace
+     * @param replacement reloaded skill
+     * @return true if the class provided the skill
+     */
+    public boolean replaceSkill(Skill skill, Skill replacement) {
+        int index = skills.indexOf(skill);
+        if (index < 0) return false;
+
+        skills.set(index, replacement);
+        return true;
+    }
+
     /**
      * Adds multiple skills to the class by name. This will not add it to
      * the skill tree or to players who are already professed as the class.
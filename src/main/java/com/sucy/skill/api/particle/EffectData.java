@@ -28,14 +28,15 @@ package com.sucy.skill.api.particle;
 
 import com.sucy.skill.api.particle.target.EffectTarget;
 
-import java.util.HashMap;
 import java.util.Iterator;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
 
 /**
  * A collection of effects played on a target
  */
 public class EffectData {
-    private HashMap<String, EffectInstance> effects = new HashMap<String, EffectInstance>();
+    private Map<String, EffectInstance> effects = new ConcurrentHashMap<>();
 
     private EffectTarget target;
 
@@ -27,20 +27,29 @@
 package com.sucy.skill.api.particle;
 
 import com.sucy.skill.api.particle.target.EffectTarget;
+import com.sucy.skill.thread.SyncQueue;
+import org.bukkit.Location;
 
 /**
- * An instanced particle effect
+ * An instanced particle effect. Frames are worked out on SkillAPI's main
+ * thread from where the target was last seen on the server thread, and
+ * only looking up the target and spawning the particles happen on the
+ * server thread.
  */
 public class EffectInstance {
     private final ParticleEffect effect;
     private final EffectTarget   target;
+    private final SyncQueue.Key  key;
 
-    private final int level;
-    private       int life;
-    private       int tick;
-    private       int frame;
+    private final    int      level;
+    private          int      life;
+    private          int      tick;
+    private          int      frame;
+    private volatile Location location;
 
     /**
+     * Must be created on the server thread since it looks up the target
+     *
      * @param effect the effect to play
      * @param target target to play an effect for
      * @param level  the level of the effect
@@ -49,6 +58,8 @@ public class EffectInstance {
         this.effect = effect;
         this.target = target;
         this.level = level;
+        this.key = new SyncQueue.Key(EffectInstance.class, this);
+        this.location = target.getLocation().clone();
 
         life = 0;
         tick = -1;
@@ -77,10 +88,44 @@ public class EffectInstance {
     public void tick() {
         tick++;
         if (tick % effect.getInterval() == 0) {
-            effect.play(target.getLocation(), frame, level);
+            // A newer frame replaces one the server thread hasn't spawned yet
+            Location from   = location;
+            int      index  = frame;
+            double[] points = effect.getPoints(from, index, level);
+            SyncQueue.submit(key, () -> spawn(from, index, points));
             frame++;
             tick = 0;
         }
         life--;
     }
+
+    /**
+     * Spawns a frame at the target's current location, moving the points
+     * worked out for where the target was before. Runs on the server thread.
+     *
+     * @param from   location the points were worked out for
+     * @param index  frame of the animation
+     * @param points particle positions as consecutive x, y, z values
+     */
+    private void spawn(Location from, int index, double[] points) {
+        Location loc = target.getLocation().clone();
+        location = loc;
+
+        if (loc.getWorld() != from.getWorld() || loc.getYaw() != from.getYaw()) {
+            // Turning changes the shape, so the frame has to be worked out again
+            points = effect.getPoints(loc, index, level);
+        } else {
+            double dx = loc.getX() - from.getX();
+            double dy = loc.getY() - from.getY();
+            double dz = loc.getZ() - from.getZ();
+            if (dx != 0 || dy != 0 || dz != 0) {
+                for (int i = 0; i < points.length; i += 3) {
+                    points[i] += dx;
+                    points[i + 1] += dy;
+                    points[i + 2] += dz;
+                }
+            }
+        }
+        effect.spawn(loc, points);
+    }
 }
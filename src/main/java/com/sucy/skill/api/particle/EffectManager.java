@@ -70,6 +70,7 @@ public class EffectManager {
         formulas.clear();
         effects.clear();
         instances.clear();
+        FrameCache.clear();
     }
 
     /**
@@ -80,7 +81,8 @@ public class EffectManager {
      */
     public static void register(ParticleEffect effect) {
         if (effect != null) {
-            effects.put(effect.getName(), effect);
+            ParticleEffect old = effects.put(effect.getName(), effect);
+            if (old != null) FrameCache.invalidate(old);
         }
     }
 
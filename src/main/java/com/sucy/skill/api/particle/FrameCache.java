@@ -0,0 +1,148 @@
+/**
+ * SkillAPI
+ * com.sucy.skill.api.particle.FrameCache
+ * <p>
+ * The MIT License (MIT)
+ * <p>
+ * Copyright (c) 2016 Steven Sucy
+ * <p>
+ * Permission is hereby granted, free of charge, to any person obtaining a copy
+ * of this software and associated documentation files (the "Software"), to deal
+ * in the Software without restriction, including without limitation the rights
+ * to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+ * copies of the Software, and to permit persons to whom the Software is
+ * furnished to do so, subject to the following conditions:
+ * <p>
+ * The above copyright notice and this permission notice shall be included in
+ * all copies or substantial portions of the Software.
+ * <p>
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+ * AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN
+ * THE SOFTWARE.
+ */
+package com.sucy.skill.api.particle;
+
+import java.util.Iterator;
+import java.util.LinkedHashMap;
+import java.util.Map;
+
+/**
+ * Holds the frames of particle effects that don't depend on where they are
+ * played, so the size formulas only run once per effect, level and frame.
+ * <p>
+ * The cache is limited to a number of stored values. When it grows past that,
+ * the effect and level combinations that were played least recently are
+ * dropped and worked out again if they are played later.
+ */
+class FrameCache {
+    private static final long CAPACITY = 1 << 20;
+
+    private static final LinkedHashMap<Key, ParticleEffect.Frame[]> FRAMES = new LinkedHashMap<>(16, 0.75f, true);
+
+    private static long size;
+
+    /**
+     * Gets a frame of an effect, working it out if it isn't cached yet
+     *
+     * @param effect effect to get the frame for
+     * @param level  level of the effect
+     * @param frame  frame of the animation
+     * @return frame data
+     */
+    static synchronized ParticleEffect.Frame get(ParticleEffect effect, int level, int frame) {
+        final Key              key    = new Key(effect, level);
+        ParticleEffect.Frame[] frames = FRAMES.get(key);
+        if (frames == null) {
+            frames = new ParticleEffect.Frame[effect.getFrameCount()];
+            FRAMES.put(key, frames);
+        }
+
+        ParticleEffect.Frame result = frames[frame];
+        if (result == null) {
+            result = effect.computeFrame(frame, level);
+            frames[frame] = result;
+            size += result.size();
+            evict(key);
+        }
+        return result;
+    }
+
+    /**
+     * Drops every cached frame of an effect
+     *
+     * @param effect effect to drop frames for
+     */
+    static synchronized void invalidate(ParticleEffect effect) {
+        final Iterator<Map.Entry<Key, ParticleEffect.Frame[]>> iterator = FRAMES.entrySet().iterator();
+        while (iterator.hasNext()) {
+            final Map.Entry<Key, ParticleEffect.Frame[]> entry = iterator.next();
+            if (entry.getKey().effect == effect) {
+                size -= size(entry.getValue());
+                iterator.remove();
+            }
+        }
+    }
+
+    /**
+     * Drops every cached frame
+     */
+    static synchronized void clear() {
+        FRAMES.clear();
+        size = 0;
+    }
+
+    /**
+     * @return number of values currently cached
+     */
+    static synchronized long size() {
+        return size;
+    }
+
+    /**
+     * Drops the least recently played entries until the cache fits again,
+     * never dropping the entry that was just added to
+     */
+    private static void evict(Key keep) {
+        final Iterator<Map.Entry<Key, ParticleEffect.Frame[]>> iterator = FRAMES.entrySet().iterator();
+        while (size > CAPACITY && iterator.hasNext()) {
+            final Map.Entry<Key, ParticleEffect.Frame[]> entry = iterator.next();
+            if (entry.getKey().equals(keep)) continue;
+            size -= size(entry.getValue());
+            iterator.remove();
+        }
+    }
+
+    private static long size(ParticleEffect.Frame[] frames) {
+        long total = 0;
+        for (ParticleEffect.Frame frame : frames) {
+            if (frame != null) total += frame.size();
+        }
+        return total;
+    }
+
+    private static class Key {
+        private final ParticleEffect effect;
+        private final int            level;
+
+        private Key(ParticleEffect effect, int level) {
+            this.effect = effect;
+            this.level = level;
+        }
+
+        @Override
+        public boolean equals(Object o) {
+            if (!(o instanceof Key)) return false;
+            Key key = (Key) o;
+            return effect == key.effect && level == key.level;
+        }
+
+        @Override
+        public int hashCode() {
+            return 31 * System.identityHashCode(effect) + level;
+        }
+    }
+}
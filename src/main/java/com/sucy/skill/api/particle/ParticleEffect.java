@@ -36,12 +36,11 @@ import com.sucy.skill.data.formula.Formula;
 import com.sucy.skill.data.formula.IValue;
 import com.sucy.skill.data.formula.value.CustomValue;
 import org.bukkit.Location;
-import org.bukkit.Particle;
 import org.bukkit.World;
 import org.bukkit.entity.Player;
 
+import java.util.List;
 import java.util.Objects;
-import java.util.Set;
 
 /**
  * A particle effect that can be played
@@ -58,9 +57,10 @@ public class ParticleEffect {
     private final DirectionHandler shapeDir;
     private final DirectionHandler animDir;
 
-    private final boolean  withRotation;
-    private final double   initialRotation;
-    private final Matrix3D rotMatrix;
+    private final boolean   withRotation;
+    private final double    initialRotation;
+    private final Matrix3D  rotMatrix;
+    private final Point3D[] shapePoints;
 
     private final String name;
 
@@ -136,7 +136,14 @@ public class ParticleEffect {
         this.interval = interval;
         this.view = viewRange;
 
-        int points = shape.getPoints(shapeDir).length;
+        Point3D[] points = shape.getPoints(shapeDir);
+        if (rotMatrix != null) {
+            points = points.clone();
+            for (int i = 0; i < points.length; i++) {
+                points[i] = flatRot.rotateAboutY(points[i], rotMatrix);
+            }
+        }
+        this.shapePoints = points;
         animation.getPoints(animDir);
     }
 
@@ -162,52 +169,164 @@ public class ParticleEffect {
      * @param level level of the effect
      */
     public void play(Location loc, int frame, int level) {
-        frame = frame % animation.getSteps();
         try {
-            int       next        = (frame + 1) * animation.getCopies();
-            Point3D[] animPoints  = animation.getPoints(animDir);
-            Point3D[] shapePoints = shape.getPoints(shapeDir);
-            Point2D[] trig        = animation.getTrig(frame);
-
-            Point2D cs = trig[0];
-            double  t  = animation.getT(frame);
-            double  p  = (double) frame / animation.getSteps();
-
-            int j = 0;
-
-            World       world   = Objects.requireNonNull(loc.getWorld());
-            Set<Player> players = ParticleHelper.filterPlayers(world.getPlayers(), loc, view);
-
-            Particle effect = this.particle.type;
-            int      count  = this.particle.amount;
-            double   dx     = this.particle.dx;
-            double   dy     = this.particle.dy;
-            double   dz     = this.particle.dz;
-            float    speed  = this.particle.speed;
-            Object   object = this.particle.object;
-
-            for (int i = frame * this.animation.getCopies(); i < next; ++i) {
-                Point3D p1       = animPoints[i];
-                double  animSize = this.animSize.compute(t, p, cs.x, cs.y, p1.x, p1.y, p1.z, level);
-
-                for (Point3D p2 : shapePoints) {
-                    double size = this.size.compute(t, p, cs.x, cs.y, p2.x, p2.y, p2.z, level);
-                    if (initialRotation != 0) p2 = flatRot.rotateAboutY(p2, rotMatrix);
-                    if (withRotation) {
-                        double yaw = Math.toRadians(-loc.getYaw());
-                        p2 = flatRot.rotateAboutY(p2, yaw);
-                    }
-                    double x = p1.x * animSize + this.animDir.rotateX(p2, trig[j]) * size + loc.getX();
-                    double y = p1.y * animSize + this.animDir.rotateY(p2, trig[j]) * size + loc.getY();
-                    double z = p1.z * animSize + this.animDir.rotateZ(p2, trig[j]) * size + loc.getZ();
-
-                    players.forEach(player ->
-                            player.spawnParticle(effect, x, y, z, count, dx, dy, dz, speed, object));
-                }
-                ++j;
-            }
+            spawn(loc, getPoints(loc, frame, level));
         } catch (Exception ex) {
             ex.printStackTrace();
         }
     }
+
+    /**
+     * Calculates where the particles of a frame go without touching the
+     * Bukkit API, so this can be done off the server thread. The parts of
+     * the frame that don't depend on the location come from {@link FrameCache}.
+     *
+     * @param loc   location to play at
+     * @param frame frame of the animation to play
+     * @param level level of the effect
+     * @return particle positions as consecutive x, y, z values
+     */
+    public double[] getPoints(Location loc, int frame, int level) {
+        frame = frame % animation.getSteps();
+        final Frame  buffer = FrameCache.get(this, level, frame);
+        final double x      = loc.getX();
+        final double y      = loc.getY();
+        final double z      = loc.getZ();
+
+        if (buffer.local != null) {
+            final double[] points = new double[buffer.local.length];
+            for (int i = 0; i < points.length; i += 3) {
+                points[i] = buffer.local[i] + x;
+                points[i + 1] = buffer.local[i + 1] + y;
+                points[i + 2] = buffer.local[i + 2] + z;
+            }
+            return points;
+        }
+
+        // Turning with the target changes the shape every time, so only the sizes are reused
+        final Point2D[] trig   = animation.getTrig(frame);
+        final int       copies = animation.getCopies();
+        final double    yaw    = Math.toRadians(-loc.getYaw());
+        final double    cos    = Math.cos(yaw);
+        final double    sin    = Math.sin(yaw);
+        final Point3D   turned = new Point3D();
+        final double[]  points = new double[copies * shapePoints.length * 3];
+        int             index  = 0;
+        for (int j = 0; j < copies; j++) {
+            for (int k = 0; k < shapePoints.length; k++) {
+                final Point3D p2   = shapePoints[k];
+                final double  size = buffer.sizes[j * shapePoints.length + k];
+                turned.x = cos * p2.x + sin * p2.z;
+                turned.y = p2.y;
+                turned.z = -sin * p2.x + cos * p2.z;
+                points[index++] = buffer.anim[j * 3] + this.animDir.rotateX(turned, trig[j]) * size + x;
+                points[index++] = buffer.anim[j * 3 + 1] + this.animDir.rotateY(turned, trig[j]) * size + y;
+                points[index++] = buffer.anim[j * 3 + 2] + this.animDir.rotateZ(turned, trig[j]) * size + z;
+            }
+        }
+        return points;
+    }
+
+    /**
+     * @return number of frames in the animation
+     */
+    int getFrameCount() {
+        return animation.getSteps();
+    }
+
+    /**
+     * Works out the parts of a frame that are the same wherever it is played
+     *
+     * @param frame frame of the animation
+     * @param level level of the effect
+     * @return frame data
+     */
+    Frame computeFrame(int frame, int level) {
+        Point3D[] animPoints = animation.getPoints(animDir);
+        Point2D[] trig       = animation.getTrig(frame);
+        Point3D[] unrotated  = shape.getPoints(shapeDir);
+        int       copies     = animation.getCopies();
+
+        Point2D cs = trig[0];
+        double  t  = animation.getT(frame);
+        double  p  = (double) frame / animation.getSteps();
+
+        double[] anim  = new double[copies * 3];
+        double[] sizes = new double[copies * shapePoints.length];
+        double[] local = withRotation ? null : new double[copies * shapePoints.length * 3];
+        int      index = 0;
+        for (int j = 0; j < copies; ++j) {
+            Point3D p1       = animPoints[frame * copies + j];
+            double  animSize = this.animSize.compute(t, p, cs.x, cs.y, p1.x, p1.y, p1.z, level);
+            anim[j * 3] = p1.x * animSize;
+            anim[j * 3 + 1] = p1.y * animSize;
+            anim[j * 3 + 2] = p1.z * animSize;
+
+            for (int k = 0; k < shapePoints.length; k++) {
+                Point3D p2   = unrotated[k];
+                double  size = this.size.compute(t, p, cs.x, cs.y, p2.x, p2.y, p2.z, level);
+                sizes[j * shapePoints.length + k] = size;
+                if (local != null) {
+                    Point3D rotated = shapePoints[k];
+                    local[index++] = anim[j * 3] + this.animDir.rotateX(rotated, trig[j]) * size;
+                    local[index++] = anim[j * 3 + 1] + this.animDir.rotateY(rotated, trig[j]) * size;
+                    local[index++] = anim[j * 3 + 2] + this.animDir.rotateZ(rotated, trig[j]) * size;
+                }
+            }
+        }
+        return new Frame(anim, sizes, local);
+    }
+
+    /**
+     * Spawns the particles at the given positions for the players in view
+     * range. This must be called on the server thread.
+     *
+     * @param loc    location the effect is played at
+     * @param points particle positions from {@link #getPoints(Location, int, int)}
+     */
+    public void spawn(Location loc, double[] points) {
+        World        world   = Objects.requireNonNull(loc.getWorld());
+        List<Player> players = ParticleHelper.getViewers(world.getPlayers(), loc, view);
+        ParticleHelper.spawn(players,
+                particle.type,
+                particle.object,
+                points,
+                points.length / 3,
+                particle.amount,
+                particle.dx,
+                particle.dy,
+                particle.dz,
+                particle.speed);
+    }
+
+    /**
+     * The parts of a frame that don't depend on where it is played
+     */
+    static class Frame {
+        /**
+         * Animation offset of each copy
+         */
+        final double[] anim;
+        /**
+         * Shape size of each point of each copy
+         */
+        final double[] sizes;
+        /**
+         * Finished offsets of each point, or null if the effect turns with its target
+         */
+        final double[] local;
+
+        Frame(double[] anim, double[] sizes, double[] local) {
+            this.anim = anim;
+            this.sizes = sizes;
+            this.local = local;
+        }
+
+        /**
+         * @return number of values held
+         */
+        int size() {
+            return anim.length + sizes.length + (local == null ? 0 : local.length);
+        }
+    }
 }
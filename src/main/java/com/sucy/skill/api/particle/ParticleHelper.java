@@ -29,6 +29,8 @@ package com.sucy.skill.api.particle;
 import com.sucy.skill.SkillAPI;
 import com.sucy.skill.api.Settings;
 import com.sucy.skill.api.enums.Direction;
+import com.sucy.skill.hook.PluginChecker;
+import com.sucy.skill.hook.ProtocolLibHook;
 import org.bukkit.*;
 import org.bukkit.entity.Player;
 import org.bukkit.inventory.ItemStack;
@@ -64,6 +66,12 @@ public final class ParticleHelper {
     public static final String FINAL_DUST_COLOR   = "final-dust-color";
     public static final String DUST_SIZE          = "dust-size";
 
+    private static final Set<Particle> UNBATCHED = EnumSet.noneOf(Particle.class);
+
+    private static ProtocolLibHook protocolLib;
+    private static long            plays;
+    private static long            packets;
+
     private ParticleHelper() {}
 
     public static Particle getFromKey(String particleKey) {
@@ -78,84 +86,7 @@ public final class ParticleHelper {
                             @Nullable Set<Player> viewers,
                             String particleKey,
                             @Nullable BoundingBox targetHitbox) {
-        double   visibleRadius = settings.getDouble(particleKey + VISIBLE_RADIUS_KEY, 25);
-        Particle particle      =
-                ParticleHelper.getFromKey(settings.getString(particleKey + PARTICLE_KEY, "Villager happy"));
-        int      amount        = settings.getInt(particleKey + AMOUNT_KEY, 1);
-        double   dx            = settings.getDouble(particleKey + DX_KEY, 0);
-        double   dy            = settings.getDouble(particleKey + DY_KEY, 0);
-        double   dz            = settings.getDouble(particleKey + DZ_KEY, 0);
-        float    speed         = (float) settings.getDouble(particleKey + SPEED_KEY, 0.1);
-        Object   object        = makeObject(particle, settings, particleKey);
-
-        String arrangement = settings.getString(particleKey + ARRANGEMENT_KEY, "").toLowerCase();
-        int    level       = settings.getInt(particleKey + LEVEL, 1);
-        int    points      = (int) settings.getAttr(particleKey + POINTS_KEY, 0, 20);
-        if (targetHitbox != null) {
-            switch (arrangement) {
-                case "sphere":
-                case "hemisphere":
-                    loc.add(0, targetHitbox.getHeight() / 2, 0);
-                    break;
-                default:
-            }
-        }
-        switch (arrangement) {
-            case "circle":
-                fillCircle(loc,
-                        settings,
-                        level,
-                        points,
-                        visibleRadius,
-                        particle,
-                        amount,
-                        dx,
-                        dy,
-                        dz,
-                        speed,
-                        object,
-                        particleKey,
-                        viewers);
-                break;
-            case "sphere":
-                fillSphere(loc,
-                        settings,
-                        level,
-                        points,
-                        visibleRadius,
-                        particle,
-                        amount,
-                        dx,
-                        dy,
-                        dz,
-                        speed,
-                        object,
-                        particleKey,
-                        viewers);
-                break;
-            case "hemisphere":
-                fillHemisphere(loc,
-                        settings,
-                        level,
-                        points,
-                        visibleRadius,
-                        particle,
-                        amount,
-                        dx,
-                        dy,
-                        dz,
-                        speed,
-                        object,
-                        particleKey,
-                        viewers);
-                break;
-            default:
-                if (viewers == null)
-                    viewers = filterPlayers(Objects.requireNonNull(loc.getWorld()).getPlayers(), loc, visibleRadius);
-                viewers.forEach(
-                        player -> player.spawnParticle(particle, loc, amount, dx, dy, dz, speed, object));
-                break;
-        }
+        ParticleTemplate.compile(settings, particleKey).play(loc, viewers, targetHitbox);
     }
 
 
@@ -173,15 +104,6 @@ public final class ParticleHelper {
             Location loc, Settings settings, int level, int points, double visibleRadius,
             Particle particle, int amount, double dx, double dy, double dz, float speed, Object object,
             String particleKey, @Nullable Set<Player> viewers) {
-        double       radius       = settings.getAttr(particleKey + RADIUS_KEY, level, 3.0);
-        World        world        = Objects.requireNonNull(loc.getWorld());
-        List<Player> worldPlayers = world.getPlayers();
-        double       rSquared     = radius * radius;
-        double       twoRadius    = radius * 2;
-
-        Location temp  = loc.clone();
-        int      index = 0;
-
         Direction direction = null;
         if (settings.has(particleKey + DIRECTION_KEY)) {
             try {
@@ -192,26 +114,8 @@ public final class ParticleHelper {
             direction = Direction.XZ;
         }
 
-        // Play the particles
-        while (index < points) {
-            if (direction == Direction.XY || direction == Direction.XZ) {
-                temp.setX(loc.getX() + SkillAPI.RANDOM.nextDouble() * twoRadius - radius);
-            }
-            if (direction == Direction.XY || direction == Direction.YZ) {
-                temp.setY(loc.getY() + SkillAPI.RANDOM.nextDouble() * twoRadius - radius);
-            }
-            if (direction == Direction.XZ || direction == Direction.YZ) {
-                temp.setZ(loc.getZ() + SkillAPI.RANDOM.nextDouble() * twoRadius - radius);
-            }
-
-            if (temp.distanceSquared(loc) > rSquared) {
-                continue;
-            }
-
-            if (viewers == null) viewers = filterPlayers(worldPlayers, temp, visibleRadius);
-            viewers.forEach(player -> player.spawnParticle(particle, temp, amount, dx, dy, dz, speed, object));
-            index++;
-        }
+        fill(ParticleTemplate.Arrangement.CIRCLE, direction, loc, settings, level, points, visibleRadius,
+                particle, amount, dx, dy, dz, speed, object, particleKey, viewers);
     }
 
     public static void fillCircle(
@@ -227,30 +131,8 @@ public final class ParticleHelper {
             Location loc, Settings settings, int level, int points, double visibleRadius,
             Particle particle, int amount, double dx, double dy, double dz, float speed, Object object,
             String particleKey, @Nullable Set<Player> viewers) {
-        double       radius       = settings.getAttr(particleKey + RADIUS_KEY, level, 3.0);
-        World        world        = Objects.requireNonNull(loc.getWorld());
-        List<Player> worldPlayers = world.getPlayers();
-        double       rSquared     = radius * radius;
-        double       twoRadius    = radius * 2;
-
-        Location temp  = loc.clone();
-        int      index = 0;
-
-        // Play the particles
-        while (index < points) {
-            temp.setX(loc.getX() + SkillAPI.RANDOM.nextDouble() * twoRadius - radius);
-            temp.setY(loc.getY() + SkillAPI.RANDOM.nextDouble() * twoRadius - radius);
-            temp.setZ(loc.getZ() + SkillAPI.RANDOM.nextDouble() * twoRadius - radius);
-
-            if (temp.distanceSquared(loc) > rSquared) {
-                continue;
-            }
-
-            if (viewers == null) viewers = filterPlayers(worldPlayers, temp, visibleRadius);
-            viewers.forEach(
-                    player -> player.spawnParticle(particle, temp, amount, dx, dy, dz, speed, object));
-            index++;
-        }
+        fill(ParticleTemplate.Arrangement.SPHERE, Direction.XZ, loc, settings, level, points, visibleRadius,
+                particle, amount, dx, dy, dz, speed, object, particleKey, viewers);
     }
 
     public static void fillSphere(
@@ -266,30 +148,8 @@ public final class ParticleHelper {
             Location loc, Settings settings, int level, int points, double visibleRadius,
             Particle particle, int amount, double dx, double dy, double dz, float speed, Object object,
             String particleKey, @Nullable Set<Player> viewers) {
-        double       radius       = settings.getAttr(particleKey + RADIUS_KEY, level, 3.0);
-        World        world        = Objects.requireNonNull(loc.getWorld());
-        List<Player> worldPlayers = world.getPlayers();
-        double       rSquared     = radius * radius;
-        double       twoRadius    = radius * 2;
-
-        Location temp  = loc.clone();
-        int      index = 0;
-
-        // Play the particles
-        while (index < points) {
-            temp.setX(loc.getX() + SkillAPI.RANDOM.nextDouble() * twoRadius - radius);
-            temp.setY(loc.getY() + SkillAPI.RANDOM.nextDouble() * radius);
-            temp.setZ(loc.getZ() + SkillAPI.RANDOM.nextDouble() * twoRadius - radius);
-
-            if (temp.distanceSquared(loc) > rSquared) {
-                continue;
-            }
-
-            if (viewers == null) viewers = filterPlayers(worldPlayers, temp, visibleRadius);
-            viewers.forEach(
-                    player -> player.spawnParticle(particle, temp, amount, dx, dy, dz, speed, object));
-            index++;
-        }
+        fill(ParticleTemplate.Arrangement.HEMISPHERE, Direction.XZ, loc, settings, level, points, visibleRadius,
+                particle, amount, dx, dy, dz, speed, object, particleKey, viewers);
     }
 
     public static void fillHemisphere(
@@ -311,6 +171,16 @@ public final class ParticleHelper {
                 null);
     }
 
+    private static void fill(
+            ParticleTemplate.Arrangement arrangement, Direction direction,
+            Location loc, Settings settings, int level, int points, double visibleRadius,
+            Particle particle, int amount, double dx, double dy, double dz, float speed, Object object,
+            String particleKey, @Nullable Set<Player> viewers) {
+        double radius = settings.getAttr(particleKey + RADIUS_KEY, level, 3.0);
+        new ParticleTemplate(arrangement, direction, particle, object, amount, dx, dy, dz, speed, visibleRadius,
+                points, radius).play(loc, viewers, null);
+    }
+
     public static Object makeObject(Particle particle, Settings settings, String particleKey) {
         return switch (particle) {
             case SCULK_CHARGE -> Float.parseFloat(settings.getString(particleKey + DATA_KEY, "0"));
@@ -368,13 +238,106 @@ public final class ParticleHelper {
     }
 
     public static Set<Player> filterPlayers(Collection<Player> players, Location location, double visibleRadius) {
-        visibleRadius = visibleRadius * visibleRadius;
-        Set<Player> result = new HashSet<>();
+        return new HashSet<>(getViewers(players, location, visibleRadius));
+    }
+
+    /**
+     * Gets the players close enough to a location to see particles played there
+     *
+     * @param players       players to pick from
+     * @param location      location of the particles
+     * @param visibleRadius distance the particles can be seen from
+     * @return players that can see the particles
+     */
+    public static List<Player> getViewers(Collection<Player> players, Location location, double visibleRadius) {
+        final double       radiusSq = visibleRadius * visibleRadius;
+        final Location     scratch  = new Location(null, 0, 0, 0);
+        final List<Player> result   = new ArrayList<>();
         for (Player player : players) {
-            if (location.distanceSquared(player.getLocation()) <= visibleRadius) {
+            if (location.distanceSquared(player.getLocation(scratch)) <= radiusSq) {
                 result.add(player);
             }
         }
         return result;
     }
+
+    /**
+     * Shows a particle at several points to each viewer. With ProtocolLib the packet
+     * for each point is only built once and then sent to every viewer.
+     *
+     * @param viewers   players to show the particles to
+     * @param particle  particle type
+     * @param data      extra particle data such as dust options
+     * @param positions coordinates of the points, three values per point
+     * @param count     number of points
+     * @param amount    amount of particles per point
+     * @param dx        random X offset of the particles
+     * @param dy        random Y offset of the particles
+     * @param dz        random Z offset of the particles
+     * @param speed     particle speed
+     */
+    public static void spawn(Collection<Player> viewers,
+                             Particle particle,
+                             @Nullable Object data,
+                             double[] positions,
+                             int count,
+                             int amount,
+                             double dx,
+                             double dy,
+                             double dz,
+                             float speed) {
+        plays++;
+        if (viewers.isEmpty() || count == 0) return;
+
+        int skip = 0;
+        if (PluginChecker.isProtocolLibActive() && !UNBATCHED.contains(particle)) {
+            try {
+                if (protocolLib == null) protocolLib = new ProtocolLibHook(SkillAPI.inst());
+                packets += protocolLib.sendParticles(viewers, particle, data, positions, count,
+                        amount, (float) dx, (float) dy, (float) dz, speed);
+                return;
+            } catch (RuntimeException ex) {
+                // ProtocolLib couldn't handle this particle, let the server do it from now on. Viewers
+                // that were already sent everything are skipped so they don't see the particles twice.
+                UNBATCHED.add(particle);
+                if (protocolLib != null) {
+                    skip = protocolLib.getCompletedViewers();
+                    packets += (long) skip * count;
+                }
+            }
+        }
+
+        int index = 0;
+        for (Player viewer : viewers) {
+            if (index++ < skip) continue;
+            for (int i = 0; i < count; i++) {
+                final int offset = i * 3;
+                viewer.spawnParticle(particle, positions[offset], positions[offset + 1], positions[offset + 2],
+                        amount, dx, dy, dz, speed, data);
+            }
+        }
+        packets += (long) (viewers.size() - skip) * count;
+    }
+
+    /**
+     * @return number of times particles were played since the last reset
+     */
+    public static long getPlays() {
+        return plays;
+    }
+
+    /**
+     * @return number of particle packets sent since the last reset
+     */
+    public static long getPackets() {
+        return packets;
+    }
+
+    /**
+     * Resets the particle play and packet counts
+     */
+    public static void resetMetrics() {
+        plays = 0;
+        packets = 0;
+    }
 }
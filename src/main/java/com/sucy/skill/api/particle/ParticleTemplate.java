@@ -0,0 +1,275 @@
+/**
+ * SkillAPI
+ * com.sucy.skill.api.particle.ParticleTemplate
+ * <p>
+ * The MIT License (MIT)
+ * <p>
+ * Copyright (c) 2016 Steven Sucy
+ * <p>
+ * Permission is hereby granted, free of charge, to any person obtaining a copy
+ * of this software and associated documentation files (the "Software"), to deal
+ * in the Software without restriction, including without limitation the rights
+ * to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+ * copies of the Software, and to permit persons to whom the Software is
+ * furnished to do so, subject to the following conditions:
+ * <p>
+ * The above copyright notice and this permission notice shall be included in
+ * all copies or substantial portions of the Software.
+ * <p>
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+ * AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN
+ * THE SOFTWARE.
+ */
+package com.sucy.skill.api.particle;
+
+import com.sucy.skill.SkillAPI;
+import com.sucy.skill.api.Settings;
+import com.sucy.skill.api.enums.Direction;
+import lombok.Getter;
+import org.bukkit.Location;
+import org.bukkit.Particle;
+import org.bukkit.entity.Player;
+import org.bukkit.util.BoundingBox;
+import org.jetbrains.annotations.Nullable;
+
+import java.util.Collection;
+import java.util.Locale;
+import java.util.Objects;
+import java.util.Random;
+
+import static com.sucy.skill.api.particle.ParticleHelper.*;
+
+/**
+ * A particle setup read from settings once so it can be played many times
+ * without looking anything up. Shapes are taken from point clouds shared by
+ * every template, so playing one doesn't need to pick random points either.
+ */
+public class ParticleTemplate {
+    private static final int      CLOUD_SIZE = 1024;
+    private static final double[] DISK       = cloud(2, false);
+    private static final double[] BALL       = cloud(3, false);
+    private static final double[] HALF_BALL  = cloud(3, true);
+
+    @Getter
+    private final Particle    particle;
+    private final Object      data;
+    private final int         amount;
+    private final double      dx;
+    private final double      dy;
+    private final double      dz;
+    private final float       speed;
+    private final double      visibleRadius;
+    @Getter
+    private final Arrangement arrangement;
+    private final Direction   direction;
+    @Getter
+    private final int         points;
+    @Getter
+    private final double      radius;
+
+    /**
+     * Sets up a template from explicit values
+     *
+     * @param arrangement   shape to fill
+     * @param direction     plane circles are drawn in
+     * @param particle      particle type
+     * @param data          extra particle data such as dust options
+     * @param amount        amount of particles per point
+     * @param dx            random X offset of the particles
+     * @param dy            random Y offset of the particles
+     * @param dz            random Z offset of the particles
+     * @param speed         particle speed
+     * @param visibleRadius distance players can see the particles from
+     * @param points        number of points to fill the shape with
+     * @param radius        radius of the shape
+     */
+    public ParticleTemplate(Arrangement arrangement,
+                            Direction direction,
+                            Particle particle,
+                            Object data,
+                            int amount,
+                            double dx,
+                            double dy,
+                            double dz,
+                            float speed,
+                            double visibleRadius,
+                            int points,
+                            double radius) {
+        this.arrangement = arrangement;
+        this.direction = direction;
+        this.particle = particle;
+        this.data = data;
+        this.amount = amount;
+        this.dx = dx;
+        this.dy = dy;
+        this.dz = dz;
+        this.speed = speed;
+        this.visibleRadius = visibleRadius;
+        this.points = points;
+        this.radius = radius;
+    }
+
+    /**
+     * Reads a template from the same settings {@link ParticleHelper#play} uses
+     *
+     * @param settings    settings to read from
+     * @param particleKey prefix of the particle settings
+     * @return compiled template
+     */
+    public static ParticleTemplate compile(Settings settings, String particleKey) {
+        final Particle particle = getFromKey(settings.getString(particleKey + PARTICLE_KEY, "Villager happy"));
+        final int      level    = settings.getInt(particleKey + LEVEL, 1);
+
+        Direction direction = null;
+        if (settings.has(particleKey + DIRECTION_KEY)) {
+            try {
+                direction = Direction.valueOf(settings.getString(particleKey + DIRECTION_KEY));
+            } catch (Exception ex) { /* Use default value */ }
+        }
+
+        return new ParticleTemplate(
+                Arrangement.of(settings.getString(particleKey + ARRANGEMENT_KEY, "")),
+                direction == null ? Direction.XZ : direction,
+                particle,
+                makeObject(particle, settings, particleKey),
+                settings.getInt(particleKey + AMOUNT_KEY, 1),
+                settings.getDouble(particleKey + DX_KEY, 0),
+                settings.getDouble(particleKey + DY_KEY, 0),
+                settings.getDouble(particleKey + DZ_KEY, 0),
+                (float) settings.getDouble(particleKey + SPEED_KEY, 0.1),
+                settings.getDouble(particleKey + VISIBLE_RADIUS_KEY, 25),
+                (int) settings.getAttr(particleKey + POINTS_KEY, 0, 20),
+                settings.getAttr(particleKey + RADIUS_KEY, level, 3.0));
+    }
+
+    /**
+     * Plays the particles about a location to everyone nearby
+     *
+     * @param loc location to play at
+     */
+    public void play(Location loc) {
+        play(loc, points, radius, null, null);
+    }
+
+    /**
+     * Plays the particles about a location
+     *
+     * @param loc          location to play at, moved up to the middle of the hitbox for spheres
+     * @param viewers      players to show the particles to or null for everyone nearby
+     * @param targetHitbox hitbox of the target the particles are for, if any
+     */
+    public void play(Location loc, @Nullable Collection<Player> viewers, @Nullable BoundingBox targetHitbox) {
+        play(loc, points, radius, viewers, targetHitbox);
+    }
+
+    /**
+     * Plays the particles about a location with a different size than the template's
+     *
+     * @param loc          location to play at, moved up to the middle of the hitbox for spheres
+     * @param points       number of points to fill the shape with
+     * @param radius       radius of the shape
+     * @param viewers      players to show the particles to or null for everyone nearby
+     * @param targetHitbox hitbox of the target the particles are for, if any
+     */
+    public void play(Location loc,
+                     int points,
+                     double radius,
+                     @Nullable Collection<Player> viewers,
+                     @Nullable BoundingBox targetHitbox) {
+        if (targetHitbox != null && (arrangement == Arrangement.SPHERE || arrangement == Arrangement.HEMISPHERE)) {
+            loc.add(0, targetHitbox.getHeight() / 2, 0);
+        }
+        if (viewers == null) {
+            viewers = getViewers(Objects.requireNonNull(loc.getWorld()).getPlayers(), loc, visibleRadius);
+        }
+
+        final double[] positions;
+        final int      count;
+        if (arrangement == Arrangement.POINT) {
+            positions = new double[]{loc.getX(), loc.getY(), loc.getZ()};
+            count = 1;
+        } else {
+            positions = new double[points * 3];
+            count = points;
+            fill(positions, points, radius, loc);
+        }
+        ParticleHelper.spawn(viewers, particle, data, positions, count, amount, dx, dy, dz, speed);
+    }
+
+    /**
+     * Copies points from the shape's cloud, starting somewhere random,
+     * scaled to the radius and moved to the location
+     */
+    private void fill(double[] positions, int points, double radius, Location loc) {
+        final double x = loc.getX();
+        final double y = loc.getY();
+        final double z = loc.getZ();
+        int          i = SkillAPI.RANDOM.nextInt(CLOUD_SIZE);
+        for (int p = 0; p < points; p++, i = (i + 1) % CLOUD_SIZE) {
+            final int out = p * 3;
+            if (arrangement == Arrangement.CIRCLE) {
+                final double a = DISK[i * 2] * radius;
+                final double b = DISK[i * 2 + 1] * radius;
+                positions[out] = direction == Direction.YZ ? x : x + a;
+                positions[out + 1] = direction == Direction.XY ? y + b : direction == Direction.YZ ? y + a : y;
+                positions[out + 2] = direction == Direction.XY ? z : z + b;
+            } else {
+                final double[] cloud = arrangement == Arrangement.SPHERE ? BALL : HALF_BALL;
+                positions[out] = x + cloud[i * 3] * radius;
+                positions[out + 1] = y + cloud[i * 3 + 1] * radius;
+                positions[out + 2] = z + cloud[i * 3 + 2] * radius;
+            }
+        }
+    }
+
+    /**
+     * Picks random points spread evenly within a unit circle or sphere
+     */
+    private static double[] cloud(int dimensions, boolean upperHalf) {
+        final Random   random = new Random(dimensions * 31L + (upperHalf ? 1 : 0));
+        final double[] cloud  = new double[CLOUD_SIZE * dimensions];
+        int            index  = 0;
+        while (index < cloud.length) {
+            double lengthSq = 0;
+            for (int i = 0; i < dimensions; i++) {
+                final double value = upperHalf && i == 1 ? random.nextDouble() : random.nextDouble() * 2 - 1;
+                cloud[index + i] = value;
+                lengthSq += value * value;
+            }
+            if (lengthSq <= 1) {
+                index += dimensions;
+            }
+        }
+        return cloud;
+    }
+
+    /**
+     * Shapes particles can be played in
+     */
+    public enum Arrangement {
+        POINT, CIRCLE, SPHERE, HEMISPHERE;
+
+        /**
+         * Gets the arrangement matching a setting value
+         *
+         * @param name setting value
+         * @return matching arrangement or a single point if not recognized
+         */
+        public static Arrangement of(String name) {
+            switch (name.toLowerCase(Locale.US)) {
+                case "circle":
+                    return CIRCLE;
+                case "sphere":
+                    return SPHERE;
+                case "hemisphere":
+                    return HEMISPHERE;
+                default:
+                    return POINT;
+            }
+        }
+    }
+}
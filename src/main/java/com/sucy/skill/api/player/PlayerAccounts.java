@@ -55,6 +55,7 @@ public class PlayerAccounts {
     @Setter
     @Accessors(fluent = true)
     private       boolean                      isLoaded  = false;
+    private volatile boolean                   dirty     = false;
 
     /**
      * Initializes a new container for player account data.
@@ -198,6 +199,7 @@ public class PlayerAccounts {
     public void setAccount(int id, boolean apply) {
         Player player = getPlayer();
         if (player == null || id == active || !apply) {
+            if (id != active) dirty = true;
             active = id;
             return;
         }
@@ -211,6 +213,7 @@ public class PlayerAccounts {
                 return;
             }
 
+            dirty = true;
             if (SkillAPI.getSettings().isWorldEnabled(player.getWorld())) {
                 ClassBoardManager.clear(player);
                 getActiveData().stopPassives(player);
@@ -234,6 +237,43 @@ public class PlayerAccounts {
         }
     }
     
+    /**
+     * Checks whether any of the accounts, or the active account
+     * selection, changed since the data was last saved
+     *
+     * @return true if there are unsaved changes, false otherwise
+     */
+    public boolean isDirty() {
+        if (dirty) {
+            return true;
+        }
+        for (PlayerData data : classData.values()) {
+            if (data.isDirty()) {
+                return true;
+            }
+        }
+        return false;
+    }
+
+    /**
+     * Flags the data as having unsaved changes so the next
+     * auto save writes it out
+     */
+    public void markDirty() {
+        dirty = true;
+    }
+
+    /**
+     * Clears the unsaved changes flag of all accounts. Used by
+     * the API after saving. Do not use this in other plugins.
+     */
+    public void clearDirty() {
+        dirty = false;
+        for (PlayerData data : classData.values()) {
+            data.clearDirty();
+        }
+    }
+
     protected PlayerData createPlayerData(OfflinePlayer player, boolean init) {
         return new PlayerDataImpl(player, init);
     }
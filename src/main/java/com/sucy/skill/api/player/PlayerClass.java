@@ -108,6 +108,17 @@ public class PlayerClass {
         return classData;
     }
 
+    /**
+     * <p>Swaps the generic data for a reloaded copy of the same class, keeping
+     * the player's progress. This is used by the API when a class file changes.
+     * Use {@link #setClassData(RPGClass)} to change the player's class.</p>
+     *
+     * @param classData reloaded class data
+     */
+    public void reloadData(RPGClass classData) {
+        this.classData = classData;
+    }
+
     /**
      * <p>Retrieves the experience of the class towards the next level.</p>
      * <p>This should not ever be higher than the required experience.</p>
@@ -125,6 +136,7 @@ public class PlayerClass {
      */
     public void setExp(double exp) {
         this.exp = Math.max(Math.min(exp, getRequiredExp() - 1), 0);
+        player.markDirty();
     }
 
     /**
@@ -169,6 +181,8 @@ public class PlayerClass {
             throw new IllegalArgumentException("Cannot be a level less than 1");
 
         this.level = level;
+        player.invalidateAttributes();
+        player.markDirty();
     }
 
     /**
@@ -198,6 +212,7 @@ public class PlayerClass {
 
         // Set the points
         points = amount;
+        player.markDirty();
     }
 
     ///////////////////////////////////////////////////////
@@ -270,6 +285,7 @@ public class PlayerClass {
         // Add the points if not cancelled
         if (!event.isCancelled()) {
             points += event.getAmount();
+            player.markDirty();
         }
     }
 
@@ -291,6 +307,7 @@ public class PlayerClass {
 
         // Use the points
         points -= amount;
+        player.markDirty();
     }
 
     /**
@@ -345,6 +362,7 @@ public class PlayerClass {
             }
 
             exp += rounded;
+            player.markDirty();
             checkLevelUp();
         }
     }
@@ -375,6 +393,7 @@ public class PlayerClass {
                 amount = Math.min(event.getExp(), exp);
             }
             exp = exp - amount;
+            player.markDirty();
 
 
             // Exp loss message
@@ -479,6 +498,8 @@ public class PlayerClass {
         amount = Math.min(amount, classData.getMaxLevel() - level);
         if (amount <= 0) return;
         level += amount;
+        player.invalidateAttributes();
+        player.markDirty();
         points += classData.getGroupSettings().getPointsForLevels(level, level - amount);
         getPlayerData().giveAttribPoints(classData.getGroupSettings().getAttribsForLevels(level, level - amount));
 
@@ -512,6 +533,8 @@ public class PlayerClass {
             return;
         }
         level -= amount;
+        player.invalidateAttributes();
+        player.markDirty();
         points += classData.getGroupSettings().getPointsForLevels(level, level + amount);
         getPlayerData().giveAttribPoints(classData.getGroupSettings().getAttribsForLevels(level, level + amount));
 
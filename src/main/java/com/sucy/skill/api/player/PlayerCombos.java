@@ -247,6 +247,7 @@ public class PlayerCombos {
         if (combo <= max) {
             skills.put(combo, skill.getName().toLowerCase());
             reverse.put(skill.getName(), combo);
+            player.markDirty();
         } else {
             Logger.invalid("Failed to assign combo for " + skill.getName() + " - no remaining combos");
         }
@@ -262,6 +263,7 @@ public class PlayerCombos {
             return;
         }
         skills.remove(reverse.remove(skill.getName()));
+        player.markDirty();
     }
 
     /**
@@ -334,6 +336,7 @@ public class PlayerCombos {
             skills.put(id, skill.getName().toLowerCase());
             reverse.put(skill.getName(), id);
         }
+        player.markDirty();
         return true;
     }
 
@@ -108,6 +108,27 @@ public interface PlayerData {
      */
     void endInit();
 
+    /**
+     * Checks whether the account has persistent changes that
+     * have not been saved yet. Volatile values such as mana,
+     * health and hunger do not mark the account as changed.
+     *
+     * @return true if there are unsaved changes, false otherwise
+     */
+    boolean isDirty();
+
+    /**
+     * Flags the account as having unsaved changes so the
+     * next auto save writes it out
+     */
+    void markDirty();
+
+    /**
+     * Clears the unsaved changes flag. Used by the API after
+     * the data has been saved. Do not use this in other plugins.
+     */
+    void clearDirty();
+
     /**
      * Retrieves the name of the active map menu scheme for the player
      *
@@ -159,6 +180,13 @@ public interface PlayerData {
      */
     int getAttribute(String key);
 
+    /**
+     * Clears the cached attribute totals and stats so they are
+     * recomputed the next time they are needed. Call this after
+     * changing class levels or the raw attribute data directly.
+     */
+    void invalidateAttributes();
+
     /**
      * Gets the number of attribute points invested in the
      * given attribute
@@ -353,6 +381,16 @@ public interface PlayerData {
      */
     double scaleDynamic(EffectComponent component, String key, double value);
 
+    /**
+     * Scales a dynamic skill's value using global modifiers
+     *
+     * @param component component holding the value
+     * @param id        ID the value's key was interned to by the attribute manager
+     * @param value     unmodified value
+     * @return the modified value
+     */
+    double scaleDynamic(EffectComponent component, int id, double value);
+
     /**
      * Opens the attribute menu for the player
      *
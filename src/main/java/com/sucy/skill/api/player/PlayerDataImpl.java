@@ -109,6 +109,8 @@ public class PlayerDataImpl implements PlayerData {
     private final PlayerEquips          equips;
     private final List<UUID>            onCooldown = new ArrayList<>();
 
+    private volatile AttributeCache attributeCache;
+
     public  int        attribPoints;
     private String     scheme;
     private String     menuClass;
@@ -120,6 +122,7 @@ public class PlayerDataImpl implements PlayerData {
     private double     hunger;
     private boolean    init;
     private boolean    passive;
+    private volatile boolean dirty = true;
     private long       skillTimer;
     private BukkitTask removeTimer;
     private Runnable   onPreviewStop;
@@ -228,6 +231,21 @@ public class PlayerDataImpl implements PlayerData {
         init = false;
     }
 
+    @Override
+    public boolean isDirty() {
+        return dirty;
+    }
+
+    @Override
+    public void markDirty() {
+        dirty = true;
+    }
+
+    @Override
+    public void clearDirty() {
+        dirty = false;
+    }
+
     ///////////////////////////////////////////////////////
     //                                                   //
     //                    Attributes                     //
@@ -242,6 +260,7 @@ public class PlayerDataImpl implements PlayerData {
     @Override
     public void setScheme(String name) {
         scheme = name;
+        markDirty();
     }
 
     @Override
@@ -266,6 +285,54 @@ public class PlayerDataImpl implements PlayerData {
     @Override
     public int getAttribute(String key) {
         key = key.toLowerCase();
+        final IAttributeManager manager      = SkillAPI.getAttributeManager();
+        final ProAttribute      proAttribute = manager == null ? null : manager.getAttribute(key);
+        if (proAttribute == null || !proAttribute.getKey().equals(key)) {
+            return computeAttribute(key);
+        }
+        return getAttribute(proAttribute);
+    }
+
+    /**
+     * Gets the total for a registered attribute, computing it
+     * only if it changed since the last time it was needed
+     *
+     * @param proAttribute attribute to get the total for
+     * @return number of total points
+     */
+    private int getAttribute(ProAttribute proAttribute) {
+        final AttributeCache cache = getAttributeCache();
+        final int            id    = proAttribute.getId();
+        if (cache == null || id < 0 || id >= cache.totals.length) {
+            return computeAttribute(proAttribute.getKey());
+        }
+
+        int total = cache.totals[id];
+        if (total < 0) {
+            total = computeAttribute(proAttribute.getKey());
+            cache.totals[id] = total;
+        }
+        return total;
+    }
+
+    private AttributeCache getAttributeCache() {
+        final IAttributeManager manager = SkillAPI.getAttributeManager();
+        if (manager == null) return null;
+
+        AttributeCache cache = attributeCache;
+        if (cache == null || cache.manager != manager) {
+            cache = new AttributeCache(manager);
+            attributeCache = cache;
+        }
+        return cache;
+    }
+
+    @Override
+    public void invalidateAttributes() {
+        attributeCache = null;
+    }
+
+    private int computeAttribute(String key) {
         double total = 0;
 
         // Attribute points comes with class level
@@ -338,6 +405,7 @@ public class PlayerDataImpl implements PlayerData {
             attributes.put(key, currentInvested + cost); // iomatix: total spent goes by the cost
             attrUpStages.put(key, currentStage + 1); // iomatix: upgrade stage goes by 1
             attribPoints -= cost; // iomatix new cost has been applied
+            invalidateAttributes();
 
             PlayerUpAttributeEvent event = new PlayerUpAttributeEvent(this, key);
             Bukkit.getPluginManager().callEvent(event);
@@ -346,7 +414,9 @@ public class PlayerDataImpl implements PlayerData {
                 attributes.put(key, currentInvested);
                 attrUpStages.put(key, currentStage);
                 attribPoints += cost;
+                invalidateAttributes();
             } else {
+                markDirty();
                 return true;
             }
         }
@@ -407,6 +477,8 @@ public class PlayerDataImpl implements PlayerData {
         attrUpStages.put(key, amount); // iomatix: attr stage goes up by the given value
         int cost = getAttributeUpCost(key, currentStage, amount);
         attributes.put(key, invested + cost); // let's increase totals value for now
+        invalidateAttributes();
+        markDirty();
 
         this.updatePlayerStat(getPlayer());
     }
@@ -416,6 +488,7 @@ public class PlayerDataImpl implements PlayerData {
         List<PlayerStatModifier> modifiers = this.getStatModifiers(key);
         modifiers.add(modifier);
         this.statModifiers.put(key, modifiers);
+        invalidateAttributes();
 
         if (update) {
             this.updatePlayerStat(getPlayer());
@@ -437,6 +510,7 @@ public class PlayerDataImpl implements PlayerData {
         List<PlayerAttributeModifier> modifiers = this.getAttributeModifiers(key);
         modifiers.add(modifier);
         this.attributesModifiers.put(key, modifiers);
+        invalidateAttributes();
 
         if (update) {
             this.updatePlayerStat(getPlayer());
@@ -474,6 +548,8 @@ public class PlayerDataImpl implements PlayerData {
                 attributes.remove(key);
                 attrUpStages.remove(key);
             }
+            invalidateAttributes();
+            markDirty();
             this.updatePlayerStat(getPlayer());
 
             return true;
@@ -489,6 +565,8 @@ public class PlayerDataImpl implements PlayerData {
                 getInvestedAttribute(key); // alternative totalCost==>getAttributeUpCost(key, 0, getInvestedAttributeStage(key)); // iomatix: alternative calculate total cost in points
         attributes.remove(key);
         attrUpStages.remove(key); // iomatix: reset to stage 0 by removing the mapping
+        invalidateAttributes();
+        markDirty();
         this.updatePlayerStat(getPlayer());
     }
 
@@ -508,11 +586,13 @@ public class PlayerDataImpl implements PlayerData {
     @Override
     public void giveAttribPoints(int amount) {
         attribPoints += amount;
+        markDirty();
     }
 
     @Override
     public void setAttribPoints(int amount) {
         attribPoints = amount;
+        markDirty();
     }
 
     @Override
@@ -535,15 +615,32 @@ public class PlayerDataImpl implements PlayerData {
             return defaultValue;
         }
 
+        final int            id    = manager.getStatId(stat);
+        final AttributeCache cache = getAttributeCache();
+        final double         modified;
+        if (id < 0 || 2 * id >= cache.stats.length) {
+            modified = computeStat(manager, stat, id, defaultValue);
+        } else if (cache.stats[2 * id] == defaultValue) {
+            modified = cache.stats[2 * id + 1];
+        } else {
+            modified = computeStat(manager, stat, id, defaultValue);
+            cache.stats[2 * id + 1] = modified;
+            cache.stats[2 * id] = defaultValue;
+        }
+
+        return Math.max(min, Math.min(max, modified));
+    }
+
+    private double computeStat(IAttributeManager manager, String stat, int id, double defaultValue) {
         double modified = defaultValue;
 
-        final List<ProAttribute> matches = manager.forStat(stat);
+        final List<ProAttribute> matches = manager.forStat(id);
         if (matches != null) {
 
             for (final ProAttribute proAttribute : matches) {
-                int amount = this.getAttribute(proAttribute.getKey());
+                int amount = this.getAttribute(proAttribute);
                 if (amount > 0) {
-                    modified = proAttribute.modifyStat(stat, modified, amount);
+                    modified = proAttribute.modifyStat(id, modified, amount);
                 }
             }
 
@@ -570,7 +667,7 @@ public class PlayerDataImpl implements PlayerData {
             modified = modified * multiplier;
         }
 
-        return Math.max(min, Math.min(max, modified));
+        return modified;
     }
 
     @Override
@@ -580,15 +677,25 @@ public class PlayerDataImpl implements PlayerData {
             return value;
         }
 
-        final List<ProAttribute> matches = manager.forComponent(component, key);
+        return scaleDynamic(component, manager.getComponentId(component, key), value);
+    }
+
+    @Override
+    public double scaleDynamic(EffectComponent component, int id, double value) {
+        final IAttributeManager manager = SkillAPI.getAttributeManager();
+        if (manager == null) {
+            return value;
+        }
+
+        final List<ProAttribute> matches = manager.forComponent(id);
         if (matches == null) {
             return value;
         }
 
         for (final ProAttribute proAttribute : matches) {
-            int amount = getAttribute(proAttribute.getKey());
+            int amount = getAttribute(proAttribute);
             if (amount > 0) {
-                value = proAttribute.modify(component, key, value, amount);
+                value = proAttribute.modify(component, id, value, amount);
             }
         }
         return value;
@@ -699,6 +806,7 @@ public class PlayerDataImpl implements PlayerData {
             PlayerSkill data = new PlayerSkill(this, skill, parent);
             skills.put(key, data);
             combos.addSkill(skill);
+            markDirty();
         }
     }
 
@@ -1125,6 +1233,8 @@ public class PlayerDataImpl implements PlayerData {
             classData.setPoints(c.getPoints());
         }
         classes.put(rpgClass.getGroup(), classData);
+        invalidateAttributes();
+        markDirty();
 
         // Add in missing skills
         for (Skill skill : rpgClass.getSkills()) {
@@ -1192,6 +1302,8 @@ public class PlayerDataImpl implements PlayerData {
         PlayerClass playerClass = classes.remove(group);
         int         points      = 0;
         if (playerClass != null) {
+            invalidateAttributes();
+            markDirty();
             // Remove skills
             RPGClass data = playerClass.getData();
             for (Skill skill : data.getSkills()) {
@@ -1241,6 +1353,8 @@ public class PlayerDataImpl implements PlayerData {
         attributes.clear();
         attrUpStages.clear();
         attribPoints = 0;
+        invalidateAttributes();
+        markDirty();
         for (PlayerClass c : classes.values()) {
             GroupSettings s = c.getData().getGroupSettings();
             attribPoints += s.getStartingAttribs() + s.getAttribsForLevels(c.getLevel(), 1);
@@ -1274,6 +1388,7 @@ public class PlayerDataImpl implements PlayerData {
             if (previousData == null || isResetting) {
                 current = new PlayerClass(this, rpgClass);
                 classes.put(rpgClass.getGroup(), current);
+                invalidateAttributes();
                 attribPoints += rpgClass.getGroupSettings().getStartingAttribs();
                 if (skillPoints == -1) skillPoints = current.getPoints();
             } else {
@@ -1294,6 +1409,7 @@ public class PlayerDataImpl implements PlayerData {
             if (skillPoints < 0 || (isResetting && skillPoints == 0))
                 skillPoints = rpgClass.getGroupSettings().getStartingPoints();
             current.setPoints(skillPoints);
+            markDirty();
             updateScoreboard();
             updatePlayerStat(getPlayer());
             return true;
@@ -1619,6 +1735,7 @@ public class PlayerDataImpl implements PlayerData {
 
             this.statModifiers.put(entry.getKey(), modifiers);
         }
+        invalidateAttributes();
 
         if (update) {
             this.updatePlayerStat(getPlayer());
@@ -1640,6 +1757,7 @@ public class PlayerDataImpl implements PlayerData {
 
             this.statModifiers.put(entry.getKey(), modifiers);
         }
+        invalidateAttributes();
 
         this.updatePlayerStat(getPlayer());
     }
@@ -1659,6 +1777,7 @@ public class PlayerDataImpl implements PlayerData {
 
             this.attributesModifiers.put(entry.getKey(), modifiers);
         }
+        invalidateAttributes();
 
         if (update) {
             this.updatePlayerStat(getPlayer());
@@ -1686,6 +1805,7 @@ public class PlayerDataImpl implements PlayerData {
 
             this.attributesModifiers.put(entry.getKey(), modifiers);
         }
+        invalidateAttributes();
 
         this.equips.update(getPlayer());
         this.updatePlayerStat(getPlayer());
@@ -1804,20 +1924,25 @@ public class PlayerDataImpl implements PlayerData {
             });
             if (sum.isEmpty()) return;
             persistentData.put(key, "targets-" + String.join(";", sum));
+            markDirty();
             return;
         }
         if (data instanceof Location) {
             Location loc = (Location) data;
             persistentData.put(key,
                     String.format("loc,%s,%f,%f,%f", loc.getWorld().getName(), loc.getX(), loc.getY(), loc.getZ()));
+            markDirty();
             return;
         }
         persistentData.put(key, data.toString());
+        markDirty();
     }
 
     @Override
     public void removePersistentData(String key) {
-        persistentData.remove(key);
+        if (persistentData.remove(key) != null) {
+            markDirty();
+        }
     }
 
     @Override
@@ -2054,6 +2179,27 @@ public class PlayerDataImpl implements PlayerData {
         this.updateScoreboard();
     }
 
+    /**
+     * Attribute totals and stats computed since the last change to
+     * anything that feeds into them. Totals are indexed by attribute
+     * ID with -1 marking ones that haven't been computed yet, while
+     * stats hold the last base value and scaled value for each stat
+     * ID side by side.
+     */
+    private static class AttributeCache {
+        private final IAttributeManager manager;
+        private final int[]             totals;
+        private final double[]          stats;
+
+        private AttributeCache(IAttributeManager manager) {
+            this.manager = manager;
+            this.totals = new int[manager.getAttributes().size()];
+            this.stats = new double[manager.getStatCount() * 2];
+            Arrays.fill(this.totals, -1);
+            Arrays.fill(this.stats, Double.NaN);
+        }
+    }
+
     public static class ExternallyAddedSkill {
         private final String        id;
         private final NamespacedKey key;
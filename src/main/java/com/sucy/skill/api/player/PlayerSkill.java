@@ -98,6 +98,16 @@ public final class PlayerSkill {
         return skill;
     }
 
+    /**
+     * Swaps the template data for a reloaded copy of the same skill, keeping
+     * the player's progress. This is used by the API when a skill file changes.
+     *
+     * @param skill reloaded skill template data
+     */
+    public void setData(Skill skill) {
+        this.skill = skill;
+    }
+
     /**
      * Retrieves the owning player class.
      *
@@ -246,6 +256,7 @@ public final class PlayerSkill {
      */
     public void setLevel(int level) {
         this.level = level;
+        player.markDirty();
     }
 
     /**
@@ -257,6 +268,7 @@ public final class PlayerSkill {
      */
     public void addLevels(int amount) {
         this.level = Math.min(this.level + amount, skill.getMaxLevel());
+        player.markDirty();
     }
 
     /**
@@ -274,6 +286,7 @@ public final class PlayerSkill {
     public void revert() {
         parent.givePoints(getInvestedCost());
         level = 0;
+        player.markDirty();
     }
 
     /**
@@ -282,6 +295,7 @@ public final class PlayerSkill {
     public void startCooldown() {
         long cd = (long) player.scaleStat(AttributeManager.COOLDOWN, skill.getCooldown(level) * 1000L);
         cooldown = System.currentTimeMillis() + cd;
+        player.markDirty();
     }
 
     /**
@@ -290,6 +304,7 @@ public final class PlayerSkill {
      */
     public void refreshCooldown() {
         cooldown = 0;
+        player.markDirty();
     }
 
     /**
@@ -313,6 +328,7 @@ public final class PlayerSkill {
             cooldown += (int) (seconds * 1000);
         else
             cooldown = System.currentTimeMillis() + (int) (seconds * 1000);
+        player.markDirty();
     }
 
     /**
@@ -58,19 +58,26 @@ public class PlayerSkillBar {
      * @param player owning player data
      */
     public PlayerSkillBar(PlayerData player) {
+        this.player = player;
         if (SkillAPI.getSettings().getCastMode().equals(CastMode.COMBAT)) {
             reserve(SkillAPI.getSettings().getCastSlot());
         }
 
-        this.player = player;
         for (int i = 1; i <= 9; i++)
             if (SkillAPI.getSettings().getDefaultBarLayout()[i - 1] && !reserved.contains(i - 1))
                 slots.put(i, UNASSIGNED);
     }
 
+    /**
+     * Reserves a hotbar slot so it can't hold a skill, removing any skill slot there
+     *
+     * @param slot slot to reserve
+     */
     public void reserve(int slot) {
         this.reserved.add(slot);
-        this.slots.remove(slot);
+        if (this.slots.remove(slot) != null) {
+            player.markDirty();
+        }
     }
 
     /**
@@ -170,6 +177,7 @@ public class PlayerSkillBar {
             enabled = true;
             setup(player.getPlayer());
         }
+        player.markDirty();
     }
 
     /**
@@ -198,6 +206,7 @@ public class PlayerSkillBar {
             slots.remove(slot);
         else
             slots.put(slot, UNASSIGNED);
+        player.markDirty();
 
         setup(p);
     }
@@ -264,6 +273,7 @@ public class PlayerSkillBar {
 
             slots.put(i + 1, UNASSIGNED);
         }
+        player.markDirty();
         update(getPlayer());
     }
 
@@ -317,6 +327,7 @@ public class PlayerSkillBar {
         for (int i = 1; i <= 9; i++) {
             if (slots.containsKey(i) && slots.get(i).equals(UNASSIGNED)) {
                 slots.put(i, skill.getData().getName());
+                player.markDirty();
                 update(player.getPlayer());
                 return;
             }
@@ -340,6 +351,7 @@ public class PlayerSkillBar {
             }
         }
         slots.put(slot + 1, skill.getData().getName());
+        player.markDirty();
         update(player.getPlayer());
     }
 
@@ -358,7 +370,9 @@ public class PlayerSkillBar {
 
             PlayerSkill skill = this.player.getSkill(slots.get(i));
             if (skill == null || !skill.isUnlocked()) {
-                slots.put(i, UNASSIGNED);
+                if (!UNASSIGNED.equals(slots.put(i, UNASSIGNED))) {
+                    this.player.markDirty();
+                }
                 if (enabled && player != null && player.getGameMode() != GameMode.CREATIVE) {
                     player.getInventory().clear(index);
                     player.getInventory().setItem(index, SkillAPI.getSettings().getUnassigned());
@@ -369,11 +383,45 @@ public class PlayerSkillBar {
     }
 
     /**
-     * Updates the displayed cooldown for the skill bar
+     * Updates the cooldown display of the skill bar. This must be
+     * called on the server thread.
      */
     public void updateCooldowns() {
+        applyCooldowns(getCooldowns());
+    }
+
+    /**
+     * Works out the item amounts that show the cooldowns of the skills on
+     * the bar. This doesn't touch the Bukkit API, so it can be done off the
+     * server thread and applied later with {@link #applyCooldowns(int[])}.
+     *
+     * @return item amount of each hotbar slot, 0 for slots to leave alone,
+     * or null if the bar isn't shown
+     */
+    public int[] getCooldowns() {
+        if (!setup || !enabled) return null;
+
+        int[] amounts = new int[9];
+        for (int i = 0; i < 9; i++) {
+            if (!isWeaponSlot(i)) {
+                PlayerSkill skill = this.player.getSkill(slots.get(i + 1));
+                if (skill != null && skill.isUnlocked()) {
+                    amounts[i] = Math.max(1, skill.getCooldown());
+                }
+            }
+        }
+        return amounts;
+    }
+
+    /**
+     * Applies cooldown amounts from {@link #getCooldowns()} to the
+     * skill bar items. This must be called on the server thread.
+     *
+     * @param amounts item amount of each hotbar slot
+     */
+    public void applyCooldowns(int[] amounts) {
         Player player = getPlayer();
-        if (!setup || !enabled || player == null) return;
+        if (amounts == null || !setup || !enabled || player == null) return;
 
         for (int i = 0; i < 9; i++) {
             if (!isWeaponSlot(i)) {
@@ -382,14 +430,10 @@ public class PlayerSkillBar {
                     update(player);
                     item = player.getInventory().getItem(i);
                 }
-                PlayerSkill skill = this.player.getSkill(slots.get(i + 1));
-                if (skill != null && skill.isUnlocked()) {
-                    int amount = Math.max(1, skill.getCooldown());
-                    if (item.getAmount() != amount) {
-                        item.setAmount(amount);
-                        player.getInventory().clear(i);
-                        player.getInventory().setItem(i, item);
-                    }
+                if (amounts[i] > 0 && item != null && item.getAmount() != amounts[i]) {
+                    item.setAmount(amounts[i]);
+                    player.getInventory().clear(i);
+                    player.getInventory().setItem(i, item);
                 }
             }
         }
@@ -26,75 +26,27 @@
  */
 package com.sucy.skill.api.projectile;
 
-import com.sucy.skill.SkillAPI;
 import com.sucy.skill.api.Settings;
 import com.sucy.skill.api.particle.target.Followable;
-import com.sucy.skill.log.Logger;
-import mc.promcteam.engine.utils.Reflex;
-import mc.promcteam.engine.utils.reflection.ReflectionManager;
 import org.bukkit.Bukkit;
 import org.bukkit.Location;
-import org.bukkit.entity.Entity;
 import org.bukkit.entity.LivingEntity;
 import org.bukkit.event.Event;
 import org.bukkit.metadata.MetadataValue;
 import org.bukkit.metadata.Metadatable;
 import org.bukkit.plugin.Plugin;
-import org.bukkit.scheduler.BukkitRunnable;
 import org.bukkit.util.Vector;
 
-import java.lang.reflect.Constructor;
-import java.lang.reflect.Method;
 import java.util.*;
-import java.util.function.Predicate;
 
 /**
- * Base class for custom projectiles
+ * Base class for custom projectiles. Projectiles are moved each tick by the
+ * {@link ProjectileEngine}, which also finds what they hit.
  */
-public abstract class CustomProjectile extends BukkitRunnable implements Metadatable, Followable {
-    private static final Vector                                   X_VEC           = new Vector(1, 0, 0);
-    private static final double                                   DEGREE_TO_RAD   = Math.PI / 180;
-    private static final Vector                                   vel             = new Vector();
-    private static       Constructor<?>                           aabbConstructor;
-    private static       Method                                   getEntities;
-    private static       Method                                   getBukkitEntity;
-    private static final Predicate<Object>                        JAVA_PREDICATE  = CustomProjectile::isLivingEntity;
-    private static final com.google.common.base.Predicate<Object> GUAVA_PREDICATE = CustomProjectile::isLivingEntity;
-    private static       Method                                   getEntitiesGuava;
-    private static       Method                                   getHandle;
-
-    static {
-        try {
-            Class<?> aabbClass =
-                    ReflectionManager.MINOR_VERSION >= 17 ? Reflex.getClass("net.minecraft.world.phys.AxisAlignedBB")
-                            : Reflex.getNMSClass("AxisAlignedBB");
-            Class<?> entityClass =
-                    ReflectionManager.MINOR_VERSION >= 17 ? Reflex.getClass("net.minecraft.world.entity.Entity")
-                            : Reflex.getNMSClass("Entity");
-            aabbConstructor = aabbClass.getConstructor(double.class,
-                    double.class,
-                    double.class,
-                    double.class,
-                    double.class,
-                    double.class);
-            getBukkitEntity = entityClass.getDeclaredMethod("getBukkitEntity");
-            getHandle = Reflex.getCraftClass("CraftWorld").getDeclaredMethod("getHandle");
-            Class<?> worldClass =
-                    ReflectionManager.MINOR_VERSION >= 17 ? Reflex.getClass("net.minecraft.world.level.World")
-                            : Reflex.getNMSClass("World");
-            try {
-                getEntities = worldClass.getDeclaredMethod(ReflectionManager.MINOR_VERSION >= 18 ? "a" : "getEntities",
-                        entityClass, aabbClass, Predicate.class);
-            } catch (Exception e) {
-                getEntitiesGuava = worldClass.getDeclaredMethod(ReflectionManager.MINOR_VERSION >= 18
-                        ? "a"
-                        : "getEntities", entityClass, aabbClass, com.google.common.base.Predicate.class);
-            }
-        } catch (Exception ex) {
-            Logger.log("Unable to use reflection for accurate collision - will resort to simple radius check");
-            ex.printStackTrace();
-        }
-    }
+public abstract class CustomProjectile implements Runnable, Metadatable, Followable {
+    private static final Vector X_VEC         = new Vector(1, 0, 0);
+    private static final double DEGREE_TO_RAD = Math.PI / 180;
+    private static final Vector vel           = new Vector();
 
     private final   HashMap<String, List<MetadataValue>> metadata = new HashMap<>();
     private final   Set<Integer>                         hit      = new HashSet<>();
@@ -104,24 +56,17 @@ public abstract class CustomProjectile extends BukkitRunnable implements Metadat
     protected       boolean                              enemy    = true;
     protected       boolean                              ally     = false;
     private         boolean                              valid    = true;
+    private         boolean                              pathReset;
 
     /**
-     * Constructs a new custom projectile and starts its timer task
+     * Constructs a new custom projectile and adds it to the projectile engine
      *
      * @param thrower entity firing the projectile
      */
     public CustomProjectile(LivingEntity thrower, Settings settings) {
         this.thrower = thrower;
         this.settings = settings;
-        runTaskTimer(SkillAPI.inst(), 1, 1);
-    }
-
-    private static boolean isLivingEntity(Object thing) {
-        try {
-            return getBukkitEntity.invoke(thing) instanceof LivingEntity;
-        } catch (Exception ex) {
-            return false;
-        }
+        ProjectileEngine.add(this);
     }
 
     /**
@@ -314,93 +259,70 @@ public abstract class CustomProjectile extends BukkitRunnable implements Metadat
     }
 
     /**
-     * Checks if the projectile collides with a given list of entities
-     * Returns true if another check should happen, false other wise
+     * Moves the projectile for the tick. Projectiles moving through terrain
+     * should stop where they first land so the path only covers where they
+     * actually went.
      */
-    protected boolean checkCollision(final boolean pierce) {
-        for (LivingEntity entity : getColliding()) {
-            if (entity == thrower || hit.contains(entity.getEntityId())) {
-                continue;
-            }
-            hit.add(entity.getEntityId());
+    protected void move() { }
 
-            boolean ally = SkillAPI.getSettings().isAlly(getShooter(), entity);
-            if (ally && !this.ally) continue;
-            if (!ally && !this.enemy) continue;
-            if (!SkillAPI.getSettings().isValidTarget(entity)) continue;
+    /**
+     * Called after collisions are checked with how much of the path moved
+     * through this tick was travelled before the projectile hit something
+     *
+     * @param fraction part of the path travelled, 1 if nothing stopped it
+     */
+    protected void travelled(double fraction) { }
 
-            Bukkit.getPluginManager().callEvent(hit(entity));
+    /**
+     * Counts down the projectile's lifespan after it moved
+     */
+    protected void age() { }
 
-            if (callback != null)
-                callback.callback(this, entity);
+    /**
+     * @return true if the projectile keeps going after hitting something
+     */
+    protected boolean isPiercing() {
+        return false;
+    }
 
-            if (!pierce) {
-                cancel();
-                return false;
-            }
-        }
-        return true;
+    /**
+     * Makes the next collision check start from the projectile's current
+     * location instead of where it was last tick, such as after teleporting
+     */
+    protected void resetPath() {
+        pathReset = true;
     }
 
     /**
-     * @return list of entities colliding with the projectile
+     * Checks whether the path was reset since the last check
+     *
+     * @return true if the next path should start from the current location
      */
-    private List<LivingEntity> getColliding() {
-        // Reflection for nms collision
-        List<LivingEntity> result = new ArrayList<>(1);
-        try {
-            Object nmsWorld  = getHandle.invoke(getLocation().getWorld());
-            Object predicate = getEntities == null ? GUAVA_PREDICATE : JAVA_PREDICATE;
-            Object list = (getEntities == null ? getEntitiesGuava : getEntities)
-                    .invoke(nmsWorld, null, getBoundingBox(), predicate);
-            for (Object item : (List) list) {
-                result.add((LivingEntity) getBukkitEntity.invoke(item));
-            }
-        }
-        // Fallback when reflection fails
-        catch (Exception ex) {
-            double radiusSq = getCollisionRadius();
-            radiusSq *= radiusSq;
-            for (LivingEntity entity : getNearbyEntities()) {
-                if (entity == thrower)
-                    continue;
-
-                if (getLocation().distanceSquared(entity.getLocation()) < radiusSq)
-                    result.add(entity);
-            }
-        }
-        return result;
+    boolean takePathReset() {
+        final boolean reset = pathReset;
+        pathReset = false;
+        return reset;
     }
 
     /**
-     * @return NMS bounding box of the projectile
+     * Remembers that the projectile has reached an entity so it only hits
+     * it once
+     *
+     * @param entity entity reached
+     * @return true if the entity wasn't reached before
      */
-    private Object getBoundingBox() throws Exception {
-        Location loc = getLocation();
-        double   rad = getCollisionRadius();
-        return aabbConstructor.newInstance(
-                loc.getX() - rad, loc.getY() - rad, loc.getZ() - rad,
-                loc.getX() + rad, loc.getY() + rad, loc.getZ() + rad
-        );
+    boolean markHit(LivingEntity entity) {
+        return entity != thrower && hit.add(entity.getEntityId());
     }
 
     /**
-     * @return list of nearby living entities
+     * Moves the projectile by a single tick on its own. Projectiles are
+     * already moved every tick by the API, so calling this yourself makes
+     * them move faster than they should.
      */
-    private List<LivingEntity> getNearbyEntities() {
-        List<LivingEntity> list   = new ArrayList<>();
-        Location           loc    = getLocation();
-        double             radius = getCollisionRadius();
-        int                minX   = (int) (loc.getX() - radius) >> 4;
-        int                maxX   = (int) (loc.getX() + radius) >> 4;
-        int                minZ   = (int) (loc.getZ() - radius) >> 4;
-        int                maxZ   = (int) (loc.getZ() + radius) >> 4;
-        for (int i = minX; i <= maxX; i++)
-            for (int j = minZ; j < maxZ; j++)
-                for (Entity entity : loc.getWorld().getChunkAt(i, j).getEntities())
-                    if (entity instanceof LivingEntity)
-                        list.add((LivingEntity) entity);
-        return list;
+    @Override
+    public void run() {
+        ProjectileEngine.step(this);
     }
 
     /**
@@ -424,11 +346,9 @@ public abstract class CustomProjectile extends BukkitRunnable implements Metadat
     }
 
     /**
-     * Marks the projectile as invalid when the associated task is cancelled
+     * Stops the projectile, removing it from the projectile engine
      */
-    @Override
     public void cancel() {
-        super.cancel();
         valid = false;
     }
 
@@ -265,12 +265,11 @@ public class ItemProjectile extends CustomProjectile {
     }
 
     /**
-     * <p>Updates the projectile's position.</p>
-     * <p>This is for the repeating task and if you call it yourself, it
-     * will move faster than it should.</p>
+     * Steers the item towards its homing target. The item itself is moved by
+     * the server.
      */
     @Override
-    public void run() {
+    protected void move() {
         if (homing != null) {
             LivingEntity target = homing.get();
             if (target != null) {
@@ -285,9 +284,13 @@ public class ItemProjectile extends CustomProjectile {
                 item.setVelocity(item.getVelocity().add(acceleration));
             }
         }
+    }
 
-        if (isTraveling()) checkCollision(false);
-
+    /**
+     * Counts down the lifespan, expiring the projectile once it runs out
+     */
+    @Override
+    protected void age() {
         life--;
         if (life <= 0) {
             if (settings.getBool("on-expire") && callback != null) callback.callback(this, null);
@@ -297,7 +300,7 @@ public class ItemProjectile extends CustomProjectile {
     }
 
     /**
-     * Removes the item on cancelling the task
+     * Removes the item when the projectile stops
      */
     @Override
     public void cancel() {
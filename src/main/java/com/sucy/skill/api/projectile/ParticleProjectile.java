@@ -32,7 +32,7 @@ import com.sucy.skill.api.event.ParticleProjectileExpireEvent;
 import com.sucy.skill.api.event.ParticleProjectileHitEvent;
 import com.sucy.skill.api.event.ParticleProjectileLandEvent;
 import com.sucy.skill.api.event.ParticleProjectileLaunchEvent;
-import com.sucy.skill.api.particle.ParticleHelper;
+import com.sucy.skill.api.particle.ParticleTemplate;
 import com.sucy.skill.api.target.TargetHelper;
 import com.sucy.skill.api.util.Nearby;
 import com.sucy.skill.dynamic.DynamicSkill;
@@ -105,6 +105,10 @@ public class ParticleProjectile extends CustomProjectile {
     protected     Consumer<Location>     onStep;
     protected     Supplier<LivingEntity> homing;
     protected     double                 correction;
+    private       ParticleTemplate       template;
+    private       Location               start;
+    private       Vector                 stepVector;
+    private       int                    moved;
 
     /**
      * Constructor
@@ -231,6 +235,7 @@ public class ParticleProjectile extends CustomProjectile {
      */
     public void teleport(Location loc) {
         this.loc = loc;
+        resetPath();
     }
 
     /**
@@ -252,10 +257,11 @@ public class ParticleProjectile extends CustomProjectile {
     }
 
     /**
-     * Updates the projectiles position and checks for collisions
+     * Updates the projectile's velocity and moves it in steps to avoid
+     * tunneling, stopping at the first step that lands
      */
     @Override
-    public void run() {
+    protected void move() {
         vel.setX(vel.getX()-drag*vel.getX());
         vel.setY(vel.getY()-drag*vel.getY()+gravity);
         vel.setZ(vel.getZ()-drag*vel.getZ());
@@ -271,31 +277,64 @@ public class ParticleProjectile extends CustomProjectile {
             }
         }
 
-        // Go through multiple steps to avoid tunneling
         double speed = vel.length();
         int steps = (int) Math.round(speed * this.steps);
-        Vector stepVector = vel.clone().multiply(1.0/steps);
-        for (int i = 0; i < steps; i++) {
+        stepVector = vel.clone().multiply(1.0/steps);
+        start = loc.clone();
+        moved = 0;
+        while (moved < steps) {
             loc.add(stepVector);
+            moved++;
+            if (!loc.getChunk().isLoaded() || landed()) break;
+        }
+    }
+
+    /**
+     * Plays particles along the steps travelled and moves back to the step
+     * where the projectile hit something, if it did
+     *
+     * @param fraction part of the path travelled, 1 if nothing stopped it
+     */
+    @Override
+    protected void travelled(double fraction) {
+        int travelled = fraction >= 1 ? moved : Math.min(moved, Math.max(1, (int) Math.ceil(fraction * moved)));
+        Location point = start;
+        for (int i = 0; i < travelled; i++) {
+            point.add(stepVector);
 
             // Particle along path
             count++;
             if (count >= particlePeriod) {
                 count = 0;
-                if (onStep == null) ParticleHelper.play(loc, settings);
-                else onStep.accept(loc);
+                if (onStep == null) {
+                    if (template == null) template = ParticleTemplate.compile(settings, "");
+                    template.play(point);
+                } else onStep.accept(point);
             }
-
-            if (!isTraveling()) return;
-
-            if (!checkCollision(pierce)) break;
         }
+        if (travelled < moved) {
+            loc.setX(point.getX());
+            loc.setY(point.getY());
+            loc.setZ(point.getZ());
+        }
+    }
 
+    /**
+     * @return true if the projectile keeps going after hitting something
+     */
+    @Override
+    protected boolean isPiercing() {
+        return pierce;
+    }
 
-        // Lifespan
+    /**
+     * Counts down the lifespan, expiring the projectile once it runs out
+     */
+    @Override
+    protected void age() {
         life--;
         if (life <= 0) {
-            if (settings.getBool("on-expire")) callback.callback(this, null);
+            if (settings.getBool("on-expire") && callback != null) callback.callback(this, null);
             cancel();
             Bukkit.getPluginManager().callEvent(new ParticleProjectileExpireEvent(this));
         }
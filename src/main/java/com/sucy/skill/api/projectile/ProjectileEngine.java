@@ -0,0 +1,338 @@
+/**
+ * SkillAPI
+ * com.sucy.skill.api.projectile.ProjectileEngine
+ * <p>
+ * The MIT License (MIT)
+ * <p>
+ * Copyright (c) 2016 Steven Sucy
+ * <p>
+ * Permission is hereby granted, free of charge, to any person obtaining a copy
+ * of this software and associated documentation files (the "Software") to deal
+ * in the Software without restriction, including without limitation the rights
+ * to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+ * copies of the Software, and to permit persons to whom the Software is
+ * furnished to do so, subject to the following conditions:
+ * <p>
+ * The above copyright notice and this permission notice shall be included in
+ * all copies or substantial portions of the Software.
+ * <p>
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+ * AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN
+ * THE SOFTWARE.
+ */
+package com.sucy.skill.api.projectile;
+
+import com.sucy.skill.SkillAPI;
+import com.sucy.skill.api.util.EntityIndex;
+import org.bukkit.Bukkit;
+import org.bukkit.Location;
+import org.bukkit.World;
+import org.bukkit.entity.LivingEntity;
+import org.bukkit.util.BoundingBox;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+
+/**
+ * Moves every custom projectile once per tick from a single task.
+ * <p>
+ * Each tick runs in three passes over the projectiles. First every projectile
+ * moves. Then the path each one travelled is swept against the entity index to
+ * find what it passed through, and the relations to everything found are
+ * checked together. Last, the hits, landings and expirations are handed out,
+ * so callbacks that launch or cancel projectiles never change the arrays
+ * while they are being walked.
+ */
+public class ProjectileEngine {
+    private static final List<CustomProjectile> ADDED  = new ArrayList<>();
+    private static final Batch                  ACTIVE = new Batch();
+
+    /**
+     * Queues a projectile to start moving on the next tick
+     *
+     * @param projectile projectile to add
+     */
+    static void add(CustomProjectile projectile) {
+        ADDED.add(projectile);
+    }
+
+    /**
+     * Moves every projectile and handles what they hit.
+     * This is called by the API every tick.
+     */
+    public static void tick() {
+        ACTIVE.compact();
+        for (CustomProjectile projectile : ADDED) {
+            ACTIVE.add(projectile);
+        }
+        ADDED.clear();
+        ACTIVE.step();
+    }
+
+    /**
+     * Moves a single projectile on its own, outside of the regular tick
+     *
+     * @param projectile projectile to move
+     */
+    static void step(CustomProjectile projectile) {
+        final Batch batch = new Batch();
+        batch.add(projectile);
+        batch.step();
+    }
+
+    /**
+     * @return number of projectiles that are moving or about to
+     */
+    public static int size() {
+        return ACTIVE.size + ADDED.size();
+    }
+
+    /**
+     * Cancels every projectile, removing any items used to show them
+     */
+    public static void clear() {
+        for (int i = 0; i < ACTIVE.size; i++) {
+            if (ACTIVE.projectiles[i].isValid()) ACTIVE.projectiles[i].cancel();
+        }
+        for (CustomProjectile projectile : ADDED) {
+            if (projectile.isValid()) projectile.cancel();
+        }
+        ACTIVE.compact();
+        ADDED.clear();
+    }
+
+    /**
+     * Projectiles stored as parallel arrays so the movement and collision
+     * passes only touch the values they need
+     */
+    static class Batch {
+        private CustomProjectile[] projectiles = new CustomProjectile[64];
+        private World[]            worlds      = new World[64];
+        private double[]           x           = new double[64];
+        private double[]           y           = new double[64];
+        private double[]           z           = new double[64];
+        private double[]           dx          = new double[64];
+        private double[]           dy          = new double[64];
+        private double[]           dz          = new double[64];
+        private double[]           radius      = new double[64];
+        private double[]           travelled   = new double[64];
+        private int[]              firstHit    = new int[64];
+        private int                size;
+
+        private final List<LivingEntity> hits  = new ArrayList<>();
+        private final double[]           range = new double[2];
+
+        void add(CustomProjectile projectile) {
+            if (size == projectiles.length) grow();
+            final Location loc = projectile.getLocation();
+            projectiles[size] = projectile;
+            worlds[size] = loc.getWorld();
+            x[size] = loc.getX();
+            y[size] = loc.getY();
+            z[size] = loc.getZ();
+            size++;
+        }
+
+        /**
+         * Drops cancelled projectiles, moving the last ones into their place
+         */
+        void compact() {
+            for (int i = 0; i < size; ) {
+                if (projectiles[i].isValid()) {
+                    i++;
+                    continue;
+                }
+                size--;
+                projectiles[i] = projectiles[size];
+                worlds[i] = worlds[size];
+                x[i] = x[size];
+                y[i] = y[size];
+                z[i] = z[size];
+                projectiles[size] = null;
+                worlds[size] = null;
+            }
+        }
+
+        void step() {
+            move();
+            collide();
+            dispatch();
+        }
+
+        /**
+         * Moves each projectile, storing where it started and how far it went
+         */
+        private void move() {
+            for (int i = 0; i < size; i++) {
+                final CustomProjectile projectile = projectiles[i];
+                if (!projectile.isValid()) continue;
+
+                final Location start = projectile.getLocation();
+                if (projectile.takePathReset() || start.getWorld() != worlds[i]) {
+                    worlds[i] = start.getWorld();
+                    x[i] = start.getX();
+                    y[i] = start.getY();
+                    z[i] = start.getZ();
+                }
+
+                projectile.move();
+
+                final Location end = projectile.getLocation();
+                if (end.getWorld() != worlds[i]) {
+                    worlds[i] = end.getWorld();
+                    x[i] = end.getX();
+                    y[i] = end.getY();
+                    z[i] = end.getZ();
+                    dx[i] = dy[i] = dz[i] = 0;
+                } else {
+                    dx[i] = end.getX() - x[i];
+                    dy[i] = end.getY() - y[i];
+                    dz[i] = end.getZ() - z[i];
+                }
+                radius[i] = projectile.getCollisionRadius();
+            }
+        }
+
+        /**
+         * Sweeps each projectile's collision box along its path, keeping the
+         * entities it can hit in the order it reached them
+         */
+        private void collide() {
+            hits.clear();
+            for (int i = 0; i < size; i++) {
+                firstHit[i] = hits.size();
+                travelled[i] = 1;
+
+                final CustomProjectile projectile = projectiles[i];
+                if (!projectile.isValid() || worlds[i] == null) continue;
+
+                final double r = radius[i];
+                final BoundingBox box = new BoundingBox(
+                        Math.min(x[i], x[i] + dx[i]) - r,
+                        Math.min(y[i], y[i] + dy[i]) - r,
+                        Math.min(z[i], z[i] + dz[i]) - r,
+                        Math.max(x[i], x[i] + dx[i]) + r,
+                        Math.max(y[i], y[i] + dy[i]) + r,
+                        Math.max(z[i], z[i] + dz[i]) + r);
+                final List<LivingEntity> candidates = EntityIndex.getInBox(projectile.getShooter(), worlds[i], box);
+                if (candidates.isEmpty()) continue;
+
+                final List<LivingEntity> reached = new ArrayList<>(candidates.size());
+                final long[]             keys    = new long[candidates.size()];
+                for (LivingEntity entity : candidates) {
+                    final double t = sweep(entity.getBoundingBox(), i);
+                    if (t >= 0 && projectile.markHit(entity)) {
+                        keys[reached.size()] = ((long) Float.floatToIntBits((float) t) << 32) | reached.size();
+                        reached.add(entity);
+                    }
+                }
+                if (reached.isEmpty()) continue;
+
+                Arrays.sort(keys, 0, reached.size());
+                final List<LivingEntity> ordered = new ArrayList<>(reached.size());
+                for (int k = 0; k < reached.size(); k++) {
+                    ordered.add(reached.get((int) keys[k]));
+                }
+
+                final boolean[] enemies = SkillAPI.getSettings().canAttack(projectile.getShooter(), ordered);
+                for (int k = 0; k < ordered.size(); k++) {
+                    final LivingEntity entity = ordered.get(k);
+                    if (enemies[k] ? !projectile.enemy : !projectile.ally) continue;
+                    if (!SkillAPI.getSettings().isValidTarget(entity)) continue;
+
+                    hits.add(entity);
+                    if (!projectile.isPiercing()) {
+                        travelled[i] = Float.intBitsToFloat((int) (keys[k] >>> 32));
+                        break;
+                    }
+                }
+            }
+        }
+
+        /**
+         * Hands out the hits, landings and expirations found this tick
+         */
+        private void dispatch() {
+            for (int i = 0; i < size; i++) {
+                final CustomProjectile projectile = projectiles[i];
+                if (!projectile.isValid()) continue;
+
+                projectile.travelled(travelled[i]);
+                final Location end = projectile.getLocation();
+                x[i] = end.getX();
+                y[i] = end.getY();
+                z[i] = end.getZ();
+
+                final int lastHit = i + 1 < size ? firstHit[i + 1] : hits.size();
+                for (int k = firstHit[i]; k < lastHit && projectile.isValid(); k++) {
+                    final LivingEntity entity = hits.get(k);
+                    Bukkit.getPluginManager().callEvent(projectile.hit(entity));
+                    if (projectile.callback != null) {
+                        projectile.callback.callback(projectile, entity);
+                    }
+                    if (!projectile.isPiercing()) projectile.cancel();
+                }
+
+                if (projectile.isValid() && projectile.isTraveling()) {
+                    projectile.age();
+                }
+            }
+        }
+
+        /**
+         * Finds how far along its path a projectile first touches a box,
+         * treating the projectile as a box with the collision radius
+         *
+         * @return progress along the path from 0 to 1 or -1 if it never touches
+         */
+        private double sweep(BoundingBox box, int i) {
+            final double r = radius[i];
+            range[0] = 0;
+            range[1] = 1;
+            if (slab(box.getMinX() - r, box.getMaxX() + r, x[i], dx[i])
+                    && slab(box.getMinY() - r, box.getMaxY() + r, y[i], dy[i])
+                    && slab(box.getMinZ() - r, box.getMaxZ() + r, z[i], dz[i])) {
+                return range[0];
+            }
+            return -1;
+        }
+
+        /**
+         * Narrows the range of progress during which the path is between two planes
+         */
+        private boolean slab(double min, double max, double from, double delta) {
+            if (delta == 0) return from >= min && from <= max;
+
+            double enter = (min - from) / delta;
+            double exit  = (max - from) / delta;
+            if (enter > exit) {
+                final double temp = enter;
+                enter = exit;
+                exit = temp;
+            }
+            range[0] = Math.max(range[0], enter);
+            range[1] = Math.min(range[1], exit);
+            return range[0] <= range[1];
+        }
+
+        private void grow() {
+            final int length = projectiles.length * 2;
+            projectiles = Arrays.copyOf(projectiles, length);
+            worlds = Arrays.copyOf(worlds, length);
+            x = Arrays.copyOf(x, length);
+            y = Arrays.copyOf(y, length);
+            z = Arrays.copyOf(z, length);
+            dx = Arrays.copyOf(dx, length);
+            dy = Arrays.copyOf(dy, length);
+            dz = Arrays.copyOf(dz, length);
+            radius = Arrays.copyOf(radius, length);
+            travelled = Arrays.copyOf(travelled, length);
+            firstHit = Arrays.copyOf(firstHit, length);
+        }
+    }
+}
@@ -36,6 +36,7 @@ import com.sucy.skill.api.player.PlayerData;
 import com.sucy.skill.api.player.PlayerSkill;
 import com.sucy.skill.api.util.DamageLoreRemover;
 import com.sucy.skill.api.util.Data;
+import com.sucy.skill.api.util.EntityMeta;
 import com.sucy.skill.data.Permissions;
 import com.sucy.skill.dynamic.TempEntity;
 import com.sucy.skill.gui.tool.IconHolder;
@@ -44,7 +45,6 @@ import com.sucy.skill.hook.PluginChecker;
 import com.sucy.skill.language.NotificationNodes;
 import com.sucy.skill.language.RPGFilter;
 import com.sucy.skill.language.SkillNodes;
-import com.sucy.skill.listener.MechanicListener;
 import com.sucy.skill.log.Logger;
 import mc.promcteam.engine.mccore.config.Filter;
 import mc.promcteam.engine.mccore.config.FilterType;
@@ -63,7 +63,6 @@ import org.bukkit.event.entity.EntityDamageEvent;
 import org.bukkit.inventory.ItemStack;
 import org.bukkit.inventory.meta.Damageable;
 import org.bukkit.inventory.meta.ItemMeta;
-import org.bukkit.metadata.FixedMetadataValue;
 import org.bukkit.util.Vector;
 
 import java.text.DecimalFormat;
@@ -831,7 +830,7 @@ public abstract class Skill implements IconHolder {
 
         damage = event.getDamage();
         knockback = event.isKnockback();
-        target.setMetadata(MechanicListener.DAMAGE_CAUSE, new FixedMetadataValue(SkillAPI.inst(), cause));
+        EntityMeta.set(target, EntityMeta.DAMAGE_CAUSE, cause);
         if (source instanceof Player) {
             if (PluginChecker.isNoCheatActive()) NoCheatHook.exempt((Player) source);
         }
@@ -0,0 +1,163 @@
+package com.sucy.skill.api.target;
+
+import org.bukkit.Location;
+import org.bukkit.World;
+
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Objects;
+
+/**
+ * Checks whether lines between points are blocked by walking the blocks
+ * they pass through, visiting each block exactly once.
+ * <p>
+ * The batched check remembers its results until the next tick, keyed by the
+ * blocks the line starts and ends in, so lines between the same two blocks
+ * share one result for the rest of the tick.
+ */
+public class LineOfSight {
+    private static final Map<Sight, Boolean> SIGHTS = new HashMap<>();
+
+    /**
+     * Forgets the remembered lines so block changes are seen.
+     * This is called by the API every tick.
+     */
+    public static void tick() {
+        SIGHTS.clear();
+    }
+
+    /**
+     * Checks whether the line between two points passes through a solid block
+     *
+     * @param from start of the line
+     * @param to   end of the line
+     * @return true if a solid block is in the way
+     */
+    public static boolean isObstructed(Location from, Location to) {
+        return isObstructed(Objects.requireNonNull(from.getWorld()), from, to, null);
+    }
+
+    /**
+     * Checks which lines from one origin to several targets pass through a
+     * solid block. Blocks shared by the lines are only looked up once and the
+     * results are remembered for the rest of the tick.
+     *
+     * @param origin  start of every line
+     * @param targets end of each line
+     * @return whether each line is blocked, in the same order as the targets
+     */
+    public static boolean[] getObstructed(Location origin, List<Location> targets) {
+        final World              world   = Objects.requireNonNull(origin.getWorld());
+        final long               start   = block(origin);
+        final Map<Long, Boolean> solid   = new HashMap<>();
+        final boolean[]          blocked = new boolean[targets.size()];
+        for (int i = 0; i < blocked.length; i++) {
+            final Location target = targets.get(i);
+            if (target.getWorld() != world) {
+                blocked[i] = true;
+                continue;
+            }
+
+            final Sight   sight  = new Sight(world, start, block(target));
+            final Boolean cached = SIGHTS.get(sight);
+            if (cached != null) {
+                blocked[i] = cached;
+            } else {
+                blocked[i] = isObstructed(world, origin, target, solid);
+                SIGHTS.put(sight, blocked[i]);
+            }
+        }
+        return blocked;
+    }
+
+    /**
+     * Walks the blocks along the line with a 3D DDA, stepping into whichever
+     * neighbouring block the line reaches first
+     *
+     * @param solid blocks already looked up or null to look up every block
+     */
+    private static boolean isObstructed(World world, Location from, Location to, Map<Long, Boolean> solid) {
+        final double dx = to.getX() - from.getX();
+        final double dy = to.getY() - from.getY();
+        final double dz = to.getZ() - from.getZ();
+
+        int       x    = from.getBlockX();
+        int       y    = from.getBlockY();
+        int       z    = from.getBlockZ();
+        final int endX = to.getBlockX();
+        final int endY = to.getBlockY();
+        final int endZ = to.getBlockZ();
+
+        final int stepX = dx > 0 ? 1 : -1;
+        final int stepY = dy > 0 ? 1 : -1;
+        final int stepZ = dz > 0 ? 1 : -1;
+
+        // Progress along the line, from 0 to 1, needed to cross one block on each axis
+        final double deltaX = Math.abs(1 / dx);
+        final double deltaY = Math.abs(1 / dy);
+        final double deltaZ = Math.abs(1 / dz);
+
+        // Progress along the line at which it next crosses into a new block on each axis
+        double nextX = x == endX ? Double.POSITIVE_INFINITY : (dx > 0 ? x + 1 - from.getX() : from.getX() - x) * deltaX;
+        double nextY = y == endY ? Double.POSITIVE_INFINITY : (dy > 0 ? y + 1 - from.getY() : from.getY() - y) * deltaY;
+        double nextZ = z == endZ ? Double.POSITIVE_INFINITY : (dz > 0 ? z + 1 - from.getZ() : from.getZ() - z) * deltaZ;
+
+        int steps = Math.abs(endX - x) + Math.abs(endY - y) + Math.abs(endZ - z);
+        while (true) {
+            if (isSolid(world, x, y, z, solid)) return true;
+            if (steps-- == 0) return false;
+
+            if (nextX <= nextY && nextX <= nextZ) {
+                x += stepX;
+                nextX = x == endX ? Double.POSITIVE_INFINITY : nextX + deltaX;
+            } else if (nextY <= nextZ) {
+                y += stepY;
+                nextY = y == endY ? Double.POSITIVE_INFINITY : nextY + deltaY;
+            } else {
+                z += stepZ;
+                nextZ = z == endZ ? Double.POSITIVE_INFINITY : nextZ + deltaZ;
+            }
+        }
+    }
+
+    private static boolean isSolid(World world, int x, int y, int z, Map<Long, Boolean> solid) {
+        if (solid == null) {
+            return TargetHelper.isSolid(world.getBlockAt(x, y, z).getType());
+        }
+        return solid.computeIfAbsent(block(x, y, z),
+                key -> TargetHelper.isSolid(world.getBlockAt(x, y, z).getType()));
+    }
+
+    private static long block(Location loc) {
+        return block(loc.getBlockX(), loc.getBlockY(), loc.getBlockZ());
+    }
+
+    private static long block(int x, int y, int z) {
+        return ((long) (x & 0x3FFFFFF) << 38) | ((long) (z & 0x3FFFFFF) << 12) | (y & 0xFFF);
+    }
+
+    private static class Sight {
+        private final World world;
+        private final long  from;
+        private final long  to;
+
+        private Sight(World world, long from, long to) {
+            this.world = world;
+            this.from = from;
+            this.to = to;
+        }
+
+        @Override
+        public boolean equals(Object o) {
+            if (!(o instanceof Sight)) return false;
+            Sight sight = (Sight) o;
+            return world == sight.world && from == sight.from && to == sight.to;
+        }
+
+        @Override
+        public int hashCode() {
+            return 31 * (31 * world.hashCode() + Long.hashCode(from)) + Long.hashCode(to);
+        }
+    }
+}
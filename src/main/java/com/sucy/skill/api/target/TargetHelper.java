@@ -1,5 +1,6 @@
 package com.sucy.skill.api.target;
 
+import com.sucy.skill.api.util.EntityIndex;
 import com.sucy.skill.hook.DisguiseHook;
 import com.sucy.skill.hook.PluginChecker;
 import me.libraryaddict.disguise.DisguiseAPI;
@@ -8,6 +9,7 @@ import org.bukkit.Location;
 import org.bukkit.Material;
 import org.bukkit.entity.Entity;
 import org.bukkit.entity.LivingEntity;
+import org.bukkit.util.BoundingBox;
 import org.bukkit.util.Vector;
 
 import java.util.ArrayList;
@@ -46,21 +48,25 @@ public abstract class TargetHelper {
      * @return all entities in the player's vision line
      */
     public static List<LivingEntity> getLivingTargets(LivingEntity source, double range, double tolerance) {
-        List<Entity>                  list    = source.getNearbyEntities(range, range, range);
         TreeMap<Double, LivingEntity> targets = new TreeMap<>();
 
         Location   location = source.getEyeLocation();
         Vector     origin   = location.toVector();
         AABB.Ray3D ray      = new AABB.Ray3D(location);
 
-        for (Entity entity : list) {
-            if (!isInFront(source, entity) || !(entity instanceof LivingEntity)) continue;
+        // Only entities near the line can be hit, so there's no need to check the whole cube around the source
+        BoundingBox        area = BoundingBox.of(origin, origin.clone().add(location.getDirection().multiply(range)))
+                .expand(tolerance);
+        List<LivingEntity> list = EntityIndex.getInBox(source, source.getWorld(), area);
+
+        for (LivingEntity entity : list) {
+            if (!isInFront(source, entity)) continue;
 
             AABB aabb = getAABB(entity);
             aabb.expand(tolerance);
             AABB.Vec3D collision = aabb.intersectsRay(ray, 0, range);
             if (collision != null) {
-                targets.put(new Vector(collision.x, collision.y, collision.z).distance(origin), (LivingEntity) entity);
+                targets.put(new Vector(collision.x, collision.y, collision.z).distance(origin), entity);
             }
         }
         return new ArrayList<>(targets.values());
@@ -103,8 +109,10 @@ public abstract class TargetHelper {
      */
     public static List<LivingEntity> getConeTargets(LivingEntity source, double arc, double range) {
         List<LivingEntity> targets = new ArrayList<>();
-        List<Entity>       list    = source.getNearbyEntities(range, range, range);
         if (arc <= 0) return targets;
+        List<LivingEntity> list = EntityIndex.getInBox(source,
+                source.getWorld(),
+                source.getBoundingBox().expand(range));
 
         // Initialize values
         Location sourceLocation = source.getEyeLocation();
@@ -114,27 +122,25 @@ public abstract class TargetHelper {
         double cosSq = cos * cos;
 
         // Get the targets in the cone
-        for (Entity entity : list) {
-            if (entity instanceof LivingEntity) {
-
-                // Greater than 360 degrees is all targets
-                if (arc >= 360) {
-                    targets.add((LivingEntity) entity);
-                }
-
-                // Otherwise, select targets based on dot product
-                else {
-                    Vector relative = entity.getLocation()
-                            .clone()
-                            .add(0, getHeight(entity) * 0.5, 0)
-                            .subtract(sourceLocation)
-                            .toVector();
-                    relative.setY(0);
-                    double dot   = relative.dot(dir);
-                    double value = dot * dot / relative.lengthSquared();
-                    if (arc < 180 && dot > 0 && value >= cosSq) targets.add((LivingEntity) entity);
-                    else if (arc >= 180 && (dot > 0 || dot <= cosSq)) targets.add((LivingEntity) entity);
-                }
+        for (LivingEntity entity : list) {
+
+            // Greater than 360 degrees is all targets
+            if (arc >= 360) {
+                targets.add(entity);
+            }
+
+            // Otherwise, select targets based on dot product
+            else {
+                Vector relative = entity.getLocation()
+                        .clone()
+                        .add(0, getHeight(entity) * 0.5, 0)
+                        .subtract(sourceLocation)
+                        .toVector();
+                relative.setY(0);
+                double dot   = relative.dot(dir);
+                double value = dot * dot / relative.lengthSquared();
+                if (arc < 180 && dot > 0 && value >= cosSq) targets.add(entity);
+                else if (arc >= 180 && (dot > 0 || dot <= cosSq)) targets.add(entity);
             }
         }
 
@@ -221,17 +227,7 @@ public abstract class TargetHelper {
         if (loc1.getX() == loc2.getX() && loc1.getY() == loc2.getY() && loc1.getZ() == loc2.getZ()) {
             return false;
         }
-        Vector slope = loc2.clone().subtract(loc1).toVector();
-        int    steps = (int) (slope.length() * 4) + 1;
-        slope.multiply(1.0 / steps);
-        Location temp = loc1.clone();
-        for (int i = 0; i < steps; i++) {
-            temp.add(slope);
-            if (isSolid(temp.getBlock().getType())) {
-                return true;
-            }
-        }
-        return false;
+        return LineOfSight.isObstructed(loc1, loc2);
     }
 
     /**
@@ -26,7 +26,7 @@
  */
 package com.sucy.skill.api.util;
 
-import org.bukkit.scheduler.BukkitTask;
+import com.sucy.skill.thread.TimingWheel;
 
 /**
  * Represents a buff given to an entity
@@ -36,7 +36,7 @@ public class Buff {
     private boolean percent;
     private String  key;
 
-    BukkitTask task;
+    TimingWheel.Node<Runnable> task;
 
     /**
      * Constructs a new buff
@@ -26,13 +26,11 @@
  */
 package com.sucy.skill.api.util;
 
-import com.sucy.skill.SkillAPI;
 import com.sucy.skill.api.event.BuffExpiredEvent;
 import com.sucy.skill.log.LogType;
 import com.sucy.skill.log.Logger;
 import org.bukkit.Bukkit;
 import org.bukkit.entity.LivingEntity;
-import org.bukkit.scheduler.BukkitRunnable;
 
 import java.util.Collections;
 import java.util.HashMap;
@@ -76,7 +74,7 @@ public class BuffData {
      * @param ticks how long to apply the buff for
      */
     public void addBuff(final BuffType type, final Buff buff, final int ticks) {
-        doAddBuff(type.name(), buff, ticks);
+        doAddBuff(type, type.name(), buff, ticks);
     }
 
     /**
@@ -89,17 +87,17 @@ public class BuffData {
      * @param ticks    how long to apply the buff for
      */
     public void addBuff(final BuffType type, final String category, final Buff buff, final int ticks) {
-        doAddBuff(type.name() + (category != null ? category : ""), buff, ticks);
+        doAddBuff(type, type.name() + (category != null ? category : ""), buff, ticks);
     }
 
-    private void doAddBuff(final String type, final Buff buff, final int ticks) {
+    private void doAddBuff(final BuffType buffType, final String type, final Buff buff, final int ticks) {
         final Map<String, Buff> typeBuffs = buffs.computeIfAbsent(type, t -> new HashMap<>());
         final Buff              conflict  = typeBuffs.remove(buff.getKey());
         if (conflict != null)
-            conflict.task.cancel();
+            Expirations.cancel(conflict.task);
 
         typeBuffs.put(buff.getKey(), buff);
-        buff.task = SkillAPI.schedule(new BuffTask(type, buff.getKey()), ticks);
+        buff.task = Expirations.schedule(() -> expire(buffType, type, buff.getKey()), ticks);
     }
 
     /**
@@ -159,7 +157,7 @@ public class BuffData {
         Map<String, Buff> buffType = buffs.get(type.name());
         if (buffType == null) return;
         for (final Buff buff : buffType.values()) {
-            buff.task.cancel();
+            Expirations.cancel(buff.task);
         }
         buffs.remove(type.name());
 
@@ -276,40 +274,37 @@ public class BuffData {
     public void clear() {
         for (final Map<String, Buff> typeBuffs : buffs.values()) {
             for (final Buff buff : typeBuffs.values()) {
-                buff.task.cancel();
+                Expirations.cancel(buff.task);
             }
         }
         buffs.clear();
         BuffManager.clearData(entity);
     }
 
-    private class BuffTask extends BukkitRunnable {
-        private final String type;
-        private final String key;
-
-        BuffTask(final String type, final String key) {
-            this.type = type;
-            this.key = key;
+    /**
+     * Removes a buff once its time is up
+     *
+     * @param buffType type of the buff
+     * @param type     type and category the buff is stored under
+     * @param key      key of the buff
+     */
+    private void expire(final BuffType buffType, final String type, final String key) {
+        if (!entity.isValid() || entity.isDead()) {
+            BuffManager.clearData(entity);
+            return;
         }
 
-        @Override
-        public void run() {
-            if (!entity.isValid() || entity.isDead()) {
+        final Map<String, Buff> typeBuffs = buffs.get(type);
+        if (typeBuffs == null) return;
+        final Buff buff = typeBuffs.remove(key);
+        // Clean up buff data if the entity doesn't hold onto any buffs
+        if (typeBuffs.size() == 0) {
+            buffs.remove(type);
+            if (buffs.size() == 0) {
                 BuffManager.clearData(entity);
-                return;
-            }
-
-            final Map<String, Buff> typeBuffs = buffs.get(type);
-            typeBuffs.remove(key);
-            // Clean up buff data if the entity doesn't hold onto any buffs
-            if (typeBuffs.size() == 0) {
-                buffs.remove(type);
-                if (buffs.size() == 0) {
-                    BuffManager.clearData(entity);
-                }
             }
-            BuffExpiredEvent event = new BuffExpiredEvent(entity, typeBuffs.get(type), BuffType.valueOf(this.type));
-            Bukkit.getPluginManager().callEvent(event);
         }
+        BuffExpiredEvent event = new BuffExpiredEvent(entity, buff, buffType);
+        Bukkit.getPluginManager().callEvent(event);
     }
 }
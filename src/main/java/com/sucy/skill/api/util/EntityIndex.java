@@ -0,0 +1,245 @@
+package com.sucy.skill.api.util;
+
+import org.bukkit.Location;
+import org.bukkit.World;
+import org.bukkit.entity.Entity;
+import org.bukkit.entity.LivingEntity;
+import org.bukkit.util.BoundingBox;
+
+import java.util.*;
+
+/**
+ * Keeps a grid of the living entities in each world so nearby lookups
+ * only visit the cells around the query. The grid is built from the
+ * entities that are already loaded, so looking something up never loads
+ * or generates chunks. Each world's grid is rebuilt at most once per tick,
+ * the first time it is needed, and kept up to date in between by spawns
+ * and teleports.
+ */
+public class EntityIndex {
+    private static final int    CELL_SHIFT = 4;
+    /**
+     * Extra distance searched around each query to cover how far
+     * entities can move between rebuilds
+     */
+    private static final double MARGIN     = 2;
+
+    private static final Map<UUID, Grid> GRIDS = new HashMap<>();
+
+    private static long tick;
+
+    /**
+     * Moves the index on to the next tick so each grid rebuilds the next
+     * time it is used. This is called by the API every tick.
+     */
+    public static void tick() {
+        tick++;
+    }
+
+    /**
+     * Adds a newly spawned entity to its world's grid
+     *
+     * @param entity spawned entity
+     */
+    public static void add(LivingEntity entity) {
+        Grid grid = GRIDS.get(entity.getWorld().getUID());
+        if (grid != null && !grid.dirty && !grid.contains(entity)) {
+            grid.add(entity);
+        }
+    }
+
+    /**
+     * Flags the grid of a world to be rebuilt the next time it is used,
+     * for changes such as teleports that move entities across cells
+     *
+     * @param world world that changed
+     */
+    public static void invalidate(World world) {
+        if (world == null) return;
+
+        Grid grid = GRIDS.get(world.getUID());
+        if (grid != null) {
+            grid.dirty = true;
+        }
+    }
+
+    /**
+     * Clears the grids of all worlds
+     */
+    public static void clear() {
+        GRIDS.clear();
+    }
+
+    /**
+     * Gets the living entities within a radius, nearest first
+     *
+     * @param source entity to leave out or null to include all
+     * @param center center of the radius
+     * @param radius radius to get within
+     * @return nearby living entities sorted by distance
+     */
+    public static List<LivingEntity> getNearby(Entity source, Location center, double radius) {
+        return getNearest(source, center, radius, Integer.MAX_VALUE);
+    }
+
+    /**
+     * Gets up to the given number of living entities within
+     * a radius, nearest first
+     *
+     * @param source entity to leave out or null to include all
+     * @param center center of the radius
+     * @param radius radius to get within
+     * @param count  maximum number of entities to return
+     * @return nearest living entities sorted by distance
+     */
+    public static List<LivingEntity> getNearest(Entity source, Location center, double radius, int count) {
+        final World              world      = Objects.requireNonNull(center.getWorld());
+        final List<LivingEntity> candidates = candidates(world,
+                center.getX() - radius,
+                center.getZ() - radius,
+                center.getX() + radius,
+                center.getZ() + radius);
+
+        final double   radiusSq = radius * radius;
+        final long[]   keys     = new long[candidates.size()];
+        final Location scratch  = new Location(world, 0, 0, 0);
+        int            found    = 0;
+        for (int i = 0; i < candidates.size(); i++) {
+            final LivingEntity entity = candidates.get(i);
+            if (entity == source || entity.isDead() || entity.getWorld() != world) continue;
+
+            final double distance = entity.getLocation(scratch).distanceSquared(center);
+            if (distance < radiusSq) {
+                keys[found++] = key(distance, i);
+            }
+        }
+        return sorted(candidates, keys, found, count);
+    }
+
+    /**
+     * Gets the living entities whose bounding boxes overlap the box,
+     * nearest to the center of the box first
+     *
+     * @param source entity to leave out or null to include all
+     * @param world  world to look in
+     * @param box    box to get within
+     * @return overlapping living entities sorted by distance
+     */
+    public static List<LivingEntity> getInBox(Entity source, World world, BoundingBox box) {
+        final List<LivingEntity> candidates = candidates(world,
+                box.getMinX(),
+                box.getMinZ(),
+                box.getMaxX(),
+                box.getMaxZ());
+
+        final Location center  = box.getCenter().toLocation(world);
+        final long[]   keys    = new long[candidates.size()];
+        final Location scratch = new Location(world, 0, 0, 0);
+        int            found   = 0;
+        for (int i = 0; i < candidates.size(); i++) {
+            final LivingEntity entity = candidates.get(i);
+            if (entity == source || entity.isDead() || entity.getWorld() != world) continue;
+
+            if (entity.getBoundingBox().overlaps(box)) {
+                keys[found++] = key(entity.getLocation(scratch).distanceSquared(center), i);
+            }
+        }
+        return sorted(candidates, keys, found, Integer.MAX_VALUE);
+    }
+
+    /**
+     * Collects the entities in the cells a horizontal area touches
+     */
+    private static List<LivingEntity> candidates(World world, double minX, double minZ, double maxX, double maxZ) {
+        final Grid grid = grid(world);
+        final int  fromX = floor(minX - MARGIN) >> CELL_SHIFT;
+        final int  toX   = floor(maxX + MARGIN) >> CELL_SHIFT;
+        final int  fromZ = floor(minZ - MARGIN) >> CELL_SHIFT;
+        final int  toZ   = floor(maxZ + MARGIN) >> CELL_SHIFT;
+
+        final List<LivingEntity> result = new ArrayList<>();
+        if ((long) (toX - fromX + 1) * (toZ - fromZ + 1) > grid.cells.size()) {
+            // Querying an area larger than the populated part of the world
+            for (Map.Entry<Long, List<LivingEntity>> entry : grid.cells.entrySet()) {
+                final int x = (int) (entry.getKey() >> 32);
+                final int z = (int) (long) entry.getKey();
+                if (x >= fromX && x <= toX && z >= fromZ && z <= toZ) {
+                    result.addAll(entry.getValue());
+                }
+            }
+        } else {
+            for (int x = fromX; x <= toX; x++) {
+                for (int z = fromZ; z <= toZ; z++) {
+                    final List<LivingEntity> cell = grid.cells.get(cell(x, z));
+                    if (cell != null) result.addAll(cell);
+                }
+            }
+        }
+        return result;
+    }
+
+    private static Grid grid(World world) {
+        final Grid grid = GRIDS.computeIfAbsent(world.getUID(), uid -> new Grid());
+        if (grid.built != tick || grid.dirty) {
+            grid.rebuild(world);
+        }
+        return grid;
+    }
+
+    /**
+     * Packs a distance and list index into one sortable value. Non-negative
+     * floats keep their order when compared as integer bits.
+     */
+    private static long key(double distance, int index) {
+        return ((long) Float.floatToIntBits((float) distance) << 32) | index;
+    }
+
+    private static List<LivingEntity> sorted(List<LivingEntity> candidates, long[] keys, int found, int count) {
+        Arrays.sort(keys, 0, found);
+        final int                size   = Math.min(found, count);
+        final List<LivingEntity> result = new ArrayList<>(size);
+        for (int i = 0; i < size; i++) {
+            result.add(candidates.get((int) keys[i]));
+        }
+        return result;
+    }
+
+    private static long cell(int x, int z) {
+        return ((long) x << 32) | (z & 0xFFFFFFFFL);
+    }
+
+    private static int floor(double value) {
+        final int floor = (int) value;
+        return value < floor ? floor - 1 : floor;
+    }
+
+    private static class Grid {
+        private final Map<Long, List<LivingEntity>> cells   = new HashMap<>();
+        private final Location                      scratch = new Location(null, 0, 0, 0);
+        private       long                          built   = -1;
+        private       boolean                       dirty;
+
+        private void rebuild(World world) {
+            cells.clear();
+            for (LivingEntity entity : world.getLivingEntities()) {
+                add(entity);
+            }
+            built = tick;
+            dirty = false;
+        }
+
+        private void add(LivingEntity entity) {
+            cells.computeIfAbsent(cellOf(entity), key -> new ArrayList<>()).add(entity);
+        }
+
+        private boolean contains(LivingEntity entity) {
+            final List<LivingEntity> cell = cells.get(cellOf(entity));
+            return cell != null && cell.contains(entity);
+        }
+
+        private long cellOf(LivingEntity entity) {
+            entity.getLocation(scratch);
+            return cell(floor(scratch.getX()) >> CELL_SHIFT, floor(scratch.getZ()) >> CELL_SHIFT);
+        }
+    }
+}
@@ -0,0 +1,237 @@
+/**
+ * SkillAPI
+ * com.sucy.skill.api.util.EntityMeta
+ * <p>
+ * The MIT License (MIT)
+ * <p>
+ * Copyright (c) 2016 Steven Sucy
+ * <p>
+ * Permission is hereby granted, free of charge, to any person obtaining a copy
+ * of this software and associated documentation files (the "Software") to deal
+ * in the Software without restriction, including without limitation the rights
+ * to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+ * copies of the Software, and to permit persons to whom the Software is
+ * furnished to do so, subject to the following conditions:
+ * <p>
+ * The above copyright notice and this permission notice shall be included in
+ * all copies or substantial portions of the Software.
+ * <p>
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+ * AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN
+ * THE SOFTWARE.
+ */
+package com.sucy.skill.api.util;
+
+import com.sucy.skill.SkillAPI;
+import com.sucy.skill.dynamic.TempEntity;
+import com.sucy.skill.listener.MechanicListener;
+import lombok.Getter;
+import org.bukkit.entity.Entity;
+import org.bukkit.entity.LivingEntity;
+import org.bukkit.event.entity.EntityDamageEvent;
+import org.bukkit.metadata.FixedMetadataValue;
+
+import java.util.HashMap;
+import java.util.Map;
+
+/**
+ * Values the API attaches to entities on combat paths, kept in typed slots
+ * looked up by entity ID instead of Bukkit's metadata store.
+ * <p>
+ * Slots that addons or later server sessions may look for are also written to
+ * the entity's metadata under their old key whenever they are set, and
+ * {@link SkillAPI#getMeta} reads the slots first, so the old keys stay readable.
+ * Entries are dropped when the entity is removed, see {@link #sweep()}.
+ */
+public class EntityMeta {
+    private static final Map<String, Slot<?>> SLOTS   = new HashMap<>();
+    private static final Map<Integer, Entry>  ENTRIES = new HashMap<>();
+    private static       int                  slotCount;
+
+    /**
+     * Cause to report for the next damage a skill deals to the entity
+     */
+    public static final Slot<EntityDamageEvent.DamageCause> DAMAGE_CAUSE =
+            new Slot<>(MechanicListener.DAMAGE_CAUSE, EntityDamageEvent.DamageCause.class, false);
+    /**
+     * Marks armor stands spawned by the armor stand mechanic
+     */
+    public static final Slot<Boolean>                       ARMOR_STAND  =
+            new Slot<>(MechanicListener.ARMOR_STAND, Boolean.class, true);
+    /**
+     * Skill level projectiles were launched at
+     */
+    public static final Slot<Integer>                       SKILL_LEVEL  =
+            new Slot<>(MechanicListener.SKILL_LEVEL, Integer.class, true);
+    /**
+     * Mechanic to call back when a projectile or lightning strike hits
+     */
+    public static final Slot<Object>                        PROJECTILE   =
+            new Slot<>(MechanicListener.P_CALL, Object.class, true);
+    /**
+     * Damage dealt by summoned wolves
+     */
+    public static final Slot<Double>                        SUMMON       =
+            new Slot<>(MechanicListener.SUMMON_DAMAGE, Double.class, true);
+    /**
+     * Last entity to damage the entity with a skill
+     */
+    public static final Slot<LivingEntity>                  KILLER       =
+            new Slot<>("sapiKiller", LivingEntity.class, false);
+
+    /**
+     * Gets the slot that used to be stored under a metadata key
+     *
+     * @param key metadata key
+     * @return matching slot or null if the key isn't kept in a slot
+     */
+    public static Slot<?> getSlot(String key) {
+        return SLOTS.get(key);
+    }
+
+    /**
+     * Gets the value in one of an entity's slots
+     *
+     * @param entity entity to get for
+     * @param slot   slot to read
+     * @param <T>    type of the value
+     * @return stored value or null if not set
+     */
+    @SuppressWarnings("unchecked")
+    public static <T> T get(Entity entity, Slot<T> slot) {
+        if (entity instanceof TempEntity) return null;
+
+        final Entry entry = ENTRIES.get(entity.getEntityId());
+        return entry == null ? null : (T) entry.values[slot.index];
+    }
+
+    /**
+     * Checks whether one of an entity's slots is set
+     *
+     * @param entity entity to check
+     * @param slot   slot to check
+     * @return true if the slot has a value
+     */
+    public static boolean has(Entity entity, Slot<?> slot) {
+        return get(entity, slot) != null;
+    }
+
+    /**
+     * Checks whether the entity is an armor stand from the armor stand mechanic
+     *
+     * @param entity entity to check
+     * @return true if it is a mechanic armor stand
+     */
+    public static boolean isArmorStand(Entity entity) {
+        return get(entity, ARMOR_STAND) != null;
+    }
+
+    /**
+     * Sets one of an entity's slots
+     *
+     * @param entity entity to set for
+     * @param slot   slot to set
+     * @param value  value to store, or null to clear the slot
+     * @param <T>    type of the value
+     */
+    public static <T> void set(Entity entity, Slot<T> slot, T value) {
+        if (value == null) {
+            remove(entity, slot);
+            return;
+        }
+        if (entity instanceof TempEntity) return;
+
+        Entry entry = ENTRIES.get(entity.getEntityId());
+        if (entry == null) {
+            entry = new Entry(entity);
+            ENTRIES.put(entity.getEntityId(), entry);
+        }
+        entry.values[slot.index] = value;
+        if (slot.mirrored) {
+            entity.setMetadata(slot.key, new FixedMetadataValue(SkillAPI.inst(), value));
+        }
+    }
+
+    /**
+     * Clears one of an entity's slots
+     *
+     * @param entity entity to clear for
+     * @param slot   slot to clear
+     */
+    public static void remove(Entity entity, Slot<?> slot) {
+        final Entry entry = ENTRIES.get(entity.getEntityId());
+        if (entry != null) {
+            entry.values[slot.index] = null;
+        }
+        if (slot.mirrored) {
+            entity.removeMetadata(slot.key, SkillAPI.inst());
+        }
+    }
+
+    /**
+     * Drops every slot of an entity. Metadata written for mirrored slots is left
+     * alone so leftovers can still be recognized after a chunk reloads.
+     *
+     * @param entity entity to clear
+     */
+    public static void clear(Entity entity) {
+        ENTRIES.remove(entity.getEntityId());
+    }
+
+    /**
+     * Drops the slots of entities that have been removed or died.
+     * This is called by the API periodically.
+     */
+    public static void sweep() {
+        ENTRIES.values().removeIf(entry -> !entry.entity.isValid());
+    }
+
+    /**
+     * Drops the slots of every entity
+     */
+    public static void clearAll() {
+        ENTRIES.clear();
+    }
+
+    /**
+     * @return number of entities with slots set
+     */
+    public static int size() {
+        return ENTRIES.size();
+    }
+
+    /**
+     * A typed value that can be attached to entities
+     *
+     * @param <T> type of the value
+     */
+    public static class Slot<T> {
+        private final int      index;
+        @Getter
+        private final String   key;
+        @Getter
+        private final Class<T> type;
+        private final boolean  mirrored;
+
+        private Slot(String key, Class<T> type, boolean mirrored) {
+            this.index = slotCount++;
+            this.key = key;
+            this.type = type;
+            this.mirrored = mirrored;
+            SLOTS.put(key, this);
+        }
+    }
+
+    private static class Entry {
+        private final Entity   entity;
+        private final Object[] values = new Object[slotCount];
+
+        private Entry(Entity entity) {
+            this.entity = entity;
+        }
+    }
+}
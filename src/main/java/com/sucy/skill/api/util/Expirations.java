@@ -0,0 +1,99 @@
+/**
+ * SkillAPI
+ * com.sucy.skill.api.util.Expirations
+ * <p>
+ * The MIT License (MIT)
+ * <p>
+ * Copyright (c) 2016 Steven Sucy
+ * <p>
+ * Permission is hereby granted, free of charge, to any person obtaining a copy
+ * of this software and associated documentation files (the "Software") to deal
+ * in the Software without restriction, including without limitation the rights
+ * to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+ * copies of the Software, and to permit persons to whom the Software is
+ * furnished to do so, subject to the following conditions:
+ * <p>
+ * The above copyright notice and this permission notice shall be included in
+ * all copies or substantial portions of the Software.
+ * <p>
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+ * AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN
+ * THE SOFTWARE.
+ */
+package com.sucy.skill.api.util;
+
+import com.sucy.skill.log.Logger;
+import com.sucy.skill.thread.TimingWheel;
+
+/**
+ * Expires flags and buffs from a single timing wheel on the server thread.
+ * {@link FlagData} and {@link BuffData} schedule an expiration when a flag or
+ * buff is applied, and cancel it when it is refreshed or removed early.
+ * Adding, refreshing and cancelling an expiration take constant time, and
+ * everything that runs out on a tick is expired together when the wheel
+ * is advanced by its step of the {@link com.sucy.skill.task.ServerTickTask}.
+ * <p>
+ * The wheel isn't thread safe, so expirations must only be scheduled and
+ * cancelled from the server thread.
+ */
+public class Expirations {
+    private static final TimingWheel<Runnable> WHEEL = new TimingWheel<>();
+
+    /**
+     * Schedules something to expire after a number of ticks
+     *
+     * @param expire what to run once the time is up
+     * @param ticks  ticks until it expires, at least 1
+     * @return handle to cancel the expiration with
+     */
+    public static TimingWheel.Node<Runnable> schedule(Runnable expire, long ticks) {
+        final TimingWheel.Node<Runnable> node = new TimingWheel.Node<>(expire);
+        WHEEL.schedule(node, ticks);
+        return node;
+    }
+
+    /**
+     * Cancels an expiration so it never runs
+     *
+     * @param node handle of the expiration, ignored if null
+     */
+    public static void cancel(TimingWheel.Node<Runnable> node) {
+        if (node != null) WHEEL.cancel(node);
+    }
+
+    /**
+     * @return number of expirations waiting
+     */
+    public static int size() {
+        return WHEEL.size();
+    }
+
+    /**
+     * Runs everything that expires this tick. An expiration that fails is
+     * logged and the rest still run. This is called by the API every tick.
+     */
+    public static void tick() {
+        TimingWheel.Node<Runnable> node = WHEEL.advance();
+        while (node != null) {
+            final TimingWheel.Node<Runnable> next = node.getNext();
+            try {
+                node.getTask().run();
+            } catch (Exception ex) {
+                Logger.bug("Failed to expire a flag or buff - " + ex.getMessage());
+                ex.printStackTrace();
+            }
+            node = next;
+        }
+    }
+
+    /**
+     * Drops every waiting expiration without running it
+     */
+    public static void clear() {
+        WHEEL.drain(expire -> { });
+    }
+}
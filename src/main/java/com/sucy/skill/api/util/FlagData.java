@@ -26,27 +26,28 @@
  */
 package com.sucy.skill.api.util;
 
-import com.sucy.skill.SkillAPI;
 import com.sucy.skill.api.event.FlagApplyEvent;
 import com.sucy.skill.api.event.FlagExpireEvent;
+import com.sucy.skill.thread.TimingWheel;
 import org.bukkit.Bukkit;
 import org.bukkit.entity.LivingEntity;
-import org.bukkit.plugin.Plugin;
-import org.bukkit.scheduler.BukkitRunnable;
-import org.bukkit.scheduler.BukkitTask;
 
-import java.util.ArrayList;
-import java.util.HashMap;
+import java.util.LinkedHashSet;
 import java.util.Set;
 
 /**
- * Represents flags set on an entity
+ * Represents flags set on an entity. Flags are stored by their ID from
+ * {@link FlagManager#id(String)} as bits, with the time each one runs out
+ * kept in an array indexed by the same ID.
  */
 public class FlagData {
-    private final HashMap<String, Long>       flags = new HashMap<String, Long>();
-    private final HashMap<String, BukkitTask> tasks = new HashMap<String, BukkitTask>();
-    private final LivingEntity                entity;
-    private final Plugin                      plugin;
+    private static final long PERMANENT = Long.MAX_VALUE;
+
+    private final LivingEntity                 entity;
+    private       long[]                       bits    = new long[1];
+    private       long[]                       expires = new long[0];
+    private       TimingWheel.Node<Runnable>[] tasks   = newTasks(0);
+    private       int                          count;
 
     /**
      * Initializes new flag data for the entity
@@ -54,7 +55,6 @@ public class FlagData {
      * @param entity entity to initialize for
      */
     public FlagData(LivingEntity entity) {
-        this.plugin = SkillAPI.inst();
         this.entity = entity;
     }
 
@@ -69,27 +69,26 @@ public class FlagData {
         Bukkit.getPluginManager().callEvent(event);
         if (event.isCancelled()) return;
 
+        final int id = FlagManager.id(flag);
+        ensureCapacity(id);
+
         // Permanent flag
         if (ticks < 0) {
-            BukkitTask task = tasks.remove(flag);
-            if (task != null)
-                task.cancel();
-            flags.put(flag, Long.MAX_VALUE);
+            Expirations.cancel(tasks[id]);
+            tasks[id] = null;
+            set(id, PERMANENT);
             return;
         }
 
-        if (flags.containsKey(flag)) {
-            long time = flags.get(flag);
-            if (time > ticks * 50 + System.currentTimeMillis())
+        final long expiry = System.currentTimeMillis() + ticks * 50L;
+        if (hasFlag(id)) {
+            if (expires[id] > expiry)
                 return;
-            else {
-                BukkitTask task = tasks.remove(flag);
-                if (task != null)
-                    task.cancel();
-            }
+            else
+                Expirations.cancel(tasks[id]);
         }
-        flags.put(flag, System.currentTimeMillis() + ticks * 50);
-        tasks.put(flag, new FlagTask(flag).runTaskLater(plugin, ticks));
+        set(id, expiry);
+        tasks[id] = Expirations.schedule(() -> expire(id), ticks);
     }
 
     /**
@@ -98,23 +97,33 @@ public class FlagData {
      * @param flag flag to remove from the entity
      */
     public void removeFlag(String flag) {
-        removeFlag(flag, FlagExpireEvent.ExpireReason.REMOVED);
+        final int id = FlagManager.find(flag);
+        if (id >= 0) removeFlag(id, FlagExpireEvent.ExpireReason.REMOVED);
+    }
+
+    /**
+     * Removes a flag from the entity
+     *
+     * @param id ID of the flag to remove from the entity
+     */
+    public void removeFlag(int id) {
+        removeFlag(id, FlagExpireEvent.ExpireReason.REMOVED);
     }
 
     /**
      * Removes a flag from the entity, using the given reason
      *
-     * @param flag   flag to remove
+     * @param id     ID of the flag to remove
      * @param reason reason for removal
      */
-    private void removeFlag(String flag, FlagExpireEvent.ExpireReason reason) {
-        if (flags.containsKey(flag)) {
-            flags.remove(flag);
-            BukkitTask task = tasks.remove(flag);
-            if (task != null)
-                task.cancel();
-            Bukkit.getPluginManager().callEvent(new FlagExpireEvent(entity, flag, reason));
-            if (flags.size() == 0) {
+    private void removeFlag(int id, FlagExpireEvent.ExpireReason reason) {
+        if (hasFlag(id)) {
+            bits[id >>> 6] &= ~(1L << id);
+            count--;
+            Expirations.cancel(tasks[id]);
+            tasks[id] = null;
+            Bukkit.getPluginManager().callEvent(new FlagExpireEvent(entity, FlagManager.getName(id), reason));
+            if (count == 0) {
                 FlagManager.clearFlags(entity);
             }
         }
@@ -124,9 +133,13 @@ public class FlagData {
      * Clears all flags on the entity and stops associated tasks.
      */
     public void clear() {
-        ArrayList<String> flags = new ArrayList<String>(this.flags.keySet());
-        for (String flag : flags) {
-            removeFlag(flag);
+        for (int word = 0; word < bits.length; word++) {
+            long remaining = bits[word];
+            while (remaining != 0) {
+                final int id = (word << 6) + Long.numberOfTrailingZeros(remaining);
+                remaining &= remaining - 1;
+                removeFlag(id);
+            }
         }
         FlagManager.clearFlags(entity);
     }
@@ -139,10 +152,21 @@ public class FlagData {
      * @return the seconds left rounded up to the nearest second or 0 if not set
      */
     public int getSecondsLeft(String flag) {
-        if (!hasFlag(flag)) {
+        return getSecondsLeft(FlagManager.find(flag));
+    }
+
+    /**
+     * Retrieves the number of seconds left of an active flag on the entity.
+     * If the flag is not active, this will instead return 0.
+     *
+     * @param id ID of the flag to check the time left for
+     * @return the seconds left rounded up to the nearest second or 0 if not set
+     */
+    public int getSecondsLeft(int id) {
+        if (!hasFlag(id)) {
             return 0;
         }
-        long millis = flags.get(flag) - System.currentTimeMillis();
+        long millis = expires[id] - System.currentTimeMillis();
         return (int) Math.max(1, (millis + 999) / 1000);
     }
 
@@ -154,10 +178,11 @@ public class FlagData {
      * @return the number of milliseconds left or 0 if not set
      */
     public int getMillisLeft(String flag) {
-        if (!hasFlag(flag)) {
+        final int id = FlagManager.find(flag);
+        if (!hasFlag(id)) {
             return 0;
         }
-        return (int) (flags.get(flag) - System.currentTimeMillis());
+        return (int) (expires[id] - System.currentTimeMillis());
     }
 
     /**
@@ -167,7 +192,18 @@ public class FlagData {
      * @return true if set, false otherwise
      */
     public boolean hasFlag(String flag) {
-        return flags.containsKey(flag);
+        return hasFlag(FlagManager.find(flag));
+    }
+
+    /**
+     * Checks whether the entity currently has the flag set
+     *
+     * @param id ID of the flag to check, negative IDs are never set
+     * @return true if set, false otherwise
+     */
+    public boolean hasFlag(int id) {
+        final int word = id >>> 6;
+        return id >= 0 && word < bits.length && (bits[word] & (1L << id)) != 0;
     }
 
     /**
@@ -175,26 +211,61 @@ public class FlagData {
      *
      * @return Set name of all active flag.
      */
-    public Set<String> flagList(){
-        return flags.keySet();
+    public Set<String> flagList() {
+        final Set<String> names = new LinkedHashSet<>();
+        for (int word = 0; word < bits.length; word++) {
+            long remaining = bits[word];
+            while (remaining != 0) {
+                names.add(FlagManager.getName((word << 6) + Long.numberOfTrailingZeros(remaining)));
+                remaining &= remaining - 1;
+            }
+        }
+        return names;
     }
 
-    private class FlagTask extends BukkitRunnable {
-        private final String flag;
+    private void set(int id, long expiry) {
+        if (!hasFlag(id)) {
+            bits[id >>> 6] |= 1L << id;
+            count++;
+        }
+        expires[id] = expiry;
+    }
 
-        public FlagTask(String flag) {
-            this.flag = flag;
+    private void ensureCapacity(int id) {
+        if ((id >>> 6) >= bits.length) {
+            final long[] grown = new long[(id >>> 6) + 1];
+            System.arraycopy(bits, 0, grown, 0, bits.length);
+            bits = grown;
         }
+        if (id >= expires.length) {
+            final int size = Math.max(id + 1, Math.max(expires.length * 2, FlagManager.BUILT_IN));
 
-        @Override
-        public void run() {
-            if (!entity.isValid() || entity.isDead()) {
-                FlagManager.clearFlags(entity);
-                return;
-            }
-            removeFlag(flag, FlagExpireEvent.ExpireReason.TIME);
+            final long[] grownExpires = new long[size];
+            System.arraycopy(expires, 0, grownExpires, 0, expires.length);
+            expires = grownExpires;
+
+            final TimingWheel.Node<Runnable>[] grownTasks = newTasks(size);
+            System.arraycopy(tasks, 0, grownTasks, 0, tasks.length);
+            tasks = grownTasks;
         }
     }
 
+    @SuppressWarnings("unchecked")
+    private static TimingWheel.Node<Runnable>[] newTasks(int size) {
+        return (TimingWheel.Node<Runnable>[]) new TimingWheel.Node[size];
+    }
 
+    /**
+     * Removes a flag once its time is up
+     *
+     * @param id ID of the flag that ran out
+     */
+    private void expire(int id) {
+        tasks[id] = null;
+        if (!entity.isValid() || entity.isDead()) {
+            FlagManager.clearFlags(entity);
+            return;
+        }
+        removeFlag(id, FlagExpireEvent.ExpireReason.TIME);
+    }
 }
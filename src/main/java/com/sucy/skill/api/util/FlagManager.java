@@ -30,12 +30,80 @@ import org.bukkit.entity.LivingEntity;
 
 import java.util.HashMap;
 import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
 
 /**
- * The manager for temporary entity flag data
+ * The manager for temporary entity flag data.
+ * <p>
+ * Flags are interned to IDs shared by every entity. The statuses from {@link StatusFlag}
+ * are given the first IDs so checking them is a single bit test, and listeners that check
+ * the same flags often should get the IDs once with {@link #id(String)}.
  */
 public class FlagManager {
-    private static final Map<Integer, FlagData> data = new HashMap<>();
+    private static final Map<Integer, FlagData> data  = new HashMap<>();
+    private static final Map<String, Integer>   ids   = new ConcurrentHashMap<>();
+    private static volatile String[]            names = new String[64];
+    private static int                          nextId;
+
+    static {
+        for (String flag : StatusFlag.ALL) {
+            id(flag);
+        }
+        id(StatusFlag.CHANNEL);
+        id(StatusFlag.INVULNERABLE);
+    }
+
+    /**
+     * Number of flags given an ID up front
+     */
+    static final int BUILT_IN = nextId;
+
+    /**
+     * Gets the ID of a flag, giving it a new one if it hasn't been used yet
+     *
+     * @param flag flag name
+     * @return ID of the flag
+     */
+    public static int id(String flag) {
+        Integer id = ids.get(flag);
+        return id != null ? id : register(flag);
+    }
+
+    private static synchronized int register(String flag) {
+        Integer id = ids.get(flag);
+        if (id != null) return id;
+
+        final int next = nextId++;
+        if (next == names.length) {
+            final String[] grown = new String[next * 2];
+            System.arraycopy(names, 0, grown, 0, next);
+            names = grown;
+        }
+        names[next] = flag;
+        ids.put(flag, next);
+        return next;
+    }
+
+    /**
+     * Gets the ID of a flag without giving unused flags one
+     *
+     * @param flag flag name
+     * @return ID of the flag or -1 if it was never used
+     */
+    static int find(String flag) {
+        Integer id = ids.get(flag);
+        return id == null ? -1 : id;
+    }
+
+    /**
+     * Gets the name of a flag from its ID
+     *
+     * @param id ID of the flag
+     * @return flag name
+     */
+    public static String getName(int id) {
+        return names[id];
+    }
 
     /**
      * Retrieves the flag data for an entity. This creates new data if
@@ -94,6 +162,19 @@ public class FlagManager {
         }
     }
 
+    /**
+     * Removes the flag from an entity
+     *
+     * @param entity entity to remove the flag from
+     * @param id     ID of the flag to remove
+     */
+    public static void removeFlag(LivingEntity entity, int id) {
+        FlagData data = getFlagData(entity, false);
+        if (data != null) {
+            data.removeFlag(id);
+        }
+    }
+
     /**
      * Checks whether the entity has the given flag
      *
@@ -102,7 +183,22 @@ public class FlagManager {
      * @return true if the flag is active on the entity, false otherwise
      */
     public static boolean hasFlag(LivingEntity entity, String flag) {
-        return entity != null && data.containsKey(entity.getEntityId()) && getFlagData(entity, false).hasFlag(flag);
+        return hasFlag(entity, find(flag));
+    }
+
+    /**
+     * Checks whether the entity has the given flag
+     *
+     * @param entity the entity to check for
+     * @param id     ID of the flag to check for
+     * @return true if the flag is active on the entity, false otherwise
+     */
+    public static boolean hasFlag(LivingEntity entity, int id) {
+        if (entity == null) {
+            return false;
+        }
+        FlagData flags = data.get(entity.getEntityId());
+        return flags != null && flags.hasFlag(id);
     }
 
     /**
@@ -113,10 +209,19 @@ public class FlagManager {
      * @return time left on the flag in seconds for the entity
      */
     public static int getTimeLeft(LivingEntity entity, String flag) {
-        if (entity == null) {
-            return 0;
-        }
-        return data.containsKey(entity.getEntityId()) ? getFlagData(entity).getSecondsLeft(flag) : 0;
+        return getTimeLeft(entity, find(flag));
+    }
+
+    /**
+     * Retrieves the time left on a flag for an entity
+     *
+     * @param entity entity to get the time for
+     * @param id     ID of the flag to get the time for
+     * @return time left on the flag in seconds for the entity
+     */
+    public static int getTimeLeft(LivingEntity entity, int id) {
+        FlagData flags = getFlagData(entity, false);
+        return flags != null ? flags.getSecondsLeft(id) : 0;
     }
 
     /**
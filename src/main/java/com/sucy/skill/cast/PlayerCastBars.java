@@ -107,12 +107,13 @@ public class PlayerCastBars implements InventoryHolder {
      * @param map data of the bar to validate
      */
     private void validate(HashMap<Integer, String> map) {
-        map.entrySet().removeIf(entry -> {
+        boolean removed = map.entrySet().removeIf(entry -> {
             String skillName = entry.getValue();
             if (!player.hasSkill(skillName)) return false;
             PlayerSkill playerSkill = player.getSkill(skillName);
             return playerSkill == null || !playerSkill.isUnlocked() || !playerSkill.getData().canCast();
         });
+        if (removed) player.markDirty();
     }
 
     /**
@@ -131,6 +132,7 @@ public class PlayerCastBars implements InventoryHolder {
             ItemStack[] contents = player.getPlayer().getInventory().getContents();
             update(contents, hoverBar, 0);
             update(contents, instantBar, 27);
+            player.markDirty();
         }
 
         // Restore player's items
@@ -401,6 +403,7 @@ public class PlayerCastBars implements InventoryHolder {
      */
     private void add(HashMap<Integer, String> bar, String skill, int slot) {
         bar.put(slot, skill);
+        player.markDirty();
     }
 
     /**
@@ -410,6 +413,7 @@ public class PlayerCastBars implements InventoryHolder {
     public void reset() {
         instantBar.clear();
         hoverBar.clear();
+        player.markDirty();
     }
 
     private HashSet<String> getUnused() {
@@ -33,7 +33,10 @@ public class PlayerTextCastingData {
 
     public void validate() {
         for (int i = 0; i < skills.length; i++) {
-            if (!isValid(skills[i])) skills[i] = null;
+            if (!isValid(skills[i])) {
+                skills[i] = null;
+                player.markDirty();
+            }
         }
         int castSlot = SkillAPI.getSettings().getCastSlot();
         if (skills[castSlot] != null) {
@@ -50,6 +53,7 @@ public class PlayerTextCastingData {
             for (int i = 0; i < skills.length; i++) {
                 skills[i] = list.get(i);
             }
+            player.markDirty();
         }
     }
 
@@ -84,6 +88,7 @@ public class PlayerTextCastingData {
         if (slot == SkillAPI.getSettings().getCastSlot()) return;
         remove(skillName);
         skills[slot] = skillName;
+        player.markDirty();
     }
 
     private boolean isValid(@Nullable String skillName) {
@@ -29,6 +29,7 @@ package com.sucy.skill.cmd;
 import com.sucy.skill.SkillAPI;
 import mc.promcteam.engine.mccore.commands.ConfigurableCommand;
 import mc.promcteam.engine.mccore.commands.IFunction;
+import mc.promcteam.engine.mccore.config.Filter;
 import org.bukkit.command.CommandSender;
 import org.bukkit.plugin.Plugin;
 
@@ -36,7 +37,8 @@ import org.bukkit.plugin.Plugin;
  * A command that allows a player to profess through classes
  */
 public class CmdReload implements IFunction {
-    private static final String DONE = "done";
+    private static final String DONE    = "done";
+    private static final String CHANGED = "changed";
 
     /**
      * Runs the command
@@ -48,6 +50,15 @@ public class CmdReload implements IFunction {
      */
     @Override
     public void execute(ConfigurableCommand cmd, Plugin plugin, CommandSender sender, String[] args) {
+        if (args.length > 0 && args[0].equalsIgnoreCase(CHANGED)) {
+            int amount = SkillAPI.reloadChanged();
+            cmd.sendMessage(sender,
+                    CHANGED,
+                    "&2Reloaded &6{amount} &2changed skills and classes",
+                    Filter.AMOUNT.setReplacement(amount + ""));
+            return;
+        }
+
         SkillAPI.reload();
         cmd.sendMessage(sender, DONE, "&2ProSkillAPI has been reloaded");
     }
@@ -0,0 +1,120 @@
+/**
+ * SkillAPI
+ * com.sucy.skill.cmd.CmdTimings
+ * <p>
+ * The MIT License (MIT)
+ * <p>
+ * Copyright (c) 2014 Steven Sucy
+ * <p>
+ * Permission is hereby granted, free of charge, to any person obtaining a copy
+ * of this software and associated documentation files (the "Software") to deal
+ * in the Software without restriction, including without limitation the rights
+ * to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+ * copies of the Software, and to permit persons to whom the Software is
+ * furnished to do so, subject to the following conditions:
+ * <p>
+ * The above copyright notice and this permission notice shall be included in
+ * all copies or substantial portions of the Software.
+ * <p>
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+ * AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN
+ * THE SOFTWARE.
+ */
+package com.sucy.skill.cmd;
+
+import com.sucy.skill.api.CastData;
+import com.sucy.skill.api.particle.ParticleHelper;
+import com.sucy.skill.dynamic.DynamicSkill;
+import com.sucy.skill.thread.MainThread;
+import com.sucy.skill.thread.TaskTimings;
+import mc.promcteam.engine.mccore.commands.ConfigurableCommand;
+import mc.promcteam.engine.mccore.commands.IFunction;
+import org.bukkit.ChatColor;
+import org.bukkit.command.CommandSender;
+import org.bukkit.plugin.Plugin;
+
+/**
+ * A command that shows how long the tasks on SkillAPI's main thread take
+ */
+public class CmdTimings implements IFunction {
+    private static final String TITLE     = "title";
+    private static final String LINE      = "line";
+    private static final String RESET     = "reset";
+    private static final String PARTICLES = "particles";
+    private static final String CAST_DATA = "cast-data";
+
+    /**
+     * Runs the command
+     *
+     * @param cmd    command that was executed
+     * @param plugin plugin reference
+     * @param sender sender of the command
+     * @param args   argument list
+     */
+    @Override
+    public void execute(ConfigurableCommand cmd, Plugin plugin, CommandSender sender, String[] args) {
+        TaskTimings timings = MainThread.getTimings();
+        if (args.length > 0 && args[0].equalsIgnoreCase("reset")) {
+            timings.reset();
+            ParticleHelper.resetMetrics();
+            cmd.sendMessage(sender, RESET, ChatColor.DARK_GREEN + "Task timings have been reset");
+            return;
+        }
+
+        long seconds = (System.currentTimeMillis() - timings.getSince()) / 1000;
+        sender.sendMessage(cmd.getMessage(TITLE,
+                ChatColor.DARK_GREEN + "Task timings over " + ChatColor.GOLD + "{seconds}s" + ChatColor.DARK_GREEN
+                        + " (" + ChatColor.GOLD + "{ticks}" + ChatColor.DARK_GREEN + " ticks, "
+                        + ChatColor.GOLD + "{late}" + ChatColor.DARK_GREEN + " late, "
+                        + ChatColor.GOLD + "{skipped}" + ChatColor.DARK_GREEN + " skipped, "
+                        + ChatColor.GOLD + "{tasks}" + ChatColor.DARK_GREEN + " tasks)")
+                .replace("{seconds}", seconds + "")
+                .replace("{ticks}", timings.getTicks() + "")
+                .replace("{late}", timings.getLateTicks() + "")
+                .replace("{skipped}", timings.getSkippedTicks() + "")
+                .replace("{tasks}", MainThread.getTaskCount() + ""));
+
+        String line = cmd.getMessage(LINE,
+                ChatColor.GOLD + "{task}" + ChatColor.GRAY + ": " + ChatColor.WHITE + "{runs}" + ChatColor.GRAY
+                        + " runs, avg " + ChatColor.WHITE + "{avg}ms" + ChatColor.GRAY + ", max "
+                        + ChatColor.WHITE + "{max}ms" + ChatColor.GRAY + ", total " + ChatColor.WHITE
+                        + "{total}ms" + ChatColor.GRAY + ", overruns " + ChatColor.WHITE + "{overruns}"
+                        + ChatColor.GRAY + ", errors " + ChatColor.WHITE + "{errors}");
+        for (TaskTimings.Stats stats : timings.getStats()) {
+            sender.sendMessage(line
+                    .replace("{task}", stats.getName())
+                    .replace("{runs}", stats.getRuns() + "")
+                    .replace("{avg}", millis(stats.getAverageNanos()))
+                    .replace("{max}", millis(stats.getMaxNanos()))
+                    .replace("{total}", millis(stats.getTotalNanos()))
+                    .replace("{overruns}", stats.getOverruns() + "")
+                    .replace("{errors}", stats.getErrors() + ""));
+        }
+
+        long plays = ParticleHelper.getPlays();
+        sender.sendMessage(cmd.getMessage(PARTICLES,
+                ChatColor.GOLD + "Particles" + ChatColor.GRAY + ": " + ChatColor.WHITE + "{plays}" + ChatColor.GRAY
+                        + " plays, " + ChatColor.WHITE + "{packets}" + ChatColor.GRAY + " packets, avg "
+                        + ChatColor.WHITE + "{average}" + ChatColor.GRAY + " packets per play")
+                .replace("{plays}", plays + "")
+                .replace("{packets}", ParticleHelper.getPackets() + "")
+                .replace("{average}", String.format("%.1f", plays == 0 ? 0 : (double) ParticleHelper.getPackets() / plays)));
+
+        sender.sendMessage(cmd.getMessage(CAST_DATA,
+                ChatColor.GOLD + "Cast data" + ChatColor.GRAY + ": " + ChatColor.WHITE + "{entities}" + ChatColor.GRAY
+                        + " entities, " + ChatColor.WHITE + "{values}" + ChatColor.GRAY + " values, "
+                        + ChatColor.WHITE + "{keys}" + ChatColor.GRAY + " keys, ~" + ChatColor.WHITE + "{kb}KB")
+                .replace("{entities}", DynamicSkill.getCastDataCount() + "")
+                .replace("{values}", DynamicSkill.getCastValueCount() + "")
+                .replace("{keys}", CastData.getKeyCount() + "")
+                .replace("{kb}", String.format("%.1f", DynamicSkill.getCastDataBytes() / 1024.0)));
+    }
+
+    private static String millis(long nanos) {
+        return String.format("%.3f", nanos / 1_000_000.0);
+    }
+}
@@ -30,7 +30,7 @@ import com.google.common.collect.ImmutableList;
 import com.google.common.collect.ImmutableSet;
 import com.sucy.skill.SkillAPI;
 import com.sucy.skill.api.CombatProtection;
-import com.sucy.skill.api.DefaultCombatProtection;
+import com.sucy.skill.api.RelationCache;
 import com.sucy.skill.api.player.PlayerClass;
 import com.sucy.skill.api.skills.Skill;
 import com.sucy.skill.cast.CastMode;
@@ -95,10 +95,16 @@ public class Settings {
             TARGET_PLAYER          = TARGET_BASE + "player-ally",
             TARGET_NPC             = TARGET_BASE + "affect-npcs",
             TARGET_STANDS          = TARGET_BASE + "affect-armor-stands",
+            TARGET_CACHE           = TARGET_BASE + "relation-cache-ticks",
+            THREAD_BASE            = "Threading.",
+            THREAD_SYNC_BUDGET     = THREAD_BASE + "sync-budget",
             SAVE_BASE              = "Saving.",
             SAVE_AUTO              = SAVE_BASE + "auto-save",
             SAVE_MINS              = SAVE_BASE + "minutes",
             SAVE_VOLATILE          = SAVE_BASE + "volatile-storage",
+            SAVE_BINARY            = SAVE_BASE + "binary-format",
+            SAVE_WORKERS           = SAVE_BASE + "save-workers",
+            SAVE_MAX_PENDING       = SAVE_BASE + "max-pending",
             SAVE_SQL               = SAVE_BASE + "sql-database",
             SAVE_SQLD              = SAVE_BASE + "sql-details",
             CLASS_BASE             = "Classes.",
@@ -109,6 +115,7 @@ public class Settings {
             CLASS_REFUND           = CLASS_BASE + "attributes-downgrade",
             CLASS_REFUND_PRICE     = CLASS_BASE + "attributes-downgrade-price",
             CLASS_LEVEL            = CLASS_BASE + "level-up-skill",
+            CLASS_FORMULA_ORDER    = CLASS_BASE + "formula-order-of-operations",
             MANA_BASE              = "Mana.",
             MANA_ENABLED           = MANA_BASE + "enabled",
             MANA_FREQ              = MANA_BASE + "freq",
@@ -119,6 +126,8 @@ public class Settings {
             SKILL_BLOCKS           = SKILL_BASE + "block-filter",
             SKILL_KNOCKBACK        = SKILL_BASE + "knockback-no-damage",
             SKILL_REFUND_ON_CHANGE = SKILL_BASE + "refund-on-change",
+            SKILL_TRIGGER_INTERVAL = SKILL_BASE + "trigger-intervals",
+            SKILL_HOT_RELOAD       = SKILL_BASE + "hot-reload-seconds",
             ITEM_BASE              = "Items.",
             ITEM_LORE              = ITEM_BASE + "lore-requirements",
             ITEM_DROP              = ITEM_BASE + "drop-weapon",
@@ -220,12 +229,45 @@ public class Settings {
     private boolean             playerAlly;
     private boolean             affectNpcs;
     private boolean             affectArmorStands;
-    private CombatProtection    combatProtection = new DefaultCombatProtection();
+    private CombatProtection    combatProtection =
+            (attacker, target, cause) -> CombatProtection.canAttack(attacker, target, passiveAlly, cause);
     private boolean             auto;
     private boolean             useSql;
     private boolean             volatileStorage;
+    private boolean             binaryFormat;
+    /**
+     * Retrieves the number of background threads used to write player data
+     *
+     * @return number of save worker threads
+     */
+    @Getter
+    private int                 saveWorkers;
+    /**
+     * Retrieves the number of players that can be waiting to be written
+     * before auto saves are postponed
+     *
+     * @return max number of waiting saves
+     */
+    @Getter
+    private int                 saveMaxPending;
     private int                 minutes;
+    /**
+     * Retrieves the time in milliseconds the server thread may spend each
+     * tick applying changes prepared by SkillAPI's main thread
+     *
+     * @return sync budget in milliseconds
+     */
+    @Getter
+    private int                 syncBudget;
     private int                 sqlDelay;
+    /**
+     * Retrieves the number of pooled SQL connections to keep open. When
+     * this is 0, a new connection is opened for each load or save instead.
+     *
+     * @return SQL connection pool size
+     */
+    @Getter
+    private int                 sqlPoolSize;
     /**
      * Retrieves the host IP for the database
      *
@@ -310,6 +352,12 @@ public class Settings {
      */
     @Getter
     private int                 messageRadius;
+    private Map<String, Integer> triggerIntervals = new HashMap<>();
+    /**
+     * @return seconds between checks for changed skill and class files, or 0 if disabled
+     */
+    @Getter
+    private int                 hotReloadSeconds;
     private boolean             skillModelData;
     /**
      * Checks whether lore requirements are enabled
@@ -678,6 +726,7 @@ public class Settings {
         loadLoggingSettings();
         loadWorldSettings();
         loadSaveSettings();
+        loadThreadSettings();
         loadTargetingSettings();
         loadWorldGuardSettings();
     }
@@ -841,12 +890,77 @@ public class Settings {
      * @return true if the target can be attacked, false otherwise
      */
     public boolean canAttack(LivingEntity attacker, LivingEntity target, EntityDamageEvent.DamageCause cause) {
+        final Boolean allowed = checkRules(attacker, target);
+        if (allowed != null) return allowed;
+
+        final Boolean cached = RelationCache.get(attacker, target, cause);
+        if (cached != null) return cached;
+
+        final boolean result = combatProtection.canAttack(attacker, target, cause);
+        RelationCache.put(attacker, target, cause, result);
+        return result;
+    }
+
+    /**
+     * Checks which of several targets can be attacked
+     *
+     * @param attacker the attacking entity
+     * @param targets  the target entities
+     * @return whether each target can be attacked, in the same order as the targets
+     */
+    public boolean[] canAttack(LivingEntity attacker, List<LivingEntity> targets) {
+        return canAttack(attacker, targets, EntityDamageEvent.DamageCause.CUSTOM);
+    }
+
+    /**
+     * Checks which of several targets can be attacked. Targets that aren't
+     * decided by the targeting settings or remembered from earlier this tick
+     * are passed to the combat protection together.
+     *
+     * @param attacker the attacking entity
+     * @param targets  the target entities
+     * @param cause    the cause of the damage, might affect death messages
+     * @return whether each target can be attacked, in the same order as the targets
+     */
+    public boolean[] canAttack(LivingEntity attacker, List<LivingEntity> targets, EntityDamageEvent.DamageCause cause) {
+        final boolean[]          result    = new boolean[targets.size()];
+        final int[]              positions = new int[targets.size()];
+        final List<LivingEntity> unknown   = new ArrayList<>();
+        for (int i = 0; i < result.length; i++) {
+            final LivingEntity target  = targets.get(i);
+            Boolean            allowed = checkRules(attacker, target);
+            if (allowed == null) allowed = RelationCache.get(attacker, target, cause);
+
+            if (allowed != null) {
+                result[i] = allowed;
+            } else {
+                positions[unknown.size()] = i;
+                unknown.add(target);
+            }
+        }
+
+        if (!unknown.isEmpty()) {
+            final boolean[] checked = combatProtection.canAttack(attacker, unknown, cause);
+            for (int i = 0; i < checked.length; i++) {
+                result[positions[i]] = checked[i];
+                RelationCache.put(attacker, unknown.get(i), cause, checked[i]);
+            }
+        }
+        return result;
+    }
+
+    /**
+     * Applies the targeting settings to a pair of entities
+     *
+     * @return whether the attacker can attack the target or null if it is up to combat protection
+     */
+    private Boolean checkRules(LivingEntity attacker, LivingEntity target) {
         if (attacker.equals(target)) return true;
 
         if (attacker instanceof Player && target instanceof Player) {
             if (playerAlly) return false;
             if (playerWorlds.contains(target.getWorld().getName())) return false;
-            return CombatProtection.canAttack(attacker, target, passiveAlly, cause);
+            return null;
         } else {
             if (attacker instanceof Tameable) {
                 Tameable tameable = (Tameable) attacker;
@@ -868,7 +982,7 @@ public class Settings {
             }
         }
 
-        return CombatProtection.canAttack(attacker, target, passiveAlly, cause);
+        return null;
     }
 
     /**
@@ -900,6 +1014,7 @@ public class Settings {
      */
     public void setCombatProtection(final CombatProtection combatProtection) {
         this.combatProtection = combatProtection;
+        RelationCache.clear();
     }
 
     private void loadTargetingSettings() {
@@ -926,6 +1041,7 @@ public class Settings {
 
         affectArmorStands = config.getBoolean(TARGET_STANDS);
         affectNpcs = config.getBoolean(TARGET_NPC);
+        RelationCache.setLifespan(config.getInt(TARGET_CACHE, 1));
     }
 
     /**
@@ -951,6 +1067,16 @@ public class Settings {
         return volatileStorage;
     }
 
+    /**
+     * Checks whether player files are saved in the compact binary format
+     * instead of YAML. Does not apply when using an SQL database.
+     *
+     * @return true if enabled, false otherwise
+     */
+    public boolean isBinaryFormat() {
+        return binaryFormat;
+    }
+
     /**
      * Checks whether the plugin is using SQL Database saving
      *
@@ -985,14 +1111,22 @@ public class Settings {
         return sqlDelay;
     }
 
+    private void loadThreadSettings() {
+        syncBudget = Math.max(1, config.getInt(THREAD_SYNC_BUDGET, 5));
+    }
+
     private void loadSaveSettings() {
         auto = config.getBoolean(SAVE_AUTO);
         minutes = config.getInt(SAVE_MINS);
         useSql = config.getBoolean(SAVE_SQL);
         volatileStorage = config.getBoolean(SAVE_VOLATILE);
+        binaryFormat = config.getBoolean(SAVE_BINARY, false);
+        saveWorkers = Math.max(1, config.getInt(SAVE_WORKERS, 2));
+        saveMaxPending = Math.max(1, config.getInt(SAVE_MAX_PENDING, 500));
 
         DataSection details = config.getSection(SAVE_SQLD);
         sqlDelay = details.getInt("delay");
+        sqlPoolSize = details.getInt("pool-size", 0);
 
         if (useSql) {
             sqlHost = details.getString("host");
@@ -1067,6 +1201,7 @@ public class Settings {
         attributesDowngrade = config.getBoolean(CLASS_REFUND);
         attributesDowngradePrice = config.getInt(CLASS_REFUND_PRICE);
         levelUpSkill = config.getString(CLASS_LEVEL);
+        Formula.setDefaultOrderOfOperations(config.getBoolean(CLASS_FORMULA_ORDER, false));
     }
 
     private void loadManaSettings() {
@@ -1074,12 +1209,32 @@ public class Settings {
         gainFreq = (int) (config.getDouble(MANA_FREQ) * 20);
     }
 
+    /**
+     * Gets the minimum ticks between runs of a trigger for the same caster and
+     * skill. Events arriving sooner are merged, keeping the latest one.
+     *
+     * @param trigger key of the trigger
+     * @return interval in ticks or 0 if the trigger isn't coalesced
+     */
+    public int getTriggerInterval(String trigger) {
+        return triggerIntervals.getOrDefault(trigger.toUpperCase(Locale.US).replace(' ', '_'), 0);
+    }
+
     private void loadSkillSettings() {
         allowDowngrade = config.getBoolean(SKILL_DOWNGRADE);
         showSkillMessages = config.getBoolean(SKILL_MESSAGE);
         messageRadius = config.getInt(SKILL_RADIUS);
         knockback = config.getBoolean(SKILL_KNOCKBACK);
         refundOnClassChange = config.getBoolean(SKILL_REFUND_ON_CHANGE);
+        hotReloadSeconds = Math.max(0, config.getInt(SKILL_HOT_RELOAD, 0));
+
+        triggerIntervals = new HashMap<>();
+        DataSection intervals = config.getSection(SKILL_TRIGGER_INTERVAL);
+        if (intervals != null) {
+            for (String key : intervals.keys()) {
+                triggerIntervals.put(key.toUpperCase(Locale.US).replace(' ', '_'), intervals.getInt(key));
+            }
+        }
 
         filteredBlocks = new ArrayList<>();
         List<String> list = config.getList(SKILL_BLOCKS);
@@ -0,0 +1,211 @@
+/**
+ * SkillAPI
+ * com.sucy.skill.data.formula.Expression
+ * <p>
+ * The MIT License (MIT)
+ * <p>
+ * Copyright (c) 2014 Steven Sucy
+ * <p>
+ * Permission is hereby granted, free of charge, to any person obtaining a copy
+ * of this software and associated documentation files (the "Software") to deal
+ * in the Software without restriction, including without limitation the rights
+ * to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+ * copies of the Software, and to permit persons to whom the Software is
+ * furnished to do so, subject to the following conditions:
+ * <p>
+ * The above copyright notice and this permission notice shall be included in
+ * all copies or substantial portions of the Software.
+ * <p>
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+ * AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN
+ * THE SOFTWARE.
+ */
+package com.sucy.skill.data.formula;
+
+import java.util.function.DoubleUnaryOperator;
+
+/**
+ * A node of a compiled formula. Up to {@link #MAX_INPUTS} inputs are passed
+ * as separate arguments so evaluating doesn't need to allocate anything.
+ * Formulas with more inputs are evaluated from an array instead.
+ */
+abstract class Expression {
+    /**
+     * Maximum number of inputs that can be passed as separate arguments
+     */
+    static final int MAX_INPUTS = 8;
+
+    /**
+     * Evaluates the node, unused inputs should be 0. Inputs past the
+     * first {@link #MAX_INPUTS} count as 0.
+     *
+     * @return result value
+     */
+    abstract double eval(double a, double b, double c, double d, double e, double f, double g, double h);
+
+    /**
+     * Evaluates the node with any number of inputs, missing inputs count as 0
+     *
+     * @param input input values
+     * @return result value
+     */
+    abstract double eval(double[] input);
+
+    /**
+     * @return true if the node always gives the same result
+     */
+    boolean isConstant() {
+        return false;
+    }
+
+    /**
+     * @return result of a constant node
+     */
+    double constant() {
+        return eval(0, 0, 0, 0, 0, 0, 0, 0);
+    }
+
+    static Expression constant(final double value) {
+        return new Constant(value);
+    }
+
+    static Expression input(final int index) {
+        return new Input(index);
+    }
+
+    static Expression negate(final Expression value) {
+        return value.isConstant() ? new Constant(-value.constant()) : new Negate(value);
+    }
+
+    static Expression function(final DoubleUnaryOperator function, final Expression value) {
+        return value.isConstant()
+                ? new Constant(function.applyAsDouble(value.constant()))
+                : new Function(function, value);
+    }
+
+    static Expression operation(final IOperator operator, final Expression left, final Expression right) {
+        return left.isConstant() && right.isConstant()
+                ? new Constant(operator.compute(left.constant(), right.constant()))
+                : new Operation(operator, left, right);
+    }
+
+    private static class Constant extends Expression {
+        private final double value;
+
+        private Constant(final double value) {
+            this.value = value;
+        }
+
+        @Override
+        double eval(double a, double b, double c, double d, double e, double f, double g, double h) {
+            return value;
+        }
+
+        @Override
+        double eval(double[] input) {
+            return value;
+        }
+
+        @Override
+        boolean isConstant() {
+            return true;
+        }
+
+        @Override
+        double constant() {
+            return value;
+        }
+    }
+
+    private static class Input extends Expression {
+        private final int index;
+
+        private Input(final int index) {
+            this.index = index;
+        }
+
+        @Override
+        double eval(double a, double b, double c, double d, double e, double f, double g, double h) {
+            switch (index) {
+                case 0: return a;
+                case 1: return b;
+                case 2: return c;
+                case 3: return d;
+                case 4: return e;
+                case 5: return f;
+                case 6: return g;
+                case 7: return h;
+                default: return 0;
+            }
+        }
+
+        @Override
+        double eval(double[] input) {
+            return index < input.length ? input[index] : 0;
+        }
+    }
+
+    private static class Negate extends Expression {
+        private final Expression value;
+
+        private Negate(final Expression value) {
+            this.value = value;
+        }
+
+        @Override
+        double eval(double a, double b, double c, double d, double e, double f, double g, double h) {
+            return -value.eval(a, b, c, d, e, f, g, h);
+        }
+
+        @Override
+        double eval(double[] input) {
+            return -value.eval(input);
+        }
+    }
+
+    private static class Function extends Expression {
+        private final DoubleUnaryOperator function;
+        private final Expression          value;
+
+        private Function(final DoubleUnaryOperator function, final Expression value) {
+            this.function = function;
+            this.value = value;
+        }
+
+        @Override
+        double eval(double a, double b, double c, double d, double e, double f, double g, double h) {
+            return function.applyAsDouble(value.eval(a, b, c, d, e, f, g, h));
+        }
+
+        @Override
+        double eval(double[] input) {
+            return function.applyAsDouble(value.eval(input));
+        }
+    }
+
+    private static class Operation extends Expression {
+        private final IOperator  operator;
+        private final Expression left;
+        private final Expression right;
+
+        private Operation(final IOperator operator, final Expression left, final Expression right) {
+            this.operator = operator;
+            this.left = left;
+            this.right = right;
+        }
+
+        @Override
+        double eval(double a, double b, double c, double d, double e, double f, double g, double h) {
+            return operator.compute(left.eval(a, b, c, d, e, f, g, h), right.eval(a, b, c, d, e, f, g, h));
+        }
+
+        @Override
+        double eval(double[] input) {
+            return operator.compute(left.eval(input), right.eval(input));
+        }
+    }
+}
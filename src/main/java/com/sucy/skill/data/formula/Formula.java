@@ -26,71 +26,62 @@
  */
 package com.sucy.skill.data.formula;
 
-import com.sucy.skill.data.formula.func.*;
-import com.sucy.skill.data.formula.operator.*;
 import com.sucy.skill.data.formula.value.CustomValue;
-import com.sucy.skill.data.formula.value.ValueNum;
 import com.sucy.skill.log.Logger;
 import lombok.Getter;
 
-import java.util.ArrayList;
-import java.util.HashMap;
-
 /**
- * Represents a basic math equation read from left to right, ignoring
- * order of operations. Currently this only supports addition, subtraction,
- * multiplication, and division.
+ * Represents a basic math equation. By default it is read from left to right,
+ * ignoring order of operations. Each formula can choose to follow order of
+ * operations when created, and the default for formulas that don't choose is
+ * set from the config with {@link #setDefaultOrderOfOperations(boolean)}.
+ * <p>
+ * The equation is compiled when the formula is created, folding constant parts,
+ * so computing it with up to {@value Expression#MAX_INPUTS} fixed inputs doesn't
+ * allocate anything. Formulas can use more inputs than that through
+ * {@link #compute(double...)}.
  */
 public class Formula implements IValue {
     public static final double DEG_TO_RAD = Math.PI / 180;
 
-    private static final HashMap<Character, IOperator> OPS = new HashMap<Character, IOperator>() {{
-        put('+', new Addition());
-        put('-', new Subtraction());
-        put('*', new Multiplication());
-        put('/', new Division());
-        put('%', new Modulo());
-        put('^', new Exponent());
-        put('_', new Log());
-    }};
-
-    private static final HashMap<String, Class<? extends IValue>> FUNCS =
-            new HashMap<String, Class<? extends IValue>>() {{
-                put("abs", Abs.class);
-                put("ceil", Ceil.class);
-                put("cos", Cos.class);
-                put("floor", Floor.class);
-                put("sqrt", Root.class);
-                put("sign", Sign.class);
-                put("sin", Sin.class);
-                put("sq", Square.class);
-                put("tan", Tan.class);
-            }};
+    private static volatile boolean defaultOrderOfOperations;
 
-    private IValue[]    values;
-    private IOperator[] operations;
+    private final boolean    orderOfOperations;
+    private       Expression expression;
     /**
      * Whether the equation was valid when parsed.
      *
      * @return whether the equation was valid
      */
     @Getter
-    private boolean     valid;
-    private boolean     negative;
-    private String      equation;
+    private boolean    valid;
+    private String     equation;
 
     /**
-     * Creates a new formula from a config string
+     * Creates a new formula from a config string, following order of
+     * operations if that is the configured default
      *
      * @param equation equation string
+     * @param defined  values that can be used in the equation
      */
     public Formula(String equation, CustomValue... defined) {
+        this(equation, defaultOrderOfOperations, defined);
+    }
+
+    /**
+     * Creates a new formula from a config string
+     *
+     * @param equation          equation string
+     * @param orderOfOperations true to follow order of operations, false to read from left to right
+     * @param defined           values that can be used in the equation
+     */
+    public Formula(String equation, boolean orderOfOperations, CustomValue... defined) {
+        this.orderOfOperations = orderOfOperations;
+
         int i = 0;
         for (CustomValue value : defined)
             value.setIndex(i++);
 
-        negative = false;
-
         // Empty formulas
         if (equation == null || equation.length() == 0) {
             invalidate(defined);
@@ -101,87 +92,37 @@ public class Formula implements IValue {
         equation = equation.replaceAll("[ '\"]", "");
         this.equation = equation;
 
-        // Parse the formula
-        ArrayList<IValue>       vals   = new ArrayList<>();
-        ArrayList<IOperator>    ops    = new ArrayList<>();
-        int                     parens = 0, l = equation.length(), valStart = 0, lastOp = -1;
-        Class<? extends IValue> func   = null;
-        for (i = 0; i < l; i++) {
-            char c = equation.charAt(i);
-
-            // Open parenthesis
-            if (c == '(') {
-                if (parens == 0) {
-                    if (valStart != i) {
-                        String val = equation.substring(valStart, i);
-                        if (FUNCS.containsKey(val))
-                            func = FUNCS.get(val);
-                        else {
-                            vals.add(makeVal(val, defined));
-                            ops.add(OPS.get('*'));
-                        }
-                    }
-                    valStart = i + 1;
-                    lastOp = i;
-                }
-                parens++;
-            }
-
-            // Close parenthesis
-            else if (c == ')') {
-                parens--;
-                if (parens == 0) {
-                    if (func == null)
-                        vals.add(makeVal(new Formula(equation.substring(valStart, i), defined)));
-                    else {
-                        try {
-                            vals.add(
-                                    func.getConstructor(IValue.class).newInstance(
-                                            makeVal(new Formula(equation.substring(valStart, i), defined))
-                                    )
-                            );
-                        } catch (Exception ex) {
-                            ex.printStackTrace();
-                            invalidate(defined);
-                            return;
-                        }
-                    }
-                    valStart = i + 1;
-                }
-            }
-
-            // Operators
-            else if (parens == 0 && OPS.containsKey(c)) {
-                if (c == '-' && lastOp == i - 1) {
-                    negative = !negative;
-                    valStart++;
-                    lastOp++;
-                } else {
-                    if (valStart != i) {
-                        vals.add(makeVal(equation.substring(valStart, i), defined));
-                    }
-                    ops.add(OPS.get(c));
-                    lastOp = i;
-                    valStart = i + 1;
-                }
-            }
-        }
-
-        // End any lingering values
-        if (valStart != l) {
-            vals.add(makeVal(equation.substring(valStart), defined));
+        try {
+            expression = new FormulaParser(equation, defined, orderOfOperations).parse();
+            valid = true;
+        } catch (Exception ex) {
+            invalidate(defined);
         }
+    }
 
-        negative = false;
+    /**
+     * Sets whether formulas created afterwards without choosing follow order
+     * of operations instead of being read from left to right. This is set once
+     * when the config is loaded, before skills and classes are.
+     *
+     * @param enabled true to follow order of operations
+     */
+    public static void setDefaultOrderOfOperations(boolean enabled) {
+        defaultOrderOfOperations = enabled;
+    }
 
-        // Convert to arrays
-        values = vals.toArray(new IValue[vals.size()]);
-        operations = ops.toArray(new IOperator[ops.size()]);
+    /**
+     * @return whether formulas that don't choose follow order of operations
+     */
+    public static boolean isDefaultOrderOfOperations() {
+        return defaultOrderOfOperations;
+    }
 
-        if (!validate())
-            invalidate(defined);
-        else
-            valid = true;
+    /**
+     * @return whether this formula follows order of operations
+     */
+    public boolean isOrderOfOperations() {
+        return orderOfOperations;
     }
 
     /**
@@ -192,66 +133,25 @@ public class Formula implements IValue {
     private void invalidate(CustomValue... defined) {
         Logger.invalid("Invalid equation: " + equation);
         equation = defined[0].getToken();
-        values = new IValue[]{defined[0]};
-        operations = new IOperator[0];
+        expression = Expression.input(0);
         valid = false;
     }
 
-    private IValue makeVal(String val, CustomValue... defined) {
-        if (negative) {
-            negative = false;
-            return new Formula(val, defined).negate();
-        } else {
-            for (CustomValue value : defined) {
-                if (value.getToken().equals(val))
-                    return value;
-            }
-            return new ValueNum(val);
-        }
-    }
-
-    private IValue makeVal(Formula val) {
-        if (negative && val.operations.length == 0 && val.values[0] instanceof ValueNum)
-            return new ValueNum(-val.values[0].compute());
-        else if (negative) {
-            val.negate();
-            negative = false;
-            return val;
-        } else if (val.operations.length == 0)
-            return val.values[0];
-        else
-            return val;
-    }
-
     /**
      * Negates the output of the formula for future computations
      *
      * @return the negated Formula
      */
     public Formula negate() {
-        negative = !negative;
+        expression = Expression.negate(expression);
         return this;
     }
 
     /**
-     * Tries to validate the equation, making sure values are all valid values
-     *
-     * @return true if valid, false otherwise
+     * @return true if the formula gives the same result regardless of its inputs
      */
-    private boolean validate() {
-        // Operators between values means there should
-        // always be one more value than operators
-        if (values.length != operations.length + 1) {
-            return false;
-        }
-
-        // Ensure valid sub equations
-        for (IValue value : values)
-            if (value instanceof Formula && !((Formula) value).validate())
-                return false;
-
-        // Nothing went wrong
-        return true;
+    public boolean isConstant() {
+        return expression.isConstant();
     }
 
     /**
@@ -262,15 +162,72 @@ public class Formula implements IValue {
      * @return computed value
      */
     public double compute(double... input) {
-        double result = values[0].compute(input);
-        int    i;
-        for (i = 1; i < values.length; i++) {
-            double val = values[i].compute(input);
-            result = operations[i - 1].compute(result, val);
+        if (input.length > Expression.MAX_INPUTS) {
+            return expression.eval(input);
         }
+        return expression.eval(arg(input, 0),
+                arg(input, 1),
+                arg(input, 2),
+                arg(input, 3),
+                arg(input, 4),
+                arg(input, 5),
+                arg(input, 6),
+                arg(input, 7));
+    }
+
+    /**
+     * Calculates the formula with a single input
+     *
+     * @param a first input
+     * @return computed value
+     */
+    public double compute(double a) {
+        return expression.eval(a, 0, 0, 0, 0, 0, 0, 0);
+    }
+
+    /**
+     * Calculates the formula with two inputs
+     *
+     * @param a first input
+     * @param b second input
+     * @return computed value
+     */
+    public double compute(double a, double b) {
+        return expression.eval(a, b, 0, 0, 0, 0, 0, 0);
+    }
+
+    /**
+     * Calculates the formula with four inputs
+     *
+     * @param a first input
+     * @param b second input
+     * @param c third input
+     * @param d fourth input
+     * @return computed value
+     */
+    public double compute(double a, double b, double c, double d) {
+        return expression.eval(a, b, c, d, 0, 0, 0, 0);
+    }
+
+    /**
+     * Calculates the formula with eight inputs
+     *
+     * @param a first input
+     * @param b second input
+     * @param c third input
+     * @param d fourth input
+     * @param e fifth input
+     * @param f sixth input
+     * @param g seventh input
+     * @param h eighth input
+     * @return computed value
+     */
+    public double compute(double a, double b, double c, double d, double e, double f, double g, double h) {
+        return expression.eval(a, b, c, d, e, f, g, h);
+    }
 
-        if (negative) result = -result;
-        return result;
+    private static double arg(double[] input, int index) {
+        return index < input.length ? input[index] : 0;
     }
 
     /**
@@ -0,0 +1,202 @@
+/**
+ * SkillAPI
+ * com.sucy.skill.data.formula.FormulaParser
+ * <p>
+ * The MIT License (MIT)
+ * <p>
+ * Copyright (c) 2014 Steven Sucy
+ * <p>
+ * Permission is hereby granted, free of charge, to any person obtaining a copy
+ * of this software and associated documentation files (the "Software") to deal
+ * in the Software without restriction, including without limitation the rights
+ * to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+ * copies of the Software, and to permit persons to whom the Software is
+ * furnished to do so, subject to the following conditions:
+ * <p>
+ * The above copyright notice and this permission notice shall be included in
+ * all copies or substantial portions of the Software.
+ * <p>
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+ * AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN
+ * THE SOFTWARE.
+ */
+package com.sucy.skill.data.formula;
+
+import com.sucy.skill.data.formula.operator.*;
+import com.sucy.skill.data.formula.value.CustomValue;
+import com.sucy.skill.data.formula.value.ValueNum;
+
+import java.util.HashMap;
+import java.util.Map;
+import java.util.function.DoubleUnaryOperator;
+
+/**
+ * Parses formula text into an {@link Expression}. Without order of operations,
+ * operators are applied from left to right and a leading minus only applies to
+ * the value right after it. With order of operations, exponents and logarithms
+ * come first, then multiplication, division and modulo, then addition and
+ * subtraction.
+ */
+final class FormulaParser {
+    private static final int UNARY = 3;
+
+    private static final IOperator MULTIPLY = new Multiplication();
+
+    private static final Map<Character, IOperator> OPS = new HashMap<Character, IOperator>() {{
+        put('+', new Addition());
+        put('-', new Subtraction());
+        put('*', MULTIPLY);
+        put('/', new Division());
+        put('%', new Modulo());
+        put('^', new Exponent());
+        put('_', new Log());
+    }};
+
+    private static final Map<String, DoubleUnaryOperator> FUNCS = new HashMap<String, DoubleUnaryOperator>() {{
+        put("abs", Math::abs);
+        put("ceil", Math::ceil);
+        put("cos", value -> Math.cos(value * Formula.DEG_TO_RAD));
+        put("floor", Math::floor);
+        put("sqrt", Math::sqrt);
+        put("sign", value -> value == 0 ? 0.0 : value < 0 ? -1.0 : 1.0);
+        put("sin", value -> Math.sin(value * Formula.DEG_TO_RAD));
+        put("sq", value -> value * value);
+        put("tan", value -> Math.tan(value * Formula.DEG_TO_RAD));
+    }};
+
+    private final String        equation;
+    private final CustomValue[] defined;
+    private final boolean       orderOfOperations;
+
+    private int     pos;
+    private boolean lastAtom;
+
+    /**
+     * @param equation          equation with spaces and quotes removed
+     * @param defined           values that can be used in the equation
+     * @param orderOfOperations whether to follow order of operations
+     */
+    FormulaParser(String equation, CustomValue[] defined, boolean orderOfOperations) {
+        this.equation = equation;
+        this.defined = defined;
+        this.orderOfOperations = orderOfOperations;
+    }
+
+    /**
+     * Parses the whole equation
+     *
+     * @return compiled expression
+     * @throws IllegalArgumentException if the equation isn't valid
+     */
+    Expression parse() {
+        Expression result = parseExpression(0);
+        if (pos != equation.length()) {
+            throw new IllegalArgumentException("Unexpected '" + equation.charAt(pos) + "' at " + pos);
+        }
+        return result;
+    }
+
+    private Expression parseExpression(int minPrecedence) {
+        Expression left = parseUnary();
+        while (pos < equation.length()) {
+            char      c        = equation.charAt(pos);
+            boolean   implicit = c == '(' && lastAtom;
+            IOperator operator;
+            if (implicit) {
+                // A value right before parentheses multiplies them, e.g. 2(v+1)
+                operator = MULTIPLY;
+                c = '*';
+            } else if ((operator = OPS.get(c)) == null) {
+                break;
+            }
+
+            int precedence = getPrecedence(c);
+            if (precedence < minPrecedence) break;
+            if (!implicit) pos++;
+
+            boolean    rightAssociative = orderOfOperations && c == '^';
+            Expression right            = parseExpression(rightAssociative ? precedence : precedence + 1);
+            left = Expression.operation(operator, left, right);
+        }
+        return left;
+    }
+
+    private Expression parseUnary() {
+        if (pos < equation.length() && equation.charAt(pos) == '-') {
+            pos++;
+            return Expression.negate(orderOfOperations ? parseExpression(UNARY) : parseUnary());
+        }
+        return parsePrimary();
+    }
+
+    private Expression parsePrimary() {
+        if (pos < equation.length() && equation.charAt(pos) == '(') {
+            pos++;
+            Expression inner = parseGroup();
+            lastAtom = false;
+            return inner;
+        }
+
+        int start = pos;
+        while (pos < equation.length() && !isSymbol(equation.charAt(pos))) {
+            pos++;
+        }
+        if (start == pos) {
+            throw new IllegalArgumentException("Expected a value at " + start);
+        }
+
+        String              atom     = equation.substring(start, pos);
+        DoubleUnaryOperator function = FUNCS.get(atom);
+        if (function != null && pos < equation.length() && equation.charAt(pos) == '(') {
+            pos++;
+            Expression inner = parseGroup();
+            lastAtom = false;
+            return Expression.function(function, inner);
+        }
+
+        lastAtom = true;
+        return makeValue(atom);
+    }
+
+    private Expression parseGroup() {
+        Expression inner = parseExpression(0);
+        if (pos >= equation.length() || equation.charAt(pos) != ')') {
+            throw new IllegalArgumentException("Missing ')' at " + pos);
+        }
+        pos++;
+        return inner;
+    }
+
+    private Expression makeValue(String atom) {
+        for (int i = 0; i < defined.length; i++) {
+            if (defined[i].getToken().equals(atom)) {
+                return Expression.input(i);
+            }
+        }
+        return Expression.constant(new ValueNum(atom).compute());
+    }
+
+    private int getPrecedence(char operator) {
+        if (!orderOfOperations) return 1;
+
+        switch (operator) {
+            case '^':
+            case '_':
+                return 3;
+            case '*':
+            case '/':
+            case '%':
+                return 2;
+            default:
+                return 1;
+        }
+    }
+
+    private static boolean isSymbol(char c) {
+        return c == '(' || c == ')' || OPS.containsKey(c);
+    }
+}
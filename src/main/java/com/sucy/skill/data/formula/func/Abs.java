@@ -28,6 +28,10 @@ package com.sucy.skill.data.formula.func;
 
 import com.sucy.skill.data.formula.IValue;
 
+/**
+ * @deprecated formulas compile {@code abs(...)} themselves, so this is no longer used
+ */
+@Deprecated
 public class Abs implements IValue {
     private IValue formula;
 
@@ -30,7 +30,10 @@ import com.sucy.skill.data.formula.IValue;
 
 /**
  * Ceilings a number
+ *
+ * @deprecated formulas compile {@code ceil(...)} themselves, so this is no longer used
  */
+@Deprecated
 public class Ceil implements IValue {
     private IValue formula;
 
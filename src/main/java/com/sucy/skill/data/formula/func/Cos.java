@@ -31,7 +31,10 @@ import com.sucy.skill.data.formula.IValue;
 
 /**
  * Cosine function
+ *
+ * @deprecated formulas compile {@code cos(...)} themselves, so this is no longer used
  */
+@Deprecated
 public class Cos implements IValue {
     private IValue value;
 
@@ -30,7 +30,10 @@ import com.sucy.skill.data.formula.IValue;
 
 /**
  * Floors a number
+ *
+ * @deprecated formulas compile {@code floor(...)} themselves, so this is no longer used
  */
+@Deprecated
 public class Floor implements IValue {
     private IValue formula;
 
@@ -30,7 +30,10 @@ import com.sucy.skill.data.formula.IValue;
 
 /**
  * Square root of a number
+ *
+ * @deprecated formulas compile {@code sqrt(...)} themselves, so this is no longer used
  */
+@Deprecated
 public class Root implements IValue {
     private IValue formula;
 
@@ -30,7 +30,10 @@ import com.sucy.skill.data.formula.IValue;
 
 /**
  * Sign function
+ *
+ * @deprecated formulas compile {@code sign(...)} themselves, so this is no longer used
  */
+@Deprecated
 public class Sign implements IValue {
     private IValue formula;
 
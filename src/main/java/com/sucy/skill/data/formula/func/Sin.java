@@ -31,7 +31,10 @@ import com.sucy.skill.data.formula.IValue;
 
 /**
  * Sine function
+ *
+ * @deprecated formulas compile {@code sin(...)} themselves, so this is no longer used
  */
+@Deprecated
 public class Sin implements IValue {
     private IValue formula;
 
@@ -30,7 +30,10 @@ import com.sucy.skill.data.formula.IValue;
 
 /**
  * Squares a number
+ *
+ * @deprecated formulas compile {@code sq(...)} themselves, so this is no longer used
  */
+@Deprecated
 public class Square implements IValue {
     private IValue formula;
 
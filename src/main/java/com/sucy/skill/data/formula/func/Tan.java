@@ -31,7 +31,10 @@ import com.sucy.skill.data.formula.IValue;
 
 /**
  * Tangent function
+ *
+ * @deprecated formulas compile {@code tan(...)} themselves, so this is no longer used
  */
+@Deprecated
 public class Tan implements IValue {
     private IValue formula;
 
@@ -0,0 +1,219 @@
+/**
+ * SkillAPI
+ * com.sucy.skill.data.io.BinaryDataCodec
+ * <p>
+ * The MIT License (MIT)
+ * <p>
+ * Copyright (c) 2014 Steven Sucy
+ * <p>
+ * Permission is hereby granted, free of charge, to any person obtaining a copy
+ * of this software and associated documentation files (the "Software") to deal
+ * in the Software without restriction, including without limitation the rights
+ * to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+ * copies of the Software, and to permit persons to whom the Software is
+ * furnished to do so, subject to the following conditions:
+ * <p>
+ * The above copyright notice and this permission notice shall be included in
+ * all copies or substantial portions of the Software.
+ * <p>
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+ * AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN
+ * THE SOFTWARE.
+ */
+package com.sucy.skill.data.io;
+
+import mc.promcteam.engine.mccore.config.parse.DataSection;
+
+import java.io.*;
+import java.nio.charset.StandardCharsets;
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * Compact, versioned binary encoding of the data sections produced when
+ * saving player data. Every value is written as a type tag followed by a
+ * length-prefixed or fixed-size payload, so loading needs no text parsing.
+ * <p>
+ * Lists are stored as lists of strings, matching what the YAML files
+ * give back when they are loaded.
+ */
+public final class BinaryDataCodec {
+    /**
+     * Current version of the format
+     */
+    public static final int VERSION = 1;
+
+    private static final int MAGIC = 0x53415042; // "SAPB"
+
+    private static final byte
+            SECTION = 0,
+            STRING  = 1,
+            INT     = 2,
+            LONG    = 3,
+            DOUBLE  = 4,
+            BOOLEAN = 5,
+            LIST    = 6;
+
+    private BinaryDataCodec() {
+    }
+
+    /**
+     * Encodes the data section into the binary format
+     *
+     * @param data data to encode
+     * @return encoded bytes
+     */
+    public static byte[] encode(DataSection data) {
+        try {
+            ByteArrayOutputStream bytes = new ByteArrayOutputStream(1024);
+            DataOutputStream      out   = new DataOutputStream(bytes);
+            out.writeInt(MAGIC);
+            out.writeByte(VERSION);
+            writeSection(out, data);
+            out.flush();
+            return bytes.toByteArray();
+        } catch (IOException ex) {
+            // Writing to memory doesn't throw
+            throw new IllegalStateException(ex);
+        }
+    }
+
+    /**
+     * Decodes data previously written by {@link #encode(DataSection)}
+     *
+     * @param bytes encoded bytes
+     * @return decoded data section
+     * @throws IOException if the data is not in the binary format or is corrupted
+     */
+    public static DataSection decode(byte[] bytes) throws IOException {
+        DataInputStream in = new DataInputStream(new ByteArrayInputStream(bytes));
+        if (bytes.length < 5 || in.readInt() != MAGIC) {
+            throw new IOException("Not a binary player data file");
+        }
+        int version = in.readUnsignedByte();
+        if (version > VERSION) {
+            throw new IOException("Unsupported binary player data version " + version);
+        }
+
+        DataSection result = new DataSection();
+        readSection(in, result);
+        return result;
+    }
+
+    private static void writeSection(DataOutputStream out, DataSection section) throws IOException {
+        List<String> keys = new ArrayList<>();
+        for (String key : section.keys()) {
+            if (section.get(key) != null) keys.add(key);
+        }
+
+        writeVarInt(out, keys.size());
+        for (String key : keys) {
+            writeString(out, key);
+            writeValue(out, section.get(key));
+        }
+    }
+
+    private static void writeValue(DataOutputStream out, Object value) throws IOException {
+        if (value instanceof DataSection) {
+            out.writeByte(SECTION);
+            writeSection(out, (DataSection) value);
+        } else if (value instanceof Integer || value instanceof Short || value instanceof Byte) {
+            out.writeByte(INT);
+            out.writeInt(((Number) value).intValue());
+        } else if (value instanceof Long) {
+            out.writeByte(LONG);
+            out.writeLong((Long) value);
+        } else if (value instanceof Double || value instanceof Float) {
+            out.writeByte(DOUBLE);
+            out.writeDouble(((Number) value).doubleValue());
+        } else if (value instanceof Boolean) {
+            out.writeByte(BOOLEAN);
+            out.writeBoolean((Boolean) value);
+        } else if (value instanceof List) {
+            List<?> list = (List<?>) value;
+            out.writeByte(LIST);
+            writeVarInt(out, list.size());
+            for (Object item : list) {
+                writeString(out, String.valueOf(item));
+            }
+        } else {
+            out.writeByte(STRING);
+            writeString(out, value.toString());
+        }
+    }
+
+    private static void readSection(DataInputStream in, DataSection section) throws IOException {
+        int size = readVarInt(in);
+        for (int i = 0; i < size; i++) {
+            String key  = readString(in);
+            byte   type = in.readByte();
+            switch (type) {
+                case SECTION:
+                    readSection(in, section.createSection(key));
+                    break;
+                case STRING:
+                    section.set(key, readString(in));
+                    break;
+                case INT:
+                    section.set(key, in.readInt());
+                    break;
+                case LONG:
+                    section.set(key, in.readLong());
+                    break;
+                case DOUBLE:
+                    section.set(key, in.readDouble());
+                    break;
+                case BOOLEAN:
+                    section.set(key, in.readBoolean());
+                    break;
+                case LIST:
+                    int          count = readVarInt(in);
+                    List<String> list  = new ArrayList<>(count);
+                    for (int j = 0; j < count; j++) {
+                        list.add(readString(in));
+                    }
+                    section.set(key, list);
+                    break;
+                default:
+                    throw new IOException("Unknown value type " + type + " for key '" + key + "'");
+            }
+        }
+    }
+
+    private static void writeString(DataOutputStream out, String value) throws IOException {
+        byte[] bytes = value.getBytes(StandardCharsets.UTF_8);
+        writeVarInt(out, bytes.length);
+        out.write(bytes);
+    }
+
+    private static String readString(DataInputStream in) throws IOException {
+        byte[] bytes = new byte[readVarInt(in)];
+        in.readFully(bytes);
+        return new String(bytes, StandardCharsets.UTF_8);
+    }
+
+    private static void writeVarInt(DataOutputStream out, int value) throws IOException {
+        while ((value & ~0x7F) != 0) {
+            out.writeByte((value & 0x7F) | 0x80);
+            value >>>= 7;
+        }
+        out.writeByte(value);
+    }
+
+    private static int readVarInt(DataInputStream in) throws IOException {
+        int value = 0;
+        for (int shift = 0; shift < 32; shift += 7) {
+            int b = in.readUnsignedByte();
+            value |= (b & 0x7F) << shift;
+            if ((b & 0x80) == 0) {
+                if (value < 0) throw new IOException("Negative length");
+                return value;
+            }
+        }
+        throw new IOException("Malformed length");
+    }
+}
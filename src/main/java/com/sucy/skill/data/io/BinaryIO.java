@@ -0,0 +1,143 @@
+/**
+ * SkillAPI
+ * com.sucy.skill.data.io.BinaryIO
+ * <p>
+ * The MIT License (MIT)
+ * <p>
+ * Copyright (c) 2014 Steven Sucy
+ * <p>
+ * Permission is hereby granted, free of charge, to any person obtaining a copy
+ * of this software and associated documentation files (the "Software") to deal
+ * in the Software without restriction, including without limitation the rights
+ * to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+ * copies of the Software, and to permit persons to whom the Software is
+ * furnished to do so, subject to the following conditions:
+ * <p>
+ * The above copyright notice and this permission notice shall be included in
+ * all copies or substantial portions of the Software.
+ * <p>
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+ * AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN
+ * THE SOFTWARE.
+ */
+package com.sucy.skill.data.io;
+
+import com.sucy.skill.SkillAPI;
+import com.sucy.skill.api.player.PlayerAccounts;
+import com.sucy.skill.log.Logger;
+import mc.promcteam.engine.mccore.config.CommentedConfig;
+import mc.promcteam.engine.mccore.config.parse.DataSection;
+import org.bukkit.OfflinePlayer;
+
+import java.io.File;
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.StandardCopyOption;
+
+/**
+ * IO manager that saves/loads players using the compact binary format
+ * from {@link BinaryDataCodec}. Players that only have a .yml file are
+ * loaded from it and migrated the first time their data is saved.
+ */
+public class BinaryIO extends IOManager {
+    private static final String FOLDER    = "players";
+    private static final String EXTENSION = ".dat";
+    private static final String YAML      = ".yml";
+    private static final String MIGRATED  = ".yml.migrated";
+    private static final String CORRUPT   = ".dat.corrupt";
+
+    private final File folder;
+
+    /**
+     * Initializes a new binary file manager
+     *
+     * @param plugin SkillAPI reference
+     */
+    public BinaryIO(SkillAPI plugin) {
+        super(plugin);
+        this.folder = new File(plugin.getDataFolder(), FOLDER);
+        this.folder.mkdirs();
+    }
+
+    /**
+     * Loads data for the given player, falling back to their
+     * .yml file if they don't have binary data yet. If the binary
+     * data can't be read, the YAML data it was migrated from is used
+     * instead, and if there is none the data is loaded empty and kept
+     * from being saved so the corrupt file isn't overwritten.
+     *
+     * @param player player to load data for
+     * @return loaded player data
+     */
+    @Override
+    public PlayerAccounts loadDataInternal(OfflinePlayer player) {
+        String playerKey = player.getUniqueId().toString().toLowerCase();
+        File   file      = new File(folder, playerKey + EXTENSION);
+        if (!file.exists()) {
+            return load(player, loadYaml(playerKey));
+        }
+
+        try {
+            return load(player, BinaryDataCodec.decode(Files.readAllBytes(file.toPath())));
+        } catch (IOException ex) {
+            Logger.bug("Failed to load binary data for " + playerKey + " - " + ex.getMessage());
+            file.renameTo(new File(folder, playerKey + CORRUPT));
+        }
+
+        // Put the data the binary file was migrated from back in place, it gets migrated again on save
+        File yaml     = new File(folder, playerKey + YAML);
+        File migrated = new File(folder, playerKey + MIGRATED);
+        if (!yaml.exists() && migrated.exists()) {
+            migrated.renameTo(yaml);
+        }
+        if (yaml.exists()) {
+            Logger.log("Restored the data of " + playerKey + " from " + yaml.getName());
+            return load(player, loadYaml(playerKey));
+        }
+
+        Logger.bug("No backup data found for " + playerKey + ", their data will not be saved until "
+                + playerKey + CORRUPT + " is recovered and the server restarts");
+        PlayerAccounts data = load(player, new DataSection());
+        data.isLoaded(false);
+        return data;
+    }
+
+    /**
+     * Writes a snapshot of player data to their binary file
+     *
+     * @param data    player data the snapshot was taken from
+     * @param section snapshot to write
+     */
+    @Override
+    protected void writeData(PlayerAccounts data, DataSection section) {
+        String playerKey = data.getOfflinePlayer().getUniqueId().toString().toLowerCase();
+        try {
+            File temp = new File(folder, playerKey + EXTENSION + ".tmp");
+            Files.write(temp.toPath(), BinaryDataCodec.encode(section));
+            Files.move(temp.toPath(),
+                    new File(folder, playerKey + EXTENSION).toPath(),
+                    StandardCopyOption.REPLACE_EXISTING,
+                    StandardCopyOption.ATOMIC_MOVE);
+
+            // Keep the old YAML data around, but stop it from being loaded again
+            File yaml = new File(folder, playerKey + YAML);
+            if (yaml.exists()) {
+                yaml.renameTo(new File(folder, playerKey + MIGRATED));
+            }
+        } catch (IOException ex) {
+            Logger.bug("Failed to save binary data for " + playerKey + " - " + ex.getMessage());
+            data.markDirty();
+        }
+    }
+
+    private DataSection loadYaml(String playerKey) {
+        if (!new File(folder, playerKey + YAML).exists()) {
+            return new DataSection();
+        }
+        return new CommentedConfig(api, FOLDER + "/" + playerKey).getConfig();
+    }
+}
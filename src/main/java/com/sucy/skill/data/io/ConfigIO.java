@@ -33,10 +33,6 @@ import mc.promcteam.engine.mccore.config.CommentedConfig;
 import mc.promcteam.engine.mccore.config.parse.DataSection;
 import org.bukkit.OfflinePlayer;
 
-import java.util.ArrayList;
-import java.util.HashMap;
-import java.util.List;
-import java.util.Map;
 
 /**
  * IO manager that saves/loads to a .yml configuration file
@@ -74,35 +70,22 @@ public class ConfigIO extends IOManager {
     }
 
     /**
-     * Saves player data to the config
+     * Writes a snapshot of player data to their config
      *
-     * @param data data to save to the config
+     * @param data player data the snapshot was taken from
+     * @param file snapshot to write
      */
     @Override
-    public void saveDataInternal(PlayerAccounts data) {
-        if (!data.isLoaded()) return;
-
+    protected void writeData(PlayerAccounts data, DataSection file) {
         try {
             CommentedConfig config = new CommentedConfig(api,
                     "players/" + data.getOfflinePlayer().getUniqueId().toString().toLowerCase());
             config.clear();
-
-            DataSection file = save(data);
             config.getConfig().applyDefaults(file);
-
             config.save();
         } catch (Exception ex) {
             Logger.bug("Failed to save data for invalid player");
+            data.markDirty();
         }
     }
-
-    /**
-     * Saves all player data to the config
-     */
-    @Override
-    public void saveAllInternal(Map<String, PlayerAccounts> data) {
-        ArrayList<String> keys = new ArrayList<String>(data.keySet());
-        for (String key : keys)
-            saveDataInternal(data.get(key));
-    }
 }
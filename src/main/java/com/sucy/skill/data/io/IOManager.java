@@ -33,9 +33,10 @@ import com.sucy.skill.api.event.PlayerAccountsSaveEvent;
 import com.sucy.skill.api.player.*;
 import com.sucy.skill.api.skills.Skill;
 import com.sucy.skill.cast.CastMode;
-import com.sucy.skill.listener.MainListener;
+import com.sucy.skill.log.LogType;
 import com.sucy.skill.log.Logger;
 import com.sucy.skill.manager.ComboManager;
+import com.sucy.skill.manager.PlayerRegistry;
 import mc.promcteam.engine.mccore.config.parse.DataSection;
 import mc.promcteam.engine.mccore.util.VersionManager;
 import org.bukkit.Bukkit;
@@ -87,6 +88,12 @@ public abstract class IOManager {
      */
     protected final SkillAPI api;
 
+    private final SaveQueue queue;
+
+    private int lastSaved;
+    private int lastSkipped;
+    private int lastDeferred;
+
     /**
      * Initializes a new IO manager
      *
@@ -94,6 +101,9 @@ public abstract class IOManager {
      */
     IOManager(SkillAPI api) {
         this.api = api;
+        this.queue = new SaveQueue(this,
+                SkillAPI.getSettings().getSaveWorkers(),
+                SkillAPI.getSettings().getSaveMaxPending());
     }
 
     /**
@@ -131,11 +141,18 @@ public abstract class IOManager {
             return loadEvent.getAccounts();
         }
 
+        // Data that hasn't been written yet is newer than what is stored
+        DataSection pending = queue.getPending(loadEvent.getOfflinePlayer().getUniqueId());
+        if (pending != null) {
+            return load(loadEvent.getOfflinePlayer(), pending);
+        }
+
         return loadDataInternal(loadEvent.getOfflinePlayer());
     }
 
     /**
-     * Saves the player's data
+     * Saves the player's data. The data is copied right away, so this should
+     * be called from the main server thread, and is then written by the save queue.
      *
      * @param data data to save
      */
@@ -143,21 +160,54 @@ public abstract class IOManager {
         PlayerAccountsSaveEvent saveEvent = new PlayerAccountsSaveEvent(data);
         Bukkit.getPluginManager().callEvent(saveEvent);
         if(!saveEvent.isCancelled()) {
-            saveDataInternal(saveEvent.getAccountData());
+            enqueue(saveEvent.getAccountData(), true);
         }
     }
 
     protected abstract PlayerAccounts loadDataInternal(OfflinePlayer player);
-    protected abstract void saveDataInternal(PlayerAccounts data);
 
-    protected void saveAllInternal(Map<String, PlayerAccounts> accountsMap) {
-        for (PlayerAccounts data : accountsMap.values()) {
-            if (data.isLoaded() && !MainListener.loadingPlayers.containsKey(data.getOfflinePlayer().getUniqueId())) {
-                saveDataInternal(data);
-            }
+    /**
+     * Writes a snapshot of player data to storage. This is called from
+     * the save queue's worker threads, so it must not touch the player data
+     * itself beyond marking it dirty again if the write fails.
+     *
+     * @param data player data the snapshot was taken from
+     * @param file snapshot to write
+     */
+    protected abstract void writeData(PlayerAccounts data, DataSection file);
+
+    /**
+     * Writes a batch of snapshots to storage. Managers that can write
+     * several players at once more efficiently should override this.
+     *
+     * @param snapshots player data and their snapshots to write
+     */
+    protected void writeAll(Map<PlayerAccounts, DataSection> snapshots) {
+        for (Map.Entry<PlayerAccounts, DataSection> entry : snapshots.entrySet()) {
+            writeData(entry.getKey(), entry.getValue());
         }
     }
 
+    private boolean enqueue(PlayerAccounts data, boolean force) {
+        // Placeholder data used while the real data loads must not overwrite it
+        if (!data.isLoaded() || SkillAPI.getPlayerRegistry().getState(data.getOfflinePlayer().getUniqueId())
+                == PlayerRegistry.State.LOADING) {
+            return true;
+        }
+        if (!force && queue.isSaturated()) {
+            return false;
+        }
+
+        // Clear before copying so changes made while writing are kept for the next save
+        data.clearDirty();
+        DataSection file = save(data);
+        if (file == null) {
+            data.markDirty();
+            return true;
+        }
+        return queue.offer(data, file, force);
+    }
+
     protected Map<String, PlayerAccounts> loadAllInternal(List<OfflinePlayer> players) {
         Map<String, PlayerAccounts> accountsMap = new HashMap<>();
         for(OfflinePlayer player : players) {
@@ -170,15 +220,80 @@ public abstract class IOManager {
      * Saves all player data provided, only call when you know what you are doing
      */
     public void saveAll() {
-        Map<String, PlayerAccounts> accountsMap = new HashMap<>();
-        for (Map.Entry<String, PlayerAccounts> entry : SkillAPI.getPlayerAccountData().entrySet()) {
-            PlayerAccountsSaveEvent saveEvent = new PlayerAccountsSaveEvent(entry.getValue());
+        saveAll(false);
+    }
+
+    /**
+     * Saves all loaded player data, optionally skipping accounts that
+     * have not changed since they were last saved
+     *
+     * @param onlyDirty whether to skip accounts without unsaved changes
+     */
+    public void saveAll(boolean onlyDirty) {
+        int saved    = 0;
+        int skipped  = 0;
+        int deferred = 0;
+        for (PlayerAccounts accounts : SkillAPI.getPlayerRegistry().getAll()) {
+            if (onlyDirty && !accounts.isDirty()) {
+                skipped++;
+                continue;
+            }
+            PlayerAccountsSaveEvent saveEvent = new PlayerAccountsSaveEvent(accounts);
             Bukkit.getPluginManager().callEvent(saveEvent);
-            if(!saveEvent.isCancelled()) {
-                accountsMap.put(entry.getKey(), entry.getValue());
+            if(saveEvent.isCancelled()) {
+                continue;
+            }
+
+            // Auto saves give way when the workers are behind, the data stays dirty for next time
+            if (enqueue(saveEvent.getAccountData(), !onlyDirty)) {
+                saved++;
+            } else {
+                deferred++;
             }
         }
-        saveAllInternal(accountsMap);
+
+        lastSaved = saved;
+        lastSkipped = skipped;
+        lastDeferred = deferred;
+        Logger.log(LogType.SAVE, 1, "Queued " + lastSaved + " player accounts, skipped " + lastSkipped
+                + " unchanged, deferred " + lastDeferred + " (" + queue.getPending() + " waiting)");
+    }
+
+    /**
+     * Writes any queued player data and releases any resources held by the
+     * manager, such as database connections. Called when SkillAPI is disabled
+     * after the final save.
+     */
+    public void close() {
+        queue.close();
+    }
+
+    /**
+     * @return queue that writes player data in the background
+     */
+    public SaveQueue getQueue() {
+        return queue;
+    }
+
+    /**
+     * @return number of accounts queued during the last full or auto save
+     */
+    public int getLastSaved() {
+        return lastSaved;
+    }
+
+    /**
+     * @return number of unchanged accounts skipped during the last auto save
+     */
+    public int getLastSkipped() {
+        return lastSkipped;
+    }
+
+    /**
+     * @return number of changed accounts left for the next auto save because the queue was full
+     */
+    public int getLastDeferred() {
+        return lastDeferred;
     }
 
     /**
@@ -193,6 +308,7 @@ public abstract class IOManager {
         DataSection    accounts = file.getSection(ACCOUNTS);
         if (accounts == null) {
             data.getActiveData().endInit();
+            data.clearDirty();
             data.isLoaded(true);
             return data;
         }
@@ -303,6 +419,7 @@ public abstract class IOManager {
                         acc.getAttributeStageData().put(key, attrstages.getInt(key));
                     }
                 }
+                acc.invalidateAttributes();
             }
 
             // Load cast bars
@@ -338,6 +455,7 @@ public abstract class IOManager {
         data.setAccount(file.getInt(ACTIVE, data.getActiveId()), false);
         data.getActiveData().setLastHealth(file.getDouble(HEALTH));
         data.getActiveData().setMana(file.getDouble(MANA, data.getActiveData().getMana()));
+        data.clearDirty();
         data.isLoaded(true);
 
         return data;
@@ -0,0 +1,148 @@
+/**
+ * SkillAPI
+ * com.sucy.skill.data.io.PooledSQLIO
+ * <p>
+ * The MIT License (MIT)
+ * <p>
+ * Copyright (c) 2014 Steven Sucy
+ * <p>
+ * Permission is hereby granted, free of charge, to any person obtaining a copy
+ * of this software and associated documentation files (the "Software") to deal
+ * in the Software without restriction, including without limitation the rights
+ * to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+ * copies of the Software, and to permit persons to whom the Software is
+ * furnished to do so, subject to the following conditions:
+ * <p>
+ * The above copyright notice and this permission notice shall be included in
+ * all copies or substantial portions of the Software.
+ * <p>
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+ * AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN
+ * THE SOFTWARE.
+ */
+package com.sucy.skill.data.io;
+
+import com.sucy.skill.SkillAPI;
+import com.sucy.skill.api.player.PlayerAccounts;
+import com.sucy.skill.data.Settings;
+import com.sucy.skill.log.Logger;
+import mc.promcteam.engine.mccore.config.parse.DataSection;
+import mc.promcteam.engine.mccore.config.parse.YAMLParser;
+import org.bukkit.OfflinePlayer;
+
+import java.sql.SQLException;
+import java.util.*;
+
+/**
+ * Loads player data from the SQL Database using a long-lived connection
+ * pool. Saving all players is done as a single batched transaction.
+ */
+public class PooledSQLIO extends IOManager {
+    private final SQLPlayerTable table;
+
+    /**
+     * Initializes the pooled SQL IO Manager using the configured database
+     *
+     * @param api API reference
+     */
+    public PooledSQLIO(SkillAPI api) {
+        this(api, createPool(SkillAPI.getSettings()));
+    }
+
+    /**
+     * Initializes the pooled SQL IO Manager using the given pool
+     *
+     * @param api  API reference
+     * @param pool connection pool to use
+     */
+    public PooledSQLIO(SkillAPI api, SQLConnectionPool pool) {
+        super(api);
+        try {
+            this.table = new SQLPlayerTable(pool);
+        } catch (SQLException ex) {
+            pool.close();
+            throw new IllegalStateException("Failed to set up the SQL player table", ex);
+        }
+    }
+
+    private static SQLConnectionPool createPool(Settings settings) {
+        String url = "jdbc:mysql://" + settings.getSqlHost() + ":" + settings.getSqlPort() + "/" + settings.getSqlDatabase();
+        return new SQLConnectionPool(url, settings.getSqlUser(), settings.getSqlPass(), settings.getSqlPoolSize());
+    }
+
+    @Override
+    public Map<String, PlayerAccounts> loadAllInternal(List<OfflinePlayer> playerList) {
+        HashMap<String, PlayerAccounts> result = new HashMap<>();
+        Map<String, OfflinePlayer>      keys   = new HashMap<>();
+        for (OfflinePlayer player : playerList) {
+            keys.put(player.getUniqueId().toString().toLowerCase(), player);
+        }
+
+        try {
+            Map<String, String> rows = table.loadAll(keys.keySet());
+            for (Map.Entry<String, OfflinePlayer> entry : keys.entrySet()) {
+                result.put(entry.getKey(), load(entry.getValue(), rows.get(entry.getKey())));
+            }
+        } catch (SQLException ex) {
+            Logger.bug("Failed to load data from the SQL Database - " + ex.getMessage());
+        }
+        return result;
+    }
+
+    @Override
+    public PlayerAccounts loadDataInternal(OfflinePlayer player) {
+        if (player == null) return null;
+
+        try {
+            return load(player, table.load(player.getUniqueId().toString().toLowerCase()));
+        } catch (SQLException ex) {
+            Logger.bug("Failed to load data from the SQL Database - " + ex.getMessage());
+            return null;
+        }
+    }
+
+    @Override
+    protected void writeData(PlayerAccounts data, DataSection file) {
+        writeAll(Collections.singletonMap(data, file));
+    }
+
+    /**
+     * Writes all snapshots in a single batched transaction
+     *
+     * @param snapshots player data and their snapshots to write
+     */
+    @Override
+    protected void writeAll(Map<PlayerAccounts, DataSection> snapshots) {
+        Map<String, String> rows = new HashMap<>();
+        for (Map.Entry<PlayerAccounts, DataSection> entry : snapshots.entrySet()) {
+            rows.put(entry.getKey().getOfflinePlayer().getUniqueId().toString().toLowerCase(),
+                    entry.getValue().toString(SQLIO.STRING));
+        }
+
+        try {
+            table.saveAll(rows);
+        } catch (SQLException ex) {
+            Logger.bug("Failed to save data to the SQL Database - " + ex.getMessage());
+            for (PlayerAccounts account : snapshots.keySet()) {
+                account.markDirty();
+            }
+        }
+    }
+
+    @Override
+    public void close() {
+        super.close();
+        table.getPool().close();
+    }
+
+    private PlayerAccounts load(OfflinePlayer player, String text) {
+        if (text == null || text.isEmpty()) {
+            return load(player, new DataSection());
+        }
+        return load(player, new YAMLParser().parseText(text, SQLIO.STRING));
+    }
+}
@@ -0,0 +1,220 @@
+/**
+ * SkillAPI
+ * com.sucy.skill.data.io.SQLConnectionPool
+ * <p>
+ * The MIT License (MIT)
+ * <p>
+ * Copyright (c) 2014 Steven Sucy
+ * <p>
+ * Permission is hereby granted, free of charge, to any person obtaining a copy
+ * of this software and associated documentation files (the "Software") to deal
+ * in the Software without restriction, including without limitation the rights
+ * to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+ * copies of the Software, and to permit persons to whom the Software is
+ * furnished to do so, subject to the following conditions:
+ * <p>
+ * The above copyright notice and this permission notice shall be included in
+ * all copies or substantial portions of the Software.
+ * <p>
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+ * AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN
+ * THE SOFTWARE.
+ */
+package com.sucy.skill.data.io;
+
+import java.sql.Connection;
+import java.sql.DriverManager;
+import java.sql.PreparedStatement;
+import java.sql.SQLException;
+import java.util.HashMap;
+import java.util.Map;
+import java.util.concurrent.ArrayBlockingQueue;
+import java.util.concurrent.BlockingQueue;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * A small fixed-size JDBC connection pool. Connections are opened lazily,
+ * validated when borrowed and keep their prepared statements for as long
+ * as they stay open.
+ */
+public class SQLConnectionPool implements AutoCloseable {
+    private static final int VALIDATE_TIMEOUT = 2;
+    private static final int ACQUIRE_TIMEOUT  = 10;
+
+    private final String               url;
+    private final String               user;
+    private final String               password;
+    private final int                  size;
+    private final BlockingQueue<Lease> idle;
+    private       int                  opened;
+    private volatile boolean           closed;
+
+    /**
+     * Sets up a new pool. No connections are opened until needed.
+     *
+     * @param url      JDBC url of the database
+     * @param user     database username
+     * @param password database password
+     * @param size     maximum number of open connections
+     */
+    public SQLConnectionPool(String url, String user, String password, int size) {
+        if (size < 1) {
+            throw new IllegalArgumentException("Pool size must be at least 1");
+        }
+        this.url = url;
+        this.user = user;
+        this.password = password;
+        this.size = size;
+        this.idle = new ArrayBlockingQueue<>(size);
+    }
+
+    /**
+     * Borrows a connection from the pool, opening a new one if none are idle
+     * and the pool is not full yet. The returned lease must be closed to give
+     * the connection back.
+     *
+     * @return leased connection
+     * @throws SQLException if no connection could be obtained
+     */
+    public Lease acquire() throws SQLException {
+        if (closed) {
+            throw new SQLException("Connection pool has been closed");
+        }
+
+        Lease lease = idle.poll();
+        if (lease == null) {
+            boolean canOpen;
+            synchronized (this) {
+                canOpen = opened < size;
+                if (canOpen) opened++;
+            }
+            if (canOpen) {
+                return openLease();
+            }
+            try {
+                lease = idle.poll(ACQUIRE_TIMEOUT, TimeUnit.SECONDS);
+            } catch (InterruptedException ex) {
+                Thread.currentThread().interrupt();
+                throw new SQLException("Interrupted while waiting for a connection", ex);
+            }
+            if (lease == null) {
+                throw new SQLException("Timed out waiting for a pooled connection");
+            }
+        }
+
+        if (!lease.connection.isValid(VALIDATE_TIMEOUT)) {
+            lease.discard();
+            synchronized (this) {
+                opened++;
+            }
+            lease = openLease();
+        }
+        return lease;
+    }
+
+    /**
+     * @return number of connections currently open
+     */
+    public synchronized int getOpenConnections() {
+        return opened;
+    }
+
+    /**
+     * Closes all idle connections and prevents new ones from being opened.
+     * Leased connections are closed once they are returned.
+     */
+    @Override
+    public void close() {
+        closed = true;
+        Lease lease;
+        while ((lease = idle.poll()) != null) {
+            lease.discard();
+        }
+    }
+
+    private Lease openLease() throws SQLException {
+        try {
+            return new Lease(DriverManager.getConnection(url, user, password));
+        } catch (SQLException ex) {
+            synchronized (this) {
+                opened--;
+            }
+            throw ex;
+        }
+    }
+
+    private void release(Lease lease) {
+        try {
+            if (!lease.connection.getAutoCommit()) {
+                lease.connection.rollback();
+                lease.connection.setAutoCommit(true);
+            }
+        } catch (SQLException ex) {
+            lease.discard();
+            return;
+        }
+        if (closed || !idle.offer(lease)) {
+            lease.discard();
+        }
+    }
+
+    /**
+     * A connection borrowed from the pool
+     */
+    public class Lease implements AutoCloseable {
+        private final Connection                     connection;
+        private final Map<String, PreparedStatement> statements = new HashMap<>();
+
+        private Lease(Connection connection) {
+            this.connection = connection;
+        }
+
+        /**
+         * @return the underlying connection
+         */
+        public Connection getConnection() {
+            return connection;
+        }
+
+        /**
+         * Retrieves a prepared statement for the query, preparing it only
+         * the first time it is used on this connection
+         *
+         * @param sql query to prepare
+         * @return prepared statement
+         * @throws SQLException if the statement could not be prepared
+         */
+        public PreparedStatement prepare(String sql) throws SQLException {
+            PreparedStatement statement = statements.get(sql);
+            if (statement == null || statement.isClosed()) {
+                statement = connection.prepareStatement(sql);
+                statements.put(sql, statement);
+            }
+            statement.clearParameters();
+            return statement;
+        }
+
+        /**
+         * Returns the connection to the pool
+         */
+        @Override
+        public void close() {
+            release(this);
+        }
+
+        private void discard() {
+            statements.clear();
+            try {
+                connection.close();
+            } catch (SQLException ignored) {
+            }
+            synchronized (SQLConnectionPool.this) {
+                opened--;
+            }
+        }
+    }
+}
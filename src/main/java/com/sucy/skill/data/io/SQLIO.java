@@ -37,7 +37,7 @@ import mc.promcteam.engine.mccore.sql.direct.SQLDatabase;
 import mc.promcteam.engine.mccore.sql.direct.SQLTable;
 import org.bukkit.OfflinePlayer;
 
-import java.util.ArrayList;
+import java.util.Collections;
 import java.util.HashMap;
 import java.util.List;
 import java.util.Map;
@@ -101,20 +101,15 @@ public class SQLIO extends IOManager {
     }
 
     @Override
-    public void saveDataInternal(PlayerAccounts data) {
-        if (!data.isLoaded()) return;
-
-        SQLConnection connection = openConnection();
-        saveSingle(connection, data);
-        connection.database.closeConnection();
+    protected void writeData(PlayerAccounts data, DataSection file) {
+        writeAll(Collections.singletonMap(data, file));
     }
 
     @Override
-    public void saveAllInternal(Map<String, PlayerAccounts> data) {
-        SQLConnection                   connection = openConnection();
-        ArrayList<String>               keys       = new ArrayList<String>(data.keySet());
-        for (String key : keys) {
-            saveSingle(connection, data.get(key));
+    protected void writeAll(Map<PlayerAccounts, DataSection> snapshots) {
+        SQLConnection connection = openConnection();
+        for (Map.Entry<PlayerAccounts, DataSection> entry : snapshots.entrySet()) {
+            saveSingle(connection, entry.getKey(), entry.getValue());
         }
         connection.database.closeConnection();
     }
@@ -131,14 +126,13 @@ public class SQLIO extends IOManager {
         }
     }
 
-    private void saveSingle(SQLConnection connection, PlayerAccounts data) {
-        DataSection file = save(data);
-
+    private void saveSingle(SQLConnection connection, PlayerAccounts data, DataSection file) {
         try {
             String playerKey = data.getOfflinePlayer().getUniqueId().toString().toLowerCase();
             connection.table.createEntry(playerKey).set(DATA, file.toString(STRING));
         } catch (Exception ex) {
             Logger.bug("Failed to save data for invalid player");
+            data.markDirty();
         }
     }
 
@@ -0,0 +1,215 @@
+/**
+ * SkillAPI
+ * com.sucy.skill.data.io.SQLPlayerTable
+ * <p>
+ * The MIT License (MIT)
+ * <p>
+ * Copyright (c) 2014 Steven Sucy
+ * <p>
+ * Permission is hereby granted, free of charge, to any person obtaining a copy
+ * of this software and associated documentation files (the "Software") to deal
+ * in the Software without restriction, including without limitation the rights
+ * to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+ * copies of the Software, and to permit persons to whom the Software is
+ * furnished to do so, subject to the following conditions:
+ * <p>
+ * The above copyright notice and this permission notice shall be included in
+ * all copies or substantial portions of the Software.
+ * <p>
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+ * AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN
+ * THE SOFTWARE.
+ */
+package com.sucy.skill.data.io;
+
+import java.sql.Connection;
+import java.sql.PreparedStatement;
+import java.sql.ResultSet;
+import java.sql.SQLException;
+import java.sql.Statement;
+import java.util.*;
+
+/**
+ * Reads and writes the serialized player data rows of the "players" table
+ * through a connection pool. The layout matches the table used by
+ * {@link SQLIO} so both modes can share a database.
+ */
+public class SQLPlayerTable {
+    private static final String TABLE = "players";
+    private static final String NAME  = "Name";
+    private static final int    CHUNK = 500;
+
+    private static final String
+            CREATE = "CREATE TABLE IF NOT EXISTS " + TABLE + " ("
+            + SQLIO.ID + " INT NOT NULL AUTO_INCREMENT PRIMARY KEY, "
+            + NAME + " VARCHAR(64) NOT NULL UNIQUE, "
+            + SQLIO.DATA + " TEXT)",
+            SELECT = "SELECT " + SQLIO.DATA + " FROM " + TABLE + " WHERE " + NAME + " = ?",
+            UPDATE = "UPDATE " + TABLE + " SET " + SQLIO.DATA + " = ? WHERE " + NAME + " = ?",
+            INSERT = "INSERT INTO " + TABLE + " (" + NAME + ", " + SQLIO.DATA + ") VALUES (?, ?)";
+
+    private final SQLConnectionPool pool;
+
+    /**
+     * Sets up the table, creating it if it doesn't exist yet
+     *
+     * @param pool pool to get connections from
+     * @throws SQLException if the table could not be created
+     */
+    public SQLPlayerTable(SQLConnectionPool pool) throws SQLException {
+        this.pool = pool;
+        try (SQLConnectionPool.Lease lease = pool.acquire();
+             Statement statement = lease.getConnection().createStatement()) {
+            statement.execute(CREATE);
+        }
+    }
+
+    /**
+     * @return pool used by the table
+     */
+    public SQLConnectionPool getPool() {
+        return pool;
+    }
+
+    /**
+     * Loads the stored data for a single player
+     *
+     * @param key player key
+     * @return stored data or null if there is none
+     * @throws SQLException if the query failed
+     */
+    public String load(String key) throws SQLException {
+        try (SQLConnectionPool.Lease lease = pool.acquire()) {
+            PreparedStatement statement = lease.prepare(SELECT);
+            statement.setString(1, key);
+            try (ResultSet result = statement.executeQuery()) {
+                return result.next() ? result.getString(1) : null;
+            }
+        }
+    }
+
+    /**
+     * Loads the stored data for many players, querying them in chunks
+     *
+     * @param keys player keys
+     * @return stored data by player key, missing players are left out
+     * @throws SQLException if a query failed
+     */
+    public Map<String, String> loadAll(Collection<String> keys) throws SQLException {
+        Map<String, String> result = new HashMap<>();
+        if (keys.isEmpty()) {
+            return result;
+        }
+
+        try (SQLConnectionPool.Lease lease = pool.acquire()) {
+            for (List<String> chunk : chunks(keys)) {
+                PreparedStatement statement = lease.prepare(selectIn(chunk.size()));
+                for (int i = 0; i < chunk.size(); i++) {
+                    statement.setString(i + 1, chunk.get(i));
+                }
+                try (ResultSet rows = statement.executeQuery()) {
+                    while (rows.next()) {
+                        result.put(rows.getString(1), rows.getString(2));
+                    }
+                }
+            }
+        }
+        return result;
+    }
+
+    /**
+     * Writes the data of all given players inside a single transaction. Existing
+     * rows are updated and missing rows inserted, each as one batch.
+     *
+     * @param data serialized data by player key
+     * @throws SQLException if the write failed, in which case nothing is written
+     */
+    public void saveAll(Map<String, String> data) throws SQLException {
+        if (data.isEmpty()) {
+            return;
+        }
+
+        try (SQLConnectionPool.Lease lease = pool.acquire()) {
+            Connection connection = lease.getConnection();
+            connection.setAutoCommit(false);
+
+            Set<String> existing = new HashSet<>(loadAll(lease, data.keySet()));
+
+            PreparedStatement update  = lease.prepare(UPDATE);
+            PreparedStatement insert  = lease.prepare(INSERT);
+            boolean           updates = false;
+            boolean           inserts = false;
+            for (Map.Entry<String, String> entry : data.entrySet()) {
+                if (existing.contains(entry.getKey())) {
+                    update.setString(1, entry.getValue());
+                    update.setString(2, entry.getKey());
+                    update.addBatch();
+                    updates = true;
+                } else {
+                    insert.setString(1, entry.getKey());
+                    insert.setString(2, entry.getValue());
+                    insert.addBatch();
+                    inserts = true;
+                }
+            }
+            if (updates) update.executeBatch();
+            if (inserts) insert.executeBatch();
+
+            connection.commit();
+            connection.setAutoCommit(true);
+        }
+    }
+
+    private Set<String> loadAll(SQLConnectionPool.Lease lease, Collection<String> keys) throws SQLException {
+        Set<String> result = new HashSet<>();
+        for (List<String> chunk : chunks(keys)) {
+            PreparedStatement statement = lease.prepare(existsIn(chunk.size()));
+            for (int i = 0; i < chunk.size(); i++) {
+                statement.setString(i + 1, chunk.get(i));
+            }
+            try (ResultSet rows = statement.executeQuery()) {
+                while (rows.next()) {
+                    result.add(rows.getString(1));
+                }
+            }
+        }
+        return result;
+    }
+
+    private static List<List<String>> chunks(Collection<String> keys) {
+        List<List<String>> chunks  = new ArrayList<>();
+        List<String>       current = new ArrayList<>(Math.min(keys.size(), CHUNK));
+        for (String key : keys) {
+            current.add(key);
+            if (current.size() == CHUNK) {
+                chunks.add(current);
+                current = new ArrayList<>(CHUNK);
+            }
+        }
+        if (!current.isEmpty()) {
+            chunks.add(current);
+        }
+        return chunks;
+    }
+
+    private static String selectIn(int count) {
+        return "SELECT " + NAME + ", " + SQLIO.DATA + " FROM " + TABLE + " WHERE " + NAME + " IN (" + params(count) + ")";
+    }
+
+    private static String existsIn(int count) {
+        return "SELECT " + NAME + " FROM " + TABLE + " WHERE " + NAME + " IN (" + params(count) + ")";
+    }
+
+    private static String params(int count) {
+        StringBuilder builder = new StringBuilder(count * 2);
+        for (int i = 0; i < count; i++) {
+            if (i > 0) builder.append(',');
+            builder.append('?');
+        }
+        return builder.toString();
+    }
+}
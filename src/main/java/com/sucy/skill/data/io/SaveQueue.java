@@ -0,0 +1,236 @@
+/**
+ * SkillAPI
+ * com.sucy.skill.data.io.SaveQueue
+ * <p>
+ * The MIT License (MIT)
+ * <p>
+ * Copyright (c) 2014 Steven Sucy
+ * <p>
+ * Permission is hereby granted, free of charge, to any person obtaining a copy
+ * of this software and associated documentation files (the "Software") to deal
+ * in the Software without restriction, including without limitation the rights
+ * to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+ * copies of the Software, and to permit persons to whom the Software is
+ * furnished to do so, subject to the following conditions:
+ * <p>
+ * The above copyright notice and this permission notice shall be included in
+ * all copies or substantial portions of the Software.
+ * <p>
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+ * AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN
+ * THE SOFTWARE.
+ */
+package com.sucy.skill.data.io;
+
+import com.sucy.skill.api.player.PlayerAccounts;
+import com.sucy.skill.log.LogType;
+import com.sucy.skill.log.Logger;
+import mc.promcteam.engine.mccore.config.parse.DataSection;
+
+import java.util.ArrayList;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.UUID;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.RejectedExecutionException;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.concurrent.atomic.AtomicInteger;
+
+/**
+ * Write-behind queue for player data. Snapshots are taken on the main
+ * thread and handed to a small pool of workers that write them out.
+ * <p>
+ * Each player always goes to the same worker so their writes stay in
+ * order, and only their latest snapshot is kept while waiting, so
+ * saving the same player several times before the worker gets to them
+ * results in a single write.
+ */
+public class SaveQueue {
+    private static final long CLOSE_TIMEOUT = 60;
+
+    private final IOManager     io;
+    private final Worker[]      workers;
+    private final int           maxPending;
+    private final AtomicInteger pending = new AtomicInteger();
+
+    private volatile boolean closed;
+
+    /**
+     * Initializes a new save queue
+     *
+     * @param io         IO manager used to write the snapshots
+     * @param workers    number of worker threads
+     * @param maxPending number of waiting players after which optional saves are refused
+     */
+    SaveQueue(IOManager io, int workers, int maxPending) {
+        this.io = io;
+        this.maxPending = Math.max(1, maxPending);
+        this.workers = new Worker[Math.max(1, workers)];
+        for (int i = 0; i < this.workers.length; i++) {
+            this.workers[i] = new Worker(i);
+        }
+    }
+
+    /**
+     * Queues a snapshot of the player's data to be written. If the
+     * player already has a snapshot waiting, it is replaced.
+     *
+     * @param accounts player data the snapshot was taken from
+     * @param snapshot snapshot of the player data
+     * @param force    whether to queue the snapshot even when the queue is full
+     * @return true if queued, false if refused because the queue is full
+     */
+    public boolean offer(PlayerAccounts accounts, DataSection snapshot, boolean force) {
+        UUID   id     = accounts.getOfflinePlayer().getUniqueId();
+        Worker worker = getWorker(id);
+        if (!force && isSaturated() && !worker.snapshots.containsKey(id)) {
+            return false;
+        }
+
+        if (closed) {
+            io.writeAll(singleton(accounts, snapshot));
+            return true;
+        }
+
+        if (worker.snapshots.put(id, new Snapshot(accounts, snapshot)) == null) {
+            pending.incrementAndGet();
+        }
+        worker.schedule();
+        return true;
+    }
+
+    /**
+     * Retrieves the snapshot still waiting to be written for the player, if any.
+     * Loading should use this instead of the stored data since it is newer.
+     *
+     * @param id UUID of the player
+     * @return waiting snapshot or null if there isn't one
+     */
+    public DataSection getPending(UUID id) {
+        Snapshot snapshot = getWorker(id).snapshots.get(id);
+        return snapshot == null ? null : snapshot.data;
+    }
+
+    /**
+     * @return number of players with a snapshot waiting to be written
+     */
+    public int getPending() {
+        return pending.get();
+    }
+
+    /**
+     * @return true if optional saves should be postponed until the workers catch up
+     */
+    public boolean isSaturated() {
+        return pending.get() >= maxPending;
+    }
+
+    /**
+     * Stops the workers after writing everything that is waiting. Anything
+     * queued afterwards is written immediately on the calling thread.
+     */
+    public void close() {
+        if (closed) return;
+        closed = true;
+
+        for (Worker worker : workers) {
+            worker.executor.shutdown();
+        }
+        try {
+            for (Worker worker : workers) {
+                if (!worker.executor.awaitTermination(CLOSE_TIMEOUT, TimeUnit.SECONDS)) {
+                    Logger.bug("Timed out waiting for player data to finish saving");
+                }
+            }
+        } catch (InterruptedException ex) {
+            Thread.currentThread().interrupt();
+        }
+
+        // Anything a worker didn't get to is written here instead
+        for (Worker worker : workers) {
+            worker.drain();
+        }
+    }
+
+    private Worker getWorker(UUID id) {
+        return workers[Math.floorMod(id.hashCode(), workers.length)];
+    }
+
+    private static Map<PlayerAccounts, DataSection> singleton(PlayerAccounts accounts, DataSection snapshot) {
+        Map<PlayerAccounts, DataSection> result = new LinkedHashMap<>();
+        result.put(accounts, snapshot);
+        return result;
+    }
+
+    private static class Snapshot {
+        private final PlayerAccounts accounts;
+        private final DataSection    data;
+
+        private Snapshot(PlayerAccounts accounts, DataSection data) {
+            this.accounts = accounts;
+            this.data = data;
+        }
+    }
+
+    private class Worker {
+        private final Map<UUID, Snapshot> snapshots = new ConcurrentHashMap<>();
+        private final AtomicBoolean       scheduled = new AtomicBoolean();
+        private final ExecutorService     executor;
+
+        private Worker(int index) {
+            executor = Executors.newSingleThreadExecutor(runnable -> {
+                Thread thread = new Thread(runnable, "SkillAPI Save Worker #" + index);
+                thread.setDaemon(true);
+                return thread;
+            });
+        }
+
+        private void schedule() {
+            if (scheduled.compareAndSet(false, true)) {
+                try {
+                    executor.execute(this::drain);
+                } catch (RejectedExecutionException ex) {
+                    // Closed while queueing, so write it here instead
+                    drain();
+                }
+            }
+        }
+
+        private synchronized void drain() {
+            scheduled.set(false);
+            if (snapshots.isEmpty()) return;
+
+            List<Map.Entry<UUID, Snapshot>> taken = new ArrayList<>(snapshots.entrySet());
+            Map<PlayerAccounts, DataSection> batch = new LinkedHashMap<>();
+            for (Map.Entry<UUID, Snapshot> entry : taken) {
+                batch.put(entry.getValue().accounts, entry.getValue().data);
+            }
+
+            try {
+                io.writeAll(batch);
+                Logger.log(LogType.SAVE, 2, "Wrote " + batch.size() + " queued player accounts");
+            } catch (Exception ex) {
+                Logger.bug("Failed to write queued player data - " + ex.getMessage());
+                ex.printStackTrace();
+                for (PlayerAccounts accounts : batch.keySet()) {
+                    accounts.markDirty();
+                }
+            } finally {
+                // Newer snapshots that arrived while writing stay queued
+                for (Map.Entry<UUID, Snapshot> entry : taken) {
+                    if (snapshots.remove(entry.getKey(), entry.getValue())) {
+                        pending.decrementAndGet();
+                    }
+                }
+            }
+        }
+    }
+}
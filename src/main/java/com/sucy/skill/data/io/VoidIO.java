@@ -29,7 +29,7 @@ public class VoidIO extends IOManager{
     }
 
     @Override
-    protected void saveDataInternal(PlayerAccounts data) {
+    protected void writeData(PlayerAccounts data, DataSection file) {
 
     }
 }
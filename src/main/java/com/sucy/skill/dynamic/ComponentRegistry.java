@@ -263,7 +263,7 @@ public class ComponentRegistry {
         TRIGGERS.put(key, trigger);
         EXECUTORS.put(trigger, (listener, event) -> {
             if (!trigger.getEvent().isInstance(event)) return;
-            ((TriggerHandler) listener).apply((T) event, trigger);
+            ((TriggerDispatcher) listener).dispatch((T) event, trigger);
         });
     }
 
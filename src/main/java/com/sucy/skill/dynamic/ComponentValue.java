@@ -0,0 +1,212 @@
+package com.sucy.skill.dynamic;
+
+import com.sucy.skill.api.CastData;
+import com.sucy.skill.api.PlayerDataConsumer;
+import org.bukkit.entity.LivingEntity;
+
+import java.util.concurrent.ThreadLocalRandom;
+
+/**
+ * ProSkillAPI © 2023
+ * com.sucy.skill.dynamic.ComponentValue
+ * <p>
+ * A numeric component setting that is resolved once when the component is loaded.
+ * A setting is either a constant, a random range, or the key of a cast data value
+ * (falling back to the range, or 0, when the value isn't set).
+ */
+public abstract class ComponentValue {
+
+    /**
+     * Gets the current value for the caster
+     *
+     * @param caster caster of the skill
+     * @return numeric value
+     */
+    public abstract double get(LivingEntity caster);
+
+    /**
+     * Resolves the raw text of a setting
+     *
+     * @param raw raw setting value
+     * @return compiled value
+     */
+    public static ComponentValue compile(String raw) {
+        raw = raw.trim();
+        if (isNumber(raw)) {
+            try {
+                return new Constant(Double.parseDouble(raw));
+            } catch (NumberFormatException ex) { /* Not a number */ }
+        }
+
+        double    min = 0;
+        double    max = 0;
+        final int mid = raw.indexOf('-', 1);
+        if (mid > 0) {
+            final double low  = parse(raw.substring(0, mid));
+            final double high = parse(raw.substring(mid + 1));
+            if (!Double.isNaN(low) && !Double.isNaN(high)) {
+                min = low;
+                max = high;
+            }
+        }
+
+        // Text that can't be a cast data key, such as a formula, a name or a boolean,
+        // isn't interned as one and just uses the range or 0 like before
+        if (!isKey(raw)) {
+            return min == max ? new Constant(min) : new Range(min, max);
+        }
+        return new Reference(raw, min, max);
+    }
+
+    /**
+     * Parses a number without throwing for text that obviously isn't one
+     *
+     * @param text text to parse
+     * @return parsed number or NaN if not a number
+     */
+    static double parse(final String text) {
+        if (!isNumber(text)) return Double.NaN;
+        try {
+            return Double.parseDouble(text);
+        } catch (NumberFormatException ex) {
+            return Double.NaN;
+        }
+    }
+
+    /**
+     * Checks whether the text could be parsed by {@link Double#parseDouble(String)}.
+     * This only rules out text that parsing would reject anyway, so things like
+     * "Infinity", "1d" and hex floats are still numbers.
+     *
+     * @param text text to check
+     * @return false if the text is definitely not a number
+     */
+    private static boolean isNumber(final String text) {
+        if (text == null) return false;
+
+        // Like parseDouble, ignore leading whitespace and a sign
+        int i = 0;
+        while (i < text.length() && text.charAt(i) <= ' ') i++;
+        if (i < text.length() && (text.charAt(i) == '+' || text.charAt(i) == '-')) i++;
+        if (i >= text.length()) return false;
+
+        final char c = text.charAt(i);
+        return (c >= '0' && c <= '9') || c == '.' || c == 'N' || c == 'I';
+    }
+
+    /**
+     * Checks whether the text could name a cast data value
+     *
+     * @param text text to check
+     * @return true if it could be a key
+     */
+    private static boolean isKey(final String text) {
+        if (text.isEmpty() || text.equalsIgnoreCase("true") || text.equalsIgnoreCase("false")) return false;
+        if (!Character.isLetter(text.charAt(0)) && text.charAt(0) != '_') return false;
+        for (int i = 1; i < text.length(); i++) {
+            final char c = text.charAt(i);
+            if (!Character.isLetterOrDigit(c) && c != '_' && c != '-' && c != '.' && c != ':') {
+                return false;
+            }
+        }
+        return true;
+    }
+
+    private static class Constant extends ComponentValue {
+        private final double value;
+
+        private Constant(final double value) {
+            this.value = value;
+        }
+
+        @Override
+        public double get(final LivingEntity caster) {
+            return value;
+        }
+    }
+
+    private static class Range extends ComponentValue {
+        protected final double min;
+        protected final double max;
+
+        private Range(final double min, final double max) {
+            this.min = min;
+            this.max = max;
+        }
+
+        @Override
+        public double get(final LivingEntity caster) {
+            return min == max ? min : ThreadLocalRandom.current().nextDouble() * (max - min) + min;
+        }
+    }
+
+    private static class Reference extends Range {
+        private final int key;
+
+        private Reference(final String key, final double min, final double max) {
+            super(min, max);
+            this.key = CastData.id(key);
+        }
+
+        @Override
+        public double get(final LivingEntity caster) {
+            final CastData data = DynamicSkill.getCastData(caster);
+            Object         raw  = data.getRaw(key);
+            if (raw instanceof PlayerDataConsumer) {
+                raw = ((PlayerDataConsumer) raw).consume();
+            }
+
+            if (raw instanceof Number) {
+                return ((Number) raw).doubleValue();
+            } else if (raw != null && isNumber(raw.toString())) {
+                try {
+                    return Double.parseDouble(raw.toString());
+                } catch (NumberFormatException ex) { /* Not a number */ }
+            }
+
+            return super.get(caster);
+        }
+    }
+
+    /**
+     * A setting defined by a base value and a change per level
+     */
+    public static class Scaled {
+        private ComponentValue base;
+        private ComponentValue scale;
+        private int            attributeId = -1;
+
+        /**
+         * Gets the value at the given level
+         *
+         * @param caster   caster of the skill
+         * @param level    level of the skill
+         * @param fallback base value to use if it isn't set
+         * @return scaled value
+         */
+        public double get(final LivingEntity caster, final int level, final double fallback) {
+            final double base  = this.base == null ? fallback : this.base.get(caster);
+            final double scale = this.scale == null ? 0 : this.scale.get(caster);
+            return base + (level - 1) * scale;
+        }
+
+        void setBase(final ComponentValue base) {
+            this.base = base;
+        }
+
+        void setScale(final ComponentValue scale) {
+            this.scale = scale;
+        }
+
+        /**
+         * @return ID attribute modifiers for the setting were interned to, or -1 if none
+         */
+        public int getAttributeId() {
+            return attributeId;
+        }
+
+        void setAttributeId(final int attributeId) {
+            this.attributeId = attributeId;
+        }
+    }
+}
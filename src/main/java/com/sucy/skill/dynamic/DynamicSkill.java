@@ -40,7 +40,9 @@ import mc.promcteam.engine.mccore.config.parse.DataSection;
 import mc.promcteam.engine.mccore.util.TextFormatter;
 import org.bukkit.Bukkit;
 import org.bukkit.Material;
+import org.bukkit.World;
 import org.bukkit.entity.LivingEntity;
+import org.bukkit.entity.Player;
 import org.bukkit.event.Cancellable;
 import org.bukkit.event.Listener;
 
@@ -104,6 +106,52 @@ public class DynamicSkill extends Skill implements SkillShot, PassiveSkill, List
         castData.remove(entity.getEntityId());
     }
 
+    /**
+     * Drops the cast-scoped values of entities that stopped casting, then the cast data
+     * of entities that are gone and of mobs that have nothing stored anymore.
+     * This is called by the API periodically.
+     */
+    public static void reclaimCastData() {
+        castData.values().removeIf(data -> {
+            final LivingEntity entity = data.getCaster();
+            final boolean      empty  = data.reclaim();
+            if (entity instanceof Player) {
+                return !((Player) entity).isOnline();
+            }
+            return !entity.isValid() || (empty && !data.isCasting());
+        });
+    }
+
+    /**
+     * @return number of entities with cast data
+     */
+    public static int getCastDataCount() {
+        return castData.size();
+    }
+
+    /**
+     * @return number of values stored across every entity
+     */
+    public static long getCastValueCount() {
+        long total = 0;
+        for (CastData data : castData.values()) {
+            total += data.size();
+        }
+        return total;
+    }
+
+    /**
+     * @return estimated memory used by the cast data of every entity, not counting the values themselves
+     */
+    public static long getCastDataBytes() {
+        // Each entry also takes a map node and a boxed entity ID
+        long total = castData.size() * 48L;
+        for (CastData data : castData.values()) {
+            total += data.estimateBytes();
+        }
+        return total;
+    }
+
     /**
      * Checks whether the dynamic skill can be cast
      *
@@ -123,6 +171,42 @@ public class DynamicSkill extends Skill implements SkillShot, PassiveSkill, List
         return active.containsKey(caster.getEntityId());
     }
 
+    /**
+     * Stops the passives of every caster they are running for, including casters that
+     * aren't players. Casters that can't be found any more only have their triggers
+     * removed.
+     *
+     * @return casters that were stopped and the level their passives were running at
+     */
+    public Map<LivingEntity, Integer> stopAllEffects() {
+        final Map<LivingEntity, Integer> stopped = new HashMap<>();
+        if (active.isEmpty()) return stopped;
+
+        for (final World world : Bukkit.getWorlds()) {
+            for (final LivingEntity entity : world.getLivingEntities()) {
+                final Integer level = active.get(entity.getEntityId());
+                if (level != null) stopped.put(entity, level);
+            }
+        }
+        stopped.forEach((caster, level) -> {
+            try {
+                stopEffects(caster, level);
+            } catch (Exception ex) {
+                Logger.bug("Failed to stop passive skill " + getName());
+                ex.printStackTrace();
+            }
+        });
+
+        for (final Integer entityId : active.keySet()) {
+            for (final TriggerHandler triggerHandler : triggers) {
+                triggerHandler.remove(entityId);
+            }
+        }
+        forced.removeAll(active.keySet());
+        active.clear();
+        return stopped;
+    }
+
     /**
      * Retrieves the active level of the caster for the skill
      *
@@ -271,10 +355,16 @@ public class DynamicSkill extends Skill implements SkillShot, PassiveSkill, List
         if (!force && !SkillAPI.getSettings().isWorldEnabled(user.getWorld())) return false;
         if (force && !isForced(user)) forced.add(user.getEntityId());
 
-        boolean cast = false;
-        for (TriggerComponent castTrigger : castTriggers) {
-            boolean result = trigger(user, user, level, castTrigger, force);
-            cast = cast || result;
+        boolean        cast = false;
+        final CastData data = getCastData(user);
+        data.beginCast();
+        try {
+            for (TriggerComponent castTrigger : castTriggers) {
+                boolean result = trigger(user, user, level, castTrigger, force);
+                cast = cast || result;
+            }
+        } finally {
+            data.endCast();
         }
 
         if (!cast) return false;
@@ -30,10 +30,11 @@ import com.sucy.skill.SkillAPI;
 import com.sucy.skill.api.CastData;
 import com.sucy.skill.api.PlayerDataConsumer;
 import com.sucy.skill.api.Settings;
-import com.sucy.skill.api.particle.ParticleHelper;
+import com.sucy.skill.api.particle.ParticleTemplate;
 import com.sucy.skill.api.player.PlayerData;
 import com.sucy.skill.api.player.PlayerSkill;
 import com.sucy.skill.log.Logger;
+import com.sucy.skill.manager.IAttributeManager;
 import mc.promcteam.engine.mccore.config.parse.DataSection;
 import mc.promcteam.engine.mccore.util.MobManager;
 import org.bukkit.entity.LivingEntity;
@@ -52,6 +53,7 @@ public abstract class EffectComponent {
     private static final String                     COUNTS_KEY       = "counts";
     private static final String                     TYPE             = "type";
     private static final String                     PREVIEW          = "preview";
+    private static final String                     PER_TARGET       = "per-target-";
     private static       boolean                    passed;
     /**
      * Child components
@@ -69,12 +71,21 @@ public abstract class EffectComponent {
      * The preview settings for the component
      */
     protected final      Settings                   preview          = new Settings();
+    /**
+     * The particles shown on each target while previewing, compiled when the component loads
+     */
+    private              ParticleTemplate           perTargetPreview;
     /**
      * Parent class of the component
      */
     protected            DynamicSkill               skill;
     private              String                     instanceKey;
 
+    private Map<String, ComponentValue>        values  = new HashMap<>();
+    private Map<String, ComponentValue.Scaled> scaled  = new HashMap<>();
+    private int                                version = -1;
+    private boolean                            counts  = true;
+
     private static String filterSpecialChars(String string) {
         int           i       = 0;
         int           j       = string.indexOf('&');
@@ -139,6 +150,14 @@ public abstract class EffectComponent {
      */
     public boolean isPreviewEnabled() {return isPreviewEnabled;}
 
+    /**
+     * @return the particles to show on each target while previewing
+     */
+    protected ParticleTemplate getPerTargetPreview() {
+        if (perTargetPreview == null) perTargetPreview = ParticleTemplate.compile(preview, PER_TARGET);
+        return perTargetPreview;
+    }
+
     /**
      * Retrieves an attribute value while applying attribute
      * data if enabled and a player is using the skill
@@ -150,14 +169,15 @@ public abstract class EffectComponent {
      * @return the value with attribute modifications if applicable
      */
     protected double parseValues(LivingEntity caster, String key, int level, double fallback) {
-        double base  = getNum(caster, key + "-base", fallback);
-        double scale = getNum(caster, key + "-scale", 0);
-        double value = base + (level - 1) * scale;
+        ComponentValue.Scaled setting = getScaled().get(key);
+        double                value   = setting == null ? fallback : setting.get(caster, level, fallback);
 
         // Apply global modifiers
         if (SkillAPI.getSettings().isAttributesEnabled() && caster instanceof Player) {
             PlayerData data = SkillAPI.getPlayerData((Player) caster);
-            value = data.scaleDynamic(this, key, value);
+            value = setting == null
+                    ? data.scaleDynamic(this, key, value)
+                    : data.scaleDynamic(this, setting.getAttributeId(), value);
         }
 
         return value;
@@ -176,31 +196,54 @@ public abstract class EffectComponent {
      * @return the settings value or, if not a number, the cast data value
      */
     protected double getNum(LivingEntity caster, String key, double fallback) {
-        String val = settings.getString(key);
-        if (val == null) {
-            return fallback;
-        }
+        ComponentValue value = getValues().get(key);
+        return value == null ? fallback : value.get(caster);
+    }
 
-        try {
-            return Double.parseDouble(val);
-        } catch (Exception ex) { /* Not a number */ }
+    /**
+     * Resolves the numeric settings of the component ahead of time so executing
+     * it doesn't need to parse them. This happens after loading and again
+     * whenever the settings change.
+     */
+    protected void compile() {
+        Map<String, ComponentValue>        values  = new HashMap<>();
+        Map<String, ComponentValue.Scaled> scaled  = new HashMap<>();
+        int                                version = settings.getVersion();
+        for (String key : settings.keys()) {
+            String raw = settings.getString(key);
+            if (raw == null) continue;
+
+            ComponentValue value = ComponentValue.compile(raw);
+            values.put(key, value);
+            if (key.endsWith("-base")) {
+                scaled.computeIfAbsent(key.substring(0, key.length() - 5), k -> new ComponentValue.Scaled())
+                        .setBase(value);
+            } else if (key.endsWith("-scale")) {
+                scaled.computeIfAbsent(key.substring(0, key.length() - 6), k -> new ComponentValue.Scaled())
+                        .setScale(value);
+            }
+        }
 
-        final CastData castData = DynamicSkill.getCastData(caster);
-        if (castData.contains(val)) {
-            final String mapVal = castData.get(val);
-            try {
-                return Double.parseDouble(mapVal);
-            } catch (Exception ex) { /* Not a number */ }
+        final IAttributeManager attributes = SkillAPI.getAttributeManager();
+        for (Map.Entry<String, ComponentValue.Scaled> entry : scaled.entrySet()) {
+            entry.getValue().setAttributeId(attributes.getComponentId(this, entry.getKey()));
         }
 
-        try {
-            final int    mid = val.indexOf('-', 1);
-            final double min = Double.parseDouble(val.substring(0, mid));
-            final double max = Double.parseDouble(val.substring(mid + 1));
-            return Math.random() * (max - min) + min;
-        } catch (Exception ex) { /* Not a range */ }
+        String counts = settings.keys().contains(COUNTS_KEY) ? settings.getString(COUNTS_KEY) : null;
+        this.counts = counts == null || !counts.equalsIgnoreCase("false");
+        this.values = values;
+        this.scaled = scaled;
+        this.version = version;
+    }
+
+    private Map<String, ComponentValue> getValues() {
+        if (version != settings.getVersion()) compile();
+        return values;
+    }
 
-        return 0;
+    private Map<String, ComponentValue.Scaled> getScaled() {
+        if (version != settings.getVersion()) compile();
+        return scaled;
     }
 
     /**
@@ -228,7 +271,8 @@ public abstract class EffectComponent {
 
         boolean worked = false;
         for (EffectComponent child : children) {
-            boolean counts = !child.settings.getString(COUNTS_KEY, "true").equalsIgnoreCase("false");
+            child.getValues();
+            boolean counts = child.counts;
             passed = child.execute(caster, level, targets, force);
             worked = (passed && counts) || worked;
         }
@@ -339,7 +383,7 @@ public abstract class EffectComponent {
                 @Override
                 public void run() {
                     for (LivingEntity target : targetSupplier.get()) {
-                        ParticleHelper.play(target.getLocation(), preview, Set.of(caster), "per-target-",
+                        getPerTargetPreview().play(target.getLocation(), Set.of(caster),
                                 preview.getBool("per-target-" + "hitbox") ? target.getBoundingBox() : null
                         );
                     }
@@ -405,6 +449,7 @@ public abstract class EffectComponent {
 
         preview.load(config.getSection(PREVIEW));
         isPreviewEnabled = preview.getBool("enabled", false);
+        perTargetPreview = preview.getBool("per-target") ? ParticleTemplate.compile(preview, PER_TARGET) : null;
 
         DataSection children = config.getSection("children");
         if (children != null) {
@@ -427,5 +472,7 @@ public abstract class EffectComponent {
                 }
             }
         }
+
+        compile();
     }
 }
@@ -28,6 +28,7 @@ package com.sucy.skill.dynamic;
 
 import com.sucy.skill.SkillAPI;
 import com.sucy.skill.api.Settings;
+import com.sucy.skill.log.Logger;
 import mc.promcteam.engine.mccore.config.parse.NumberParser;
 import org.bukkit.ChatColor;
 import org.bukkit.OfflinePlayer;
@@ -40,9 +41,12 @@ import java.util.List;
 import java.util.Locale;
 import java.util.regex.Matcher;
 import java.util.regex.Pattern;
+import java.util.regex.PatternSyntaxException;
 
 /**
- * Handles checking items for dynamic effects
+ * Handles checking items for dynamic effects. Components compile their item
+ * settings into a {@link Filter} when they load, so checking an item doesn't
+ * read the settings or compile patterns again.
  */
 public class ItemChecker {
     private static final String CHECK_MAT  = "check-mat";
@@ -56,6 +60,64 @@ public class ItemChecker {
     private static final String NAME       = "name";
     private static final String AMOUNT     = "amount";
 
+    private static final String VALUE_PATTERN = "([+-]?[0-9]+([.,][0-9]+)?)";
+
+    /**
+     * Item settings of a component, read once when the component loads
+     */
+    public static final class Filter {
+        private final boolean mat;
+        private final boolean data;
+        private final boolean lore;
+        private final boolean name;
+        private final String  material;
+        private final int     dur;
+        private final String  text;
+        private final String  display;
+        private final Pattern textPattern;
+        private final Pattern displayPattern;
+
+        private Filter(Settings settings) {
+            mat = settings.getBool(CHECK_MAT, true);
+            data = settings.getBool(CHECK_DATA, true);
+            lore = settings.getBool(CHECK_LORE, false);
+            name = settings.getBool(CHECK_NAME, false);
+            material = settings.getString(MATERIAL, "ARROW").toUpperCase(Locale.US).replace(" ", "_");
+            dur = settings.getInt(DATA, 0);
+            text = settings.getString(LORE, "");
+            display = settings.getString(NAME, "");
+
+            boolean regex = settings.getBool(REGEX, false);
+            textPattern = regex && lore ? compilePattern(text) : null;
+            displayPattern = regex && name ? compilePattern(display) : null;
+        }
+
+        /**
+         * Checks an individual item against the settings
+         *
+         * @param item item to check
+         * @return true if passes all conditions, false otherwise
+         */
+        public boolean matches(ItemStack item) {
+            return (item == null && material.equals("AIR"))
+                    || item != null
+                    && (!mat || item.getType().name().equals(material))
+                    && (!data || item.getDurability() == dur)
+                    && (!lore || checkLore(item, text, textPattern))
+                    && (!name || checkName(item, display, displayPattern));
+        }
+    }
+
+    /**
+     * Compiles the item settings of a component
+     *
+     * @param settings settings to read from
+     * @return compiled item settings
+     */
+    public static Filter compile(Settings settings) {
+        return new Filter(settings);
+    }
+
     /**
      * Checks the player inventory for items matching the settings
      *
@@ -66,31 +128,30 @@ public class ItemChecker {
      * @return true if all conditions met, false otherwise
      */
     public static boolean check(Player player, int level, EffectComponent component, boolean remove) {
-        final Settings settings = component.getSettings();
+        return check(player, level, component, compile(component.getSettings()), remove);
+    }
 
+    /**
+     * Checks the player inventory for items matching the compiled settings
+     *
+     * @param player    player to check
+     * @param level     level of the effect
+     * @param component effect component checking for
+     * @param filter    compiled item settings of the component
+     * @param remove    whether to remove matching items
+     * @return true if all conditions met, false otherwise
+     */
+    public static boolean check(Player player, int level, EffectComponent component, Filter filter, boolean remove) {
         int count = (int) component.parseValues(player, AMOUNT, level, 1);
 
-        // Checks to do
-        boolean mat   = settings.getBool(CHECK_MAT, true);
-        boolean data  = settings.getBool(CHECK_DATA, true);
-        boolean lore  = settings.getBool(CHECK_LORE, false);
-        boolean name  = settings.getBool(CHECK_NAME, false);
-        boolean regex = settings.getBool(REGEX, false);
-
-        // Values to compare to
-        String material = settings.getString(MATERIAL, "ARROW").toUpperCase(Locale.US).replace(" ", "_");
-        int    dur      = settings.getInt(DATA, 0);
-        String text     = settings.getString(LORE, "");
-        String display  = settings.getString(NAME, "");
-
         ItemStack[] contents = player.getInventory().getContents();
         for (int i = 0; i < contents.length; i++) {
             ItemStack item = contents[i];
             if (item == null
-                    || (mat && !item.getType().name().equals(material))
-                    || (data && item.getData().getData() != dur)
-                    || (lore && !checkLore(item, text, regex))
-                    || (name && !checkName(item, display, regex)))
+                    || (filter.mat && !item.getType().name().equals(filter.material))
+                    || (filter.data && item.getData().getData() != filter.dur)
+                    || (filter.lore && !checkLore(item, filter.text, filter.textPattern))
+                    || (filter.name && !checkName(item, filter.display, filter.displayPattern)))
                 continue;
 
             if (item.getAmount() <= count) {
@@ -121,25 +182,32 @@ public class ItemChecker {
      * @return true if passes all conditions, false otherwise
      */
     public static boolean check(ItemStack item, int level, Settings settings) {
-        // Checks to do
-        boolean mat   = settings.getBool(CHECK_MAT, true);
-        boolean data  = settings.getBool(CHECK_DATA, true);
-        boolean lore  = settings.getBool(CHECK_LORE, false);
-        boolean name  = settings.getBool(CHECK_NAME, false);
-        boolean regex = settings.getBool(REGEX, false);
-
-        // Values to compare to
-        String material = settings.getString(MATERIAL, "ARROW").toUpperCase(Locale.US).replace(" ", "_");
-        int    dur      = settings.getInt(DATA, 0);
-        String text     = settings.getString(LORE, "");
-        String display  = settings.getString(NAME, "");
-
-        return (item == null && material.equals("AIR"))
-                || item != null
-                && (!mat || item.getType().name().equals(material))
-                && (!data || item.getDurability() == dur)
-                && (!lore || checkLore(item, text, regex))
-                && (!name || checkName(item, display, regex));
+        return compile(settings).matches(item);
+    }
+
+    /**
+     * Compiles the pattern used to find a value in lore
+     *
+     * @param regex pattern text, with {value} where the value goes
+     * @return compiled pattern or null if the pattern is invalid
+     */
+    public static Pattern compileLorePattern(String regex) {
+        return compilePattern(regex.replace("{value}", VALUE_PATTERN));
+    }
+
+    /**
+     * Compiles a pattern from a component's settings, logging it if it is invalid
+     *
+     * @param regex pattern text
+     * @return compiled pattern or null if the pattern is invalid
+     */
+    private static Pattern compilePattern(String regex) {
+        try {
+            return Pattern.compile(regex);
+        } catch (PatternSyntaxException ex) {
+            Logger.invalid("Invalid item pattern: " + regex);
+            return null;
+        }
     }
 
     /**
@@ -167,6 +235,17 @@ public class ItemChecker {
         return false;
     }
 
+    private static boolean checkName(ItemStack item, String target, Pattern pattern) {
+        ItemMeta meta;
+        if (!item.hasItemMeta()
+                || !(meta = item.getItemMeta()).hasDisplayName()) {
+            return false;
+        }
+
+        String name = ChatColor.stripColor(meta.getDisplayName());
+        return pattern != null ? pattern.matcher(name).find() : name.contains(target);
+    }
+
     /**
      * Checks the lore of an item
      *
@@ -195,16 +274,53 @@ public class ItemChecker {
         return false;
     }
 
+    private static boolean checkLore(ItemStack item, String target, Pattern pattern) {
+        ItemMeta meta;
+        if (!item.hasItemMeta()
+                || !(meta = item.getItemMeta()).hasLore()) {
+            return false;
+        }
+
+        for (String line : meta.getLore()) {
+            line = ChatColor.stripColor(line);
+            if (pattern != null ? pattern.matcher(line).find() : line.contains(target)) {
+                return true;
+            }
+        }
+
+        return false;
+    }
+
     public static boolean findLore(LivingEntity caster,
                                    ItemStack item,
                                    String regex,
                                    String key,
                                    double multiplier,
                                    boolean save) {
-        Pattern pattern = Pattern.compile(regex.replace("{value}", "([+-]?[0-9]+([.,][0-9]+)?)"));
+        return findLore(caster, item, Pattern.compile(regex.replace("{value}", VALUE_PATTERN)), key, multiplier, save);
+    }
 
+    /**
+     * Finds a value in the lore of an item and stores it as cast data
+     *
+     * @param caster     caster to store the value for
+     * @param item       item to read the lore of
+     * @param pattern    pattern from {@link #compileLorePattern(String)}, null never matches
+     * @param key        cast data key to store the value under
+     * @param multiplier multiplier to apply to the value
+     * @param save       whether to also save the value as persistent player data
+     * @return true if the item has lore, false otherwise
+     */
+    public static boolean findLore(LivingEntity caster,
+                                   ItemStack item,
+                                   Pattern pattern,
+                                   String key,
+                                   double multiplier,
+                                   boolean save) {
         if (item == null || !item.hasItemMeta() || !item.getItemMeta().hasLore())
             return false;
+        if (pattern == null)
+            return true;
 
         List<String> lore = item.getItemMeta().getLore();
         for (String line : lore) {
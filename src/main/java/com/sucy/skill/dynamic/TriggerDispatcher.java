@@ -0,0 +1,167 @@
+package com.sucy.skill.dynamic;
+
+import com.sucy.skill.SkillAPI;
+import com.sucy.skill.dynamic.trigger.Trigger;
+import org.bukkit.entity.LivingEntity;
+import org.bukkit.event.Event;
+import org.bukkit.event.EventPriority;
+import org.bukkit.event.HandlerList;
+import org.bukkit.event.Listener;
+
+import java.util.Arrays;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+
+import static com.sucy.skill.dynamic.ComponentRegistry.getExecutor;
+
+/**
+ * ProSkillAPI © 2023
+ * com.sucy.skill.dynamic.TriggerDispatcher
+ * <p>
+ * Single listener for a trigger type. Instead of every {@link TriggerHandler} listening
+ * to the event itself, the dispatcher keeps an index of the handlers that are active for
+ * each entity and only passes the event on to the handlers of its caster.
+ */
+public class TriggerDispatcher implements Listener {
+
+    private static final Map<Trigger<?>, TriggerDispatcher> DISPATCHERS = new ConcurrentHashMap<>();
+    private static final Entry[]                            NONE        = new Entry[0];
+
+    private final Map<Integer, Entry[]> active = new ConcurrentHashMap<>();
+    private final Trigger<?>            trigger;
+
+    private boolean registered;
+    private int     interval;
+
+    private TriggerDispatcher(final Trigger<?> trigger) {
+        this.trigger = trigger;
+    }
+
+    /**
+     * Retrieves the dispatcher for a trigger type, creating it if needed
+     *
+     * @param trigger trigger type
+     * @return dispatcher for the trigger
+     */
+    static TriggerDispatcher get(final Trigger<?> trigger) {
+        return DISPATCHERS.computeIfAbsent(trigger, TriggerDispatcher::new);
+    }
+
+    /**
+     * Unregisters all dispatchers and forgets their active handlers
+     */
+    public static void clear() {
+        for (final TriggerDispatcher dispatcher : DISPATCHERS.values()) {
+            HandlerList.unregisterAll(dispatcher);
+        }
+        DISPATCHERS.clear();
+    }
+
+    /**
+     * Registers the listener for the trigger's event if it isn't already
+     *
+     * @param plugin plugin reference
+     */
+    synchronized void register(final SkillAPI plugin) {
+        if (registered) return;
+        registered = true;
+        interval = SkillAPI.getSettings().getTriggerInterval(trigger.getKey());
+
+        final String  event           = trigger.getEvent().getTypeName();
+        final boolean ignoreCancelled = !event.equals("org.bukkit.event.player.PlayerInteractEvent")
+                && !event.contains("PlayerSwapHandItemsEvent");
+        plugin.getServer()
+                .getPluginManager()
+                .registerEvent(trigger.getEvent(),
+                        this,
+                        EventPriority.HIGHEST,
+                        getExecutor(trigger),
+                        plugin,
+                        ignoreCancelled);
+    }
+
+    /**
+     * Marks the handler as active for the entity, replacing its level if it already was
+     *
+     * @param entityId ID of the entity
+     * @param handler  handler to activate
+     * @param level    level of the owning skill
+     */
+    void add(final int entityId, final TriggerHandler handler, final int level) {
+        active.compute(entityId, (id, entries) -> {
+            if (entries == null) {
+                return new Entry[]{new Entry(handler, level)};
+            }
+            for (int i = 0; i < entries.length; i++) {
+                if (entries[i].handler == handler) {
+                    final Entry[] copy = entries.clone();
+                    copy[i] = new Entry(handler, level);
+                    return copy;
+                }
+            }
+            final Entry[] copy = Arrays.copyOf(entries, entries.length + 1);
+            copy[entries.length] = new Entry(handler, level);
+            return copy;
+        });
+    }
+
+    /**
+     * Marks the handler as no longer active for the entity
+     *
+     * @param entityId ID of the entity
+     * @param handler  handler to deactivate
+     */
+    void remove(final int entityId, final TriggerHandler handler) {
+        active.computeIfPresent(entityId, (id, entries) -> {
+            for (int i = 0; i < entries.length; i++) {
+                if (entries[i].handler == handler) {
+                    if (entries.length == 1) return null;
+
+                    final Entry[] copy = new Entry[entries.length - 1];
+                    System.arraycopy(entries, 0, copy, 0, i);
+                    System.arraycopy(entries, i + 1, copy, i, copy.length - i);
+                    return copy;
+                }
+            }
+            return entries;
+        });
+    }
+
+    /**
+     * @param entityId ID of the entity
+     * @return number of handlers active for the entity
+     */
+    int count(final int entityId) {
+        return active.getOrDefault(entityId, NONE).length;
+    }
+
+    /**
+     * Passes the event on to the handlers that are active for its caster
+     *
+     * @param event   event that happened
+     * @param trigger trigger type of this dispatcher
+     */
+    <T extends Event> void dispatch(final T event, final Trigger<T> trigger) {
+        if (active.isEmpty()) return;
+
+        final LivingEntity caster = trigger.getCaster(event);
+        if (caster == null) return;
+
+        final Entry[] entries = active.get(caster.getEntityId());
+        if (entries == null) return;
+
+        for (final Entry entry : entries) {
+            entry.handler.apply(event, trigger, caster, entry.level, interval);
+        }
+    }
+
+    private static class Entry {
+        private final TriggerHandler handler;
+        private final int            level;
+
+        private Entry(final TriggerHandler handler, final int level) {
+            this.handler = handler;
+            this.level = level;
+        }
+    }
+}
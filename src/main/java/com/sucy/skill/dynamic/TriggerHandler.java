@@ -1,6 +1,7 @@
 package com.sucy.skill.dynamic;
 
 import com.sucy.skill.SkillAPI;
+import com.sucy.skill.api.CastData;
 import com.sucy.skill.api.enums.ManaCost;
 import com.sucy.skill.api.event.DynamicTriggerEvent;
 import com.sucy.skill.api.player.PlayerData;
@@ -12,21 +13,14 @@ import org.bukkit.entity.LivingEntity;
 import org.bukkit.entity.Player;
 import org.bukkit.event.Cancellable;
 import org.bukkit.event.Event;
-import org.bukkit.event.EventPriority;
-import org.bukkit.event.Listener;
 
-import java.util.HashMap;
 import java.util.Objects;
 
-import static com.sucy.skill.dynamic.ComponentRegistry.getExecutor;
-
 /**
  * ProSkillAPI © 2023
  * com.sucy.skill.dynamic.TriggerHandler
  */
-public class TriggerHandler implements Listener {
-
-    private final HashMap<Integer, Integer> active = new HashMap<>();
+public class TriggerHandler {
 
     private final DynamicSkill     skill;
     private final String           key;
@@ -62,67 +56,63 @@ public class TriggerHandler implements Listener {
     }
 
     public void init(final LivingEntity entity, final int level) {
-        active.put(entity.getEntityId(), level);
+        TriggerDispatcher.get(trigger).add(entity.getEntityId(), this, level);
     }
 
     public void cleanup(final LivingEntity entity) {
-        active.remove(entity.getEntityId());
+        TriggerDispatcher.get(trigger).remove(entity.getEntityId(), this);
         component.cleanUp(entity);
     }
 
+    /**
+     * Stops the handler for an entity that can't be found any more, such as one in
+     * an unloaded chunk, so it doesn't come back with the handler still active
+     *
+     * @param entityId ID of the entity
+     */
+    void remove(final int entityId) {
+        TriggerDispatcher.get(trigger).remove(entityId, this);
+    }
+
     /**
      * Registers needed events for the skill, ignoring any unused events for efficiency
      *
      * @param plugin plugin reference
      */
     public void register(final SkillAPI plugin) {
-
-        if (trigger.getEvent().getTypeName().equals("org.bukkit.event.player.PlayerInteractEvent") || trigger.getEvent()
-                .getTypeName()
-                .contains("PlayerSwapHandItemsEvent")) {
-            plugin.getServer()
-                    .getPluginManager()
-                    .registerEvent(trigger.getEvent(),
-                            this,
-                            EventPriority.HIGHEST,
-                            getExecutor(trigger),
-                            plugin,
-                            false);
-        } else {
-            plugin.getServer()
-                    .getPluginManager()
-                    .registerEvent(trigger.getEvent(), this, EventPriority.HIGHEST, getExecutor(trigger), plugin, true);
-        }
-
+        TriggerDispatcher.get(trigger).register(plugin);
     }
 
-    <T extends Event> void apply(final T event, final Trigger<T> trigger) {
-
-        final LivingEntity caster = trigger.getCaster(event);
-        if (caster == null || !active.containsKey(caster.getEntityId())) {
-            return;
-        }
-
-        final int level = active.get(caster.getEntityId());
+    <T extends Event> void apply(final T event,
+                                 final Trigger<T> trigger,
+                                 final LivingEntity caster,
+                                 final int level,
+                                 final int interval) {
         if (!trigger.shouldTrigger(event, level, component.settings)) {
             return;
         }
 
-        Bukkit.getScheduler()
-                .runTask(SkillAPI.inst(),
-                        () -> {
-                            Bukkit.getPluginManager()
-                                    .callEvent(new DynamicTriggerEvent(caster, this.skill, event, trigger.getKey()));
-
-                            final LivingEntity target = trigger.getTarget(event, component.settings);
-                            trigger.setValues(event, DynamicSkill.getCastData(caster));
-                            trigger(caster, target, level);
-
-                            if (event instanceof Cancellable) {
-                                skill.applyCancelled((Cancellable) event);
-                            }
-                            trigger.postProcess(event, skill);
-                        });
+        TriggerQueue.submit(caster.getEntityId(), this, interval, () -> {
+            if (DynamicTriggerEvent.getHandlerList().getRegisteredListeners().length > 0) {
+                Bukkit.getPluginManager()
+                        .callEvent(new DynamicTriggerEvent(caster, this.skill, event, trigger.getKey()));
+            }
+
+            final LivingEntity target = trigger.getTarget(event, component.settings);
+            final CastData     data   = DynamicSkill.getCastData(caster);
+            data.beginCast();
+            try {
+                trigger.setValues(event, data);
+                trigger(caster, target, level);
+            } finally {
+                data.endCast();
+            }
+
+            if (event instanceof Cancellable) {
+                skill.applyCancelled((Cancellable) event);
+            }
+            trigger.postProcess(event, skill);
+        });
     }
 
     boolean trigger(final LivingEntity user, final LivingEntity target, final int level) {
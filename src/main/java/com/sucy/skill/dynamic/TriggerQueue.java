@@ -0,0 +1,170 @@
+package com.sucy.skill.dynamic;
+
+import com.sucy.skill.log.Logger;
+
+import java.util.ArrayList;
+import java.util.Iterator;
+import java.util.List;
+import java.util.Map;
+import java.util.Queue;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentLinkedQueue;
+
+/**
+ * ProSkillAPI © 2023
+ * com.sucy.skill.dynamic.TriggerQueue
+ * <p>
+ * Collects the triggers that passed their checks and runs them all together once
+ * per server tick, instead of scheduling a separate task for every event.
+ * <p>
+ * Triggers with an interval are coalesced per caster and skill: while one is
+ * waiting, newer events replace it, and it runs at most once every interval ticks.
+ */
+public final class TriggerQueue {
+    private static final int PRUNE_PERIOD = 1200;
+
+    private static final Queue<Object>      queue     = new ConcurrentLinkedQueue<>();
+    private static final Map<Key, Runnable> coalesced = new ConcurrentHashMap<>();
+    private static final Map<Key, Long>     lastRun   = new ConcurrentHashMap<>();
+
+    private static long tick;
+    private static int  maxInterval;
+
+    private TriggerQueue() {
+    }
+
+    /**
+     * Queues a trigger to run on the next drain
+     *
+     * @param invocation trigger to run
+     */
+    static void submit(final Runnable invocation) {
+        queue.add(invocation);
+    }
+
+    /**
+     * Queues a trigger that is coalesced with others for the same caster and handler
+     *
+     * @param casterId   entity ID of the caster
+     * @param handler    handler the trigger belongs to
+     * @param interval   minimum ticks between runs
+     * @param invocation trigger to run
+     */
+    static void submit(final int casterId, final TriggerHandler handler, final int interval, final Runnable invocation) {
+        if (interval <= 0) {
+            submit(invocation);
+            return;
+        }
+
+        final Key key = new Key(casterId, handler, interval);
+        if (coalesced.put(key, invocation) == null) {
+            queue.add(key);
+        }
+    }
+
+    /**
+     * Runs every queued trigger that is due. Must be called on the server thread
+     * once per tick. Triggers submitted while draining, such as by the triggers
+     * being run, wait for the next drain.
+     *
+     * @return number of triggers run
+     */
+    public static int drain() {
+        tick++;
+
+        int          count    = 0;
+        int          pending  = queue.size();
+        List<Object> deferred = null;
+        for (int i = 0; i < pending; i++) {
+            final Object next = queue.poll();
+            if (next == null) break;
+
+            Runnable invocation;
+            if (next instanceof Key) {
+                final Key  key  = (Key) next;
+                final Long last = lastRun.get(key);
+                if (last != null && tick - last < key.interval) {
+                    if (deferred == null) deferred = new ArrayList<>();
+                    deferred.add(key);
+                    continue;
+                }
+
+                invocation = coalesced.remove(key);
+                if (invocation == null) continue;
+                lastRun.put(key, tick);
+                maxInterval = Math.max(maxInterval, key.interval);
+            } else {
+                invocation = (Runnable) next;
+            }
+
+            try {
+                invocation.run();
+            } catch (Exception ex) {
+                Logger.bug("Failed to run a skill trigger - " + ex.getMessage());
+                ex.printStackTrace();
+            }
+            count++;
+        }
+
+        if (deferred != null) {
+            queue.addAll(deferred);
+        }
+        if (tick % PRUNE_PERIOD == 0) {
+            prune();
+        }
+        return count;
+    }
+
+    /**
+     * Forgets when triggers last ran once that no longer limits them
+     */
+    private static void prune() {
+        final Iterator<Map.Entry<Key, Long>> iterator = lastRun.entrySet().iterator();
+        while (iterator.hasNext()) {
+            if (tick - iterator.next().getValue() >= maxInterval) {
+                iterator.remove();
+            }
+        }
+    }
+
+    /**
+     * @return approximate number of triggers waiting to run
+     */
+    public static int size() {
+        return queue.size();
+    }
+
+    /**
+     * Discards all queued triggers
+     */
+    public static void clear() {
+        queue.clear();
+        coalesced.clear();
+        lastRun.clear();
+    }
+
+    private static class Key {
+        private final int            casterId;
+        private final TriggerHandler handler;
+        private final int            interval;
+
+        private Key(final int casterId, final TriggerHandler handler, final int interval) {
+            this.casterId = casterId;
+            this.handler = handler;
+            this.interval = interval;
+        }
+
+        @Override
+        public boolean equals(final Object o) {
+            if (this == o) return true;
+            if (!(o instanceof Key)) return false;
+            final Key key = (Key) o;
+            return casterId == key.casterId && handler == key.handler;
+        }
+
+        @Override
+        public int hashCode() {
+            return 31 * casterId + System.identityHashCode(handler);
+        }
+    }
+}
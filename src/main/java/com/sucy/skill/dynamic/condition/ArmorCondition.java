@@ -41,6 +41,7 @@ public class ArmorCondition extends ConditionComponent {
     private static final String ARMOR = "armor";
 
     private List<Function<EntityEquipment, ItemStack>> getters;
+    private ItemChecker.Filter                         filter;
 
     @Override
     public String getKey() {
@@ -53,6 +54,12 @@ public class ArmorCondition extends ConditionComponent {
         getters = determineGetters();
     }
 
+    @Override
+    protected void compile() {
+        super.compile();
+        filter = ItemChecker.compile(settings);
+    }
+
     private List<Function<EntityEquipment, ItemStack>> determineGetters() {
         final String type = settings.getString(ARMOR).toLowerCase();
         switch (type) {
@@ -77,6 +84,6 @@ public class ArmorCondition extends ConditionComponent {
     boolean test(final LivingEntity caster, final int level, final LivingEntity target) {
         final EntityEquipment equipment = target.getEquipment();
         return equipment != null && getters.stream().anyMatch(
-                getter -> ItemChecker.check(getter.apply(equipment), level, settings));
+                getter -> filter.matches(getter.apply(equipment)));
     }
 }
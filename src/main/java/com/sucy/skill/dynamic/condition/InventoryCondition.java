@@ -34,9 +34,17 @@ import org.bukkit.entity.Player;
  * A condition for dynamic skills that requires the target to have a specified item
  */
 public class InventoryCondition extends ConditionComponent {
+    private ItemChecker.Filter filter;
+
+    @Override
+    protected void compile() {
+        super.compile();
+        filter = ItemChecker.compile(settings);
+    }
+
     @Override
     boolean test(final LivingEntity caster, final int level, final LivingEntity target) {
-        return target instanceof Player && ItemChecker.check((Player) target, level, this, false);
+        return target instanceof Player && ItemChecker.check((Player) target, level, this, filter, false);
     }
 
     @Override
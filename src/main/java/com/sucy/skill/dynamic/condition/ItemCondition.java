@@ -33,12 +33,17 @@ import org.bukkit.entity.LivingEntity;
  * A condition for dynamic skills that requires the target to have a specified held item
  */
 public class ItemCondition extends ConditionComponent {
+    private ItemChecker.Filter filter;
+
+    @Override
+    protected void compile() {
+        super.compile();
+        filter = ItemChecker.compile(settings);
+    }
+
     @Override
     boolean test(final LivingEntity caster, final int level, final LivingEntity target) {
-        return target.getEquipment() != null && ItemChecker.check(
-                target.getEquipment().getItemInHand(),
-                level,
-                settings);
+        return target.getEquipment() != null && filter.matches(target.getEquipment().getItemInHand());
     }
 
     @Override
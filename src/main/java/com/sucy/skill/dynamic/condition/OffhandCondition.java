@@ -34,10 +34,18 @@ import org.bukkit.inventory.EntityEquipment;
  * Item condition for a player's off hand
  */
 public class OffhandCondition extends ConditionComponent {
+    private ItemChecker.Filter filter;
+
+    @Override
+    protected void compile() {
+        super.compile();
+        filter = ItemChecker.compile(settings);
+    }
+
     @Override
     boolean test(final LivingEntity caster, final int level, final LivingEntity target) {
         final EntityEquipment equipment = target.getEquipment();
-        return equipment != null && ItemChecker.check(target.getEquipment().getItemInOffHand(), level, settings);
+        return equipment != null && filter.matches(equipment.getItemInOffHand());
     }
 
     @Override
@@ -34,13 +34,21 @@ import org.bukkit.inventory.PlayerInventory;
 public class SlotCondition extends ConditionComponent {
     private static final String SLOT = "slot";
 
+    private ItemChecker.Filter filter;
+
+    @Override
+    protected void compile() {
+        super.compile();
+        filter = ItemChecker.compile(settings);
+    }
+
     @Override
     boolean test(final LivingEntity caster, final int level, final LivingEntity target) {
         if (!(target instanceof Player)) return false;
 
         final PlayerInventory inventory = ((Player) target).getInventory();
         return settings.getStringList(SLOT).stream().anyMatch(
-                slot -> ItemChecker.check(inventory.getItem(Integer.parseInt(slot)), level, settings));
+                slot -> filter.matches(inventory.getItem(Integer.parseInt(slot))));
     }
 
     @Override
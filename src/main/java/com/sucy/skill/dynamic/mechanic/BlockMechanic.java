@@ -27,7 +27,6 @@
 package com.sucy.skill.dynamic.mechanic;
 
 import com.sucy.skill.SkillAPI;
-import com.sucy.skill.api.particle.ParticleHelper;
 import org.bukkit.Location;
 import org.bukkit.Material;
 import org.bukkit.World;
@@ -259,14 +258,10 @@ public class BlockMechanic extends MechanicComponent {
                 public void run() {
                     if (preview.getBool("per-target-center-only", true))
                         for (LivingEntity t : targetSupplier.get())
-                            ParticleHelper.play(getLocation(caster, level, t),
-                                    preview,
-                                    Set.of(caster),
-                                    "per-target-",
-                                    null);
+                            getPerTargetPreview().play(getLocation(caster, level, t), Set.of(caster), null);
                     else
                         for (Block block : getAffectedBlocks(caster, level, targetSupplier.get()))
-                            ParticleHelper.play(block.getLocation(), preview, Set.of(caster), "per-target-",
+                            getPerTargetPreview().play(block.getLocation(), Set.of(caster),
                                     preview.getBool("per-target-" + "hitbox") ? block.getBoundingBox() : null
                             );
                 }
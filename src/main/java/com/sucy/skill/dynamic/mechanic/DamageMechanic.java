@@ -30,7 +30,6 @@ import org.bukkit.entity.LivingEntity;
 import org.bukkit.event.entity.EntityDamageEvent;
 
 import java.util.List;
-import java.util.Locale;
 
 /**
  * Deals damage to each target
@@ -59,14 +58,16 @@ public class DamageMechanic extends MechanicComponent {
      */
     @Override
     public boolean execute(LivingEntity caster, int level, List<LivingEntity> targets, boolean force) {
-        String  pString        = settings.getString(TYPE, "damage").toLowerCase();
-        boolean percent        = pString.equals("multiplier") || pString.equals("percent");
-        boolean missing        = pString.equals("percent missing");
-        boolean left           = pString.equals("percent left");
+        String  pString        = settings.getString(TYPE, "damage");
+        boolean percent        = pString.equalsIgnoreCase("multiplier") || pString.equalsIgnoreCase("percent");
+        boolean missing        = pString.equalsIgnoreCase("percent missing");
+        boolean left           = pString.equalsIgnoreCase("percent left");
         boolean trueDmg        = settings.getBool(TRUE, false);
         double  damage         = parseValues(caster, DAMAGE, level, 1.0);
         boolean knockback      = settings.getBool(KNOCKBACK, true);
         String  classification = settings.getString(CLASSIFIER, "default");
+        EntityDamageEvent.DamageCause cause =
+                settings.getEnum(CAUSE, EntityDamageEvent.DamageCause.class, EntityDamageEvent.DamageCause.ENTITY_ATTACK);
         if (damage < 0) {
             return false;
         }
@@ -91,9 +92,7 @@ public class DamageMechanic extends MechanicComponent {
                         caster,
                         classification,
                         knockback,
-                        EntityDamageEvent.DamageCause.valueOf(settings.getString(CAUSE, "Entity Attack")
-                                .toUpperCase(Locale.US)
-                                .replace(' ', '_')));
+                        cause);
             }
         }
         return targets.size() > 0;
@@ -227,7 +227,7 @@ public class ItemProjectileMechanic extends MechanicComponent implements Project
                     if (hit == null) hit = new TempEntity(projectile.getLocation());
                     targets.add(hit);
                     if (preview.getBool("per-target")) {
-                        ParticleHelper.play(hit.getLocation(), preview, Set.of(caster), "per-target-",
+                        getPerTargetPreview().play(hit.getLocation(), Set.of(caster),
                                 preview.getBool("per-target-" + "hitbox") ? hit.getBoundingBox() : null);
                     }
                 };
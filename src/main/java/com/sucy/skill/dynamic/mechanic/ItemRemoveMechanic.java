@@ -36,11 +36,19 @@ import java.util.List;
  * Removes an item to from each player target
  */
 public class ItemRemoveMechanic extends MechanicComponent {
+    private ItemChecker.Filter filter;
+
     @Override
     public String getKey() {
         return "item remove";
     }
 
+    @Override
+    protected void compile() {
+        super.compile();
+        filter = ItemChecker.compile(settings);
+    }
+
     /**
      * Executes the component
      *
@@ -56,7 +64,7 @@ public class ItemRemoveMechanic extends MechanicComponent {
         for (LivingEntity target : targets) {
             if (target instanceof Player) {
                 players = true;
-                ItemChecker.check((Player) target, level, this, true);
+                ItemChecker.check((Player) target, level, this, filter, true);
             }
         }
         return players;
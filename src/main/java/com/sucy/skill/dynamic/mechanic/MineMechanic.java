@@ -28,7 +28,6 @@ package com.sucy.skill.dynamic.mechanic;
 
 
 import com.sucy.skill.SkillAPI;
-import com.sucy.skill.api.particle.ParticleHelper;
 import org.bukkit.Location;
 import org.bukkit.Material;
 import org.bukkit.World;
@@ -241,16 +240,12 @@ public class MineMechanic extends MechanicComponent {
                 public void run() {
                     if (preview.getBool("per-target-center-only", true))
                         for (LivingEntity t : targetSupplier.get())
-                            ParticleHelper.play(getLocation(caster, level, t),
-                                    preview,
-                                    Set.of(caster),
-                                    "per-target-",
-                                    null);
+                            getPerTargetPreview().play(getLocation(caster, level, t), Set.of(caster), null);
                     else {
                         Map<LivingEntity, List<Block>> blockMap = getAffectedBlocks(caster, level, targetSupplier.get());
                         for (List<Block> blocks : blockMap.values()) {
                             for (Block block : blocks) {
-                                ParticleHelper.play(block.getLocation(), preview, Set.of(caster), "per-target-",
+                                getPerTargetPreview().play(block.getLocation(), Set.of(caster),
                                         preview.getBool("per-target-" + "hitbox") ? block.getBoundingBox() : null
                                 );
                             }
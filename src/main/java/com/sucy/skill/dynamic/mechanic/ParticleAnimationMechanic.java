@@ -29,6 +29,7 @@ package com.sucy.skill.dynamic.mechanic;
 import com.sucy.skill.SkillAPI;
 import com.sucy.skill.api.Settings;
 import com.sucy.skill.api.particle.ParticleHelper;
+import com.sucy.skill.api.particle.ParticleTemplate;
 import org.bukkit.Location;
 import org.bukkit.entity.LivingEntity;
 import org.bukkit.scheduler.BukkitRunnable;
@@ -105,14 +106,15 @@ public class ParticleAnimationMechanic extends MechanicComponent {
         private final double   ht;
         private final double   vt;
         private final double   cos;
-        private final Settings settings;
         private final double   sin;
         private       int      life;
         private       boolean  withRotation = false;
 
+        private final ParticleTemplate template;
+
         ParticleTask(LivingEntity caster, List<LivingEntity> targets, int level, Settings settings) {
             this.targets = targets;
-            this.settings = settings;
+            this.template = ParticleTemplate.compile(settings, "");
 
             this.forward = getNum(caster, FORWARD, 0);
             this.upward = getNum(caster, UPWARD, 0);
@@ -168,7 +170,7 @@ public class ParticleAnimationMechanic extends MechanicComponent {
                         rotate(offset, targetCos, targetSin);
 
                         loc.add(offset);
-                        ParticleHelper.play(loc, settings);
+                        template.play(loc);
                         loc.subtract(offset);
 
                         targetCos = Math.cos(Math.toRadians(-targetAngle));
@@ -177,7 +179,7 @@ public class ParticleAnimationMechanic extends MechanicComponent {
                     } else {
                         rotate(offset, Math.cos(Math.toRadians(rots[j])), Math.sin(Math.toRadians(rots[j])));
                         loc.add(offset);
-                        ParticleHelper.play(loc, settings);
+                        template.play(loc);
                         loc.subtract(offset);
 
                         rotate(offset, Math.cos(Math.toRadians(-rots[j])), Math.sin(Math.toRadians(-rots[j])));
@@ -28,6 +28,7 @@ package com.sucy.skill.dynamic.mechanic;
 
 import com.sucy.skill.api.Settings;
 import com.sucy.skill.api.particle.ParticleHelper;
+import com.sucy.skill.api.particle.ParticleTemplate;
 import org.bukkit.Location;
 import org.bukkit.entity.LivingEntity;
 import org.bukkit.util.Vector;
@@ -44,11 +45,19 @@ public class ParticleMechanic extends MechanicComponent {
     private static final String UPWARD  = "upward";
     private static final String RIGHT   = "right";
 
+    private ParticleTemplate template;
+
     @Override
     public String getKey() {
         return "particle";
     }
 
+    @Override
+    protected void compile() {
+        super.compile();
+        template = null;
+    }
+
     /**
      * Executes the component
      *
@@ -68,10 +77,12 @@ public class ParticleMechanic extends MechanicComponent {
         double upward  = settings.getDouble(UPWARD, 0);
         double right   = settings.getDouble(RIGHT, 0);
 
-        final Settings copy = new Settings(settings);
-        copy.set(ParticleHelper.POINTS_KEY, parseValues(caster, ParticleHelper.POINTS_KEY, level, 1), 0);
-        copy.set(ParticleHelper.RADIUS_KEY, parseValues(caster, ParticleHelper.RADIUS_KEY, level, 0), 0);
-        copy.set("level", level);
+        final int    points = (int) parseValues(caster, ParticleHelper.POINTS_KEY, level, 1);
+        final double radius = parseValues(caster, ParticleHelper.RADIUS_KEY, level, 0);
+        if (template == null) {
+            // Reading fills in missing settings, so read from a copy to keep the defaults above
+            template = ParticleTemplate.compile(new Settings(settings), "");
+        }
 
         for (LivingEntity target : targets) {
             Location loc  = target.getLocation();
@@ -79,7 +90,7 @@ public class ParticleMechanic extends MechanicComponent {
             Vector   side = dir.clone().crossProduct(UP);
             loc.add(dir.multiply(forward)).add(0, upward, 0).add(side.multiply(right));
 
-            ParticleHelper.play(loc, copy);
+            template.play(loc, points, radius, null, null);
         }
 
         return targets.size() > 0;
@@ -214,7 +214,7 @@ public class ParticleProjectileMechanic extends MechanicComponent implements Pro
                     if (hit == null) hit = new TempEntity(projectile.getLocation());
                     targets.add(hit);
                     if (preview.getBool("per-target")) {
-                        ParticleHelper.play(hit.getLocation(), preview, Set.of(caster), "per-target-",
+                        getPerTargetPreview().play(hit.getLocation(), Set.of(caster),
                                 preview.getBool("per-target-" + "hitbox") ? hit.getBoundingBox() : null);
                     }
                 };
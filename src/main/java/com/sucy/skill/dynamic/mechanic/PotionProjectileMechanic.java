@@ -31,6 +31,7 @@ import com.sucy.skill.api.Settings;
 import com.sucy.skill.api.particle.EffectPlayer;
 import com.sucy.skill.api.particle.ParticleHelper;
 import com.sucy.skill.api.particle.ParticleSettings;
+import com.sucy.skill.api.particle.ParticleTemplate;
 import com.sucy.skill.api.particle.target.EntityTarget;
 import com.sucy.skill.api.projectile.CustomProjectile;
 import com.sucy.skill.api.projectile.ParticleProjectile;
@@ -243,7 +244,8 @@ public class PotionProjectileMechanic extends MechanicComponent {
             });
         }
 
-        new RepeatingEntityTask<>(projectiles, proj -> ParticleHelper.play(proj.getLocation(), settings));
+        final ParticleTemplate template = ParticleTemplate.compile(settings, "");
+        new RepeatingEntityTask<>(projectiles, proj -> template.play(proj.getLocation()));
         new RemoveTask(projectiles, (int) parseValues(caster, LIFESPAN, level, 9999) * 20) {
             @Override
             public void run() {
@@ -337,7 +339,7 @@ public class PotionProjectileMechanic extends MechanicComponent {
                     targets.addAll(hitTargets);
                     if (preview.getBool("per-target")) {
                         for (LivingEntity target : hitTargets) {
-                            ParticleHelper.play(target.getLocation(), preview, Set.of(caster), "per-target-",
+                            getPerTargetPreview().play(target.getLocation(), Set.of(caster),
                                     preview.getBool("per-target-" + "hitbox") ? target.getBoundingBox() : null);
                         }
                     }
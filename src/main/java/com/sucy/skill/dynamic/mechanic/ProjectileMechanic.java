@@ -31,6 +31,7 @@ import com.sucy.skill.api.Settings;
 import com.sucy.skill.api.particle.EffectPlayer;
 import com.sucy.skill.api.particle.ParticleHelper;
 import com.sucy.skill.api.particle.ParticleSettings;
+import com.sucy.skill.api.particle.ParticleTemplate;
 import com.sucy.skill.api.particle.target.EntityTarget;
 import com.sucy.skill.api.projectile.CustomProjectile;
 import com.sucy.skill.api.projectile.ParticleProjectile;
@@ -316,7 +317,8 @@ public class ProjectileMechanic extends MechanicComponent {
             });
         }
 
-        new RepeatingEntityTask<>(projectiles, proj -> ParticleHelper.play(proj.getLocation(), settings));
+        final ParticleTemplate template = ParticleTemplate.compile(settings, "");
+        new RepeatingEntityTask<>(projectiles, proj -> template.play(proj.getLocation()));
         new RemoveTask(projectiles, (int) parseValues(caster, LIFESPAN, level, 9999) * 20) {
             @Override
             public void run() {
@@ -417,7 +419,7 @@ public class ProjectileMechanic extends MechanicComponent {
                     if (hit == null) hit = new TempEntity(projectile.getLocation());
                     targets.add(hit);
                     if (preview.getBool("per-target")) {
-                        ParticleHelper.play(hit.getLocation(), preview, Set.of(caster), "per-target-",
+                        getPerTargetPreview().play(hit.getLocation(), Set.of(caster),
                                 preview.getBool("per-target-" + "hitbox") ? hit.getBoundingBox() : null);
                     }
                 };
@@ -33,6 +33,7 @@ import org.bukkit.entity.LivingEntity;
 import org.bukkit.inventory.ItemStack;
 
 import java.util.List;
+import java.util.regex.Pattern;
 
 /**
  * Adds to a cast data value
@@ -44,11 +45,19 @@ public class ValueLoreMechanic extends MechanicComponent {
     private static final String HAND       = "hand";
     private static final String SAVE   = "save";
 
+    private Pattern pattern;
+
     @Override
     public String getKey() {
         return "value lore";
     }
 
+    @Override
+    protected void compile() {
+        super.compile();
+        pattern = ItemChecker.compileLorePattern(settings.getString(REGEX, "Damage: {value}"));
+    }
+
     /**
      * Executes the component
      *
@@ -67,7 +76,6 @@ public class ValueLoreMechanic extends MechanicComponent {
         String  key        = settings.getString(KEY);
         double  multiplier = parseValues(caster, MULTIPLIER, level, 1);
         boolean offhand    = settings.getString(HAND, "").equalsIgnoreCase("offhand");
-        String  regex      = settings.getString(REGEX, "Damage: {value}");
 
         if (caster.getEquipment() == null) {
             return false;
@@ -80,6 +88,6 @@ public class ValueLoreMechanic extends MechanicComponent {
             hand = caster.getEquipment().getItemInHand();
         }
 
-        return ItemChecker.findLore(caster, hand, regex, key, multiplier, settings.getBool(SAVE, false));
+        return ItemChecker.findLore(caster, hand, pattern, key, multiplier, settings.getBool(SAVE, false));
     }
 }
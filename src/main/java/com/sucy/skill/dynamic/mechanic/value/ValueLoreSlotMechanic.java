@@ -33,6 +33,7 @@ import org.bukkit.entity.Player;
 import org.bukkit.inventory.ItemStack;
 
 import java.util.List;
+import java.util.regex.Pattern;
 
 public class ValueLoreSlotMechanic extends MechanicComponent {
     private static final String KEY        = "key";
@@ -41,11 +42,19 @@ public class ValueLoreSlotMechanic extends MechanicComponent {
     private static final String SLOT       = "slot";
     private static final String SAVE   = "save";
 
+    private Pattern pattern;
+
     @Override
     public String getKey() {
         return "value lore slot";
     }
 
+    @Override
+    protected void compile() {
+        super.compile();
+        pattern = ItemChecker.compileLorePattern(settings.getString(REGEX, "Damage: {value}"));
+    }
+
     /**
      * Executes the component
      *
@@ -64,10 +73,9 @@ public class ValueLoreSlotMechanic extends MechanicComponent {
         String key        = settings.getString(KEY);
         double multiplier = parseValues(caster, MULTIPLIER, level, 1);
         int    slot       = settings.getInt(SLOT);
-        String regex      = settings.getString(REGEX, "Damage: {value}");
 
         ItemStack item = ((Player) caster).getInventory().getItem(slot);
 
-        return ItemChecker.findLore(caster, item, regex, key, multiplier, settings.getBool(SAVE, false));
+        return ItemChecker.findLore(caster, item, pattern, key, multiplier, settings.getBool(SAVE, false));
     }
 }
@@ -27,7 +27,6 @@
 package com.sucy.skill.dynamic.mechanic.warp;
 
 import com.sucy.skill.SkillAPI;
-import com.sucy.skill.api.particle.ParticleHelper;
 import org.bukkit.Bukkit;
 import org.bukkit.Location;
 import org.bukkit.World;
@@ -110,7 +109,7 @@ public class WarpLocMechanic extends AbstractWarpingMechanic {
                 public void run() {
                     Location loc = parseLocation(caster);
                     if (loc == null) return;
-                    ParticleHelper.play(loc, preview, Set.of(caster), "per-target-", null);
+                    getPerTargetPreview().play(loc, Set.of(caster), null);
                 }
             }.runTaskTimer(SkillAPI.inst(), 0, Math.max(1, preview.getInt("per-target-" + "period", 5)));
             onPreviewStop.add(task::cancel);
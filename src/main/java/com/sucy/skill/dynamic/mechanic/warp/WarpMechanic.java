@@ -27,7 +27,6 @@
 package com.sucy.skill.dynamic.mechanic.warp;
 
 import com.sucy.skill.SkillAPI;
-import com.sucy.skill.api.particle.ParticleHelper;
 import com.sucy.skill.api.target.TargetHelper;
 import org.bukkit.Location;
 import org.bukkit.block.BlockFace;
@@ -106,7 +105,7 @@ public class WarpMechanic extends AbstractWarpingMechanic {
                 @Override
                 public void run() {
                     for (LivingEntity target : targetSupplier.get()) {
-                        ParticleHelper.play(getLocation(caster, level, target), preview, Set.of(caster), "per-target-",
+                        getPerTargetPreview().play(getLocation(caster, level, target), Set.of(caster),
                                 preview.getBool("per-target-" + "hitbox") ? target.getBoundingBox() : null
                         );
                     }
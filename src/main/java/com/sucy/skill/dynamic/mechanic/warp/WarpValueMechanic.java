@@ -28,7 +28,6 @@ package com.sucy.skill.dynamic.mechanic.warp;
 
 import com.sucy.skill.SkillAPI;
 import com.sucy.skill.api.CastData;
-import com.sucy.skill.api.particle.ParticleHelper;
 import com.sucy.skill.dynamic.DynamicSkill;
 import org.bukkit.Location;
 import org.bukkit.entity.LivingEntity;
@@ -95,7 +94,7 @@ public class WarpValueMechanic extends AbstractWarpingMechanic {
                 public void run() {
                     Location loc = parseLocation(caster);
                     if (loc == null) return;
-                    ParticleHelper.play(loc, preview, Set.of(caster), "per-target-", null);
+                    getPerTargetPreview().play(loc, Set.of(caster), null);
                 }
             }.runTaskTimer(SkillAPI.inst(), 0, Math.max(1, preview.getInt("per-target-" + "period", 5)));
             onPreviewStop.add(task::cancel);
@@ -28,7 +28,7 @@ package com.sucy.skill.dynamic.target;
 
 import com.sucy.skill.SkillAPI;
 import com.sucy.skill.api.particle.ParticleSettings;
-import com.sucy.skill.api.util.Nearby;
+import com.sucy.skill.api.util.EntityIndex;
 import org.bukkit.GameMode;
 import org.bukkit.Location;
 import org.bukkit.entity.LivingEntity;
@@ -38,7 +38,6 @@ import org.bukkit.scheduler.BukkitTask;
 import org.bukkit.util.Vector;
 
 import java.util.ArrayList;
-import java.util.Comparator;
 import java.util.List;
 import java.util.function.Supplier;
 
@@ -59,16 +58,12 @@ public class NearestTarget extends TargetComponent {
         final double             radius = parseValues(caster, RADIUS, level, 3.0);
         final List<LivingEntity> result = new ArrayList<>();
         for (LivingEntity target : targets) {
-            final Comparator<LivingEntity> comparator = new DistanceComparator(target.getLocation());
-            Nearby.getLivingNearby(target, radius).stream()
-                    .min(comparator)
-                    .ifPresent(e -> {
-                        GameMode gm = e instanceof Player ? ((Player) e).getGameMode() : GameMode.SURVIVAL;
-                        if (gm == GameMode.SPECTATOR || gm == GameMode.CREATIVE) return;
-
-                        result.add(e);
-                    });
+            for (LivingEntity e : EntityIndex.getNearest(target, target.getLocation(), radius, 1)) {
+                GameMode gm = e instanceof Player ? ((Player) e).getGameMode() : GameMode.SURVIVAL;
+                if (gm == GameMode.SPECTATOR || gm == GameMode.CREATIVE) continue;
 
+                result.add(e);
+            }
         }
         return result;
     }
@@ -146,17 +141,4 @@ public class NearestTarget extends TargetComponent {
     public String getKey() {
         return "nearest";
     }
-
-    private static class DistanceComparator implements Comparator<LivingEntity> {
-        private Location loc;
-
-        private DistanceComparator(final Location loc) {
-            this.loc = loc;
-        }
-
-        @Override
-        public int compare(final LivingEntity o1, final LivingEntity o2) {
-            return Double.compare(o1.getLocation().distanceSquared(loc), o2.getLocation().distanceSquared(loc));
-        }
-    }
 }
@@ -1,18 +1,21 @@
 package com.sucy.skill.dynamic.target;
 
 import com.sucy.skill.SkillAPI;
+import com.sucy.skill.api.target.LineOfSight;
 import com.sucy.skill.api.target.TargetHelper;
+import com.sucy.skill.api.util.EntityMeta;
 import com.sucy.skill.dynamic.ComponentType;
 import com.sucy.skill.dynamic.DynamicSkill;
 import com.sucy.skill.dynamic.EffectComponent;
 import com.sucy.skill.dynamic.TempEntity;
-import com.sucy.skill.listener.MechanicListener;
 import mc.promcteam.engine.mccore.config.parse.DataSection;
 import org.bukkit.GameMode;
+import org.bukkit.Location;
 import org.bukkit.entity.LivingEntity;
 import org.bukkit.entity.Player;
 
 import java.util.ArrayList;
+import java.util.Iterator;
 import java.util.List;
 import java.util.Locale;
 import java.util.function.Function;
@@ -33,6 +36,7 @@ public abstract class TargetComponent extends EffectComponent {
     boolean       everyone;
     boolean       allies;
     boolean       throughWall;
+    boolean       cachedSight;
     boolean       invulnerable;
     IncludeCaster self;
 
@@ -63,7 +67,9 @@ public abstract class TargetComponent extends EffectComponent {
         final String group = settings.getString(ALLY, "enemy").toLowerCase();
         everyone = group.equals("both");
         allies = group.equals("ally");
-        throughWall = settings.getString(WALL, "false").equalsIgnoreCase("true");
+        final String wall = settings.getString(WALL, "false").toLowerCase();
+        throughWall = wall.equals("true");
+        cachedSight = wall.equals("cached");
         invulnerable = settings.getString(INVULNERABLE, "false").equalsIgnoreCase("true");
         self = IncludeCaster.valueOf(settings.getString(CASTER, "false").toUpperCase(Locale.US).replace(' ', '_'));
     }
@@ -90,18 +96,37 @@ public abstract class TargetComponent extends EffectComponent {
                                         final List<LivingEntity> from,
                                         final Function<LivingEntity, List<LivingEntity>> conversion) {
 
-        final double max = parseValues(caster, MAX, level, 99);
+        final int limit = (int) Math.ceil(parseValues(caster, MAX, level, 99));
 
         final List<LivingEntity> list = new ArrayList<>();
         from.forEach(target -> {
-            final List<LivingEntity> found = conversion.apply(target);
-            int                      count = 0;
-            for (LivingEntity entity : found) {
-                if (count >= max) break;
-                if (isValidTarget(caster, target, entity) || (self.equals(IncludeCaster.IN_AREA) && caster == entity)) {
-                    list.add(entity);
-                    count++;
+            // Candidates are checked in order, only as many at a time as targets are still needed,
+            // so walls and protection aren't checked for candidates past the max
+            final Iterator<LivingEntity> candidates = conversion.apply(target).iterator();
+            int                          count      = 0;
+            while (count < limit && candidates.hasNext()) {
+                List<LivingEntity> valid = new ArrayList<>(limit - count);
+                for (int i = count; i < limit && candidates.hasNext(); i++) {
+                    final LivingEntity entity = candidates.next();
+                    if (isTargetable(caster, entity) || (self.equals(IncludeCaster.IN_AREA) && caster == entity)) {
+                        valid.add(entity);
+                    }
                 }
+                if (!everyone) {
+                    valid = retain(caster, valid, checked -> {
+                        final boolean[] related = SkillAPI.getSettings().canAttack(caster, checked);
+                        for (int i = 0; i < related.length; i++) {
+                            related[i] = related[i] != allies;
+                        }
+                        return related;
+                    });
+                }
+                // Walls are checked last so the ray is only cast for candidates that would be kept
+                if (!throughWall) {
+                    valid = retain(caster, valid, checked -> getVisible(target, checked));
+                }
+                list.addAll(valid);
+                count += valid.size();
             }
         });
         if (self.equals(IncludeCaster.TRUE)) list.add(caster);
@@ -109,15 +134,69 @@ public abstract class TargetComponent extends EffectComponent {
     }
 
     boolean isValidTarget(final LivingEntity caster, final LivingEntity from, final LivingEntity target) {
-        if (SkillAPI.getMeta(target, MechanicListener.ARMOR_STAND) != null) return false;
+        if (!isTargetable(caster, target)) return false;
+        if (target instanceof TempEntity) return true;
+
+        return (everyone || allies == SkillAPI.getSettings().isAlly(caster, target))
+                && (throughWall || getVisible(from, List.of(target))[0]);
+    }
+
+    /**
+     * Checks everything about a target other than walls and whether it is an ally
+     */
+    private boolean isTargetable(final LivingEntity caster, final LivingEntity target) {
+        if (EntityMeta.isArmorStand(target)) return false;
         if (target instanceof TempEntity) return true;
         if (target.isInvulnerable() && !invulnerable) return false;
         if (target instanceof Player && (((Player) target).getGameMode() == GameMode.SPECTATOR
                 || ((Player) target).getGameMode() == GameMode.CREATIVE)) return false;
 
-        return target != caster && SkillAPI.getSettings().isValidTarget(target) && (throughWall
-                || !TargetHelper.isObstructed(from.getEyeLocation(), target.getEyeLocation()))
-                && (everyone || allies == SkillAPI.getSettings().isAlly(caster, target));
+        return target != caster && SkillAPI.getSettings().isValidTarget(target);
+    }
+
+    /**
+     * Checks which targets can be seen from an entity's eyes
+     */
+    private boolean[] getVisible(final LivingEntity from, final List<LivingEntity> targets) {
+        final Location  eye     = from.getEyeLocation();
+        final boolean[] visible = new boolean[targets.size()];
+        if (cachedSight) {
+            final List<Location> eyes = new ArrayList<>(targets.size());
+            targets.forEach(target -> eyes.add(target.getEyeLocation()));
+            final boolean[] obstructed = LineOfSight.getObstructed(eye, eyes);
+            for (int i = 0; i < visible.length; i++) {
+                visible[i] = !obstructed[i];
+            }
+        } else {
+            for (int i = 0; i < visible.length; i++) {
+                visible[i] = !TargetHelper.isObstructed(eye, targets.get(i).getEyeLocation());
+            }
+        }
+        return visible;
+    }
+
+    /**
+     * Runs a check on every target except the caster and temporary targets,
+     * which are never filtered out by walls or allegiance
+     *
+     * @return the targets that passed, in their original order
+     */
+    private List<LivingEntity> retain(final LivingEntity caster,
+                                      final List<LivingEntity> targets,
+                                      final Function<List<LivingEntity>, boolean[]> check) {
+        final List<LivingEntity> checked = new ArrayList<>(targets.size());
+        for (LivingEntity target : targets) {
+            if (target != caster && !(target instanceof TempEntity)) checked.add(target);
+        }
+        if (checked.isEmpty()) return targets;
+
+        final boolean[]          passed = check.apply(checked);
+        final List<LivingEntity> result = new ArrayList<>(targets.size());
+        int                      index  = 0;
+        for (LivingEntity target : targets) {
+            if (target == caster || target instanceof TempEntity || passed[index++]) result.add(target);
+        }
+        return result;
     }
 
     public enum IncludeCaster {
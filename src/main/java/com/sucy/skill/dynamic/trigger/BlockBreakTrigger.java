@@ -46,8 +46,8 @@ public class BlockBreakTrigger implements Trigger<BlockBreakEvent> {
      */
     @Override
     public void setValues(final BlockBreakEvent event, final CastData data) {
-        data.put("api-block-type", event.getBlock().getType().name());
-        data.put("api-block-loc", event.getBlock().getLocation());
+        data.put("api-block-type", event.getBlock().getType().name(), CastData.Scope.CAST);
+        data.put("api-block-loc", event.getBlock().getLocation(), CastData.Scope.CAST);
     }
 
     /**
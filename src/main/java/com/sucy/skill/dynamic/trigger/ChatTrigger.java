@@ -52,7 +52,7 @@ public class ChatTrigger implements Trigger<AsyncPlayerChatEvent> {
      */
     @Override
     public void setValues(final AsyncPlayerChatEvent event, final CastData data) {
-        data.put("api-message", event.getMessage());
+        data.put("api-message", event.getMessage(), CastData.Scope.CAST);
     }
 
     /**
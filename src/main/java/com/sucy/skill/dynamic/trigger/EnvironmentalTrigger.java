@@ -45,7 +45,7 @@ public class EnvironmentalTrigger implements Trigger<EntityDamageEvent> {
      */
     @Override
     public void setValues(final EntityDamageEvent event, final CastData data) {
-        data.put("api-taken", event.getDamage());
+        data.put("api-taken", event.getDamage(), CastData.Scope.CAST);
     }
 
     /**
@@ -35,7 +35,7 @@ public class HealTrigger implements Trigger<EntityRegainHealthEvent> {
      */
     @Override
     public void setValues(EntityRegainHealthEvent event, CastData data) {
-        data.put("api-heal", event.getAmount());
+        data.put("api-heal", event.getAmount(), CastData.Scope.CAST);
     }
 
     /**
@@ -43,7 +43,7 @@ public class LandTrigger implements Trigger<PlayerLandEvent> {
      */
     @Override
     public void setValues(final PlayerLandEvent event, final CastData data) {
-        data.put("api-distance", event.getDistance());
+        data.put("api-distance", event.getDistance(), CastData.Scope.CAST);
     }
 
     /**
@@ -43,7 +43,7 @@ public class LaunchTrigger implements Trigger<ProjectileLaunchEvent> {
      */
     @Override
     public void setValues(final ProjectileLaunchEvent event, final CastData data) {
-        data.put("api-velocity", event.getEntity().getVelocity().length());
+        data.put("api-velocity", event.getEntity().getVelocity().length(), CastData.Scope.CAST);
     }
 
     /**
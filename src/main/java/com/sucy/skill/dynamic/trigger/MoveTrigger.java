@@ -43,7 +43,7 @@ public class MoveTrigger implements Trigger<PlayerMoveEvent> {
     @Override
     public void setValues(final PlayerMoveEvent event, final CastData data) {
         final double distance = event.getTo().distance(event.getFrom());
-        data.put("api-distance", distance);
+        data.put("api-distance", distance, CastData.Scope.CAST);
     }
 
     /**
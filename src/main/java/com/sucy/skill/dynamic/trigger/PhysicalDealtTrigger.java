@@ -42,6 +42,6 @@ public class PhysicalDealtTrigger extends PhysicalTrigger {
      */
     @Override
     public void setValues(final PhysicalDamageEvent event, final CastData data) {
-        data.put("api-dealt", event.getDamage());
+        data.put("api-dealt", event.getDamage(), CastData.Scope.CAST);
     }
 }
@@ -42,6 +42,6 @@ public class PhysicalTakenTrigger extends PhysicalTrigger {
      */
     @Override
     public void setValues(final PhysicalDamageEvent event, final CastData data) {
-        data.put("api-taken", event.getDamage());
+        data.put("api-taken", event.getDamage(), CastData.Scope.CAST);
     }
 }
@@ -40,7 +40,7 @@ public class ShieldTrigger implements Trigger<PlayerBlockDamageEvent> {
      */
     @Override
     public void setValues(PlayerBlockDamageEvent event, final CastData data) {
-        data.put("api-blocked", event.getDamage());
+        data.put("api-blocked", event.getDamage(), CastData.Scope.CAST);
     }
 
     /**
@@ -43,8 +43,8 @@ public class SignalTrigger implements Trigger<SignalEmitEvent> {
         List<Object> arguments = event.getArguments();
         for (int i = 0; i < arguments.size(); i++) {
             Object arg = arguments.get(i);
-            if (i == 0) data.put("api-arg", arg);
-            data.put(String.format("api-arg[%d]", i), arg);
+            if (i == 0) data.put("api-arg", arg, CastData.Scope.CAST);
+            data.put(String.format("api-arg[%d]", i), arg, CastData.Scope.CAST);
         }
     }
 
@@ -72,8 +72,8 @@ public class SkillCastTrigger implements Trigger<PlayerCastSkillEvent> {
      */
     @Override
     public void setValues(final PlayerCastSkillEvent event, final CastData data) {
-        data.put("api-skill", event.getSkill().getData().getName());
-        data.put("api-mana", event.getManaCost());
+        data.put("api-skill", event.getSkill().getData().getName(), CastData.Scope.CAST);
+        data.put("api-mana", event.getManaCost(), CastData.Scope.CAST);
     }
 
     /**
@@ -42,6 +42,6 @@ public class SkillDealtTrigger extends SkillTrigger {
      */
     @Override
     public void setValues(final SkillDamageEvent event, final CastData data) {
-        data.put("api-dealt", event.getDamage());
+        data.put("api-dealt", event.getDamage(), CastData.Scope.CAST);
     }
 }
@@ -42,6 +42,6 @@ public class SkillTakenTrigger extends SkillTrigger {
      */
     @Override
     public void setValues(final SkillDamageEvent event, final CastData data) {
-        data.put("api-taken", event.getDamage());
+        data.put("api-taken", event.getDamage(), CastData.Scope.CAST);
     }
 }
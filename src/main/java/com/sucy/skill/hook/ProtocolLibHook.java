@@ -1,18 +1,23 @@
 package com.sucy.skill.hook;
 
+import com.comphenix.protocol.PacketType;
 import com.comphenix.protocol.ProtocolLibrary;
 import com.comphenix.protocol.ProtocolManager;
 import com.comphenix.protocol.events.PacketAdapter;
 import com.comphenix.protocol.events.PacketContainer;
+import com.comphenix.protocol.wrappers.WrappedParticle;
 import com.sucy.skill.SkillAPI;
 import org.bukkit.Bukkit;
+import org.bukkit.Particle;
 import org.bukkit.entity.Player;
 
 import java.lang.reflect.InvocationTargetException;
+import java.util.Collection;
 
 public class ProtocolLibHook {
     private final SkillAPI        plugin;
     private final ProtocolManager protocolManager;
+    private       int             completedViewers;
 
     public ProtocolLibHook(SkillAPI plugin) {
         this.plugin = plugin;
@@ -47,4 +52,74 @@ public class ProtocolLibHook {
             }
         }
     }
+
+    /**
+     * Sends a particle at each point to every viewer. Each point's packet is built once
+     * and shared by all viewers, and is sent without going through packet listeners
+     * since it is only a visual. Every packet is built before any is sent, and viewers
+     * are served one at a time, so if this throws, {@link #getCompletedViewers()} tells
+     * how many viewers from the start of the collection already have all their particles.
+     *
+     * @param viewers   players to send the particles to
+     * @param particle  particle type
+     * @param data      extra particle data such as dust options
+     * @param positions coordinates of the points, three values per point
+     * @param count     number of points
+     * @param amount    amount of particles per point
+     * @param dx        random X offset of the particles
+     * @param dy        random Y offset of the particles
+     * @param dz        random Z offset of the particles
+     * @param speed     particle speed
+     * @return number of packets sent
+     */
+    public int sendParticles(Collection<Player> viewers,
+                             Particle particle,
+                             Object data,
+                             double[] positions,
+                             int count,
+                             int amount,
+                             float dx,
+                             float dy,
+                             float dz,
+                             float speed) {
+        completedViewers = 0;
+        WrappedParticle<?> wrapped = WrappedParticle.create(particle, data);
+        PacketContainer[]  packets = new PacketContainer[count];
+        for (int i = 0; i < count; i++) {
+            PacketContainer packet = protocolManager.createPacket(PacketType.Play.Server.WORLD_PARTICLES);
+            packet.getNewParticles().write(0, wrapped);
+            packet.getDoubles()
+                    .write(0, positions[i * 3])
+                    .write(1, positions[i * 3 + 1])
+                    .write(2, positions[i * 3 + 2]);
+            packet.getFloat()
+                    .write(0, dx)
+                    .write(1, dy)
+                    .write(2, dz)
+                    .write(3, speed);
+            packet.getIntegers().write(0, amount);
+            packets[i] = packet;
+        }
+
+        int sent = 0;
+        for (Player viewer : viewers) {
+            for (PacketContainer packet : packets) {
+                try {
+                    protocolManager.sendServerPacket(viewer, packet, false);
+                    sent++;
+                } catch (InvocationTargetException e) {
+                    e.printStackTrace();
+                }
+            }
+            completedViewers++;
+        }
+        return sent;
+    }
+
+    /**
+     * @return number of viewers the last {@link #sendParticles} call finished sending to
+     */
+    public int getCompletedViewers() {
+        return completedViewers;
+    }
 }
@@ -26,10 +26,10 @@
  */
 package com.sucy.skill.listener;
 
-import com.sucy.skill.SkillAPI;
 import com.sucy.skill.api.event.SkillDamageEvent;
 import com.sucy.skill.api.event.TrueDamageEvent;
 import com.sucy.skill.api.particle.EffectManager;
+import com.sucy.skill.api.util.EntityMeta;
 import org.bukkit.entity.LivingEntity;
 import org.bukkit.entity.Player;
 import org.bukkit.event.Cancellable;
@@ -38,8 +38,6 @@ import org.bukkit.event.EventPriority;
 import org.bukkit.event.entity.EntityDeathEvent;
 
 public class DeathListener extends SkillAPIListener {
-    private final String KILLER = "sapiKiller";
-
     /**
      * Launches our own death event for when entities are killed via skills
      *
@@ -61,16 +59,16 @@ public class DeathListener extends SkillAPIListener {
     }
 
     private void handle(final LivingEntity entity, final LivingEntity damager, final double damage) {
-        SkillAPI.setMeta(entity, KILLER, damager);
+        EntityMeta.set(entity, EntityMeta.KILLER, damager);
     }
 
     @EventHandler(priority = EventPriority.MONITOR, ignoreCancelled = true)
     public void onDeath(EntityDeathEvent event) {
         EffectManager.clear(event.getEntity());
-        Object killer = SkillAPI.getMeta(event.getEntity(), KILLER);
+        LivingEntity killer = EntityMeta.get(event.getEntity(), EntityMeta.KILLER);
 
         if (killer != null && event.getEntity().getKiller() == null) {
-            applyDeath(event.getEntity(), (LivingEntity) killer, event.getDroppedExp());
+            applyDeath(event.getEntity(), killer, event.getDroppedExp());
         }
     }
 
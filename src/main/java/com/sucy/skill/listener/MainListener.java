@@ -35,6 +35,7 @@ import com.sucy.skill.api.player.PlayerData;
 import com.sucy.skill.api.skills.Skill;
 import com.sucy.skill.api.util.BuffManager;
 import com.sucy.skill.api.util.Combat;
+import com.sucy.skill.api.util.EntityMeta;
 import com.sucy.skill.api.util.FlagManager;
 import com.sucy.skill.data.Permissions;
 import com.sucy.skill.dynamic.DynamicSkill;
@@ -72,6 +73,13 @@ public class MainListener extends SkillAPIListener {
     private static final List<Consumer<Player>> JOIN_HANDLERS  = new ArrayList<>();
     private static final List<Consumer<Player>> CLEAR_HANDLERS = new ArrayList<>();
 
+    /**
+     * Flag IDs of the immunity to each damage cause, indexed by the cause's ordinal
+     */
+    private static final int[] IMMUNITIES = Arrays.stream(EntityDamageEvent.DamageCause.values())
+            .mapToInt(cause -> FlagManager.id("immune:" + cause.name()))
+            .toArray();
+
     public static void registerJoin(final Consumer<Player> joinHandler) {
         JOIN_HANDLERS.add(joinHandler);
     }
@@ -106,6 +114,7 @@ public class MainListener extends SkillAPIListener {
         BuffManager.clearData(player);
         Combat.clearData(player);
         DynamicSkill.clearCastData(player);
+        EntityMeta.clear(player);
 
         player.setDisplayName(player.getName());
         //We don't really need to reset the health... do we?
@@ -226,6 +235,9 @@ public class MainListener extends SkillAPIListener {
     @EventHandler(priority = EventPriority.MONITOR, ignoreCancelled = true)
     public void onUnload(final ChunkUnloadEvent event) {
         for (final Entity entity : event.getChunk().getEntities()) {
+            if (!(entity instanceof Player)) {
+                EntityMeta.clear(entity);
+            }
             if (entity instanceof LivingEntity && !(entity instanceof Player)) {
                 final LivingEntity livingEntity = (LivingEntity) entity;
                 DynamicSkill.clearCastData(livingEntity);
@@ -336,7 +348,7 @@ public class MainListener extends SkillAPIListener {
     @EventHandler(ignoreCancelled = true)
     public void onDamage(EntityDamageEvent event) {
         if (event.getEntity() instanceof LivingEntity && FlagManager.hasFlag((LivingEntity) event.getEntity(),
-                "immune:" + event.getCause().name())) {
+                IMMUNITIES[event.getCause().ordinal()])) {
             double multiplier = SkillAPI.getMetaDouble(event.getEntity(), ImmunityMechanic.META_KEY);
             if (multiplier <= 0)
                 event.setCancelled(true);
@@ -34,6 +34,7 @@ import com.sucy.skill.api.event.PlayerExperienceGainEvent;
 import com.sucy.skill.api.event.PlayerLandEvent;
 import com.sucy.skill.api.player.PlayerData;
 import com.sucy.skill.api.projectile.ItemProjectile;
+import com.sucy.skill.api.util.EntityMeta;
 import com.sucy.skill.dynamic.mechanic.*;
 import com.sucy.skill.hook.DisguiseHook;
 import com.sucy.skill.hook.PluginChecker;
@@ -56,7 +57,6 @@ import org.bukkit.event.player.PlayerArmorStandManipulateEvent;
 import org.bukkit.event.player.PlayerMoveEvent;
 import org.bukkit.event.player.PlayerQuitEvent;
 import org.bukkit.event.world.ChunkLoadEvent;
-import org.bukkit.metadata.MetadataValue;
 import org.bukkit.util.BoundingBox;
 
 import java.lang.reflect.Field;
@@ -245,7 +245,7 @@ public class MechanicListener extends SkillAPIListener {
      */
     @EventHandler
     public void onLand(final ProjectileHitEvent event) {
-        if (event.getEntity().hasMetadata(P_CALL))
+        if (EntityMeta.has(event.getEntity(), EntityMeta.PROJECTILE))
             SkillAPI.schedule(() -> {
                 final Object obj = SkillAPI.getMeta(event.getEntity(), P_CALL);
                 if (obj != null)
@@ -294,7 +294,7 @@ public class MechanicListener extends SkillAPIListener {
      */
     @EventHandler
     public void onExplode(EntityExplodeEvent event) {
-        if (event.getEntity().hasMetadata(P_CALL))
+        if (EntityMeta.has(event.getEntity(), EntityMeta.PROJECTILE))
             event.setCancelled(true);
     }
 
@@ -308,15 +308,16 @@ public class MechanicListener extends SkillAPIListener {
         Entity damager = event.getDamager();
         Entity entity  = event.getEntity();
         if (damager instanceof Projectile) {
-            Projectile p = (Projectile) damager;
-            if (p.hasMetadata(P_CALL) && entity instanceof LivingEntity) {
-                ((ProjectileMechanic) SkillAPI.getMeta(p, P_CALL))
-                        .callback(p, (LivingEntity) entity);
+            Projectile p        = (Projectile) damager;
+            Object     callback = EntityMeta.get(p, EntityMeta.PROJECTILE);
+            if (callback instanceof ProjectileMechanic && entity instanceof LivingEntity) {
+                ((ProjectileMechanic) callback).callback(p, (LivingEntity) entity);
                 event.setCancelled(true);
             }
-        } else if (damager instanceof LightningStrike && damager.hasMetadata(P_CALL)
+        } else if (damager instanceof LightningStrike
+                && EntityMeta.get(damager, EntityMeta.PROJECTILE) instanceof LightningMechanic.Callback
                 && entity instanceof LivingEntity) {
-            double damage = Objects.requireNonNull((LightningMechanic.Callback) SkillAPI.getMeta(damager, P_CALL))
+            double damage = ((LightningMechanic.Callback) EntityMeta.get(damager, EntityMeta.PROJECTILE))
                     .execute((LivingEntity) entity);
             if (damage <= 0) {
                 event.setCancelled(true);
@@ -345,8 +346,9 @@ public class MechanicListener extends SkillAPIListener {
      */
     @EventHandler(priority = EventPriority.LOW)
     public void onSummonDamage(EntityDamageByEntityEvent event) {
-        if (event.getDamager().hasMetadata(SUMMON_DAMAGE))
-            VersionManager.setDamage(event, SkillAPI.getMetaDouble(event.getDamager(), SUMMON_DAMAGE));
+        Double damage = EntityMeta.get(event.getDamager(), EntityMeta.SUMMON);
+        if (damage != null)
+            VersionManager.setDamage(event, damage);
     }
 
     /**
@@ -378,7 +380,7 @@ public class MechanicListener extends SkillAPIListener {
     @EventHandler(ignoreCancelled = true)
     public void onEntityDamage(EntityDamageEvent event) {
         Entity entity = event.getEntity();
-        if (entity instanceof ArmorStand && SkillAPI.getMeta(entity, ARMOR_STAND) != null) {
+        if (entity instanceof ArmorStand && EntityMeta.isArmorStand(entity)) {
             event.setCancelled(true);
         } else if (event.getCause().equals(EntityDamageEvent.DamageCause.FIRE_TICK)
                 && entity.hasMetadata(FireMechanic.META_KEY)) {
@@ -388,25 +390,21 @@ public class MechanicListener extends SkillAPIListener {
 
     @EventHandler(priority = EventPriority.LOWEST)
     public void onEntityDamageCause(EntityDamageEvent event) {
-        Entity              entity       = event.getEntity();
-        List<MetadataValue> metadataList = entity.getMetadata(DAMAGE_CAUSE);
-        if (metadataList.isEmpty()) {
+        Entity                        entity = event.getEntity();
+        EntityDamageEvent.DamageCause cause  = EntityMeta.get(entity, EntityMeta.DAMAGE_CAUSE);
+        if (cause == null) {
             return;
         }
-        Object metadataValue = metadataList.get(0).value();
-        if (!(metadataValue instanceof EntityDamageEvent.DamageCause)) {
-            return;
-        }
-        if (event.getCause() != metadataValue) {
+        if (event.getCause() != cause) {
             try {
                 Field causeField = EntityDamageEvent.class.getDeclaredField("cause");
                 causeField.setAccessible(true);
-                causeField.set(event, metadataValue);
+                causeField.set(event, cause);
             } catch (Exception e) {
                 new UnsupportedOperationException("Failed to change DamageCause", e).printStackTrace();
             }
         }
-        entity.removeMetadata(DAMAGE_CAUSE, SkillAPI.inst());
+        EntityMeta.remove(entity, EntityMeta.DAMAGE_CAUSE);
     }
 
     @EventHandler(ignoreCancelled = true)
@@ -0,0 +1,135 @@
+/**
+ * SkillAPI
+ * com.sucy.skill.listener.RelationListener
+ * <p>
+ * The MIT License (MIT)
+ * <p>
+ * Copyright (c) 2014 Steven Sucy
+ * <p>
+ * Permission is hereby granted, free of charge, to any person obtaining a copy
+ * of this software and associated documentation files (the "Software"), to deal
+ * in the Software without restriction, including without limitation the rights
+ * to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+ * copies of the Software, and to permit persons to whom the Software is
+ * furnished to do so, subject to the following conditions:
+ * <p>
+ * The above copyright notice and this permission notice shall be included in
+ * all copies or substantial portions of the Software.
+ * <p>
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+ * AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN
+ * THE SOFTWARE.
+ */
+package com.sucy.skill.listener;
+
+import com.sucy.skill.api.RelationCache;
+import com.sucy.skill.api.event.PlayerClassChangeEvent;
+import com.sucy.skill.api.event.PlayerLevelDownEvent;
+import com.sucy.skill.api.event.PlayerLevelUpEvent;
+import com.sucy.skill.api.player.PlayerData;
+import org.bukkit.entity.Player;
+import org.bukkit.event.EventHandler;
+import org.bukkit.event.EventPriority;
+import org.bukkit.event.entity.EntityTameEvent;
+import org.bukkit.event.player.PlayerChangedWorldEvent;
+import org.bukkit.event.player.PlayerQuitEvent;
+import org.bukkit.event.player.PlayerTeleportEvent;
+
+/**
+ * Forgets remembered combat checks when something that could
+ * change them happens, such as moving to another region
+ */
+public class RelationListener extends SkillAPIListener {
+
+    /**
+     * Forgets every remembered combat check when the listener is unregistered
+     */
+    @Override
+    public void cleanup() {
+        RelationCache.clear();
+    }
+
+    /**
+     * Forgets combat checks for a player who teleported, since they may now be in a different region
+     *
+     * @param event event details
+     */
+    @EventHandler(priority = EventPriority.MONITOR, ignoreCancelled = true)
+    public void onTeleport(PlayerTeleportEvent event) {
+        RelationCache.invalidate(event.getPlayer());
+    }
+
+    /**
+     * Forgets combat checks for a player who changed worlds, since PvP rules can differ per world
+     *
+     * @param event event details
+     */
+    @EventHandler(priority = EventPriority.MONITOR)
+    public void onWorldChange(PlayerChangedWorldEvent event) {
+        RelationCache.invalidate(event.getPlayer());
+    }
+
+    /**
+     * Forgets combat checks for a player who left so they aren't kept around
+     *
+     * @param event event details
+     */
+    @EventHandler(priority = EventPriority.MONITOR)
+    public void onQuit(PlayerQuitEvent event) {
+        RelationCache.invalidate(event.getPlayer());
+    }
+
+    /**
+     * Forgets combat checks for a newly tamed entity, since it is now on its owner's side
+     *
+     * @param event event details
+     */
+    @EventHandler(priority = EventPriority.MONITOR, ignoreCancelled = true)
+    public void onTame(EntityTameEvent event) {
+        RelationCache.invalidate(event.getEntity());
+    }
+
+    /**
+     * Forgets combat checks for a player whose class changed, since class based rules may now differ
+     *
+     * @param event event details
+     */
+    @EventHandler(priority = EventPriority.MONITOR)
+    public void onClassChange(PlayerClassChangeEvent event) {
+        invalidate(event.getPlayerData());
+    }
+
+    /**
+     * Forgets combat checks for a player who leveled up, since level based rules may now differ
+     *
+     * @param event event details
+     */
+    @EventHandler(priority = EventPriority.MONITOR)
+    public void onLevelUp(PlayerLevelUpEvent event) {
+        invalidate(event.getPlayerData());
+    }
+
+    /**
+     * Forgets combat checks for a player who lost levels, since level based rules may now differ
+     *
+     * @param event event details
+     */
+    @EventHandler(priority = EventPriority.MONITOR)
+    public void onLevelDown(PlayerLevelDownEvent event) {
+        invalidate(event.getPlayerData());
+    }
+
+    /**
+     * Forgets combat checks for the online player the data belongs to
+     */
+    private void invalidate(PlayerData data) {
+        final Player player = data.getPlayer();
+        if (player != null) {
+            RelationCache.invalidate(player);
+        }
+    }
+}
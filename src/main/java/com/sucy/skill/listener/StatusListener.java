@@ -27,6 +27,7 @@
 package com.sucy.skill.listener;
 
 import com.sucy.skill.api.event.*;
+import com.sucy.skill.api.util.FlagData;
 import com.sucy.skill.api.util.FlagManager;
 import com.sucy.skill.api.util.StatusFlag;
 import com.sucy.skill.data.TitleType;
@@ -57,6 +58,23 @@ import java.util.HashSet;
 public class StatusListener extends SkillAPIListener {
     private static final HashMap<String, Long> messageTimers = new HashMap<String, Long>();
 
+    private static final int STUN       = FlagManager.id(StatusFlag.STUN);
+    private static final int ROOT       = FlagManager.id(StatusFlag.ROOT);
+    private static final int INVINCIBLE = FlagManager.id(StatusFlag.INVINCIBLE);
+    private static final int ABSORB     = FlagManager.id(StatusFlag.ABSORB);
+    private static final int DISARM     = FlagManager.id(StatusFlag.DISARM);
+    private static final int SILENCE    = FlagManager.id(StatusFlag.SILENCE);
+    private static final int CHANNELING = FlagManager.id(StatusFlag.CHANNELING);
+    private static final int CHANNEL    = FlagManager.id(StatusFlag.CHANNEL);
+
+    private static final int[] MOVE_FLAGS       = {STUN, ROOT, CHANNELING};
+    private static final int[] ATTACK_FLAGS     = {STUN, DISARM};
+    private static final int[] PHYSICAL_FLAGS   = {CHANNEL};
+    private static final int[] ABSORB_FLAGS     = {ABSORB};
+    private static final int[] INVINCIBLE_FLAGS = {INVINCIBLE};
+    private static final int[] LAUNCH_FLAGS     = {STUN, DISARM, CHANNELING};
+    private static final int[] CAST_FLAGS       = {SILENCE, STUN, CHANNEL};
+
     private static final HashSet<String> interrupts = new HashSet<String>() {{
         add(StatusFlag.STUN);
         add(StatusFlag.SILENCE);
@@ -103,9 +121,7 @@ public class StatusListener extends SkillAPIListener {
         if (((event.getPlayer()).isOnGround() || event.getTo().getY() > event.getFrom().getY()) && check(event,
                 event.getPlayer(),
                 event.getPlayer(),
-                StatusFlag.STUN,
-                StatusFlag.ROOT,
-                StatusFlag.CHANNELING)) {
+                MOVE_FLAGS)) {
             event.getPlayer().setVelocity(ZERO);
         }
     }
@@ -117,9 +133,9 @@ public class StatusListener extends SkillAPIListener {
      */
     @EventHandler(priority = EventPriority.MONITOR, ignoreCancelled = true)
     public void onInterrupt(FlagApplyEvent event) {
-        if (interrupts.contains(event.getFlag()) && FlagManager.hasFlag(event.getEntity(), StatusFlag.CHANNELING)) {
-            FlagManager.removeFlag(event.getEntity(), StatusFlag.CHANNELING);
-            FlagManager.removeFlag(event.getEntity(), StatusFlag.CHANNEL);
+        if (interrupts.contains(event.getFlag()) && FlagManager.hasFlag(event.getEntity(), CHANNELING)) {
+            FlagManager.removeFlag(event.getEntity(), CHANNELING);
+            FlagManager.removeFlag(event.getEntity(), CHANNEL);
         }
     }
 
@@ -173,12 +189,12 @@ public class StatusListener extends SkillAPIListener {
             return;
 
         LivingEntity damager = ListenerUtil.getDamager(event);
-        check(event, damager, damager, StatusFlag.STUN, StatusFlag.DISARM);
+        check(event, damager, damager, ATTACK_FLAGS);
     }
 
     @EventHandler(priority = EventPriority.HIGHEST, ignoreCancelled = true)
     public void onPhysicalDamage(PhysicalDamageEvent event) {
-        check(event, event.getDamager(), event.getDamager(), StatusFlag.CHANNEL);
+        check(event, event.getDamager(), event.getDamager(), PHYSICAL_FLAGS);
     }
 
     /**
@@ -212,10 +228,10 @@ public class StatusListener extends SkillAPIListener {
      * @param damage damage amount
      */
     private void checkAbsorbAndInvincible(LivingEntity entity, Cancellable event, double damage) {
-        if (check(event, entity, null, StatusFlag.ABSORB))
+        if (check(event, entity, null, ABSORB_FLAGS))
             VersionManager.heal(entity, damage);
         else
-            check(event, entity, null, StatusFlag.INVINCIBLE);
+            check(event, entity, null, INVINCIBLE_FLAGS);
     }
 
     /**
@@ -227,7 +243,7 @@ public class StatusListener extends SkillAPIListener {
     public void onLaunch(ProjectileLaunchEvent event) {
         if (event.getEntity().getShooter() instanceof LivingEntity) {
             LivingEntity shooter = (LivingEntity) event.getEntity().getShooter();
-            check(event, shooter, shooter, StatusFlag.STUN, StatusFlag.DISARM, StatusFlag.CHANNELING);
+            check(event, shooter, shooter, LAUNCH_FLAGS);
         }
     }
 
@@ -238,7 +254,7 @@ public class StatusListener extends SkillAPIListener {
      */
     @EventHandler(ignoreCancelled = true)
     public void onCast(PlayerCastSkillEvent event) {
-        check(event, event.getPlayer(), event.getPlayer(), StatusFlag.SILENCE, StatusFlag.STUN, StatusFlag.CHANNEL);
+        check(event, event.getPlayer(), event.getPlayer(), CAST_FLAGS);
     }
 
     /**
@@ -262,20 +278,23 @@ public class StatusListener extends SkillAPIListener {
      * @param event    event that is cancelled if a flag is applied
      * @param entity   entity to check for flags
      * @param receiver entity to send messages to
-     * @param flags    flags to check for
+     * @param flags    IDs of the flags to check for
      * @return the canceled state of the event
      */
-    private boolean check(Cancellable event, LivingEntity entity, LivingEntity receiver, String... flags) {
-        for (String flag : flags) {
-            if (FlagManager.hasFlag(entity, flag)) {
+    private boolean check(Cancellable event, LivingEntity entity, LivingEntity receiver, int[] flags) {
+        FlagData data = FlagManager.getFlagData(entity, false);
+        if (data == null) return false;
+
+        for (int flag : flags) {
+            if (data.hasFlag(flag)) {
                 if (receiver instanceof Player) {
                     Player player = (Player) receiver;
                     if (checkTime(player)) {
                         TitleManager.show(
                                 player,
                                 TitleType.STATUS,
-                                "Status." + messageMap.get(flag),
-                                RPGFilter.DURATION.setReplacement("" + FlagManager.getTimeLeft(entity, flag))
+                                "Status." + messageMap.get(FlagManager.getName(flag)),
+                                RPGFilter.DURATION.setReplacement("" + data.getSecondsLeft(flag))
                         );
                     }
                 }
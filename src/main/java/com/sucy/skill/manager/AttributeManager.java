@@ -76,8 +76,10 @@ public class AttributeManager implements IAttributeManager {
     @Getter
     private final Map<String, ProAttribute>       attributes  = new LinkedHashMap<>();
     private final Map<String, ProAttribute>       lookup      = new HashMap<>();
-    private final Map<String, List<ProAttribute>> byStat      = new HashMap<>();
-    private final Map<String, List<ProAttribute>> byComponent = new HashMap<>();
+    private final Map<String, Integer>            statIds      = new HashMap<>();
+    private final Map<String, Integer>            componentIds = new HashMap<>();
+    private final List<List<ProAttribute>>        byStat       = new ArrayList<>();
+    private final List<List<ProAttribute>>        byComponent  = new ArrayList<>();
 
     /**
      * Retrieves an attribute template
@@ -90,11 +92,31 @@ public class AttributeManager implements IAttributeManager {
     }
 
     public List<ProAttribute> forStat(final String key) {
-        return byStat.get(key.toLowerCase());
+        return forStat(getStatId(key));
     }
 
     public List<ProAttribute> forComponent(final EffectComponent component, final String key) {
-        return byComponent.get(component.getKey() + "-" + key.toLowerCase());
+        return forComponent(getComponentId(component, key));
+    }
+
+    public List<ProAttribute> forStat(final int id) {
+        return id < 0 ? null : byStat.get(id);
+    }
+
+    public List<ProAttribute> forComponent(final int id) {
+        return id < 0 ? null : byComponent.get(id);
+    }
+
+    public int getStatId(final String key) {
+        return statIds.getOrDefault(key.toLowerCase(), -1);
+    }
+
+    public int getComponentId(final EffectComponent component, final String key) {
+        return componentIds.getOrDefault(component.getKey() + "-" + key.toLowerCase(), -1);
+    }
+
+    public int getStatCount() {
+        return byStat.size();
     }
     public Set<String> getKeys() {
         return attributes.keySet();
@@ -125,6 +147,7 @@ public class AttributeManager implements IAttributeManager {
         for (String key : data.keys()) {
             Logger.log(LogType.ATTRIBUTE_LOAD, 2, "  - " + key);
             ProAttribute proAttribute = new ProAttribute(data.getSection(key), key);
+            proAttribute.setId(attributes.size());
             attributes.put(proAttribute.getKey(), proAttribute);
             lookup.put(proAttribute.getKey(), proAttribute);
             lookup.put(proAttribute.getName().toLowerCase(), proAttribute);
@@ -143,11 +166,31 @@ public class AttributeManager implements IAttributeManager {
         }
     }
 
-    public void addByComponent(String key, ProAttribute proAttribute) {
-        byComponent.computeIfAbsent(key, k -> new ArrayList<>()).add(proAttribute);
+    public int addByComponent(String key, ProAttribute proAttribute) {
+        return intern(componentIds, byComponent, key, proAttribute);
+    }
+
+    public int addByStat(String key, ProAttribute proAttribute) {
+        return intern(statIds, byStat, key, proAttribute);
     }
 
-    public void addByStat(String key, ProAttribute proAttribute) {
-        byStat.computeIfAbsent(key, k -> new ArrayList<>()).add(proAttribute);
+    /**
+     * Assigns the next free ID to a key the first time it is seen
+     * and registers the attribute under it
+     *
+     * @param ids          IDs assigned so far
+     * @param byId         attributes registered under each ID
+     * @param key          key to get the ID for
+     * @param proAttribute attribute that uses the key
+     * @return ID of the key
+     */
+    private static int intern(Map<String, Integer> ids,
+                              List<List<ProAttribute>> byId,
+                              String key,
+                              ProAttribute proAttribute) {
+        final int id = ids.computeIfAbsent(key, k -> byId.size());
+        if (id == byId.size()) byId.add(new ArrayList<>());
+        byId.get(id).add(proAttribute);
+        return id;
     }
 }
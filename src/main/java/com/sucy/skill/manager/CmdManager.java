@@ -171,7 +171,7 @@ public class CmdManager {
                         SenderType.ANYONE,
                         new CmdReload(),
                         "Reloads the plugin",
-                        "",
+                        "[changed]",
                         Permissions.RELOAD),
                 new ConfigurableCommand(api,
                         "reset",
@@ -194,6 +194,13 @@ public class CmdManager {
                         "Shows player skills",
                         "",
                         Permissions.BASIC),
+                new ConfigurableCommand(api,
+                        "timings",
+                        SenderType.ANYONE,
+                        new CmdTimings(),
+                        "Shows task timings",
+                        "[reset]",
+                        Permissions.TIMINGS),
                 new ConfigurableCommand(api,
                         "unbind",
                         SenderType.PLAYER_ONLY,
@@ -21,6 +21,44 @@ public interface IAttributeManager {
 
     List<ProAttribute> forComponent(final EffectComponent component, final String key);
 
+    /**
+     * Retrieves the attributes modifying a stat by its interned ID
+     *
+     * @param id stat ID from {@link #getStatId(String)}
+     * @return attributes modifying the stat or null if none
+     */
+    List<ProAttribute> forStat(final int id);
+
+    /**
+     * Retrieves the attributes modifying a component setting by its interned ID
+     *
+     * @param id setting ID from {@link #getComponentId(EffectComponent, String)}
+     * @return attributes modifying the setting or null if none
+     */
+    List<ProAttribute> forComponent(final int id);
+
+    /**
+     * Gets the ID a stat key was interned to when attributes were loaded
+     *
+     * @param key stat key
+     * @return stat ID or -1 if no attribute modifies the stat
+     */
+    int getStatId(final String key);
+
+    /**
+     * Gets the ID a component setting was interned to when attributes were loaded
+     *
+     * @param component component the setting belongs to
+     * @param key       setting key
+     * @return setting ID or -1 if no attribute modifies the setting
+     */
+    int getComponentId(final EffectComponent component, final String key);
+
+    /**
+     * @return number of stat IDs that have been handed out
+     */
+    int getStatCount();
+
     /**
      * Retrieves the available attribute keys. This
      * does not include display names for attributes.
@@ -46,7 +84,7 @@ public interface IAttributeManager {
      */
     String normalize(String key);
 
-    void addByComponent(String key, ProAttribute proAttribute);
+    int addByComponent(String key, ProAttribute proAttribute);
 
-    void addByStat(String key, ProAttribute proAttribute);
+    int addByStat(String key, ProAttribute proAttribute);
 }
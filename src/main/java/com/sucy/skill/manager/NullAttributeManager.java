@@ -27,6 +27,31 @@ public class NullAttributeManager implements IAttributeManager {
         return List.of();
     }
 
+    @Override
+    public List<ProAttribute> forStat(int id) {
+        return List.of();
+    }
+
+    @Override
+    public List<ProAttribute> forComponent(int id) {
+        return List.of();
+    }
+
+    @Override
+    public int getStatId(String key) {
+        return -1;
+    }
+
+    @Override
+    public int getComponentId(EffectComponent component, String key) {
+        return -1;
+    }
+
+    @Override
+    public int getStatCount() {
+        return 0;
+    }
+
     @Override
     public Set<String> getKeys() {
         return Set.of();
@@ -43,8 +68,12 @@ public class NullAttributeManager implements IAttributeManager {
     }
 
     @Override
-    public void addByComponent(String key, ProAttribute proAttribute) {}
+    public int addByComponent(String key, ProAttribute proAttribute) {
+        return -1;
+    }
 
     @Override
-    public void addByStat(String key, ProAttribute proAttribute) {}
+    public int addByStat(String key, ProAttribute proAttribute) {
+        return -1;
+    }
 }
@@ -0,0 +1,302 @@
+/**
+ * SkillAPI
+ * com.sucy.skill.manager.PlayerRegistry
+ * <p>
+ * The MIT License (MIT)
+ * <p>
+ * Copyright (c) 2014 Steven Sucy
+ * <p>
+ * Permission is hereby granted, free of charge, to any person obtaining a copy
+ * of this software and associated documentation files (the "Software") to deal
+ * in the Software without restriction, including without limitation the rights
+ * to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+ * copies of the Software, and to permit persons to whom the Software is
+ * furnished to do so, subject to the following conditions:
+ * <p>
+ * The above copyright notice and this permission notice shall be included in
+ * all copies or substantial portions of the Software.
+ * <p>
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+ * AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN
+ * THE SOFTWARE.
+ */
+package com.sucy.skill.manager;
+
+import com.sucy.skill.api.player.PlayerAccounts;
+
+import java.util.AbstractMap;
+import java.util.AbstractSet;
+import java.util.ArrayList;
+import java.util.Iterator;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.UUID;
+import java.util.concurrent.ConcurrentHashMap;
+
+/**
+ * Keeps track of the loaded player data and where each player is in
+ * the load/unload process. Safe to use from any thread, and looking up
+ * a player's data doesn't allocate anything.
+ */
+public class PlayerRegistry {
+    /**
+     * Where a player's data is in the load/unload process
+     */
+    public enum State {
+        /**
+         * Placeholder data is in use while the real data is being loaded
+         */
+        LOADING,
+
+        /**
+         * Data is loaded and in use
+         */
+        LOADED,
+
+        /**
+         * Data is being saved and removed
+         */
+        UNLOADING
+    }
+
+    private final ConcurrentHashMap<UUID, Entry> entries = new ConcurrentHashMap<>();
+    private final View                           view    = new View();
+
+    /**
+     * Retrieves the data for the player
+     *
+     * @param id UUID of the player
+     * @return player data or null if not registered
+     */
+    public PlayerAccounts get(UUID id) {
+        Entry entry = entries.get(id);
+        return entry == null ? null : entry.accounts;
+    }
+
+    /**
+     * Retrieves where the player's data is in the load/unload process
+     *
+     * @param id UUID of the player
+     * @return load state or null if not registered
+     */
+    public State getState(UUID id) {
+        Entry entry = entries.get(id);
+        return entry == null ? null : entry.state;
+    }
+
+    /**
+     * Checks whether the player has data registered, no matter the state
+     *
+     * @param id UUID of the player
+     * @return true if registered, false otherwise
+     */
+    public boolean contains(UUID id) {
+        return entries.containsKey(id);
+    }
+
+    /**
+     * Registers player data, replacing any existing data for the player
+     *
+     * @param accounts player data to register
+     * @param state    load state of the data
+     */
+    public void put(PlayerAccounts accounts, State state) {
+        entries.put(accounts.getOfflinePlayer().getUniqueId(), new Entry(accounts, state));
+    }
+
+    /**
+     * Registers player data unless the player already has data. When two
+     * threads load the same player at once, both end up using the same data.
+     *
+     * @param accounts player data to register
+     * @param state    load state of the data
+     * @return the registered data, which is the existing data if there was any
+     */
+    public PlayerAccounts putIfAbsent(PlayerAccounts accounts, State state) {
+        Entry entry    = new Entry(accounts, state);
+        Entry existing = entries.putIfAbsent(accounts.getOfflinePlayer().getUniqueId(), entry);
+        return existing == null ? accounts : existing.accounts;
+    }
+
+    /**
+     * Replaces the player's data, but only if they still have data registered. Used
+     * when data finishes loading so data isn't registered again for a player who left.
+     *
+     * @param accounts player data to register
+     * @param state    load state of the data
+     * @return true if the data was replaced, false if the player had no data
+     */
+    public boolean replace(PlayerAccounts accounts, State state) {
+        Entry entry = new Entry(accounts, state);
+        return entries.computeIfPresent(accounts.getOfflinePlayer().getUniqueId(), (id, old) -> entry) == entry;
+    }
+
+    /**
+     * Retrieves the data for the player, taking it back if it is being unloaded.
+     * A player who rejoins before their data finished unloading keeps using the
+     * same data, and the unload then leaves it registered.
+     *
+     * @param id UUID of the player
+     * @return player data or null if not registered
+     */
+    public PlayerAccounts acquire(UUID id) {
+        Entry entry = entries.computeIfPresent(id, (key, existing) -> {
+            if (existing.state == State.UNLOADING) existing.state = State.LOADED;
+            return existing;
+        });
+        return entry == null ? null : entry.accounts;
+    }
+
+    /**
+     * Updates the load state of the player's data
+     *
+     * @param id    UUID of the player
+     * @param state new load state
+     * @return true if the player had data to update, false otherwise
+     */
+    public boolean setState(UUID id, State state) {
+        Entry entry = entries.get(id);
+        if (entry == null) return false;
+
+        entry.state = state;
+        return true;
+    }
+
+    /**
+     * Removes the player's data
+     *
+     * @param id UUID of the player
+     * @return removed data or null if there wasn't any
+     */
+    public PlayerAccounts remove(UUID id) {
+        Entry entry = entries.remove(id);
+        return entry == null ? null : entry.accounts;
+    }
+
+    /**
+     * Removes the player's data if it is still in the expected state, so data
+     * that was taken back with {@link #acquire(UUID)} is not removed
+     *
+     * @param id       UUID of the player
+     * @param expected state the data must be in
+     * @return true if the data was removed, false otherwise
+     */
+    public boolean remove(UUID id, State expected) {
+        boolean[] removed = new boolean[1];
+        entries.computeIfPresent(id, (key, entry) -> {
+            if (entry.state != expected) return entry;
+            removed[0] = true;
+            return null;
+        });
+        return removed[0];
+    }
+
+    /**
+     * @return a copy of all registered player data
+     */
+    public List<PlayerAccounts> getAll() {
+        List<PlayerAccounts> result = new ArrayList<>(entries.size());
+        for (Entry entry : entries.values()) {
+            result.add(entry.accounts);
+        }
+        return result;
+    }
+
+    /**
+     * Retrieves a read-only view of the registered player data keyed by the
+     * lowercase string UUID. The view is backed by the registry, so players
+     * registered or removed later show up in it, and nothing is copied.
+     * Changing the view throws an {@link UnsupportedOperationException}.
+     *
+     * @return live read-only view of all registered player data
+     */
+    public Map<String, PlayerAccounts> asMap() {
+        return view;
+    }
+
+    /**
+     * @return number of players with registered data
+     */
+    public int size() {
+        return entries.size();
+    }
+
+    /**
+     * Removes all player data
+     */
+    public void clear() {
+        entries.clear();
+    }
+
+    private class View extends AbstractMap<String, PlayerAccounts> {
+        private final Set<Map.Entry<String, PlayerAccounts>> entrySet = new AbstractSet<>() {
+            @Override
+            public Iterator<Map.Entry<String, PlayerAccounts>> iterator() {
+                Iterator<Map.Entry<UUID, PlayerRegistry.Entry>> it = entries.entrySet().iterator();
+                return new Iterator<>() {
+                    @Override
+                    public boolean hasNext() {
+                        return it.hasNext();
+                    }
+
+                    @Override
+                    public Map.Entry<String, PlayerAccounts> next() {
+                        Map.Entry<UUID, PlayerRegistry.Entry> next = it.next();
+                        return new SimpleImmutableEntry<>(next.getKey().toString(), next.getValue().accounts);
+                    }
+                };
+            }
+
+            @Override
+            public int size() {
+                return entries.size();
+            }
+        };
+
+        @Override
+        public Set<Map.Entry<String, PlayerAccounts>> entrySet() {
+            return entrySet;
+        }
+
+        @Override
+        public int size() {
+            return entries.size();
+        }
+
+        @Override
+        public boolean containsKey(Object key) {
+            UUID id = parse(key);
+            return id != null && entries.containsKey(id);
+        }
+
+        @Override
+        public PlayerAccounts get(Object key) {
+            UUID id = parse(key);
+            return id == null ? null : PlayerRegistry.this.get(id);
+        }
+
+        private UUID parse(Object key) {
+            if (!(key instanceof String)) return null;
+            try {
+                return UUID.fromString((String) key);
+            } catch (IllegalArgumentException e) {
+                return null;
+            }
+        }
+    }
+
+    private static class Entry {
+        private final    PlayerAccounts accounts;
+        private volatile State          state;
+
+        private Entry(PlayerAccounts accounts, State state) {
+            this.accounts = accounts;
+            this.state = state;
+        }
+    }
+}
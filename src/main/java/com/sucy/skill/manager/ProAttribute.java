@@ -11,6 +11,7 @@ import com.sucy.skill.dynamic.EffectComponent;
 import com.sucy.skill.gui.tool.IconHolder;
 import com.sucy.skill.log.LogType;
 import com.sucy.skill.log.Logger;
+import lombok.AccessLevel;
 import lombok.Getter;
 import lombok.Setter;
 import mc.promcteam.engine.mccore.config.parse.DataSection;
@@ -69,12 +70,23 @@ public class ProAttribute implements IconHolder {
     @Getter
     @Setter
     private double    costModifier;
+    /**
+     * Retrieves the position of the attribute in load order, used
+     * to index cached attribute totals
+     *
+     * @return attribute ID or -1 if not registered
+     */
+    @Getter
+    @Setter(AccessLevel.PACKAGE)
+    private int       id = -1;
 
     // Dynamic global modifiers
     private Map<ComponentType, Map<String, AttributeValue[]>> dynamicModifiers = new EnumMap<>(ComponentType.class);
+    private Map<ComponentType, AttributeValue[][]>            dynamicById      = new EnumMap<>(ComponentType.class);
 
     // General stat modifiers
     private Map<String, Formula> statModifiers = new HashMap<>();
+    private Formula[]            statsById     = new Formula[0];
 
     /**
      * Creates a new attribute, loading the settings from the given
@@ -220,6 +232,28 @@ public class ProAttribute implements IconHolder {
         return value;
     }
 
+    /**
+     * Modifies a dynamic condition's value using the setting ID
+     * interned by the attribute manager
+     *
+     * @param component component to modify for
+     * @param id        ID of the value to modify
+     * @param value     base value
+     * @param amount    amount of attribute points
+     * @return modified value
+     */
+    public double modify(EffectComponent component, int id, double value, int amount) {
+        final AttributeValue[][] byId = dynamicById.get(component.getType());
+        if (byId != null && id >= 0 && id < byId.length && byId[id] != null) {
+            for (AttributeValue attribValue : byId[id]) {
+                if (attribValue.passes(component)) {
+                    return attribValue.apply(value, amount);
+                }
+            }
+        }
+        return value;
+    }
+
     /**
      * Modifies a stat value
      *
@@ -235,6 +269,21 @@ public class ProAttribute implements IconHolder {
         return base;
     }
 
+    /**
+     * Modifies a stat value using the stat ID interned by the attribute manager
+     *
+     * @param id     ID of the stat
+     * @param base   base value of the stat
+     * @param amount amount of attribute points
+     * @return modified stat value
+     */
+    public double modifyStat(int id, double base, int amount) {
+        if (id >= 0 && id < statsById.length && statsById[id] != null) {
+            return statsById[id].compute(base, amount);
+        }
+        return base;
+    }
+
     /**
      * Loads a dynamic group globals settings into the given map
      *
@@ -258,7 +307,13 @@ public class ProAttribute implements IconHolder {
                 values[i++] = new AttributeValue(formula);
             }
             target.put(lower, values);
-            SkillAPI.getAttributeManager().addByComponent(lower, this);
+            final int id = SkillAPI.getAttributeManager().addByComponent(lower, this);
+            if (id >= 0) {
+                AttributeValue[][] byId = dynamicById.getOrDefault(type, new AttributeValue[0][]);
+                if (id >= byId.length) byId = Arrays.copyOf(byId, id + 1);
+                byId[id] = values;
+                dynamicById.put(type, byId);
+            }
         }
     }
 
@@ -271,11 +326,14 @@ public class ProAttribute implements IconHolder {
     private void loadStatModifier(DataSection data, String key) {
         if (data.has(key)) {
             Logger.log(LogType.ATTRIBUTE_LOAD, 2, "    StatMod: " + key);
-            statModifiers.put(
-                    key,
-                    new Formula(data.getString(key, "v"), new CustomValue("v"), new CustomValue("a")));
+            final Formula formula = new Formula(data.getString(key, "v"), new CustomValue("v"), new CustomValue("a"));
+            statModifiers.put(key, formula);
 
-            SkillAPI.getAttributeManager().addByStat(key, this);
+            final int id = SkillAPI.getAttributeManager().addByStat(key, this);
+            if (id >= 0) {
+                if (id >= statsById.length) statsById = Arrays.copyOf(statsById, id + 1);
+                statsById[id] = formula;
+            }
         }
     }
 }
\ No newline at end of file
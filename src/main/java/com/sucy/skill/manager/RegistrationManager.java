@@ -29,16 +29,23 @@ package com.sucy.skill.manager;
 import com.sucy.skill.SkillAPI;
 import com.sucy.skill.api.SkillPlugin;
 import com.sucy.skill.api.classes.RPGClass;
+import com.sucy.skill.api.player.PlayerAccounts;
+import com.sucy.skill.api.player.PlayerClass;
+import com.sucy.skill.api.player.PlayerData;
+import com.sucy.skill.api.player.PlayerSkill;
 import com.sucy.skill.api.skills.Skill;
 import com.sucy.skill.dynamic.ComponentRegistry;
 import com.sucy.skill.dynamic.DynamicClass;
 import com.sucy.skill.dynamic.DynamicSkill;
 import com.sucy.skill.log.LogType;
 import com.sucy.skill.log.Logger;
+import com.sucy.skill.thread.SyncQueue;
 import com.sucy.skill.util.ConfigurationException;
 import mc.promcteam.engine.mccore.config.CommentedConfig;
 import mc.promcteam.engine.mccore.config.parse.DataSection;
 import org.bukkit.Bukkit;
+import org.bukkit.entity.LivingEntity;
+import org.bukkit.entity.Player;
 import org.bukkit.event.Listener;
 import org.bukkit.plugin.Plugin;
 
@@ -46,6 +53,26 @@ import java.io.File;
 import java.io.IOException;
 import java.nio.file.Files;
 import java.nio.file.Path;
+import java.security.MessageDigest;
+import java.security.NoSuchAlgorithmException;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ForkJoinPool;
+import java.util.concurrent.ForkJoinTask;
+import java.util.concurrent.ForkJoinWorkerThread;
+import java.util.concurrent.RejectedExecutionException;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.concurrent.atomic.LongAdder;
+import java.util.function.BiConsumer;
+import java.util.function.BiFunction;
+import java.util.stream.Stream;
 
 /**
  * <p>Skill API Registration Manager.</p>
@@ -63,6 +90,12 @@ public class RegistrationManager {
     private final        CommentedConfig classConfig;
     private              Mode            mode         = Mode.STARTUP;
 
+    private final Map<String, FileState> fileStates = new ConcurrentHashMap<>();
+    private final AtomicBoolean          reloading  = new AtomicBoolean();
+
+    private volatile boolean         closed;
+    private          ExecutorService reloader;
+
     /**
      * <p>Creates a new Registration Manager for handling registering new
      * classes or skills.</p>
@@ -84,6 +117,9 @@ public class RegistrationManager {
      * configuration files and other plugins.
      */
     public void initialize() {
+        Map<String, Long> timings = new LinkedHashMap<>();
+        long              begin   = System.nanoTime();
+        long              phase   = begin;
 
         // Make sure dynamic files are created
         if (!skillConfig.getConfigFile().exists()) {
@@ -108,6 +144,7 @@ public class RegistrationManager {
             }
         }
         ComponentRegistry.save();
+        phase = lap(timings, "components", phase);
 
         Logger.log(LogType.REGISTRATION, 1, "Loading skills...");
 
@@ -125,6 +162,8 @@ public class RegistrationManager {
             }
         }
 
+        phase = lap(timings, "plugin skills", phase);
+
         // Load dynamic skills from skills.yml
         mode = Mode.DYNAMIC;
         if (!skillConfig.getConfig().getBoolean("loaded", false)) {
@@ -162,47 +201,39 @@ public class RegistrationManager {
             Logger.log(LogType.REGISTRATION, 1, "skills.yml doesn't have any changes, skipping it");
         }
 
+        phase = lap(timings, "skills.yml", phase);
+
         // Load individual dynamic skills
         Logger.log(LogType.REGISTRATION, 1, "Loading individual dynamic skill files...");
-        File skillRoot = new File(api.getDataFolder().getPath() + File.separator + SKILL_FOLDER);
-        if (skillRoot.exists()) {
-            Path skillRootPath = skillRoot.toPath();
-            try {
-                Files.walk(skillRootPath).forEach(path -> {
-                    String longName = getQualifiedFileName(skillRootPath, path);
-                    if (longName == null) return;
-                    String name = path.getFileName().toString().replace(".yml", "");
-                    try {
-                        CommentedConfig sConfig = new CommentedConfig(api, SKILL_DIR + longName);
-                        DynamicSkill    skill   = new DynamicSkill(name);
-                        DataSection     section = getBaseSection(sConfig, name);
-                        skill.load(section);
-                        if (!SkillAPI.isSkillRegistered(skill.getName())) {
-                            api.addDynamicSkill(skill);
-                            skill.registerEvents(api);
-                            sConfig.clear();
-                            skill.save(sConfig.getConfig().createSection(name));
-                            skill.save(skillConfig.getConfig().createSection(name));
-                            sConfig.save();
-                            Logger.log(LogType.REGISTRATION, 2, "Loaded the dynamic skill: " + name);
-                        } else if (SkillAPI.getSkill(name) instanceof DynamicSkill) {
-                            Logger.log(LogType.REGISTRATION, 3, name + " is already loaded, skipping it");
-                        } else {
-                            Logger.invalid("Duplicate skill detected: " + name);
-                        }
-                    } catch (Exception ex) {
-                        Logger.invalid("Failed to load skill: " + name + " - " + ex.getMessage());
-                        if (ex instanceof NullPointerException)
-                            Logger.log(
-                                    "Please check that " + (SKILL_DIR + name) + ".yml exists and has proper contents");
-                        ex.printStackTrace();
-                    }
-                });
-            } catch (IOException ex) {
-                Logger.invalid("Failed to read dynamic skills: " + ex.getMessage());
-                ex.printStackTrace();
+        LoadStats skillStats = new LoadStats();
+        List<LoadedFile<DynamicSkill>> skillFiles =
+                loadFiles(SKILL_FOLDER, SKILL_DIR, this::loadSkill, DynamicSkill::save, skillStats);
+        for (LoadedFile<DynamicSkill> file : skillFiles) {
+            long         start = System.nanoTime();
+            DynamicSkill skill = file.value;
+            String       name  = file.name;
+            if (skill == null) {
+                Logger.invalid("Failed to load skill: " + name + " - " + file.error.getMessage());
+                if (file.error instanceof NullPointerException)
+                    Logger.log("Please check that " + (SKILL_DIR + name) + ".yml exists and has proper contents");
+                file.error.printStackTrace();
+                track(file, null);
+            } else if (!SkillAPI.isSkillRegistered(skill.getName())) {
+                api.addDynamicSkill(skill);
+                skill.registerEvents(api);
+                store(file, skillConfig, skillStats);
+                track(file, skill.getName());
+                Logger.log(LogType.REGISTRATION, 2, "Loaded the dynamic skill: " + name);
+            } else if (SkillAPI.getSkill(name) instanceof DynamicSkill) {
+                Logger.log(LogType.REGISTRATION, 3, name + " is already loaded, skipping it");
+                track(file, name);
+            } else {
+                Logger.invalid("Duplicate skill detected: " + name);
+                track(file, null);
             }
+            skillStats.register += System.nanoTime() - start;
         }
+        phase = lap(timings, "skill files", phase);
 
         Logger.log(LogType.REGISTRATION, 1, "Loading classes...");
 
@@ -220,6 +251,8 @@ public class RegistrationManager {
             }
         }
 
+        phase = lap(timings, "plugin classes", phase);
+
         // Load dynamic classes from classes.yml
         if (!classConfig.getConfig().getBoolean("loaded", false)) {
             Logger.log(LogType.REGISTRATION, 1, "Loading dynamic classes from classes.yml...");
@@ -251,45 +284,39 @@ public class RegistrationManager {
             Logger.log(LogType.REGISTRATION, 1, "classes.yml doesn't have any changes, skipping it");
         }
 
+        phase = lap(timings, "classes.yml", phase);
+
         // Load individual dynamic classes
         Logger.log(LogType.REGISTRATION, 1, "Loading individual dynamic class files...");
-        File classRoot = new File(api.getDataFolder().getPath() + File.separator + CLASS_FOLDER);
-        if (classRoot.exists()) {
-            Path classRootPath = classRoot.toPath();
-            try {
-                Files.walk(classRootPath).forEach(path -> {
-                    String longName = getQualifiedFileName(classRootPath, path);
-                    if (longName == null) return;
-                    String name = path.getFileName().toString().replace(".yml", "");
-                    try {
-                        CommentedConfig cConfig = new CommentedConfig(api, CLASS_DIR + longName);
-                        DynamicClass    tree    = new DynamicClass(api, name);
-                        DataSection     section = getBaseSection(cConfig, name);
-                        tree.load(section);
-                        if (!SkillAPI.isClassRegistered(tree.getName())) {
-                            api.addDynamicClass(tree);
-                            cConfig.clear();
-                            tree.save(cConfig.getConfig().createSection(name));
-                            tree.save(classConfig.getConfig().createSection(name));
-                            cConfig.save();
-                            Logger.log(LogType.REGISTRATION, 2, "Loaded the dynamic class: " + name);
-                        } else if (SkillAPI.getClass(name) instanceof DynamicClass) {
-                            Logger.log(LogType.REGISTRATION, 3, name + " is already loaded, skipping it");
-                        } else {
-                            Logger.invalid("Duplicate class detected: " + name);
-                        }
-                    } catch (Exception ex) {
-                        Logger.invalid("Failed to load class file: " + name + " - " + ex.getMessage());
-                    }
-                });
-            } catch (IOException ex) {
-                Logger.invalid("Failed to read dynamic classes: " + ex.getMessage());
-                ex.printStackTrace();
+        LoadStats classStats = new LoadStats();
+        List<LoadedFile<DynamicClass>> classFiles =
+                loadFiles(CLASS_FOLDER, CLASS_DIR, this::loadClass, DynamicClass::save, classStats);
+        for (LoadedFile<DynamicClass> file : classFiles) {
+            long         start = System.nanoTime();
+            DynamicClass tree  = file.value;
+            String       name  = file.name;
+            if (tree == null) {
+                Logger.invalid("Failed to load class file: " + name + " - " + file.error.getMessage());
+                track(file, null);
+            } else if (!SkillAPI.isClassRegistered(tree.getName())) {
+                api.addDynamicClass(tree);
+                store(file, classConfig, classStats);
+                track(file, tree.getName());
+                Logger.log(LogType.REGISTRATION, 2, "Loaded the dynamic class: " + name);
+            } else if (SkillAPI.getClass(name) instanceof DynamicClass) {
+                Logger.log(LogType.REGISTRATION, 3, name + " is already loaded, skipping it");
+                track(file, name);
+            } else {
+                Logger.invalid("Duplicate class detected: " + name);
+                track(file, null);
             }
+            classStats.register += System.nanoTime() - start;
         }
+        phase = lap(timings, "class files", phase);
 
         skillConfig.save();
         classConfig.save();
+        phase = lap(timings, "save", phase);
 
         mode = Mode.DONE;
 
@@ -297,10 +324,461 @@ public class RegistrationManager {
         for (RPGClass c : SkillAPI.getClasses().values()) {
             c.arrange();
         }
+        lap(timings, "skill trees", phase);
 
         Logger.log(LogType.REGISTRATION, 0, "Registration complete");
         Logger.log(LogType.REGISTRATION, 0, " - " + SkillAPI.getSkills().size() + " skills");
         Logger.log(LogType.REGISTRATION, 0, " - " + SkillAPI.getClasses().size() + " classes");
+
+        Logger.log(LogType.REGISTRATION, 1, "Registration took " + millis(System.nanoTime() - begin) + "ms:");
+        timings.forEach((name, time) ->
+                Logger.log(LogType.REGISTRATION, 1, " - " + name + ": " + millis(time) + "ms"));
+        Logger.log(LogType.REGISTRATION, 1, " - skill files: " + skillStats);
+        Logger.log(LogType.REGISTRATION, 1, " - class files: " + classStats);
+    }
+
+    private static long lap(Map<String, Long> timings, String name, long start) {
+        long now = System.nanoTime();
+        timings.put(name, now - start);
+        return now;
+    }
+
+    private static long millis(long nanos) {
+        return TimeUnit.NANOSECONDS.toMillis(nanos);
+    }
+
+    private DynamicSkill loadSkill(String name, DataSection section) {
+        DynamicSkill skill = new DynamicSkill(name);
+        skill.load(section);
+        return skill;
+    }
+
+    private DynamicClass loadClass(String name, DataSection section) {
+        DynamicClass tree = new DynamicClass(api, name);
+        tree.load(section);
+        return tree;
+    }
+
+    /**
+     * Reads and builds every file in a dynamic folder on a worker pool. Files are
+     * returned sorted by path so they are registered in the same order each startup.
+     * Files that failed on a worker are tried again on the calling thread in case
+     * the failure came from loading them alongside the others.
+     *
+     * @param folder folder to read, relative to the data folder
+     * @param dir    folder prefix used for the file configs
+     * @param loader builds the skill or class from its data
+     * @param saver  saves the skill or class back to data
+     * @param stats  stats to add the parse and build times to
+     * @param <T>    type of data in the files
+     * @return loaded files in path order
+     */
+    <T> List<LoadedFile<T>> loadFiles(String folder,
+                                      String dir,
+                                      BiFunction<String, DataSection, T> loader,
+                                      BiConsumer<T, DataSection> saver,
+                                      LoadStats stats) {
+        return buildFiles(listFiles(folder, dir), loader, saver, stats);
+    }
+
+    private <T> List<LoadedFile<T>> listFiles(String folder, String dir) {
+        File root = new File(api.getDataFolder().getPath() + File.separator + folder);
+        if (!root.exists()) return new ArrayList<>();
+
+        Path                rootPath = root.toPath();
+        List<LoadedFile<T>> files    = new ArrayList<>();
+        try (Stream<Path> paths = Files.walk(rootPath)) {
+            paths.sorted().forEach(path -> {
+                String longName = getQualifiedFileName(rootPath, path);
+                if (longName == null) return;
+                String name = path.getFileName().toString().replace(".yml", "");
+                files.add(new LoadedFile<>(path, dir + longName, name));
+            });
+        } catch (IOException ex) {
+            Logger.invalid("Failed to read dynamic " + folder + " files: " + ex.getMessage());
+            ex.printStackTrace();
+        }
+        return files;
+    }
+
+    private <T> List<LoadedFile<T>> buildFiles(List<LoadedFile<T>> files,
+                                               BiFunction<String, DataSection, T> loader,
+                                               BiConsumer<T, DataSection> saver,
+                                               LoadStats stats) {
+        if (files.isEmpty()) return files;
+
+        long         start   = System.nanoTime();
+        int          threads = Math.min(files.size(), Runtime.getRuntime().availableProcessors());
+        ForkJoinPool pool    = new ForkJoinPool(threads, this::newWorker, null, false);
+        try {
+            List<ForkJoinTask<?>> tasks = new ArrayList<>(files.size());
+            for (LoadedFile<T> file : files) {
+                tasks.add(pool.submit(() -> build(file, loader, saver, stats)));
+            }
+            tasks.forEach(ForkJoinTask::join);
+        } finally {
+            pool.shutdown();
+        }
+        for (LoadedFile<T> file : files) {
+            if (file.error != null) build(file, loader, saver, stats);
+        }
+
+        stats.files = files.size();
+        stats.threads = threads;
+        stats.wall = System.nanoTime() - start;
+        return files;
+    }
+
+    private ForkJoinWorkerThread newWorker(ForkJoinPool pool) {
+        ForkJoinWorkerThread thread = ForkJoinPool.defaultForkJoinWorkerThreadFactory.newThread(pool);
+        thread.setName("SkillAPI-Loader-" + thread.getPoolIndex());
+        thread.setContextClassLoader(api.getClass().getClassLoader());
+        return thread;
+    }
+
+    private <T> void build(LoadedFile<T> file,
+                           BiFunction<String, DataSection, T> loader,
+                           BiConsumer<T, DataSection> saver,
+                           LoadStats stats) {
+        file.value = null;
+        file.error = null;
+        try {
+            long start = System.nanoTime();
+            file.modified = Files.getLastModifiedTime(file.file).toMillis();
+            file.size = Files.size(file.file);
+            file.hash = hash(Files.readAllBytes(file.file));
+            file.config = new CommentedConfig(api, file.path);
+            DataSection section = getBaseSection(file.config, file.name);
+            long        parsed  = System.nanoTime();
+            stats.parse.add(parsed - start);
+
+            T value = loader.apply(file.name, section);
+            file.saved = new DataSection();
+            saver.accept(value, file.saved.createSection(file.name));
+            file.changed = !file.saved.toString().equals(file.config.getConfig().toString());
+            file.value = value;
+            stats.build.add(System.nanoTime() - parsed);
+        } catch (Exception ex) {
+            file.error = ex;
+        }
+    }
+
+    /**
+     * Adds a registered file to the combined config and writes the file back only if
+     * saving it changed its contents, such as when new settings were filled in
+     */
+    void store(LoadedFile<?> file, CommentedConfig combined, LoadStats stats) {
+        combined.getConfig().set(file.name, file.saved.getSection(file.name));
+        if (file.changed) {
+            file.config.clear();
+            file.config.getConfig().set(file.name, file.saved.getSection(file.name));
+            file.config.save();
+            stats.rewritten++;
+            try {
+                byte[] content = Files.readAllBytes(file.file);
+                file.modified = Files.getLastModifiedTime(file.file).toMillis();
+                file.size = content.length;
+                file.hash = hash(content);
+            } catch (IOException ex) {
+                file.hash = null;
+            }
+        }
+    }
+
+    /**
+     * Remembers the state a file was loaded from so later reloads can tell if it changed
+     *
+     * @param file       loaded file
+     * @param registered name of the skill or class the file registered, or null if it didn't
+     */
+    private void track(LoadedFile<?> file, String registered) {
+        String name = registered == null ? null : registered.toLowerCase();
+        fileStates.put(file.path, new FileState(file.modified, file.size, file.hash, name));
+    }
+
+    /**
+     * Reloads the dynamic skill and class files whose contents changed since they were
+     * last loaded, leaving everything else untouched. Changed skills and classes are
+     * rebuilt and swapped in for the old ones, including in player data, and only the
+     * casters with active passives of a changed skill have them restarted. New files
+     * are registered, while deleted files stay loaded until the next full reload.
+     * <p>
+     * This reads and builds the files on the calling thread. Use {@link #reloadChangedAsync()}
+     * to keep that work off the server thread.
+     *
+     * @return number of skills and classes that were reloaded or added
+     */
+    public int reloadChanged() {
+        if (mode != Mode.DONE || !reloading.compareAndSet(false, true)) return 0;
+
+        try {
+            Changes changes = findChanges();
+            applySkills(changes);
+            buildClasses(changes);
+            applyClasses(changes);
+            return finish(changes);
+        } finally {
+            reloading.set(false);
+        }
+    }
+
+    /**
+     * Does the same as {@link #reloadChanged()}, but walks, hashes and builds the changed
+     * files on a background thread. Only swapping in the results happens on the server
+     * thread through the {@link SyncQueue}. Classes are built once the reloaded skills
+     * are swapped in so they pick them up. Nothing happens if a reload is already running.
+     */
+    public void reloadChangedAsync() {
+        if (mode != Mode.DONE || closed || !reloading.compareAndSet(false, true)) return;
+
+        runAsync(() -> {
+            Changes changes = findChanges();
+            if (changes.isEmpty()) {
+                reloading.set(false);
+                return;
+            }
+            runSync(() -> {
+                applySkills(changes);
+                runAsync(() -> {
+                    buildClasses(changes);
+                    runSync(() -> {
+                        applyClasses(changes);
+                        finish(changes);
+                        reloading.set(false);
+                    });
+                });
+            });
+        });
+    }
+
+    /**
+     * Stops any reload that is still running and its background thread
+     */
+    public void close() {
+        closed = true;
+        if (reloader != null) reloader.shutdownNow();
+    }
+
+    private void runAsync(Runnable step) {
+        if (reloader == null) {
+            reloader = Executors.newSingleThreadExecutor(runnable -> {
+                Thread thread = new Thread(runnable, "SkillAPI Hot Reload");
+                thread.setDaemon(true);
+                thread.setContextClassLoader(api.getClass().getClassLoader());
+                return thread;
+            });
+        }
+        try {
+            reloader.execute(() -> runStep(step));
+        } catch (RejectedExecutionException ex) {
+            reloading.set(false);
+        }
+    }
+
+    private void runSync(Runnable step) {
+        SyncQueue.submit(() -> {
+            if (closed) return;
+            runStep(step);
+        });
+    }
+
+    private void runStep(Runnable step) {
+        try {
+            step.run();
+        } catch (Exception ex) {
+            reloading.set(false);
+            Logger.bug("Failed to reload changed skills and classes - " + ex.getMessage());
+            ex.printStackTrace();
+        }
+    }
+
+    /**
+     * Finds the dynamic files that changed and builds the changed skills. This only
+     * reads files, so it can run off the server thread.
+     */
+    private Changes findChanges() {
+        List<LoadedFile<DynamicSkill>> skillFiles = listFiles(SKILL_FOLDER, SKILL_DIR);
+        skillFiles.removeIf(file -> !hasChanged(file));
+        List<LoadedFile<DynamicClass>> classFiles = listFiles(CLASS_FOLDER, CLASS_DIR);
+        classFiles.removeIf(file -> !hasChanged(file));
+
+        Changes changes = new Changes(skillFiles, classFiles);
+        buildFiles(skillFiles, this::loadSkill, DynamicSkill::save, changes.skillStats);
+        return changes;
+    }
+
+    private void applySkills(Changes changes) {
+        for (LoadedFile<DynamicSkill> file : changes.skills) {
+            if (reloadSkill(file, changes.skillStats)) changes.reloaded++;
+        }
+    }
+
+    private void buildClasses(Changes changes) {
+        buildFiles(changes.classes, this::loadClass, DynamicClass::save, changes.classStats);
+    }
+
+    private void applyClasses(Changes changes) {
+        for (LoadedFile<DynamicClass> file : changes.classes) {
+            if (reloadClass(file, changes.classStats)) changes.reloaded++;
+        }
+    }
+
+    private int finish(Changes changes) {
+        if (changes.isEmpty()) return 0;
+
+        skillConfig.save();
+        classConfig.save();
+        Logger.log(LogType.REGISTRATION, 0, "Reloaded " + changes.reloaded + " changed skills and classes in "
+                + millis(System.nanoTime() - changes.start) + "ms");
+        Logger.log(LogType.REGISTRATION, 1, " - skill files: " + changes.skillStats);
+        Logger.log(LogType.REGISTRATION, 1, " - class files: " + changes.classStats);
+        return changes.reloaded;
+    }
+
+    /**
+     * Checks the file's size and modified time first and only compares the content
+     * hash when those differ, so touching a file without editing it reloads nothing
+     */
+    private boolean hasChanged(LoadedFile<?> file) {
+        FileState state = fileStates.get(file.path);
+        try {
+            long modified = Files.getLastModifiedTime(file.file).toMillis();
+            long size     = Files.size(file.file);
+            if (state == null) return true;
+            if (state.modified == modified && state.size == size) return false;
+
+            byte[] hash = hash(Files.readAllBytes(file.file));
+            if (!Arrays.equals(hash, state.hash)) return true;
+
+            fileStates.put(file.path, new FileState(modified, size, hash, state.name));
+            return false;
+        } catch (IOException ex) {
+            return false;
+        }
+    }
+
+    private boolean reloadSkill(LoadedFile<DynamicSkill> file, LoadStats stats) {
+        long         start    = System.nanoTime();
+        FileState    state    = fileStates.get(file.path);
+        String       previous = state == null ? null : state.name;
+        DynamicSkill skill    = file.value;
+        if (skill == null) {
+            Logger.invalid("Failed to reload skill: " + file.name + " - " + file.error.getMessage());
+            track(file, previous);
+            return false;
+        }
+
+        String key     = skill.getName().toLowerCase();
+        Skill  current = SkillAPI.getSkill(key);
+        if (current == null) {
+            SkillAPI.getSkills().put(key, skill);
+            skill.registerEvents(api);
+            Logger.log(LogType.REGISTRATION, 2, "Loaded the dynamic skill: " + file.name);
+        } else if (key.equals(previous) && current instanceof DynamicSkill) {
+            swapSkill((DynamicSkill) current, skill);
+            Logger.log(LogType.REGISTRATION, 2, "Reloaded the dynamic skill: " + file.name);
+        } else {
+            Logger.invalid("Duplicate skill detected: " + file.name);
+            track(file, previous);
+            return false;
+        }
+
+        store(file, skillConfig, stats);
+        track(file, key);
+        stats.register += System.nanoTime() - start;
+        return true;
+    }
+
+    private boolean reloadClass(LoadedFile<DynamicClass> file, LoadStats stats) {
+        long         start    = System.nanoTime();
+        FileState    state    = fileStates.get(file.path);
+        String       previous = state == null ? null : state.name;
+        DynamicClass tree     = file.value;
+        if (tree == null) {
+            Logger.invalid("Failed to reload class file: " + file.name + " - " + file.error.getMessage());
+            track(file, previous);
+            return false;
+        }
+
+        String   key     = tree.getName().toLowerCase();
+        RPGClass current = SkillAPI.getClass(key);
+        if (current == null) {
+            api.addDynamicClass(tree);
+            tree.arrange();
+            Logger.log(LogType.REGISTRATION, 2, "Loaded the dynamic class: " + file.name);
+        } else if (!key.equals(previous) || !(current instanceof DynamicClass)) {
+            Logger.invalid("Duplicate class detected: " + file.name);
+            track(file, previous);
+            return false;
+        } else if (!current.getGroup().equals(tree.getGroup())) {
+            Logger.invalid("The class \"" + file.name + "\" changed its group, use a full reload to apply it");
+            track(file, previous);
+            return false;
+        } else {
+            swapClass(current, tree);
+            Logger.log(LogType.REGISTRATION, 2, "Reloaded the dynamic class: " + file.name);
+        }
+
+        store(file, classConfig, stats);
+        track(file, key);
+        stats.register += System.nanoTime() - start;
+        return true;
+    }
+
+    /**
+     * Replaces a skill with its reloaded copy everywhere it is referenced. Every caster
+     * whose passives for the skill are running, players or not, has them stopped and
+     * started with the new copy.
+     */
+    private void swapSkill(DynamicSkill old, DynamicSkill replacement) {
+        SkillAPI.getSkills().put(replacement.getName().toLowerCase(), replacement);
+        replacement.registerEvents(api);
+        for (RPGClass rpgClass : SkillAPI.getClasses().values()) {
+            if (rpgClass.replaceSkill(old, replacement)) rpgClass.reloadSkillTree();
+        }
+
+        Map<LivingEntity, Integer> casters = old.stopAllEffects();
+        for (PlayerAccounts accounts : SkillAPI.getPlayerRegistry().getAll()) {
+            for (PlayerData data : accounts.getAllData().values()) {
+                PlayerSkill skill = data.getSkill(old.getName());
+                if (skill != null && skill.getData() == old) skill.setData(replacement);
+            }
+        }
+        casters.forEach(replacement::initialize);
+    }
+
+    /**
+     * Replaces a class with its reloaded copy, keeping player progress and giving
+     * players any skills the new copy added
+     */
+    private void swapClass(RPGClass old, DynamicClass replacement) {
+        SkillAPI.getClasses().put(replacement.getName().toLowerCase(), replacement);
+        ClassBoardManager.registerClass(replacement);
+        replacement.arrange();
+
+        for (PlayerAccounts accounts : SkillAPI.getPlayerRegistry().getAll()) {
+            for (PlayerData data : accounts.getAllData().values()) {
+                for (PlayerClass playerClass : data.getClasses()) {
+                    if (playerClass.getData() != old) continue;
+
+                    playerClass.reloadData(replacement);
+                    for (Skill skill : replacement.getSkills()) {
+                        data.giveSkill(skill, playerClass);
+                    }
+                    data.invalidateAttributes();
+                    Player player = data.getPlayer();
+                    if (player != null && accounts.getActiveData() == data) data.updatePlayerStat(player);
+                }
+            }
+        }
+    }
+
+    private static byte[] hash(byte[] content) {
+        try {
+            return MessageDigest.getInstance("SHA-256").digest(content);
+        } catch (NoSuchAlgorithmException ex) {
+            throw new IllegalStateException(ex);
+        }
     }
 
     private String getQualifiedFileName(Path root, Path path) {
@@ -456,6 +934,88 @@ public class RegistrationManager {
         return mode == Mode.DYNAMIC;
     }
 
+    /**
+     * A skill or class file read and built by {@link #loadFiles}
+     */
+    /**
+     * Files found to have changed by one reload, carried between its steps
+     */
+    private static class Changes {
+        private final List<LoadedFile<DynamicSkill>> skills;
+        private final List<LoadedFile<DynamicClass>> classes;
+        private final LoadStats                      skillStats = new LoadStats();
+        private final LoadStats                      classStats = new LoadStats();
+        private final long                           start      = System.nanoTime();
+        private       int                            reloaded;
+
+        private Changes(List<LoadedFile<DynamicSkill>> skills, List<LoadedFile<DynamicClass>> classes) {
+            this.skills = skills;
+            this.classes = classes;
+        }
+
+        private boolean isEmpty() {
+            return skills.isEmpty() && classes.isEmpty();
+        }
+    }
+
+    static class LoadedFile<T> {
+        final Path            file;
+        final String          path;
+        final String          name;
+        long                  modified;
+        long                  size;
+        byte[]                hash;
+        CommentedConfig       config;
+        DataSection           saved;
+        boolean               changed;
+        T                     value;
+        Exception             error;
+
+        private LoadedFile(Path file, String path, String name) {
+            this.file = file;
+            this.path = path;
+            this.name = name;
+        }
+    }
+
+    /**
+     * Size, modified time and content hash of a dynamic file when it was last loaded
+     */
+    private static class FileState {
+        private final long   modified;
+        private final long   size;
+        private final byte[] hash;
+        private final String name;
+
+        private FileState(long modified, long size, byte[] hash, String name) {
+            this.modified = modified;
+            this.size = size;
+            this.hash = hash;
+            this.name = name;
+        }
+    }
+
+    /**
+     * Time spent on each step of loading a dynamic folder. Parse and build times are
+     * summed over the worker threads, so they can add up to more than the wall time.
+     */
+    static class LoadStats {
+        final LongAdder parse = new LongAdder();
+        final LongAdder build = new LongAdder();
+        long            wall;
+        long            register;
+        int             files;
+        int             threads;
+        int             rewritten;
+
+        @Override
+        public String toString() {
+            return files + " files on " + threads + " threads in " + millis(wall) + "ms (parse "
+                    + millis(parse.sum()) + "ms, build " + millis(build.sum()) + "ms), register "
+                    + millis(register) + "ms, " + rewritten + " rewritten";
+        }
+    }
+
     /**
      * The registration modes used by the manager. These values are used to check
      * what can be registered at any given time.
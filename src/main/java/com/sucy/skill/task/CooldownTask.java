@@ -28,7 +28,9 @@ package com.sucy.skill.task;
 
 import com.sucy.skill.SkillAPI;
 import com.sucy.skill.api.player.PlayerData;
+import com.sucy.skill.api.player.PlayerSkillBar;
 import com.sucy.skill.thread.RepeatThreadTask;
+import com.sucy.skill.thread.SyncQueue;
 import mc.promcteam.engine.mccore.util.VersionManager;
 import org.bukkit.entity.Player;
 
@@ -54,7 +56,14 @@ public class CooldownTask extends RepeatThreadTask {
             if (!SkillAPI.hasPlayerData(player)) continue;
 
             PlayerData data = SkillAPI.getPlayerData(player);
-            if (data.hasClass()) data.getSkillBar().updateCooldowns();
+            if (!data.hasClass()) continue;
+
+            PlayerSkillBar skillBar = data.getSkillBar();
+            int[]          amounts  = skillBar.getCooldowns();
+            if (amounts != null) {
+                SyncQueue.submit(new SyncQueue.Key(CooldownTask.class, player.getUniqueId()),
+                        () -> skillBar.applyCooldowns(amounts));
+            }
         }
     }
 }
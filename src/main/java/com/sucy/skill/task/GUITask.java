@@ -37,6 +37,7 @@ import com.sucy.skill.log.LogType;
 import com.sucy.skill.log.Logger;
 import com.sucy.skill.manager.ComboManager;
 import com.sucy.skill.thread.RepeatThreadTask;
+import com.sucy.skill.thread.SyncQueue;
 import mc.promcteam.engine.mccore.config.FilterType;
 import mc.promcteam.engine.mccore.util.TextFormatter;
 import mc.promcteam.engine.mccore.util.VersionManager;
@@ -107,99 +108,131 @@ public class GUITask extends RepeatThreadTask {
 
             PlayerData data = SkillAPI.getPlayerData(player);
 
-            // Health scale
-            if (forceScaling) {
-                if (oldHealth)
-                    player.setHealthScale(20);
-                else
-                    player.setHealthScale(player.getMaxHealth());
-            }
+            // Values are worked out here and applied on the server thread
+            int   level = -1;
+            float exp   = 0;
+            int   food  = -1;
 
             // Level bar options
             if (levelMana) {
                 Logger.log(LogType.GUI, 2, "Updating level bar with mana");
                 if (data.getMaxMana() == 0) {
-                    player.setLevel(0);
-                    player.setExp(0);
+                    level = 0;
                 } else {
-                    player.setLevel((int) data.getMana());
-                    player.setExp(Math.min(0.999f, (float) (0.999 * data.getMana() / data.getMaxMana())));
+                    level = (int) data.getMana();
+                    exp = Math.min(0.999f, (float) (0.999 * data.getMana() / data.getMaxMana()));
                 }
             } else if (levelLevel) {
                 Logger.log(LogType.GUI, 2, "Updating level bar with class level/exp");
                 if (!data.hasClass()) {
-                    player.setLevel(0);
-                    player.setExp(0);
+                    level = 0;
                 } else {
                     PlayerClass main = data.getMainClass();
-                    player.setLevel(main.getLevel());
-                    player.setExp(Math.min(0.999f, (float) main.getExp() / main.getRequiredExp()));
+                    level = main.getLevel();
+                    exp = Math.min(0.999f, (float) main.getExp() / main.getRequiredExp());
                 }
             }
 
             // Food bar options
             if (foodMana) {
                 Logger.log(LogType.GUI, 2, "Updating food bar with mana");
-                player.setSaturation(20);
                 if (data.getMaxMana() == 0) {
-                    player.setFoodLevel(20);
+                    food = 20;
                 } else {
-                    player.setFoodLevel((int) Math.ceil(20 * data.getMana() / data.getMaxMana()));
+                    food = (int) Math.ceil(20 * data.getMana() / data.getMaxMana());
                 }
             } else if (foodExp) {
                 Logger.log(LogType.GUI, 2, "Updating food bar with class level/exp");
-                player.setSaturation(20);
                 if (!data.hasClass()) {
-                    player.setFoodLevel(0);
+                    food = 0;
                 } else {
                     PlayerClass main = data.getMainClass();
-                    player.setFoodLevel((int) Math.floor(20 * main.getExp() / main.getRequiredExp()));
+                    food = (int) Math.floor(20 * main.getExp() / main.getRequiredExp());
                 }
             }
 
             // Action bar options
+            String action = null;
             if (useAction && data.hasClass()) {
                 Logger.log(LogType.GUI, 2, "Updating action bar");
-                PlayerClass main = data.getMainClass();
-                String filtered = (main.getData().hasActionBarText() ? main.getData().getActionBarText() : actionText)
-                        .replace("{combo}",
-                                SkillAPI.getLanguage()
-                                        .getMessage(ComboManager.DISPLAY_KEY,
-                                                true,
-                                                FilterType.COLOR,
-                                                RPGFilter.COMBO.setReplacement(data.getComboData()
-                                                        .getCurrentComboString()))
-                                        .get(0))
-                        .replace("{class}", main.getData().getPrefix())
-                        .replace("{level}", "" + main.getLevel())
-                        .replace("{exp}", "" + (int) main.getExp())
-                        .replace("{expReq}", "" + main.getRequiredExp())
-                        .replace("{expLeft}", "" + (int) Math.ceil(main.getRequiredExp() - main.getExp()))
-                        .replace("{mana}", "" + (int) data.getMana())
-                        .replace("{maxMana}", "" + (int) data.getMaxMana())
-                        .replace("{name}", player.getName())
-                        .replace("{health}", "" + (int) player.getHealth())
-                        .replace("{maxHealth}", "" + (int) player.getMaxHealth())
-                        .replace("{attr}", "" + data.getAttributePoints())
-                        .replace("{sp}", "" + main.getPoints());
-                while (filtered.contains("{value:")) {
-                    int    index = filtered.indexOf("{value:");
-                    int    end   = filtered.indexOf('}', index);
-                    String key   = filtered.substring(index + 7, end);
-                    String value = DynamicSkill.getCastData(player).get(key);
-                    filtered = filtered.replace("{value:" + key + "}", (value == null ? "None" : value));
+                action = getActionText(player, data);
+            }
+
+            final int    newLevel  = level;
+            final float  newExp    = exp;
+            final int    newFood   = food;
+            final String newAction = action;
+            SyncQueue.submit(new SyncQueue.Key(GUITask.class, player.getUniqueId()), () -> {
+                if (!player.isOnline()) return;
+
+                // Health scale
+                if (forceScaling) {
+                    if (oldHealth)
+                        player.setHealthScale(20);
+                    else
+                        player.setHealthScale(player.getMaxHealth());
                 }
 
-                if (PluginChecker.isPlaceholderAPIActive()) {
-                    filtered = PlaceholderAPIHook.format(filtered, player);
+                if (newLevel >= 0) {
+                    player.setLevel(newLevel);
+                    player.setExp(newExp);
                 }
 
-                if (VersionManager.isVersionAtLeast(11000)) {
-                    player.spigot().sendMessage(ChatMessageType.ACTION_BAR, TextComponent.fromLegacyText(filtered));
-                } else {
-                    MsgUT.sendActionBar(player, filtered);
+                if (newFood >= 0) {
+                    player.setSaturation(20);
+                    player.setFoodLevel(newFood);
                 }
-            }
+
+                if (newAction != null) {
+                    sendActionBar(player, newAction);
+                }
+            });
+        }
+    }
+
+    private String getActionText(Player player, PlayerData data) {
+        PlayerClass main = data.getMainClass();
+        String filtered = (main.getData().hasActionBarText() ? main.getData().getActionBarText() : actionText)
+                .replace("{combo}",
+                        SkillAPI.getLanguage()
+                                .getMessage(ComboManager.DISPLAY_KEY,
+                                        true,
+                                        FilterType.COLOR,
+                                        RPGFilter.COMBO.setReplacement(data.getComboData()
+                                                .getCurrentComboString()))
+                                .get(0))
+                .replace("{class}", main.getData().getPrefix())
+                .replace("{level}", "" + main.getLevel())
+                .replace("{exp}", "" + (int) main.getExp())
+                .replace("{expReq}", "" + main.getRequiredExp())
+                .replace("{expLeft}", "" + (int) Math.ceil(main.getRequiredExp() - main.getExp()))
+                .replace("{mana}", "" + (int) data.getMana())
+                .replace("{maxMana}", "" + (int) data.getMaxMana())
+                .replace("{name}", player.getName())
+                .replace("{health}", "" + (int) player.getHealth())
+                .replace("{maxHealth}", "" + (int) player.getMaxHealth())
+                .replace("{attr}", "" + data.getAttributePoints())
+                .replace("{sp}", "" + main.getPoints());
+        while (filtered.contains("{value:")) {
+            int    index = filtered.indexOf("{value:");
+            int    end   = filtered.indexOf('}', index);
+            String key   = filtered.substring(index + 7, end);
+            String value = DynamicSkill.getCastData(player).get(key);
+            filtered = filtered.replace("{value:" + key + "}", (value == null ? "None" : value));
+        }
+        return filtered;
+    }
+
+    private static void sendActionBar(Player player, String text) {
+        // Placeholders may read world state, so they are filled in on the server thread
+        if (PluginChecker.isPlaceholderAPIActive()) {
+            text = PlaceholderAPIHook.format(text, player);
+        }
+
+        if (VersionManager.isVersionAtLeast(11000)) {
+            player.spigot().sendMessage(ChatMessageType.ACTION_BAR, TextComponent.fromLegacyText(text));
+        } else {
+            MsgUT.sendActionBar(player, text);
         }
     }
 }
@@ -30,6 +30,7 @@ import com.sucy.skill.SkillAPI;
 import com.sucy.skill.api.skills.PassiveSkill;
 import com.sucy.skill.api.skills.Skill;
 import com.sucy.skill.api.util.BuffManager;
+import com.sucy.skill.api.util.EntityMeta;
 import com.sucy.skill.api.util.FlagManager;
 import com.sucy.skill.dynamic.DynamicSkill;
 import com.sucy.skill.dynamic.mechanic.WolfMechanic;
@@ -81,6 +82,7 @@ public class RemoveTask extends BukkitRunnable {
             }
 
             // Remove entity
+            EntityMeta.clear(entity);
             if (entity.isValid()) {
                 entity.remove();
             }
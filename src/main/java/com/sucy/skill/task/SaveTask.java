@@ -28,11 +28,14 @@ package com.sucy.skill.task;
 
 import com.sucy.skill.SkillAPI;
 import com.sucy.skill.thread.RepeatThreadTask;
+import org.bukkit.Bukkit;
 
 /**
  * Handles auto saving periodically
  */
 public class SaveTask extends RepeatThreadTask {
+    private final SkillAPI api;
+
     /**
      * Sets up the save task. This shouldn't be used by other plugins
      * as it is set up by the API.
@@ -44,13 +47,21 @@ public class SaveTask extends RepeatThreadTask {
                 SkillAPI.getSettings().getSaveFreq(),
                 SkillAPI.getSettings().getSaveFreq()
         );
+        this.api = api;
     }
 
     /**
-     * Saves all player data
+     * Queues all player data that changed since the last save. The data
+     * is copied on the main server thread so it can't change mid-copy.
      */
     @Override
     public void run() {
-        SkillAPI.saveData();
+        if (!SkillAPI.isLoaded()) return;
+
+        Bukkit.getScheduler().runTask(api, () -> {
+            if (SkillAPI.isLoaded()) {
+                SkillAPI.saveData(true);
+            }
+        });
     }
 }
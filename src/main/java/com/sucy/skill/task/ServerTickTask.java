@@ -0,0 +1,107 @@
+/**
+ * SkillAPI
+ * com.sucy.skill.task.ServerTickTask
+ * <p>
+ * The MIT License (MIT)
+ * <p>
+ * Copyright (c) 2014 Steven Sucy
+ * <p>
+ * Permission is hereby granted, free of charge, to any person obtaining a copy
+ * of this software and associated documentation files (the "Software") to deal
+ * in the Software without restriction, including without limitation the rights
+ * to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+ * copies of the Software, and to permit persons to whom the Software is
+ * furnished to do so, subject to the following conditions:
+ * <p>
+ * The above copyright notice and this permission notice shall be included in
+ * all copies or substantial portions of the Software.
+ * <p>
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+ * AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN
+ * THE SOFTWARE.
+ */
+package com.sucy.skill.task;
+
+import com.sucy.skill.log.Logger;
+import com.sucy.skill.thread.MainThread;
+import com.sucy.skill.thread.TaskTimings;
+
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * Runs SkillAPI's work on the server thread as a single task each tick.
+ * Steps run in the order they were added, so caches like the entity index
+ * are moved on before anything looks them up that tick, and the time each
+ * step takes is recorded in {@link MainThread#getTimings()} under its name.
+ */
+public class ServerTickTask implements Runnable {
+    private final List<Step> steps = new ArrayList<>();
+
+    private long tick;
+
+    /**
+     * Adds a step that runs every tick
+     *
+     * @param name name of the step in the timings
+     * @param step work to run
+     */
+    public void add(String name, Runnable step) {
+        add(name, step, 1);
+    }
+
+    /**
+     * Adds a step that runs every few ticks, starting after the first period
+     *
+     * @param name   name of the step in the timings
+     * @param step   work to run
+     * @param period ticks between runs
+     */
+    public void add(String name, Runnable step, int period) {
+        if (period <= 0) {
+            throw new IllegalArgumentException("Period must be positive, got " + period);
+        }
+        steps.add(new Step(name, step, period));
+    }
+
+    /**
+     * Runs the steps that are due this tick in order
+     */
+    @Override
+    public void run() {
+        tick++;
+
+        TaskTimings timings = MainThread.getTimings();
+        for (Step step : steps) {
+            if (tick % step.period != 0) continue;
+
+            long start = System.nanoTime();
+            try {
+                step.work.run();
+            } catch (Exception ex) {
+                if (timings.error(step.name)) {
+                    Logger.bug("Tick step \"" + step.name + "\" failed, further errors from it are only counted");
+                    ex.printStackTrace();
+                }
+            } finally {
+                timings.record(step.name, System.nanoTime() - start);
+            }
+        }
+    }
+
+    private static class Step {
+        private final String   name;
+        private final Runnable work;
+        private final int      period;
+
+        private Step(String name, Runnable work, int period) {
+            this.name = name;
+            this.work = work;
+            this.period = period;
+        }
+    }
+}
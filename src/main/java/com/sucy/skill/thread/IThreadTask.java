@@ -1,29 +1,3 @@
-/**
- * SkillAPI
- * com.sucy.skill.thread.IThreadTask
- * <p>
- * The MIT License (MIT)
- * <p>
- * Copyright (c) 2016 Steven Sucy
- * <p>
- * Permission is hereby granted, free of charge, to any person obtaining a copy
- * of this software and associated documentation files (the "Software"), to deal
- * in the Software without restriction, including without limitation the rights
- * to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
- * copies of the Software, and to permit persons to whom the Software is
- * furnished to do so, subject to the following conditions:
- * <p>
- * The above copyright notice and this permission notice shall be included in
- * all copies or substantial portions of the Software.
- * <p>
- * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
- * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
- * FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
- * AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
- * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
- * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN
- * THE SOFTWARE.
- */
 package com.sucy.skill.thread;
 
 /**
@@ -31,7 +5,7 @@ package com.sucy.skill.thread;
  */
 public interface IThreadTask extends Runnable {
     /**
-     * Ticks the task, checking if it should run
+     * Ticks the task when it is due, running it if applicable
      *
      * @return true if expired, false otherwise
      */
@@ -41,4 +15,24 @@ public interface IThreadTask extends Runnable {
      * Runs the functions of the task
      */
     void run();
+
+    /**
+     * Retrieves the number of ticks before the task is first ticked.
+     * Tasks that don't override this are ticked every tick.
+     *
+     * @return delay in ticks, at least 1
+     */
+    default int getDelay() {
+        return 1;
+    }
+
+    /**
+     * Retrieves the number of ticks between each tick of the task
+     * after the first. Tasks that don't override this are ticked every tick.
+     *
+     * @return interval in ticks, at least 1
+     */
+    default int getInterval() {
+        return 1;
+    }
 }
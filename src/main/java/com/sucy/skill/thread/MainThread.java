@@ -1,53 +1,40 @@
-/**
- * SkillAPI
- * com.sucy.skill.thread.MainThread
- * <p>
- * The MIT License (MIT)
- * <p>
- * Copyright (c) 2016 Steven Sucy
- * <p>
- * Permission is hereby granted, free of charge, to any person obtaining a copy
- * of this software and associated documentation files (the "Software"), to deal
- * in the Software without restriction, including without limitation the rights
- * to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
- * copies of the Software, and to permit persons to whom the Software is
- * furnished to do so, subject to the following conditions:
- * <p>
- * The above copyright notice and this permission notice shall be included in
- * all copies or substantial portions of the Software.
- * <p>
- * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
- * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
- * FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
- * AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
- * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
- * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN
- * THE SOFTWARE.
- */
 package com.sucy.skill.thread;
 
+import com.sucy.skill.log.Logger;
 import org.bukkit.plugin.IllegalPluginAccessException;
 
-import java.util.ConcurrentModificationException;
 import java.util.Objects;
+import java.util.Queue;
+import java.util.concurrent.ConcurrentLinkedQueue;
+import java.util.concurrent.TimeUnit;
 
 /**
- * The main async task for SkillAPI functions
+ * The main async task for SkillAPI functions. Tasks are kept in a
+ * {@link TimingWheel} so only the tasks that are due get looked at each tick.
  */
 public class MainThread extends Thread {
-    private static final TaskList tasks = new TaskList();
+    /**
+     * Length of a tick in nanoseconds
+     */
+    public static final long TICK_NANOS = TimeUnit.MILLISECONDS.toNanos(50);
 
-    private long time;
+    /**
+     * How far behind the thread can fall before it stops trying to catch up
+     */
+    private static final long MAX_CATCH_UP = TimeUnit.SECONDS.toNanos(1);
 
-    private boolean enabled;
+    private static final Queue<IThreadTask>       pending = new ConcurrentLinkedQueue<>();
+    private static final TimingWheel<IThreadTask> wheel   = new TimingWheel<>();
+    private static final TaskTimings              timings = new TaskTimings();
 
-    private boolean print = true;
+    private volatile boolean enabled;
 
     /**
      * Sets up the main thread
      */
     public MainThread() {
-        time = System.currentTimeMillis();
+        super("SkillAPI Main Thread");
+        setDaemon(true);
         enabled = true;
         start();
     }
@@ -57,52 +44,119 @@ public class MainThread extends Thread {
      */
     @Override
     public void run() {
+        long next = System.nanoTime();
         while (enabled) {
-            try {
-                tasks.iterator();
-                while (tasks.hasNext()) {
-                    if (tasks.next().tick()) {
-                        tasks.remove();
-                    }
+            long start = System.nanoTime();
+            boolean late = start - next > TICK_NANOS;
+            runTick();
+            timings.tick(late);
+
+            // Schedule from when the tick should have started so time doesn't drift,
+            // catching up on short delays and giving up on long ones
+            next += TICK_NANOS;
+            long wait = next - System.nanoTime();
+            if (wait < -MAX_CATCH_UP) {
+                timings.skip(-wait / TICK_NANOS);
+                next = System.nanoTime();
+            } else if (wait > 0) {
+                try {
+                    TimeUnit.NANOSECONDS.sleep(wait);
+                } catch (InterruptedException ex) {
+                    // Woken up to be disabled
                 }
+            }
+        }
+    }
+
+    private void runTick() {
+        synchronized (wheel) {
+            schedulePending();
 
-                long current = System.currentTimeMillis();
-                time += 50;
-                sleep(Math.max(1, time - current));
-            } catch (ConcurrentModificationException ex) {
-                // Concurrent exceptions would happen infrequently
-                // but shouldn't be a concern. We'll just continue
-                // functionality next tick.
-            } catch (Exception ex) {
-                if (print) {
-                    ex.printStackTrace();
-                    print = false;
+            TimingWheel.Node<IThreadTask> node = wheel.advance();
+            while (node != null) {
+                TimingWheel.Node<IThreadTask> next = node.getNext();
+                if (!runTask(node.task)) {
+                    wheel.schedule(node, node.task.getInterval());
                 }
+                node = next;
             }
         }
     }
 
     /**
-     * Disables the main thread, stopping future runs
+     * Ticks the task, recording how long it took
+     *
+     * @param task task to tick
+     * @return true if the task is finished
      */
-    public void disable() {
-        for (IThreadTask task : tasks) {
-            try {
-                task.run();
-            } catch (IllegalPluginAccessException ignored) {
+    private static boolean runTask(IThreadTask task) {
+        long start = System.nanoTime();
+        try {
+            return task.tick();
+        } catch (Exception ex) {
+            if (timings.error(task)) {
+                Logger.bug("Task " + task.getClass().getName() + " failed, further errors from it are only counted");
+                ex.printStackTrace();
             }
+            return task instanceof ThreadTask;
+        } finally {
+            timings.record(task, System.nanoTime() - start);
         }
-        tasks.clear();
+    }
+
+    private static void schedulePending() {
+        IThreadTask task;
+        while ((task = pending.poll()) != null) {
+            wheel.schedule(new TimingWheel.Node<>(task), task.getDelay());
+        }
+    }
+
+    /**
+     * Disables the main thread, stopping future runs. Every task that is
+     * still registered is run one last time.
+     */
+    public void disable() {
         enabled = false;
+        interrupt();
+        try {
+            join(TimeUnit.NANOSECONDS.toMillis(MAX_CATCH_UP));
+        } catch (InterruptedException ex) {
+            Thread.currentThread().interrupt();
+        }
+
+        synchronized (wheel) {
+            schedulePending();
+            wheel.drain(task -> {
+                try {
+                    task.run();
+                } catch (IllegalPluginAccessException ignored) {
+                }
+            });
+        }
     }
 
     /**
-     * Registers a new task to run
+     * Registers a new task to run. This can be called from any thread,
+     * the task is picked up at the start of the next tick.
      *
      * @param task task to run
      */
     public static void register(IThreadTask task) {
         Objects.requireNonNull(task, "Cannot register a null task");
-        tasks.add(task);
+        pending.add(task);
+    }
+
+    /**
+     * @return approximate number of registered tasks
+     */
+    public static int getTaskCount() {
+        return wheel.size() + pending.size();
+    }
+
+    /**
+     * @return execution times of the tasks, grouped by task class
+     */
+    public static TaskTimings getTimings() {
+        return timings;
     }
 }
@@ -0,0 +1,161 @@
+package com.sucy.skill.thread;
+
+import com.sucy.skill.log.Logger;
+import org.bukkit.Bukkit;
+
+import java.util.Map;
+import java.util.Objects;
+import java.util.Queue;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentLinkedQueue;
+
+/**
+ * Hands work that has to touch the Bukkit API from the {@link MainThread}
+ * over to the server thread. Tasks on the main thread do their calculations
+ * there and submit only the resulting changes, which are applied by
+ * {@link #drain(long)} each server tick.
+ * <p>
+ * Changes submitted with a key replace any change with the same key that
+ * hasn't been applied yet, so a slow server only ever applies the latest
+ * state instead of working through a backlog of outdated ones.
+ * <p>
+ * Changes that fail are counted in the {@link MainThread#getTimings() timings}
+ * under the type of change, and only the first failure of each type is logged.
+ */
+public final class SyncQueue {
+    private static final Queue<Object>        queue = new ConcurrentLinkedQueue<>();
+    private static final Map<Object, Runnable> keyed = new ConcurrentHashMap<>();
+
+    private SyncQueue() {
+    }
+
+    /**
+     * Key for a change that should replace older changes of the same
+     * type for the same thing
+     */
+    public static final class Key {
+        private final Object type;
+        private final Object id;
+
+        /**
+         * @param type what kind of change it is, usually the submitting task
+         * @param id   what the change applies to, such as a player's UUID
+         */
+        public Key(Object type, Object id) {
+            this.type = type;
+            this.id = id;
+        }
+
+        @Override
+        public boolean equals(Object o) {
+            if (this == o) return true;
+            if (!(o instanceof Key)) return false;
+            Key key = (Key) o;
+            return type.equals(key.type) && id.equals(key.id);
+        }
+
+        @Override
+        public int hashCode() {
+            return 31 * type.hashCode() + id.hashCode();
+        }
+    }
+
+    /**
+     * Queues a change to be applied on the server thread
+     *
+     * @param change change to apply
+     */
+    public static void submit(Runnable change) {
+        Objects.requireNonNull(change, "Cannot submit a null change");
+        queue.add(change);
+    }
+
+    /**
+     * Queues a change to be applied on the server thread, replacing
+     * any change with the same key that hasn't been applied yet
+     *
+     * @param key    key of the change
+     * @param change change to apply
+     */
+    public static void submit(Key key, Runnable change) {
+        Objects.requireNonNull(change, "Cannot submit a null change");
+        if (keyed.put(key, change) == null) {
+            queue.add(key);
+        }
+    }
+
+    /**
+     * Applies the change right away when on the server thread,
+     * otherwise queues it
+     *
+     * @param change change to apply
+     */
+    public static void run(Runnable change) {
+        if (Bukkit.isPrimaryThread()) {
+            change.run();
+        } else {
+            submit(change);
+        }
+    }
+
+    /**
+     * Applies queued changes until the queue is empty or the time budget
+     * runs out. Anything left over is applied next time. Must be called
+     * on the server thread.
+     *
+     * @param budgetNanos time to spend in nanoseconds
+     * @return number of changes applied
+     */
+    public static int drain(long budgetNanos) {
+        long start = System.nanoTime();
+        int  count = 0;
+        do {
+            Object next = queue.poll();
+            if (next == null) break;
+
+            Runnable change = next instanceof Key ? keyed.remove(next) : (Runnable) next;
+            if (change == null) continue;
+
+            try {
+                change.run();
+            } catch (Exception ex) {
+                String type = "sync: " + type(next);
+                if (MainThread.getTimings().error(type)) {
+                    Logger.bug("Failed to apply a change of type \"" + type + "\", further errors of that type are only counted");
+                    ex.printStackTrace();
+                }
+            }
+            count++;
+        } while (System.nanoTime() - start < budgetNanos);
+        return count;
+    }
+
+    /**
+     * Names the type of a queued change, which is the key's type for keyed
+     * changes and the class that submitted it otherwise
+     */
+    private static String type(Object next) {
+        Object type = next instanceof Key ? ((Key) next).type : next.getClass();
+        if (!(type instanceof Class)) return type.toString();
+
+        Class<?> clazz = (Class<?>) type;
+        String   name  = clazz.getSimpleName().isEmpty() ? clazz.getName() : clazz.getSimpleName();
+        int      end   = name.indexOf("$$Lambda");
+        return end > 0 ? name.substring(0, end) : name;
+    }
+
+    /**
+     * @return approximate number of changes waiting to be applied
+     */
+    public static int size() {
+        return queue.size();
+    }
+
+    /**
+     * Discards all queued changes
+     */
+    public static void clear() {
+        queue.clear();
+        keyed.clear();
+    }
+}
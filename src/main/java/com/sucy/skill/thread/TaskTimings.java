@@ -0,0 +1,196 @@
+package com.sucy.skill.thread;
+
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+
+/**
+ * Execution time and overrun counters for the tasks run by the {@link MainThread},
+ * grouped by task class, and for other timed work, grouped by name
+ */
+public class TaskTimings {
+    private final Map<String, Stats> stats = new ConcurrentHashMap<>();
+
+    private volatile long ticks;
+    private volatile long lateTicks;
+    private volatile long skippedTicks;
+    private volatile long since = System.currentTimeMillis();
+
+    /**
+     * Counters for a single task class
+     */
+    public static class Stats {
+        private final String name;
+
+        private long    runs;
+        private long    totalNanos;
+        private long    maxNanos;
+        private long    overruns;
+        private long    errors;
+        private boolean reported;
+
+        private Stats(String name) {
+            this.name = name;
+        }
+
+        /**
+         * @return simple name of the task class or name of the work
+         */
+        public String getName() {
+            return name;
+        }
+
+        /**
+         * @return number of times tasks of the class ran
+         */
+        public synchronized long getRuns() {
+            return runs;
+        }
+
+        /**
+         * @return total time spent running tasks of the class in nanoseconds
+         */
+        public synchronized long getTotalNanos() {
+            return totalNanos;
+        }
+
+        /**
+         * @return average time of a single run in nanoseconds
+         */
+        public synchronized long getAverageNanos() {
+            return runs == 0 ? 0 : totalNanos / runs;
+        }
+
+        /**
+         * @return longest single run in nanoseconds
+         */
+        public synchronized long getMaxNanos() {
+            return maxNanos;
+        }
+
+        /**
+         * @return number of runs that took longer than a whole tick
+         */
+        public synchronized long getOverruns() {
+            return overruns;
+        }
+
+        /**
+         * @return number of runs that threw an exception
+         */
+        public synchronized long getErrors() {
+            return errors;
+        }
+
+        private synchronized void record(long nanos) {
+            runs++;
+            totalNanos += nanos;
+            maxNanos = Math.max(maxNanos, nanos);
+            if (nanos > MainThread.TICK_NANOS) {
+                overruns++;
+            }
+        }
+
+        private synchronized boolean error() {
+            errors++;
+            if (reported) return false;
+            reported = true;
+            return true;
+        }
+    }
+
+    /**
+     * @return counters of each task class, the most expensive first
+     */
+    public List<Stats> getStats() {
+        List<Stats> result = new ArrayList<>(stats.values());
+        result.sort(Comparator.comparingLong(Stats::getTotalNanos).reversed());
+        return result;
+    }
+
+    /**
+     * @return number of ticks run since the timings were reset
+     */
+    public long getTicks() {
+        return ticks;
+    }
+
+    /**
+     * @return number of ticks that started late because the previous ones took too long
+     */
+    public long getLateTicks() {
+        return lateTicks;
+    }
+
+    /**
+     * @return number of ticks dropped because the thread fell too far behind to catch up
+     */
+    public long getSkippedTicks() {
+        return skippedTicks;
+    }
+
+    /**
+     * @return time in milliseconds when the timings were last reset
+     */
+    public long getSince() {
+        return since;
+    }
+
+    /**
+     * Clears all counters
+     */
+    public void reset() {
+        stats.clear();
+        ticks = 0;
+        lateTicks = 0;
+        skippedTicks = 0;
+        since = System.currentTimeMillis();
+    }
+
+    void record(IThreadTask task, long nanos) {
+        record(name(task.getClass()), nanos);
+    }
+
+    boolean error(IThreadTask task) {
+        return error(name(task.getClass()));
+    }
+
+    /**
+     * Records a single run of timed work that isn't a main thread task
+     *
+     * @param name  name to group the runs under
+     * @param nanos time the run took in nanoseconds
+     */
+    public void record(String name, long nanos) {
+        get(name).record(nanos);
+    }
+
+    /**
+     * Counts a run of timed work that threw an exception
+     *
+     * @param name name the runs are grouped under
+     * @return true if this is the first error under the name and it should be reported
+     */
+    public boolean error(String name) {
+        return get(name).error();
+    }
+
+    void tick(boolean late) {
+        ticks++;
+        if (late) lateTicks++;
+    }
+
+    void skip(long count) {
+        skippedTicks += count;
+    }
+
+    private Stats get(String name) {
+        return stats.computeIfAbsent(name, Stats::new);
+    }
+
+    private static String name(Class<?> type) {
+        return type.getSimpleName().isEmpty() ? type.getName() : type.getSimpleName();
+    }
+}
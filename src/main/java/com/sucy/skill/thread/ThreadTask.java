@@ -1,36 +1,10 @@
-/**
- * SkillAPI
- * com.sucy.skill.thread.ThreadTask
- * <p>
- * The MIT License (MIT)
- * <p>
- * Copyright (c) 2016 Steven Sucy
- * <p>
- * Permission is hereby granted, free of charge, to any person obtaining a copy
- * of this software and associated documentation files (the "Software"), to deal
- * in the Software without restriction, including without limitation the rights
- * to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
- * copies of the Software, and to permit persons to whom the Software is
- * furnished to do so, subject to the following conditions:
- * <p>
- * The above copyright notice and this permission notice shall be included in
- * all copies or substantial portions of the Software.
- * <p>
- * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
- * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
- * FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
- * AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
- * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
- * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN
- * THE SOFTWARE.
- */
 package com.sucy.skill.thread;
 
 /**
  * A task that runs ones and is finished
  */
 public abstract class ThreadTask implements IThreadTask {
-    private int time;
+    private final int delay;
 
     /**
      * Sets up the task to run on the next thread iteration
@@ -45,20 +19,25 @@ public abstract class ThreadTask implements IThreadTask {
      * @param delay delay in ticks
      */
     public ThreadTask(int delay) {
-        time = delay;
+        this.delay = Math.max(delay, 1);
     }
 
     /**
-     * Ticks the task, running it if applicable
+     * Runs the task, which is then finished
      *
-     * @return true after the task runs, false beforehand
+     * @return true since the task only runs once
      */
     @Override
     public boolean tick() {
-        if (--time <= 0) {
-            run();
-            return true;
-        }
-        return false;
+        run();
+        return true;
+    }
+
+    /**
+     * @return delay before the task runs
+     */
+    @Override
+    public int getDelay() {
+        return delay;
     }
 }
@@ -0,0 +1,182 @@
+package com.sucy.skill.thread;
+
+import java.util.function.Consumer;
+
+/**
+ * Hierarchical timing wheel that holds tasks until the tick they are due.
+ * Adding a task, cancelling it and collecting due tasks all take constant
+ * time no matter how many tasks are waiting. Each level has 64 slots, with every slot of
+ * a level covering a whole rotation of the level below it, so four levels
+ * cover about 16 million ticks. Longer delays are clamped and re-inserted
+ * when reached.
+ * <p>
+ * Cancelled tasks stay in their slot until it is reached and are dropped
+ * then instead of being handed out.
+ * <p>
+ * Not thread safe, each wheel should only be used by one thread.
+ *
+ * @param <T> type of the scheduled tasks
+ */
+public final class TimingWheel<T> {
+    private static final int  BITS      = 6;
+    private static final int  SIZE      = 1 << BITS;
+    private static final int  MASK      = SIZE - 1;
+    private static final int  LEVELS    = 4;
+    private static final long MAX_DELAY = (1L << (BITS * LEVELS)) - 1;
+
+    @SuppressWarnings("unchecked")
+    private final Node<T>[][] slots = new Node[LEVELS][SIZE];
+
+    private long tick;
+    private int  size;
+
+    /**
+     * A scheduled task
+     */
+    public static final class Node<T> {
+        final T         task;
+        long            deadline;
+        private boolean cancelled;
+        private Node<T> next;
+
+        public Node(T task) {
+            this.task = task;
+        }
+
+        /**
+         * @return the scheduled task
+         */
+        public T getTask() {
+            return task;
+        }
+
+        /**
+         * @return next task that became due at the same time or null if none
+         */
+        public Node<T> getNext() {
+            return next;
+        }
+    }
+
+    /**
+     * @return number of ticks advanced so far
+     */
+    public long getTick() {
+        return tick;
+    }
+
+    /**
+     * @return number of scheduled tasks
+     */
+    public int size() {
+        return size;
+    }
+
+    /**
+     * Schedules the task to be due after the delay
+     *
+     * @param node  task to schedule
+     * @param delay delay in ticks, at least 1
+     */
+    public void schedule(Node<T> node, long delay) {
+        node.deadline = tick + Math.max(1, delay);
+        insert(node);
+        size++;
+    }
+
+    /**
+     * Cancels a scheduled task so it is never handed out. Cancelling a task
+     * that was already handed out does nothing. A cancelled node can't be
+     * scheduled again, schedule a new node for the task instead.
+     *
+     * @param node task to cancel
+     */
+    public void cancel(Node<T> node) {
+        // Nodes that were already handed out are no longer waiting
+        if (!node.cancelled && node.deadline > tick) {
+            node.cancelled = true;
+            size--;
+        }
+    }
+
+    /**
+     * Advances the wheel by a tick and collects the tasks that are now due.
+     * The returned tasks are no longer scheduled and are chained together,
+     * use {@link Node#getNext()} to go through them.
+     *
+     * @return first due task or null if none are due
+     */
+    public Node<T> advance() {
+        tick++;
+
+        // Move tasks down from each higher level that completed a rotation
+        int level = 1;
+        while (level < LEVELS && (tick & ((1L << (BITS * level)) - 1)) == 0) {
+            level++;
+        }
+        for (int i = level - 1; i >= 1; i--) {
+            int     slot = (int) ((tick >>> (BITS * i)) & MASK);
+            Node<T> node = slots[i][slot];
+            slots[i][slot] = null;
+            while (node != null) {
+                Node<T> next = node.next;
+                if (!node.cancelled) insert(node);
+                node = next;
+            }
+        }
+
+        int     slot = (int) (tick & MASK);
+        Node<T> node = slots[0][slot];
+        slots[0][slot] = null;
+
+        Node<T> due = null;
+        while (node != null) {
+            Node<T> next = node.next;
+            if (node.cancelled) {
+                node.next = null;
+            } else if (node.deadline > tick) {
+                insert(node);
+            } else {
+                node.next = due;
+                due = node;
+                size--;
+            }
+            node = next;
+        }
+        return due;
+    }
+
+    /**
+     * Removes all scheduled tasks, passing each of them to the consumer
+     *
+     * @param consumer consumer to give the tasks to
+     */
+    public void drain(Consumer<T> consumer) {
+        for (Node<T>[] level : slots) {
+            for (int i = 0; i < SIZE; i++) {
+                Node<T> node = level[i];
+                level[i] = null;
+                while (node != null) {
+                    if (!node.cancelled) consumer.accept(node.task);
+                    node.cancelled = true;
+                    node = node.next;
+                }
+            }
+        }
+        size = 0;
+    }
+
+    private void insert(Node<T> node) {
+        long delta  = Math.max(0, node.deadline - tick);
+        long target = tick + Math.min(delta, MAX_DELAY);
+
+        int level = 0;
+        while (level < LEVELS - 1 && (target - tick) >= (1L << (BITS * (level + 1)))) {
+            level++;
+        }
+
+        int slot = (int) ((target >>> (BITS * level)) & MASK);
+        node.next = slots[level][slot];
+        slots[level][slot] = node;
+    }
+}
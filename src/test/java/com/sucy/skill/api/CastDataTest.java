@@ -0,0 +1,121 @@
+package com.sucy.skill.api;
+
+import com.sucy.skill.testutil.MockedTest;
+import org.bukkit.entity.Player;
+import org.junit.jupiter.api.Test;
+
+import java.util.HashMap;
+import java.util.Map;
+import java.util.Random;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+public class CastDataTest extends MockedTest {
+
+    @Test
+    void matchesMapThroughPutsAndRemoves() {
+        Player              player = genPlayer("Caster");
+        CastData            data   = new CastData(player);
+        Map<String, Object> model  = new HashMap<>();
+        Random              random = new Random(7);
+
+        for (int i = 0; i < 5_000; i++) {
+            String key = "value-" + random.nextInt(40);
+            if (random.nextInt(3) == 0) {
+                data.remove(key);
+                model.remove(key);
+            } else {
+                data.put(key, i);
+                model.put(key, i);
+            }
+
+            assertEquals(model.size(), data.size());
+            for (int k = 0; k < 40; k++) {
+                assertEquals(model.get("value-" + k), data.getRaw("value-" + k));
+            }
+        }
+    }
+
+    @Test
+    void idsAreSharedAndStable() {
+        int id = CastData.id("api-shared");
+        assertEquals(id, CastData.id("api-shared"));
+        assertNotEquals(id, CastData.id("api-other"));
+
+        CastData data = new CastData(genPlayer("Caster"));
+        data.put(id, 3.5, CastData.Scope.ENTITY);
+        assertEquals(3.5, data.getDouble("api-shared"));
+        assertEquals("3.5", data.get("api-shared"));
+    }
+
+    @Test
+    void unknownKeysAreNotInterned() {
+        CastData data  = new CastData(genPlayer("Caster"));
+        int      count = CastData.getKeyCount();
+        assertNull(data.getRaw("never-stored"));
+        assertFalse(data.contains("attr:not-an-attribute"));
+        data.remove("also-never-stored");
+        assertEquals(count, CastData.getKeyCount());
+    }
+
+    @Test
+    void casterIsResolvedUnlessOverwritten() {
+        Player   player = genPlayer("Caster");
+        CastData data   = new CastData(player);
+        assertSame(player, data.getRaw("caster"));
+        assertEquals("Caster", data.get("caster"));
+        assertTrue(data.isEmpty());
+
+        data.put("caster", "someone else");
+        assertEquals("someone else", data.get("caster"));
+        data.put("caster", null);
+        assertSame(player, data.getRaw(CastData.CASTER));
+    }
+
+    @Test
+    void castValuesAreReclaimedOnceIdle() {
+        CastData data = new CastData(genPlayer("Caster"));
+        data.put("kept", 1);
+
+        data.beginCast();
+        data.put("api-taken", 5.0, CastData.Scope.CAST);
+        data.endCast();
+
+        // Cast since the last sweep
+        assertFalse(data.reclaim());
+        assertEquals(5.0, data.getRaw("api-taken"));
+
+        // Idle for a whole sweep
+        assertFalse(data.reclaim());
+        assertNull(data.getRaw("api-taken"));
+        assertEquals(1, data.getRaw("kept"));
+
+        data.remove("kept");
+        assertTrue(data.reclaim());
+    }
+
+    @Test
+    void castValuesSurviveWhileCasting() {
+        CastData data = new CastData(genPlayer("Caster"));
+        data.beginCast();
+        data.put("api-distance", 2.0, CastData.Scope.CAST);
+        data.reclaim();
+        data.reclaim();
+        assertEquals(2.0, data.getRaw("api-distance"));
+        assertTrue(data.isCasting());
+
+        data.endCast();
+        data.reclaim();
+        assertTrue(data.isEmpty());
+    }
+
+    @Test
+    void rewritingChangesScope() {
+        CastData data = new CastData(genPlayer("Caster"));
+        data.put("value", 1, CastData.Scope.CAST);
+        data.put("value", 2);
+        data.reclaim();
+        data.reclaim();
+        assertEquals(2, data.getRaw("value"));
+    }
+}
@@ -0,0 +1,89 @@
+package com.sucy.skill.api;
+
+import com.sucy.skill.SkillAPI;
+import com.sucy.skill.testutil.MockedTest;
+import org.bukkit.entity.LivingEntity;
+import org.bukkit.entity.Player;
+import org.bukkit.event.entity.EntityDamageEvent;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+import java.util.ArrayList;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+public class RelationCacheTest extends MockedTest {
+    private final List<LivingEntity> checked = new ArrayList<>();
+    private       int                bulkChecks;
+
+    private Player attacker;
+    private Player friend;
+    private Player enemy;
+
+    @BeforeEach
+    public void setupProtection() {
+        attacker = genPlayer("Attacker");
+        friend = genPlayer("Friend");
+        enemy = genPlayer("Enemy");
+
+        RelationCache.setLifespan(1);
+        SkillAPI.getSettings().setCombatProtection(new CombatProtection() {
+            @Override
+            public boolean canAttack(LivingEntity attacker, LivingEntity defender, EntityDamageEvent.DamageCause cause) {
+                checked.add(defender);
+                return defender != friend;
+            }
+
+            @Override
+            public boolean[] canAttack(LivingEntity attacker,
+                                       List<LivingEntity> defenders,
+                                       EntityDamageEvent.DamageCause cause) {
+                bulkChecks++;
+                return CombatProtection.super.canAttack(attacker, defenders, cause);
+            }
+        });
+    }
+
+    @AfterEach
+    public void resetProtection() {
+        SkillAPI.getSettings().setCombatProtection((attacker, target, cause) ->
+                CombatProtection.canAttack(attacker, target, SkillAPI.getSettings().isPassiveAlly(), cause));
+        checked.clear();
+        bulkChecks = 0;
+    }
+
+    @Test
+    void remembersResultsForTheTick() {
+        assertTrue(SkillAPI.getSettings().canAttack(attacker, enemy));
+        assertTrue(SkillAPI.getSettings().canAttack(attacker, enemy));
+        assertFalse(SkillAPI.getSettings().canAttack(attacker, friend));
+        assertEquals(List.of(enemy, friend), checked);
+
+        RelationCache.tick();
+        assertTrue(SkillAPI.getSettings().canAttack(attacker, enemy));
+        assertEquals(List.of(enemy, friend, enemy), checked);
+    }
+
+    @Test
+    void checksUnknownTargetsTogether() {
+        assertTrue(SkillAPI.getSettings().canAttack(attacker, enemy));
+
+        boolean[] result = SkillAPI.getSettings().canAttack(attacker, List.of(friend, attacker, enemy));
+        assertArrayEquals(new boolean[]{false, true, true}, result);
+        assertEquals(1, bulkChecks);
+        assertEquals(List.of(enemy, friend), checked);
+    }
+
+    @Test
+    void invalidateForgetsEntity() {
+        SkillAPI.getSettings().canAttack(attacker, enemy);
+        SkillAPI.getSettings().canAttack(attacker, friend);
+        RelationCache.invalidate(enemy);
+
+        SkillAPI.getSettings().canAttack(attacker, enemy);
+        SkillAPI.getSettings().canAttack(attacker, friend);
+        assertEquals(List.of(enemy, friend, enemy), checked);
+    }
+}
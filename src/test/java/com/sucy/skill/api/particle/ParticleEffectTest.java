@@ -0,0 +1,131 @@
+package com.sucy.skill.api.particle;
+
+import com.sucy.skill.api.particle.direction.DirectionHandler;
+import com.sucy.skill.api.particle.direction.Directions;
+import com.sucy.skill.api.particle.direction.XZHandler;
+import com.sucy.skill.data.Point2D;
+import com.sucy.skill.data.Point3D;
+import com.sucy.skill.data.formula.Formula;
+import com.sucy.skill.data.formula.value.CustomValue;
+import com.sucy.skill.testutil.MockedTest;
+import org.bukkit.Color;
+import org.bukkit.Location;
+import org.bukkit.Material;
+import org.bukkit.Particle;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.Test;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+public class ParticleEffectTest extends MockedTest {
+    private static final String SIZE      = "1+0.5*v*x";
+    private static final String ANIM_SIZE = "t+c";
+
+    private final PolarSettings    shape     = new PolarSettings(formula("1"), 8, 2, 1);
+    private final PolarSettings    animation = new PolarSettings(formula("1+p"), 5, 3, 1);
+    private final DirectionHandler shapeDir  = Directions.byName("XY");
+    private final DirectionHandler animDir   = Directions.byName("XZ");
+
+    @AfterEach
+    public void clearFrames() {
+        FrameCache.clear();
+    }
+
+    private ParticleEffect effect(boolean withRotation, double initialRotation) {
+        ParticleSettings particle = new ParticleSettings(
+                Particle.FLAME, 0, 0, 0, 0, 1, Material.DIRT, 0, 0, Color.RED, Color.RED, 1);
+        return new ParticleEffect("test", shape, animation, particle, shapeDir, animDir,
+                SIZE, ANIM_SIZE, 1, 25, withRotation, initialRotation);
+    }
+
+    @Test
+    void cachedFramesMatchFreshPoints() {
+        ParticleEffect fixed   = effect(false, 30);
+        ParticleEffect turning = effect(true, 30);
+        for (int frame = 0; frame < 7; frame++) {
+            Location loc = new Location(world, 10.5, 64, -3.25, frame * 40f, 0);
+            assertArrayEquals(expected(loc, frame, 2, false, 30), fixed.getPoints(loc, frame, 2), 1e-9);
+            assertArrayEquals(expected(loc, frame, 3, true, 30), turning.getPoints(loc, frame, 3), 1e-9);
+        }
+    }
+
+    @Test
+    void framesAreOnlyWorkedOutOnce() {
+        ParticleEffect effect = effect(false, 0);
+        effect.getPoints(new Location(world, 0, 64, 0), 0, 1);
+        long size = FrameCache.size();
+        assertTrue(size > 0);
+
+        effect.getPoints(new Location(world, 5, 70, 5), 0, 1);
+        assertEquals(size, FrameCache.size());
+
+        effect.getPoints(new Location(world, 5, 70, 5), 0, 2);
+        assertEquals(size * 2, FrameCache.size());
+
+        FrameCache.invalidate(effect);
+        assertEquals(0, FrameCache.size());
+    }
+
+    @Test
+    void leastRecentlyPlayedLevelsAreDropped() {
+        ParticleEffect effect = effect(false, 0);
+        Location       loc    = new Location(world, 0, 64, 0);
+        effect.getPoints(loc, 0, 0);
+        long perFrame = FrameCache.size();
+
+        int levels = (int) ((1 << 20) / perFrame) + 10;
+        for (int level = 0; level < levels; level++) {
+            effect.getPoints(loc, 0, level);
+        }
+        assertTrue(FrameCache.size() <= 1 << 20);
+        assertArrayEquals(expected(loc, 0, 0, false, 0), effect.getPoints(loc, 0, 0), 1e-9);
+    }
+
+    /**
+     * Works out the points the way effects did before frames were cached
+     */
+    private double[] expected(Location loc, int frame, int level, boolean withRotation, double initialRotation) {
+        XZHandler flatRot  = (XZHandler) Directions.byName("XZ");
+        Formula   size     = formula(SIZE);
+        Formula   animSize = formula(ANIM_SIZE);
+        frame = frame % animation.getSteps();
+        int       next        = (frame + 1) * animation.getCopies();
+        Point3D[] animPoints  = animation.getPoints(animDir);
+        Point3D[] shapePoints = shape.getPoints(shapeDir);
+        Point2D[] trig        = animation.getTrig(frame);
+
+        Point2D cs = trig[0];
+        double  t  = animation.getT(frame);
+        double  p  = (double) frame / animation.getSteps();
+
+        double[] points = new double[animation.getCopies() * shapePoints.length * 3];
+        int      index  = 0;
+        int      j      = 0;
+        for (int i = frame * animation.getCopies(); i < next; ++i) {
+            Point3D p1 = animPoints[i];
+            double  as = animSize.compute(t, p, cs.x, cs.y, p1.x, p1.y, p1.z, level);
+            for (Point3D p2 : shapePoints) {
+                double s = size.compute(t, p, cs.x, cs.y, p2.x, p2.y, p2.z, level);
+                if (initialRotation != 0) p2 = flatRot.rotateAboutY(p2, Math.toRadians(initialRotation));
+                if (withRotation) p2 = flatRot.rotateAboutY(p2, Math.toRadians(-loc.getYaw()));
+                points[index++] = p1.x * as + animDir.rotateX(p2, trig[j]) * s + loc.getX();
+                points[index++] = p1.y * as + animDir.rotateY(p2, trig[j]) * s + loc.getY();
+                points[index++] = p1.z * as + animDir.rotateZ(p2, trig[j]) * s + loc.getZ();
+            }
+            ++j;
+        }
+        return points;
+    }
+
+    private static Formula formula(String equation) {
+        return new Formula(equation,
+                new CustomValue("t"),
+                new CustomValue("p"),
+                new CustomValue("c"),
+                new CustomValue("s"),
+                new CustomValue("x"),
+                new CustomValue("y"),
+                new CustomValue("z"),
+                new CustomValue("v"));
+    }
+}
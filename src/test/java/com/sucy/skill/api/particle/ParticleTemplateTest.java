@@ -0,0 +1,56 @@
+package com.sucy.skill.api.particle;
+
+import com.sucy.skill.api.Settings;
+import com.sucy.skill.testutil.MockedTest;
+import org.bukkit.Location;
+import org.bukkit.Particle;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.Test;
+
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+
+public class ParticleTemplateTest extends MockedTest {
+
+    @AfterEach
+    public void resetMetrics() {
+        ParticleHelper.resetMetrics();
+    }
+
+    @Test
+    void compileReadsSettingsOnce() {
+        Settings settings = new Settings();
+        settings.set("per-target-particle", "Flame");
+        settings.set("per-target-arrangement", "Sphere");
+        settings.set("per-target-particles", 12, 0);
+        settings.set("per-target-radius", 2, 0.5);
+        settings.set("per-target-level", 3);
+
+        ParticleTemplate template = ParticleTemplate.compile(settings, "per-target-");
+        assertEquals(Particle.FLAME, template.getParticle());
+        assertEquals(ParticleTemplate.Arrangement.SPHERE, template.getArrangement());
+        assertEquals(12, template.getPoints());
+        assertEquals(3, template.getRadius());
+    }
+
+    @Test
+    void arrangementsFallBackToPoint() {
+        assertEquals(ParticleTemplate.Arrangement.CIRCLE, ParticleTemplate.Arrangement.of("Circle"));
+        assertEquals(ParticleTemplate.Arrangement.HEMISPHERE, ParticleTemplate.Arrangement.of("hemisphere"));
+        assertEquals(ParticleTemplate.Arrangement.POINT, ParticleTemplate.Arrangement.of(""));
+        assertEquals(ParticleTemplate.Arrangement.POINT, ParticleTemplate.Arrangement.of("cube"));
+    }
+
+    @Test
+    void playsWithoutViewersSendNothing() {
+        Settings settings = new Settings();
+        settings.set("arrangement", "circle");
+        ParticleTemplate template = ParticleTemplate.compile(settings, "");
+
+        template.play(new Location(world, 0, 64, 0));
+        template.play(new Location(world, 0, 64, 0), List.of(), null);
+        assertEquals(2, ParticleHelper.getPlays());
+        assertEquals(0, ParticleHelper.getPackets());
+    }
+}
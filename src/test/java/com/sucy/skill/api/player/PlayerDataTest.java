@@ -2,12 +2,15 @@ package com.sucy.skill.api.player;
 
 import be.seeseemelk.mockbukkit.entity.PlayerMock;
 import com.sucy.skill.SkillAPI;
+import com.sucy.skill.api.enums.Operation;
+import com.sucy.skill.manager.IAttributeManager;
 import com.sucy.skill.manager.ProAttribute;
 import com.sucy.skill.testutil.MockedTest;
 import org.junit.jupiter.api.BeforeEach;
 import org.junit.jupiter.api.Test;
 
 import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertTrue;
 
 public class PlayerDataTest extends MockedTest {
     private PlayerMock attacker;
@@ -53,4 +56,42 @@ public class PlayerDataTest extends MockedTest {
         assertEquals(3, playerData.getInvestedAttribute("spirit"));
     }
 
+    @Test
+    void attributeTotals_followModifiers() {
+        playerData.giveAttribute("spirit", 2);
+        assertEquals(2, playerData.getAttribute("spirit"));
+
+        PlayerAttributeModifier modifier = new PlayerAttributeModifier("test", 3, Operation.ADD_NUMBER, false);
+        playerData.addAttributeModifier("spirit", modifier, false);
+        assertEquals(5, playerData.getAttribute("spirit"));
+
+        playerData.removeAttributeModifier(modifier.getUUID(), false);
+        assertEquals(2, playerData.getAttribute("spirit"));
+    }
+
+    @Test
+    void attributeTotals_followRefunds() {
+        playerData.giveAttribute("spirit", 2);
+        assertEquals(2, playerData.getAttribute("spirit"));
+
+        playerData.refundAttribute("spirit");
+        assertEquals(1, playerData.getAttribute("spirit"));
+
+        playerData.refundAttributes("spirit");
+        assertEquals(0, playerData.getAttribute("spirit"));
+    }
+
+    @Test
+    void scaleStat_usesInternedStats() {
+        IAttributeManager manager = SkillAPI.getAttributeManager();
+        int               id      = manager.getStatId("health");
+        assertTrue(id >= 0);
+        assertEquals(manager.forStat("health"), manager.forStat(id));
+        assertEquals(-1, manager.getStatId("not-a-stat"));
+
+        assertEquals(20, playerData.scaleStat("health", 20));
+        playerData.giveAttribute("vitality", 3);
+        assertEquals(23, playerData.scaleStat("health", 20));
+        assertEquals(13, playerData.scaleStat("health", 10));
+    }
 }
@@ -0,0 +1,107 @@
+package com.sucy.skill.api.projectile;
+
+import com.sucy.skill.api.Settings;
+import com.sucy.skill.api.util.EntityIndex;
+import com.sucy.skill.testutil.MockedTest;
+import org.bukkit.Location;
+import org.bukkit.entity.LivingEntity;
+import org.bukkit.entity.Player;
+import org.bukkit.entity.Zombie;
+import org.bukkit.util.Vector;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+import java.util.ArrayList;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+public class ProjectileEngineTest extends MockedTest {
+    private final List<LivingEntity> spawned = new ArrayList<>();
+    private final List<LivingEntity> hits    = new ArrayList<>();
+
+    private Player shooter;
+
+    @BeforeEach
+    public void setupShooter() {
+        shooter = genPlayer("Shooter");
+        EntityIndex.clear();
+    }
+
+    @AfterEach
+    public void clearProjectiles() {
+        ProjectileEngine.clear();
+        spawned.forEach(LivingEntity::remove);
+        spawned.clear();
+        hits.clear();
+        EntityIndex.clear();
+    }
+
+    private Zombie spawn(double x, double y, double z) {
+        Zombie zombie = world.spawn(new Location(world, x, y, z), Zombie.class);
+        spawned.add(zombie);
+        return zombie;
+    }
+
+    private ParticleProjectile fire(Location from, Vector direction, double speed, boolean pierce) {
+        Settings settings = new Settings();
+        settings.set(ParticleProjectile.SPEED, speed, 0);
+        settings.set(ParticleProjectile.STEPS, 1);
+        settings.set(ParticleProjectile.RADIUS, 0.1, 0);
+        settings.set(ParticleProjectile.GRAVITY, 0, 0);
+        settings.set(ParticleProjectile.DRAG, 0, 0);
+        settings.set("pierce", pierce);
+
+        Location loc = from.clone();
+        loc.setDirection(direction);
+        ParticleProjectile projectile = new ParticleProjectile(shooter, 1, loc, settings, 20);
+        projectile.setCallback((p, hit) -> {
+            if (hit != null) hits.add(hit);
+        });
+        return projectile;
+    }
+
+    @Test
+    void sweptPathHitsWhatStepsJumpOver() {
+        // One step of 8 blocks would jump straight over the zombie
+        Zombie zombie = spawn(5004.5, 65, 5000.5);
+        EntityIndex.tick();
+
+        ParticleProjectile projectile = fire(new Location(world, 5000.5, 65.5, 5000.5), new Vector(1, 0, 0), 8, false);
+        ProjectileEngine.tick();
+
+        assertEquals(List.of(zombie), hits);
+        assertFalse(projectile.isValid());
+        assertTrue(projectile.getLocation().getX() <= 5008.5);
+    }
+
+    @Test
+    void piercingHitsEachEntityOnceInOrder() {
+        Zombie first  = spawn(6003.5, 65, 6000.5);
+        Zombie second = spawn(6006.5, 65, 6000.5);
+        EntityIndex.tick();
+
+        ParticleProjectile projectile = fire(new Location(world, 6000.5, 65.5, 6000.5), new Vector(1, 0, 0), 4, true);
+        for (int i = 0; i < 4; i++) {
+            EntityIndex.tick();
+            ProjectileEngine.tick();
+        }
+
+        assertEquals(List.of(first, second), hits);
+        assertTrue(projectile.isValid());
+    }
+
+    @Test
+    void missesEntitiesBesideThePath() {
+        spawn(7004.5, 65, 7003.5);
+        EntityIndex.tick();
+
+        ParticleProjectile projectile = fire(new Location(world, 7000.5, 65.5, 7000.5), new Vector(1, 0, 0), 8, false);
+        ProjectileEngine.tick();
+
+        assertTrue(hits.isEmpty());
+        assertTrue(projectile.isValid());
+        assertEquals(1, ProjectileEngine.size());
+    }
+}
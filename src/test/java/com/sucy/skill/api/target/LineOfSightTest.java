@@ -0,0 +1,80 @@
+package com.sucy.skill.api.target;
+
+import com.sucy.skill.testutil.MockedTest;
+import org.bukkit.Location;
+import org.bukkit.Material;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.Test;
+
+import java.util.ArrayList;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+public class LineOfSightTest extends MockedTest {
+    private final List<Location> placed = new ArrayList<>();
+
+    @AfterEach
+    public void clearBlocks() {
+        placed.forEach(loc -> loc.getBlock().setType(Material.AIR));
+        placed.clear();
+        LineOfSight.tick();
+    }
+
+    private void stone(int x, int y, int z) {
+        Location loc = new Location(world, x, y, z);
+        loc.getBlock().setType(Material.STONE);
+        placed.add(loc);
+    }
+
+    private Location at(double x, double y, double z) {
+        return new Location(world, x, y, z);
+    }
+
+    @Test
+    void blockedByWallBetween() {
+        stone(5, 65, 0);
+        assertTrue(LineOfSight.isObstructed(at(0.5, 65.5, 0.5), at(10.5, 65.5, 0.5)));
+        assertFalse(LineOfSight.isObstructed(at(0.5, 65.5, 2.5), at(10.5, 65.5, 2.5)));
+        assertTrue(TargetHelper.isObstructed(at(10.5, 65.5, 0.5), at(0.5, 65.5, 0.5)));
+    }
+
+    @Test
+    void catchesCornersSamplingSkips() {
+        // Only clips the corner of the block, between two quarter-block samples
+        stone(1, 65, 1);
+        assertTrue(LineOfSight.isObstructed(at(0, 65.5, 0.98), at(1.04, 65.5, 2.02)));
+        assertFalse(LineOfSight.isObstructed(at(0, 65.5, 1.5), at(0.9, 65.5, 2.4)));
+
+        stone(3, 67, 3);
+        assertTrue(LineOfSight.isObstructed(at(0.5, 64.5, 0.5), at(5.5, 69.5, 5.5)));
+        assertFalse(LineOfSight.isObstructed(at(0.5, 64.5, 0.5), at(5.5, 64.5, 5.5)));
+    }
+
+    @Test
+    void batchMatchesSingleChecks() {
+        stone(3, 65, 0);
+        stone(0, 65, -3);
+        Location       origin  = at(0.5, 65.5, 0.5);
+        List<Location> targets = List.of(at(6.5, 65.5, 0.5), at(0.5, 65.5, 6.5), at(0.5, 65.5, -6.5), at(-6.5, 66, 0));
+
+        boolean[] batched = LineOfSight.getObstructed(origin, targets);
+        for (int i = 0; i < targets.size(); i++) {
+            assertEquals(LineOfSight.isObstructed(origin, targets.get(i)), batched[i]);
+        }
+        assertArrayEquals(new boolean[]{true, false, true, false}, batched);
+    }
+
+    @Test
+    void batchRemembersUntilNextTick() {
+        Location       origin  = at(0.5, 65.5, 0.5);
+        List<Location> targets = List.of(at(8.5, 65.5, 0.5));
+        assertFalse(LineOfSight.getObstructed(origin, targets)[0]);
+
+        stone(4, 65, 0);
+        assertFalse(LineOfSight.getObstructed(origin, targets)[0]);
+
+        LineOfSight.tick();
+        assertTrue(LineOfSight.getObstructed(origin, targets)[0]);
+    }
+}
@@ -0,0 +1,77 @@
+package com.sucy.skill.api.util;
+
+import com.sucy.skill.testutil.MockedTest;
+import org.bukkit.Location;
+import org.bukkit.entity.LivingEntity;
+import org.bukkit.entity.Zombie;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+import java.util.ArrayList;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+public class EntityIndexTest extends MockedTest {
+    private final List<LivingEntity> spawned = new ArrayList<>();
+
+    @BeforeEach
+    public void resetIndex() {
+        EntityIndex.clear();
+    }
+
+    @AfterEach
+    public void removeEntities() {
+        spawned.forEach(LivingEntity::remove);
+        spawned.clear();
+        EntityIndex.clear();
+    }
+
+    private Zombie spawn(double x, double z) {
+        Zombie zombie = world.spawn(new Location(world, x, 64, z), Zombie.class);
+        spawned.add(zombie);
+        return zombie;
+    }
+
+    @Test
+    void nearbyIsSortedByDistance() {
+        Zombie far  = spawn(1007, 1000);
+        Zombie near = spawn(1001, 1000);
+        Zombie mid  = spawn(1000, 1020);
+        spawn(1000, 1040);
+        EntityIndex.tick();
+
+        Location center = new Location(world, 1000, 64, 1000);
+        assertEquals(List.of(near, far), EntityIndex.getNearby(null, center, 10));
+        assertEquals(List.of(near, far, mid), EntityIndex.getNearby(null, center, 25));
+        assertEquals(List.of(far, mid), EntityIndex.getNearby(near, center, 25));
+    }
+
+    @Test
+    void nearestReturnsOnlyTheClosest() {
+        spawn(2003, 2000);
+        Zombie closest = spawn(1999, 2000);
+        spawn(2000, 2005);
+        EntityIndex.tick();
+
+        Location center = new Location(world, 2000, 64, 2000);
+        assertEquals(List.of(closest), EntityIndex.getNearest(null, center, 10, 1));
+        assertEquals(2, EntityIndex.getNearest(null, center, 10, 2).size());
+        assertTrue(EntityIndex.getNearest(null, center, 0.5, 1).isEmpty());
+    }
+
+    @Test
+    void followsEntitiesAcrossCellsAfterTick() {
+        Zombie   zombie = spawn(3000, 3000);
+        Location center = new Location(world, 3000, 64, 3000);
+        EntityIndex.tick();
+        assertEquals(List.of(zombie), EntityIndex.getNearby(null, center, 5));
+
+        zombie.teleport(new Location(world, 3100, 64, 3000));
+        EntityIndex.tick();
+        assertTrue(EntityIndex.getNearby(null, center, 5).isEmpty());
+        assertEquals(List.of(zombie), EntityIndex.getNearby(null, zombie.getLocation(), 5));
+    }
+}
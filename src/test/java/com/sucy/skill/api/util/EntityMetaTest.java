@@ -0,0 +1,102 @@
+package com.sucy.skill.api.util;
+
+import com.sucy.skill.SkillAPI;
+import com.sucy.skill.listener.MechanicListener;
+import com.sucy.skill.testutil.MockedTest;
+import org.bukkit.Location;
+import org.bukkit.entity.Zombie;
+import org.bukkit.event.entity.EntityDamageEvent;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.Test;
+
+import java.util.ArrayList;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+public class EntityMetaTest extends MockedTest {
+    private final List<Zombie> spawned = new ArrayList<>();
+
+    @AfterEach
+    public void removeEntities() {
+        spawned.forEach(Zombie::remove);
+        spawned.clear();
+        EntityMeta.clearAll();
+    }
+
+    private Zombie spawn() {
+        Zombie zombie = world.spawn(new Location(world, 0, 64, 0), Zombie.class);
+        spawned.add(zombie);
+        return zombie;
+    }
+
+    @Test
+    void slotsAreTypedAndPerEntity() {
+        Zombie first  = spawn();
+        Zombie second = spawn();
+        EntityMeta.set(first, EntityMeta.DAMAGE_CAUSE, EntityDamageEvent.DamageCause.MAGIC);
+        EntityMeta.set(second, EntityMeta.SKILL_LEVEL, 3);
+
+        assertEquals(EntityDamageEvent.DamageCause.MAGIC, EntityMeta.get(first, EntityMeta.DAMAGE_CAUSE));
+        assertNull(EntityMeta.get(second, EntityMeta.DAMAGE_CAUSE));
+        assertEquals(3, EntityMeta.get(second, EntityMeta.SKILL_LEVEL));
+        assertFalse(EntityMeta.isArmorStand(first));
+
+        EntityMeta.remove(first, EntityMeta.DAMAGE_CAUSE);
+        assertFalse(EntityMeta.has(first, EntityMeta.DAMAGE_CAUSE));
+    }
+
+    @Test
+    void mirroredSlotsStayReadableAsMetadata() {
+        Zombie zombie = spawn();
+        EntityMeta.set(zombie, EntityMeta.ARMOR_STAND, true);
+        EntityMeta.set(zombie, EntityMeta.DAMAGE_CAUSE, EntityDamageEvent.DamageCause.FIRE);
+
+        assertTrue(zombie.hasMetadata(MechanicListener.ARMOR_STAND));
+        assertFalse(zombie.hasMetadata(MechanicListener.DAMAGE_CAUSE));
+        assertEquals(EntityDamageEvent.DamageCause.FIRE, SkillAPI.getMeta(zombie, MechanicListener.DAMAGE_CAUSE));
+
+        // Metadata is kept when clearing so leftovers are still found after chunks reload
+        EntityMeta.clear(zombie);
+        assertFalse(EntityMeta.isArmorStand(zombie));
+        assertEquals(true, SkillAPI.getMeta(zombie, MechanicListener.ARMOR_STAND));
+    }
+
+    @Test
+    void metaShimUsesSlots() {
+        Zombie zombie = spawn();
+        SkillAPI.setMeta(zombie, MechanicListener.SUMMON_DAMAGE, 4.5);
+        assertEquals(4.5, EntityMeta.get(zombie, EntityMeta.SUMMON));
+        assertEquals(4.5, SkillAPI.getMetaDouble(zombie, MechanicListener.SUMMON_DAMAGE));
+        assertEquals(4, SkillAPI.getMetaInt(zombie, MechanicListener.SUMMON_DAMAGE));
+
+        SkillAPI.removeMeta(zombie, MechanicListener.SUMMON_DAMAGE);
+        assertNull(SkillAPI.getMeta(zombie, MechanicListener.SUMMON_DAMAGE));
+        assertFalse(zombie.hasMetadata(MechanicListener.SUMMON_DAMAGE));
+    }
+
+    @Test
+    void unexpectedTypesFallBackToMetadata() {
+        Zombie zombie = spawn();
+        SkillAPI.setMeta(zombie, MechanicListener.ARMOR_STAND, "yes");
+        assertFalse(EntityMeta.isArmorStand(zombie));
+        assertEquals("yes", SkillAPI.getMeta(zombie, MechanicListener.ARMOR_STAND));
+
+        SkillAPI.setMeta(zombie, "otherKey", 2);
+        assertEquals(2, SkillAPI.getMeta(zombie, "otherKey"));
+        assertEquals(0, EntityMeta.size());
+    }
+
+    @Test
+    void sweepDropsRemovedEntities() {
+        Zombie kept    = spawn();
+        Zombie removed = spawn();
+        EntityMeta.set(kept, EntityMeta.SKILL_LEVEL, 1);
+        EntityMeta.set(removed, EntityMeta.SKILL_LEVEL, 2);
+        removed.remove();
+
+        EntityMeta.sweep();
+        assertEquals(1, EntityMeta.size());
+        assertEquals(1, EntityMeta.get(kept, EntityMeta.SKILL_LEVEL));
+    }
+}
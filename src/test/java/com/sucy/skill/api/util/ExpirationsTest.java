@@ -0,0 +1,96 @@
+package com.sucy.skill.api.util;
+
+import com.sucy.skill.api.event.BuffExpiredEvent;
+import com.sucy.skill.api.event.FlagExpireEvent;
+import com.sucy.skill.testutil.MockedTest;
+import org.bukkit.entity.Player;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+public class ExpirationsTest extends MockedTest {
+    private Player player;
+
+    @BeforeEach
+    public void setupPlayer() {
+        player = genPlayer("Flagged");
+        Expirations.clear();
+        clearEvents();
+    }
+
+    @AfterEach
+    public void clearExpirations() {
+        FlagManager.clearFlags(player);
+        BuffManager.clearData(player);
+        Expirations.clear();
+    }
+
+    private void tick(int ticks) {
+        for (int i = 0; i < ticks; i++) {
+            Expirations.tick();
+        }
+    }
+
+    @Test
+    void flagExpiresAfterItsDuration() {
+        FlagManager.addFlag(player, "stun", 20);
+        tick(19);
+        assertTrue(FlagManager.hasFlag(player, "stun"));
+
+        tick(1);
+        assertFalse(FlagManager.hasFlag(player, "stun"));
+        assertEventFired(FlagExpireEvent.class, event -> event.getFlag().equals("stun")
+                && event.getReason() == FlagExpireEvent.ExpireReason.TIME);
+        assertEquals(0, Expirations.size());
+    }
+
+    @Test
+    void refreshingFlagReplacesItsExpiration() {
+        FlagManager.addFlag(player, "stun", 10);
+        tick(5);
+        FlagManager.addFlag(player, "stun", 20);
+        assertEquals(1, Expirations.size());
+
+        tick(10);
+        assertTrue(FlagManager.hasFlag(player, "stun"));
+        tick(10);
+        assertFalse(FlagManager.hasFlag(player, "stun"));
+    }
+
+    @Test
+    void removedFlagNeverExpires() {
+        FlagManager.addFlag(player, "stun", 10);
+        FlagManager.removeFlag(player, "stun");
+        assertEquals(0, Expirations.size());
+
+        FlagManager.addFlag(player, "stun", 30);
+        tick(20);
+        assertTrue(FlagManager.hasFlag(player, "stun"));
+    }
+
+    @Test
+    void categorizedBuffExpiresWithItsType() {
+        Buff buff = new Buff("bonus", 5, false);
+        BuffManager.getBuffData(player).addBuff(BuffType.DAMAGE, "fire", buff, 10);
+        assertEquals(15, BuffManager.getBuffData(player).apply(BuffType.DAMAGE, "fire", 10));
+
+        tick(10);
+        assertNull(BuffManager.getBuffData(player, false));
+        assertEventFired(BuffExpiredEvent.class, event -> event.getBuff() == buff
+                && event.getType() == BuffType.DAMAGE);
+    }
+
+    @Test
+    void replacedBuffKeepsOnlyTheNewExpiration() {
+        BuffManager.getBuffData(player).addBuff(BuffType.DEFENSE, new Buff("armor", 2, true), 10);
+        BuffManager.getBuffData(player).addBuff(BuffType.DEFENSE, new Buff("armor", 3, true), 30);
+        assertEquals(1, Expirations.size());
+
+        tick(20);
+        assertEquals(30, BuffManager.getBuffData(player).apply(BuffType.DEFENSE, 10));
+        tick(10);
+        assertNull(BuffManager.getBuffData(player, false));
+    }
+}
@@ -0,0 +1,80 @@
+package com.sucy.skill.api.util;
+
+import com.sucy.skill.api.event.FlagExpireEvent;
+import com.sucy.skill.testutil.MockedTest;
+import org.bukkit.entity.Player;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+import java.util.Set;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+public class FlagManagerTest extends MockedTest {
+    private Player player;
+
+    @BeforeEach
+    public void setupPlayer() {
+        player = genPlayer("Flagged");
+        clearEvents();
+    }
+
+    @AfterEach
+    public void clearFlags() {
+        FlagManager.clearFlags(player);
+        Expirations.clear();
+    }
+
+    @Test
+    void statusesHaveTheFirstIds() {
+        for (String status : StatusFlag.ALL) {
+            assertTrue(FlagManager.id(status) < 64);
+        }
+        assertTrue(FlagManager.id(StatusFlag.CHANNEL) < 64);
+        assertEquals(StatusFlag.STUN, FlagManager.getName(FlagManager.id(StatusFlag.STUN)));
+        assertEquals(FlagManager.id("custom-flag"), FlagManager.id("custom-flag"));
+    }
+
+    @Test
+    void checksByIdAndName() {
+        int stun = FlagManager.id(StatusFlag.STUN);
+        FlagManager.addFlag(player, StatusFlag.STUN, 20);
+
+        assertTrue(FlagManager.hasFlag(player, stun));
+        assertTrue(FlagManager.hasFlag(player, StatusFlag.STUN));
+        assertFalse(FlagManager.hasFlag(player, FlagManager.id(StatusFlag.ROOT)));
+        assertFalse(FlagManager.hasFlag(player, "never-used-flag"));
+        assertFalse(FlagManager.hasFlag(null, stun));
+        assertEquals(1, FlagManager.getTimeLeft(player, stun));
+    }
+
+    @Test
+    void customFlagsPastTheFirstWord() {
+        for (int i = 0; i < 100; i++) {
+            FlagManager.id("filler-" + i);
+        }
+        FlagManager.addFlag(player, "filler-99", -1);
+        FlagManager.addFlag(player, StatusFlag.ROOT, 40);
+
+        assertTrue(FlagManager.id("filler-99") >= 64);
+        assertTrue(FlagManager.hasFlag(player, "filler-99"));
+        assertFalse(FlagManager.hasFlag(player, "filler-98"));
+        assertEquals(Set.of("filler-99", StatusFlag.ROOT), FlagManager.getFlagData(player).flagList());
+
+        FlagManager.removeFlag(player, "filler-99");
+        assertFalse(FlagManager.hasFlag(player, "filler-99"));
+        assertTrue(FlagManager.hasFlag(player, StatusFlag.ROOT));
+        assertEventFired(FlagExpireEvent.class, event -> event.getFlag().equals("filler-99")
+                && event.getReason() == FlagExpireEvent.ExpireReason.REMOVED);
+    }
+
+    @Test
+    void removingLastFlagDropsData() {
+        FlagManager.addFlag(player, StatusFlag.SILENCE, 20);
+        FlagManager.removeFlag(player, FlagManager.id(StatusFlag.SILENCE));
+
+        assertNull(FlagManager.getFlagData(player, false));
+        assertEquals(0, Expirations.size());
+    }
+}
@@ -0,0 +1,101 @@
+package com.sucy.skill.data.formula;
+
+import com.sucy.skill.data.formula.value.CustomValue;
+import com.sucy.skill.testutil.MockedTest;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.Test;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+public class FormulaTest extends MockedTest {
+
+    @AfterEach
+    public void resetOrder() {
+        Formula.setDefaultOrderOfOperations(false);
+    }
+
+    private static Formula formula(String equation) {
+        return new Formula(equation, new CustomValue("v"), new CustomValue("a"));
+    }
+
+    private static Formula ordered(String equation) {
+        return new Formula(equation, true, new CustomValue("v"), new CustomValue("a"));
+    }
+
+    @Test
+    void readsLeftToRightByDefault() {
+        assertEquals(10, formula("v+a*2").compute(2, 3));
+        assertEquals(12, formula("v+2(a)").compute(2, 3));
+        assertEquals(1, formula("-v+a").compute(2, 3));
+        assertEquals(5, formula("v--a").compute(2, 3));
+    }
+
+    @Test
+    void followsOrderOfOperationsWhenEnabled() {
+        assertEquals(8, ordered("v+a*2").compute(2, 3));
+        assertEquals(8, ordered("v+2(a)").compute(2, 3));
+        assertEquals(-4, ordered("-v^2").compute(2, 3));
+        assertEquals(512, ordered("2^3^2").compute(2, 3));
+        assertEquals(-6, ordered("v*-a").compute(2, 3));
+    }
+
+    @Test
+    void defaultOnlyAffectsFormulasCreatedAfterwards() {
+        Formula before = formula("v+a*2");
+        Formula.setDefaultOrderOfOperations(true);
+        Formula after = formula("v+a*2");
+
+        assertFalse(before.isOrderOfOperations());
+        assertEquals(10, before.compute(2, 3));
+        assertTrue(after.isOrderOfOperations());
+        assertEquals(8, after.compute(2, 3));
+    }
+
+    @Test
+    void functionsAndOperators() {
+        assertEquals(2, formula("sin(90)*v").compute(2, 3), 1e-9);
+        assertEquals(11, formula("abs(-v)+sq(a)").compute(2, 3));
+        assertEquals(-1, formula("sign(v-a)").compute(2, 3));
+        assertEquals(3, formula("8_2").compute(2, 3), 1e-9);
+        assertEquals(0, formula("v/0").compute(2, 3));
+        assertEquals(1, formula("v%2+1").compute(2, 3));
+    }
+
+    @Test
+    void constantsAreFolded() {
+        assertTrue(formula("(1+2)*sqrt(16)").isConstant());
+        assertEquals(12, formula("(1+2)*sqrt(16)").compute(0, 0));
+        assertFalse(formula("(1+2)*v").isConstant());
+    }
+
+    @Test
+    void invalidFormulasReturnFirstInput() {
+        for (String equation : new String[]{"(v", "v)", "v+", ""}) {
+            Formula formula = formula(equation);
+            assertFalse(formula.isValid());
+            assertEquals(2, formula.compute(2, 3));
+        }
+    }
+
+    @Test
+    void varargsMatchFixedInputs() {
+        Formula formula = new Formula("a+b*c-d+e*f-g+h",
+                new CustomValue("a"), new CustomValue("b"), new CustomValue("c"), new CustomValue("d"),
+                new CustomValue("e"), new CustomValue("f"), new CustomValue("g"), new CustomValue("h"));
+        assertEquals(formula.compute(1, 2, 3, 4, 5, 6, 7, 8), formula.compute(new double[]{1, 2, 3, 4, 5, 6, 7, 8}));
+    }
+
+    @Test
+    void moreThanEightInputs() {
+        CustomValue[] values = new CustomValue[10];
+        for (int i = 0; i < values.length; i++) {
+            values[i] = new CustomValue("x" + i);
+        }
+        Formula formula = new Formula("x9*x8+x0", values);
+        assertTrue(formula.isValid());
+        assertEquals(91, formula.compute(1, 2, 3, 4, 5, 6, 7, 8, 9, 10));
+
+        // Inputs that weren't given count as 0
+        assertEquals(1, formula.compute(1, 2));
+    }
+}
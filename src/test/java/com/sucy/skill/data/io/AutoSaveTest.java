@@ -0,0 +1,74 @@
+package com.sucy.skill.data.io;
+
+import com.sucy.skill.SkillAPI;
+import com.sucy.skill.api.player.PlayerAccounts;
+import com.sucy.skill.testutil.MockedTest;
+import mc.promcteam.engine.mccore.config.parse.DataSection;
+import org.bukkit.OfflinePlayer;
+import org.junit.jupiter.api.Test;
+
+import java.util.Set;
+import java.util.UUID;
+import java.util.concurrent.ConcurrentHashMap;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+public class AutoSaveTest extends MockedTest {
+
+    @Test
+    void autoSaveSkipsCleanAccounts() {
+        PlayerAccounts clean = SkillAPI.getPlayerAccountData(genPlayer("Clean"));
+        PlayerAccounts dirty = SkillAPI.getPlayerAccountData(genPlayer("Dirty"));
+        int            total = SkillAPI.getPlayerRegistry().getAll().size();
+
+        RecordingIO io = new RecordingIO();
+        io.saveAll(false);
+        io.close();
+        assertFalse(clean.isDirty());
+        assertFalse(dirty.isDirty());
+
+        dirty.getActiveData().setScheme("changed");
+        assertTrue(dirty.isDirty());
+
+        // Closed queues write right away
+        io.written.clear();
+        io.saveAll(true);
+
+        assertEquals(1, io.getLastSaved());
+        assertEquals(total - 1, io.getLastSkipped());
+        assertEquals(Set.of(dirty.getOfflinePlayer().getUniqueId()), io.written);
+        assertFalse(dirty.isDirty());
+    }
+
+    @Test
+    void castingChangesMarkDirty() {
+        PlayerAccounts accounts = SkillAPI.getPlayerAccountData(genPlayer("Caster"));
+
+        accounts.clearDirty();
+        accounts.getActiveData().getCastBars().reset();
+        assertTrue(accounts.isDirty());
+
+        accounts.clearDirty();
+        int slot = SkillAPI.getSettings().getCastSlot() == 0 ? 1 : 0;
+        accounts.getActiveData().getTextCastingData().assign(null, slot);
+        assertTrue(accounts.isDirty());
+    }
+
+    private class RecordingIO extends IOManager {
+        private final Set<UUID> written = ConcurrentHashMap.newKeySet();
+
+        private RecordingIO() {
+            super(plugin);
+        }
+
+        @Override
+        protected PlayerAccounts loadDataInternal(OfflinePlayer player) {
+            return load(player, new DataSection());
+        }
+
+        @Override
+        protected void writeData(PlayerAccounts data, DataSection file) {
+            written.add(data.getOfflinePlayer().getUniqueId());
+        }
+    }
+}
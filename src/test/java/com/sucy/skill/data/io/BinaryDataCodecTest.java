@@ -0,0 +1,107 @@
+package com.sucy.skill.data.io;
+
+import be.seeseemelk.mockbukkit.entity.PlayerMock;
+import com.sucy.skill.SkillAPI;
+import com.sucy.skill.api.player.PlayerAccounts;
+import com.sucy.skill.api.player.PlayerData;
+import com.sucy.skill.testutil.MockedTest;
+import mc.promcteam.engine.mccore.config.parse.DataSection;
+import mc.promcteam.engine.mccore.config.parse.YAMLParser;
+import org.junit.jupiter.api.Test;
+
+import java.io.File;
+import java.io.IOException;
+import java.nio.file.Files;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+public class BinaryDataCodecTest extends MockedTest {
+
+    @Override
+    public void preInit() {
+        loadClasses("Honor Guard");
+        loadSkills("Brilliance Strike");
+    }
+
+    @Test
+    void sectionRoundTrip() throws IOException {
+        DataSection data = new DataSection();
+        data.set("int", 5);
+        data.set("double", 2.5);
+        data.set("bool", true);
+        data.set("text", "hello √ world");
+        data.set("list", List.of(1, 2, 3));
+        DataSection child = data.createSection("child");
+        child.set("long", 123456789012L);
+        child.createSection("empty");
+
+        DataSection decoded = BinaryDataCodec.decode(BinaryDataCodec.encode(data));
+
+        assertEquals(5, decoded.getInt("int"));
+        assertEquals(2.5, decoded.getDouble("double"));
+        assertTrue(decoded.getBoolean("bool"));
+        assertEquals("hello √ world", decoded.getString("text"));
+        assertEquals(List.of("1", "2", "3"), decoded.getList("list"));
+        assertEquals(123456789012L, decoded.getSection("child").get("long"));
+        assertNotNull(decoded.getSection("child").getSection("empty"));
+    }
+
+    @Test
+    void invalidDataIsRejected() {
+        assertThrows(IOException.class, () -> BinaryDataCodec.decode("key: value".getBytes()));
+    }
+
+    @Test
+    void playerDataMatchesYaml() throws IOException {
+        PlayerMock     player   = genPlayer("Binary");
+        PlayerAccounts accounts = SkillAPI.getPlayerAccountData(player);
+        PlayerData     data     = accounts.getActiveData();
+        data.setClass(null, SkillAPI.getClass("Honor Guard"), true);
+        data.getMainClass().setLevel(3);
+        data.getMainClass().setPoints(4);
+        data.setAttribPoints(7);
+        data.setPersistentData("counter", 12);
+        data.setPersistentData("name", "value");
+
+        IOManager   io    = new ConfigIO(plugin);
+        DataSection saved = io.save(accounts);
+        assertNotNull(saved);
+
+        DataSection fromYaml   = io.save(io.load(player, new YAMLParser().parseText(saved.toString(SQLIO.STRING), SQLIO.STRING)));
+        DataSection fromBinary = io.save(io.load(player, BinaryDataCodec.decode(BinaryDataCodec.encode(saved))));
+
+        assertEquals(fromYaml.toString(), fromBinary.toString());
+        assertEquals(saved.toString(), fromBinary.toString());
+    }
+
+    @Test
+    void corruptDataFallsBackToMigratedYaml() throws IOException {
+        PlayerMock     player   = genPlayer("Corrupt");
+        PlayerAccounts accounts = SkillAPI.getPlayerAccountData(player);
+        accounts.getActiveData().setAttribPoints(9);
+
+        String key    = player.getUniqueId().toString().toLowerCase();
+        File   folder = new File(plugin.getDataFolder(), "players");
+        folder.mkdirs();
+        Files.writeString(new File(folder, key + ".yml.migrated").toPath(),
+                new ConfigIO(plugin).save(accounts).toString());
+        Files.write(new File(folder, key + ".dat").toPath(), "not binary".getBytes());
+
+        PlayerAccounts loaded = new BinaryIO(plugin).loadDataInternal(player);
+        assertTrue(loaded.isLoaded());
+        assertEquals(9, loaded.getActiveData().getAttributePoints());
+        assertTrue(new File(folder, key + ".dat.corrupt").exists());
+    }
+
+    @Test
+    void corruptDataWithoutBackupIsNotSaved() throws IOException {
+        PlayerMock player = genPlayer("Lost");
+        String     key    = player.getUniqueId().toString().toLowerCase();
+        File       folder = new File(plugin.getDataFolder(), "players");
+        folder.mkdirs();
+        Files.write(new File(folder, key + ".dat").toPath(), "not binary".getBytes());
+
+        assertFalse(new BinaryIO(plugin).loadDataInternal(player).isLoaded());
+    }
+}
@@ -0,0 +1,76 @@
+package com.sucy.skill.data.io;
+
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+import java.sql.SQLException;
+import java.util.*;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+public class SQLPlayerTableTest {
+    private SQLConnectionPool pool;
+    private SQLPlayerTable    table;
+
+    @BeforeEach
+    void setUp() throws SQLException {
+        String url = "jdbc:h2:mem:" + UUID.randomUUID() + ";MODE=MySQL;DB_CLOSE_DELAY=-1";
+        pool = new SQLConnectionPool(url, "sa", "", 2);
+        table = new SQLPlayerTable(pool);
+    }
+
+    @AfterEach
+    void tearDown() {
+        pool.close();
+    }
+
+    @Test
+    void missingPlayerLoadsNull() throws SQLException {
+        assertNull(table.load("missing"));
+        assertTrue(table.loadAll(List.of("missing")).isEmpty());
+    }
+
+    @Test
+    void saveAllInsertsThenUpdates() throws SQLException {
+        Map<String, String> data = new HashMap<>();
+        data.put("a", "first");
+        data.put("b", "second");
+        table.saveAll(data);
+
+        assertEquals("first", table.load("a"));
+        assertEquals("second", table.load("b"));
+
+        data.put("a", "updated");
+        data.put("c", "third");
+        table.saveAll(data);
+
+        Map<String, String> loaded = table.loadAll(List.of("a", "b", "c", "d"));
+        assertEquals(3, loaded.size());
+        assertEquals("updated", loaded.get("a"));
+        assertEquals("second", loaded.get("b"));
+        assertEquals("third", loaded.get("c"));
+    }
+
+    @Test
+    void largeBatchIsChunked() throws SQLException {
+        Map<String, String> data = new HashMap<>();
+        for (int i = 0; i < 1200; i++) {
+            data.put("player" + i, "data" + i);
+        }
+        table.saveAll(data);
+
+        Map<String, String> loaded = table.loadAll(data.keySet());
+        assertEquals(data, loaded);
+    }
+
+    @Test
+    void connectionsAreReused() throws SQLException {
+        for (int i = 0; i < 20; i++) {
+            table.saveAll(Collections.singletonMap("a", "value" + i));
+            table.load("a");
+        }
+        assertEquals(1, pool.getOpenConnections());
+        assertEquals("value19", table.load("a"));
+    }
+}
@@ -0,0 +1,111 @@
+package com.sucy.skill.data.io;
+
+import com.sucy.skill.SkillAPI;
+import com.sucy.skill.api.player.PlayerAccounts;
+import com.sucy.skill.testutil.MockedTest;
+import mc.promcteam.engine.mccore.config.parse.DataSection;
+import org.bukkit.OfflinePlayer;
+import org.junit.jupiter.api.Test;
+
+import java.util.List;
+import java.util.concurrent.CopyOnWriteArrayList;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.TimeUnit;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+public class SaveQueueTest extends MockedTest {
+
+    @Test
+    void latestSnapshotIsWrittenOnce() throws InterruptedException {
+        RecordingIO    io       = new RecordingIO();
+        SaveQueue      queue    = new SaveQueue(io, 1, 10);
+        PlayerAccounts accounts = SkillAPI.getPlayerAccountData(genPlayer("Saver"));
+
+        queue.offer(accounts, snapshot(1), true);
+        assertTrue(io.started.await(5, TimeUnit.SECONDS));
+
+        // Worker is busy with the first write, so these should collapse into one
+        queue.offer(accounts, snapshot(2), true);
+        queue.offer(accounts, snapshot(3), true);
+        assertEquals(3, queue.getPending(accounts.getOfflinePlayer().getUniqueId()).getInt("value"));
+
+        io.release.countDown();
+        queue.close();
+
+        assertEquals(List.of(1, 3), io.written);
+        assertEquals(0, queue.getPending());
+        assertNull(queue.getPending(accounts.getOfflinePlayer().getUniqueId()));
+    }
+
+    @Test
+    void optionalSavesAreRefusedWhenFull() throws InterruptedException {
+        RecordingIO    io     = new RecordingIO();
+        SaveQueue      queue  = new SaveQueue(io, 1, 1);
+        PlayerAccounts first  = SkillAPI.getPlayerAccountData(genPlayer("First"));
+        PlayerAccounts second = SkillAPI.getPlayerAccountData(genPlayer("Second"));
+
+        queue.offer(first, snapshot(1), false);
+        assertTrue(io.started.await(5, TimeUnit.SECONDS));
+        assertTrue(queue.isSaturated());
+
+        assertFalse(queue.offer(second, snapshot(2), false));
+        assertTrue(queue.offer(second, snapshot(3), true));
+
+        io.release.countDown();
+        queue.close();
+
+        assertEquals(List.of(1, 3), io.written);
+    }
+
+    @Test
+    void closeWritesEverything() {
+        RecordingIO io    = new RecordingIO();
+        SaveQueue   queue = new SaveQueue(io, 2, 10);
+        io.release.countDown();
+
+        for (int i = 0; i < 5; i++) {
+            queue.offer(SkillAPI.getPlayerAccountData(genPlayer("Player" + i)), snapshot(i), true);
+        }
+        queue.close();
+
+        assertEquals(5, io.written.size());
+        assertEquals(0, queue.getPending());
+
+        // Saves after closing are written right away
+        queue.offer(SkillAPI.getPlayerAccountData(genPlayer("Late")), snapshot(9), true);
+        assertEquals(6, io.written.size());
+    }
+
+    private static DataSection snapshot(int value) {
+        DataSection data = new DataSection();
+        data.set("value", value);
+        return data;
+    }
+
+    private class RecordingIO extends IOManager {
+        private final List<Integer>  written = new CopyOnWriteArrayList<>();
+        private final CountDownLatch started = new CountDownLatch(1);
+        private final CountDownLatch release = new CountDownLatch(1);
+
+        private RecordingIO() {
+            super(plugin);
+        }
+
+        @Override
+        protected PlayerAccounts loadDataInternal(OfflinePlayer player) {
+            return load(player, new DataSection());
+        }
+
+        @Override
+        protected void writeData(PlayerAccounts data, DataSection file) {
+            started.countDown();
+            try {
+                release.await(5, TimeUnit.SECONDS);
+            } catch (InterruptedException ex) {
+                Thread.currentThread().interrupt();
+            }
+            written.add(file.getInt("value"));
+        }
+    }
+}
@@ -0,0 +1,115 @@
+package com.sucy.skill.dynamic;
+
+import be.seeseemelk.mockbukkit.entity.PlayerMock;
+import com.sucy.skill.api.CastData;
+import com.sucy.skill.api.Settings;
+import com.sucy.skill.testutil.MockedTest;
+import org.bukkit.entity.LivingEntity;
+import org.bukkit.entity.Zombie;
+import org.bukkit.event.entity.EntityDamageEvent;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+public class ComponentValueTest extends MockedTest {
+    private PlayerMock player;
+
+    @BeforeEach
+    public void setup() {
+        player = genPlayer("Travja");
+    }
+
+    @Test
+    void constantsAreParsedOnce() {
+        assertEquals(2.5, ComponentValue.compile("2.5").get(player));
+        assertEquals(-3, ComponentValue.compile(" -3 ").get(player));
+    }
+
+    @Test
+    void numbersParseLikeParseDouble() {
+        assertEquals(Double.POSITIVE_INFINITY, ComponentValue.compile("Infinity").get(player));
+        assertEquals(Double.NEGATIVE_INFINITY, ComponentValue.compile("-Infinity").get(player));
+        assertTrue(Double.isNaN(ComponentValue.compile("NaN").get(player)));
+        assertEquals(1, ComponentValue.compile("1d").get(player));
+        assertEquals(2, ComponentValue.compile("2f").get(player));
+        assertEquals(3, ComponentValue.compile("0x1.8p1").get(player));
+        assertEquals(0.5, ComponentValue.compile(".5").get(player));
+        assertEquals(Double.NaN, ComponentValue.parse("abc"));
+    }
+
+    @Test
+    void textThatIsNotAKeyIsNotInterned() {
+        int keys = CastData.getKeyCount();
+        for (String text : new String[]{"v * 2", "Fire tick", "true", "false", "(1+2)", ""}) {
+            assertEquals(0, ComponentValue.compile(text).get(player));
+        }
+        assertEquals(keys, CastData.getKeyCount());
+    }
+
+    @Test
+    void rangesAreRandomWithinBounds() {
+        ComponentValue value = ComponentValue.compile("1-5");
+        for (int i = 0; i < 100; i++) {
+            double result = value.get(player);
+            assertTrue(result >= 1 && result < 5);
+        }
+    }
+
+    @Test
+    void castDataIsReadWhenExecuting() {
+        ComponentValue value = ComponentValue.compile("power");
+        assertEquals(0, value.get(player));
+
+        DynamicSkill.getCastData(player).put("power", 7.5);
+        assertEquals(7.5, value.get(player));
+
+        DynamicSkill.getCastData(player).put("power", "not a number");
+        assertEquals(0, value.get(player));
+    }
+
+    @Test
+    void scaledValuesFollowSettingChanges() {
+        Zombie        zombie    = world.spawn(player.getLocation(), Zombie.class);
+        TestComponent component = new TestComponent();
+        component.getSettings().set("damage", 4, 2);
+
+        assertEquals(8, component.parseValues(zombie, "damage", 3, 1));
+        assertEquals(1, component.parseValues(zombie, "missing", 3, 1));
+
+        component.getSettings().setBase("damage", 10);
+        assertEquals(14, component.parseValues(zombie, "damage", 3, 1));
+    }
+
+    @Test
+    void enumsAreMatchedLoosely() {
+        Settings settings = new Settings();
+        settings.set("cause", "Fire tick");
+        assertEquals(EntityDamageEvent.DamageCause.FIRE_TICK,
+                settings.getEnum("cause", EntityDamageEvent.DamageCause.class, EntityDamageEvent.DamageCause.CUSTOM));
+
+        settings.set("cause", "nonsense");
+        assertEquals(EntityDamageEvent.DamageCause.CUSTOM,
+                settings.getEnum("cause", EntityDamageEvent.DamageCause.class, EntityDamageEvent.DamageCause.CUSTOM));
+    }
+
+    private static class TestComponent extends EffectComponent {
+        @Override
+        public String getKey() {
+            return "test";
+        }
+
+        @Override
+        public ComponentType getType() {
+            return ComponentType.MECHANIC;
+        }
+
+        @Override
+        public boolean execute(LivingEntity caster, int level, List<LivingEntity> targets, boolean force) {
+            return false;
+        }
+    }
+}
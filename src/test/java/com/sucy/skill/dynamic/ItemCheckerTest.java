@@ -0,0 +1,65 @@
+package com.sucy.skill.dynamic;
+
+import com.sucy.skill.api.Settings;
+import com.sucy.skill.testutil.MockedTest;
+import org.bukkit.Material;
+import org.bukkit.inventory.ItemStack;
+import org.bukkit.inventory.meta.ItemMeta;
+import org.junit.jupiter.api.Test;
+
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+public class ItemCheckerTest extends MockedTest {
+
+    private static ItemStack item(Material material, String name, String... lore) {
+        ItemStack item = new ItemStack(material);
+        ItemMeta  meta = item.getItemMeta();
+        meta.setDisplayName(name);
+        meta.setLore(List.of(lore));
+        item.setItemMeta(meta);
+        return item;
+    }
+
+    @Test
+    void filterMatchesCompiledSettings() {
+        Settings settings = new Settings();
+        settings.set("material", "diamond sword");
+        settings.set("check-data", false);
+        settings.set("check-lore", true);
+        settings.set("lore", "Damage: \\d+");
+        settings.set("regex", true);
+
+        ItemChecker.Filter filter = ItemChecker.compile(settings);
+        assertTrue(filter.matches(item(Material.DIAMOND_SWORD, "Blade", "Damage: 12")));
+        assertFalse(filter.matches(item(Material.DIAMOND_SWORD, "Blade", "Damage: none")));
+        assertFalse(filter.matches(item(Material.IRON_SWORD, "Blade", "Damage: 12")));
+        assertFalse(filter.matches(null));
+    }
+
+    @Test
+    void filterIgnoresSettingsChangedAfterCompiling() {
+        Settings settings = new Settings();
+        settings.set("material", "stick");
+        settings.set("check-data", false);
+
+        ItemChecker.Filter filter = ItemChecker.compile(settings);
+        settings.set("material", "stone");
+        assertTrue(filter.matches(new ItemStack(Material.STICK)));
+        assertTrue(ItemChecker.compile(settings).matches(new ItemStack(Material.STONE)));
+    }
+
+    @Test
+    void invalidPatternNeverMatches() {
+        Settings settings = new Settings();
+        settings.set("material", "stick");
+        settings.set("check-data", false);
+        settings.set("check-name", true);
+        settings.set("name", "[unclosed");
+        settings.set("regex", true);
+
+        assertFalse(ItemChecker.compile(settings).matches(item(Material.STICK, "[unclosed")));
+        assertNull(ItemChecker.compileLorePattern("Damage: ({value}"));
+    }
+}
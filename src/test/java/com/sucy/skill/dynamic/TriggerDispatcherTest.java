@@ -0,0 +1,105 @@
+package com.sucy.skill.dynamic;
+
+import be.seeseemelk.mockbukkit.entity.PlayerMock;
+import com.sucy.skill.api.CastData;
+import com.sucy.skill.api.Settings;
+import com.sucy.skill.dynamic.trigger.Trigger;
+import com.sucy.skill.dynamic.trigger.TriggerComponent;
+import com.sucy.skill.testutil.MockedTest;
+import org.bukkit.entity.LivingEntity;
+import org.bukkit.event.player.PlayerToggleSneakEvent;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.Test;
+
+import java.util.ArrayList;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+
+public class TriggerDispatcherTest extends MockedTest {
+
+    @AfterEach
+    public void clearDispatchers() {
+        TriggerDispatcher.clear();
+    }
+
+    @Test
+    void onlyActiveHandlersAreDispatched() {
+        CountingTrigger      trigger = new CountingTrigger();
+        List<TriggerHandler> skills  = handlers(trigger, 50);
+        PlayerMock           caster  = genPlayer("Caster");
+        PlayerMock           other   = genPlayer("Other");
+
+        skills.get(3).init(caster, 2);
+        skills.get(7).init(caster, 5);
+        skills.get(9).init(other, 1);
+
+        TriggerDispatcher dispatcher = TriggerDispatcher.get(trigger);
+        dispatcher.dispatch(new PlayerToggleSneakEvent(caster, true), trigger);
+
+        assertEquals(2, trigger.calls);
+        assertEquals(List.of(2, 5), trigger.levels);
+        assertEquals(2, dispatcher.count(caster.getEntityId()));
+    }
+
+    @Test
+    void levelsAreUpdatedAndCleanedUp() {
+        CountingTrigger      trigger = new CountingTrigger();
+        List<TriggerHandler> skills  = handlers(trigger, 2);
+        PlayerMock           caster  = genPlayer("Caster");
+
+        skills.get(0).init(caster, 1);
+        skills.get(0).init(caster, 3);
+        skills.get(1).init(caster, 1);
+        skills.get(1).cleanup(caster);
+
+        TriggerDispatcher.get(trigger).dispatch(new PlayerToggleSneakEvent(caster, true), trigger);
+
+        assertEquals(List.of(3), trigger.levels);
+        skills.get(0).cleanup(caster);
+        assertEquals(0, TriggerDispatcher.get(trigger).count(caster.getEntityId()));
+    }
+
+    private static List<TriggerHandler> handlers(Trigger<?> trigger, int count) {
+        List<TriggerHandler> result = new ArrayList<>();
+        for (int i = 0; i < count; i++) {
+            result.add(new TriggerHandler(new DynamicSkill("Skill " + i), "Skill " + i, trigger, new TriggerComponent()));
+        }
+        return result;
+    }
+
+    private static class CountingTrigger implements Trigger<PlayerToggleSneakEvent> {
+        private final List<Integer> levels = new ArrayList<>();
+        private       int           calls;
+
+        @Override
+        public String getKey() {
+            return "COUNTING";
+        }
+
+        @Override
+        public Class<PlayerToggleSneakEvent> getEvent() {
+            return PlayerToggleSneakEvent.class;
+        }
+
+        @Override
+        public boolean shouldTrigger(PlayerToggleSneakEvent event, int level, Settings settings) {
+            calls++;
+            if (levels.size() < 100) levels.add(level);
+            return false;
+        }
+
+        @Override
+        public void setValues(PlayerToggleSneakEvent event, CastData data) {}
+
+        @Override
+        public LivingEntity getCaster(PlayerToggleSneakEvent event) {
+            return event.getPlayer();
+        }
+
+        @Override
+        public LivingEntity getTarget(PlayerToggleSneakEvent event, Settings settings) {
+            return event.getPlayer();
+        }
+    }
+}
@@ -0,0 +1,71 @@
+package com.sucy.skill.dynamic;
+
+import com.sucy.skill.dynamic.trigger.TriggerComponent;
+import com.sucy.skill.testutil.MockedTest;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.Test;
+
+import java.util.ArrayList;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+
+public class TriggerQueueTest extends MockedTest {
+
+    @AfterEach
+    public void clearQueue() {
+        TriggerQueue.clear();
+    }
+
+    @Test
+    void triggersRunTogetherOnDrain() {
+        List<Integer> ran = new ArrayList<>();
+        TriggerQueue.submit(() -> ran.add(1));
+        TriggerQueue.submit(() -> ran.add(2));
+        assertEquals(List.of(), ran);
+
+        assertEquals(2, TriggerQueue.drain());
+        assertEquals(List.of(1, 2), ran);
+    }
+
+    @Test
+    void triggersSubmittedWhileDrainingWaitForNextDrain() {
+        List<Integer> ran = new ArrayList<>();
+        Runnable[] resubmit = new Runnable[1];
+        resubmit[0] = () -> {
+            ran.add(ran.size());
+            TriggerQueue.submit(resubmit[0]);
+        };
+        TriggerQueue.submit(resubmit[0]);
+
+        assertEquals(1, TriggerQueue.drain());
+        assertEquals(List.of(0), ran);
+        assertEquals(1, TriggerQueue.size());
+
+        assertEquals(1, TriggerQueue.drain());
+        assertEquals(List.of(0, 1), ran);
+    }
+
+    @Test
+    void coalescedTriggersKeepLatestAndWaitForInterval() {
+        TriggerHandler handler = new TriggerHandler(new DynamicSkill("Mover"),
+                "Mover",
+                ComponentRegistry.getTrigger("MOVE"),
+                new TriggerComponent());
+        List<Integer> ran = new ArrayList<>();
+
+        TriggerQueue.submit(1, handler, 3, () -> ran.add(1));
+        TriggerQueue.submit(1, handler, 3, () -> ran.add(2));
+        TriggerQueue.submit(2, handler, 3, () -> ran.add(3));
+        TriggerQueue.drain();
+        assertEquals(List.of(2, 3), ran);
+
+        TriggerQueue.submit(1, handler, 3, () -> ran.add(4));
+        TriggerQueue.drain();
+        TriggerQueue.drain();
+        assertEquals(List.of(2, 3), ran);
+
+        TriggerQueue.drain();
+        assertEquals(List.of(2, 3, 4), ran);
+    }
+}
@@ -0,0 +1,86 @@
+package com.sucy.skill.dynamic.target;
+
+import be.seeseemelk.mockbukkit.entity.PlayerMock;
+import com.sucy.skill.testutil.MockedTest;
+import org.bukkit.Location;
+import org.bukkit.entity.LivingEntity;
+import org.bukkit.entity.Zombie;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+import java.util.AbstractList;
+import java.util.ArrayList;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+
+public class TargetComponentTest extends MockedTest {
+    private PlayerMock         caster;
+    private List<LivingEntity> zombies;
+
+    @BeforeEach
+    public void setup() {
+        caster = genPlayer("Caster");
+        zombies = new ArrayList<>();
+        for (int i = 0; i < 10; i++) {
+            zombies.add(world.spawn(new Location(world, i, 64, 0), Zombie.class));
+        }
+    }
+
+    @Test
+    void candidatesPastTheMaxAreNotChecked() {
+        TestTarget component = new TestTarget(3);
+        List<LivingEntity> targets = component.getTargets(caster, 1, List.of(caster));
+
+        assertEquals(zombies.subList(0, 3), targets);
+        assertEquals(3, component.candidates.reads);
+    }
+
+    @Test
+    void invalidCandidatesAreReplacedByLaterOnes() {
+        zombies.get(1).setInvulnerable(true);
+        zombies.get(2).setInvulnerable(true);
+
+        TestTarget component = new TestTarget(3);
+        List<LivingEntity> targets = component.getTargets(caster, 1, List.of(caster));
+
+        assertEquals(List.of(zombies.get(0), zombies.get(3), zombies.get(4)), targets);
+        assertEquals(5, component.candidates.reads);
+    }
+
+    private class TestTarget extends TargetComponent {
+        private final CountingList candidates = new CountingList();
+
+        private TestTarget(int max) {
+            everyone = true;
+            throughWall = true;
+            self = IncludeCaster.FALSE;
+            getSettings().set(MAX, max, 0);
+        }
+
+        @Override
+        public String getKey() {
+            return "test";
+        }
+
+        @Override
+        List<LivingEntity> getTargets(LivingEntity caster, int level, List<LivingEntity> targets) {
+            return determineTargets(caster, level, targets, t -> candidates);
+        }
+    }
+
+    private class CountingList extends AbstractList<LivingEntity> {
+        private int reads;
+
+        @Override
+        public LivingEntity get(int index) {
+            reads++;
+            return zombies.get(index);
+        }
+
+        @Override
+        public int size() {
+            return zombies.size();
+        }
+    }
+}
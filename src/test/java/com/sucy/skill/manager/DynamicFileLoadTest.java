@@ -0,0 +1,129 @@
+package com.sucy.skill.manager;
+
+import com.sucy.skill.testutil.MockedTest;
+import mc.promcteam.engine.mccore.config.CommentedConfig;
+import mc.promcteam.engine.mccore.config.parse.DataSection;
+import org.apache.commons.io.FileUtils;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+import java.io.File;
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.function.BiConsumer;
+import java.util.function.BiFunction;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+public class DynamicFileLoadTest extends MockedTest {
+    private static final String FOLDER = "dynamic" + File.separator + "loadtest";
+    private static final String DIR    = FOLDER + File.separator;
+
+    private final Map<String, List<String>> threads = new ConcurrentHashMap<>();
+
+    private RegistrationManager manager;
+    private File                root;
+
+    @BeforeEach
+    public void setup() {
+        manager = new RegistrationManager(plugin);
+        root = new File(plugin.getDataFolder(), FOLDER);
+        threads.clear();
+    }
+
+    @AfterEach
+    public void cleanup() throws IOException {
+        FileUtils.deleteDirectory(root);
+    }
+
+    private File write(String path, String name, String value) throws IOException {
+        File file = new File(root, path + ".yml");
+        file.getParentFile().mkdirs();
+        Files.write(file.toPath(), (name + ":\n  value: " + value + "\n").getBytes(StandardCharsets.UTF_8));
+        return file;
+    }
+
+    private final BiFunction<String, DataSection, String> loader = (name, section) -> {
+        threads.computeIfAbsent(name, k -> new ArrayList<>()).add(Thread.currentThread().getName());
+        return section.getString("value");
+    };
+
+    private final BiConsumer<String, DataSection> saver = (value, section) -> section.set("value", value);
+
+    @Test
+    void filesAreReturnedInPathOrder() throws IOException {
+        write("sub" + File.separator + "c", "c", "3");
+        write("b", "b", "2");
+        write("a", "a", "1");
+
+        List<RegistrationManager.LoadedFile<String>> files =
+                manager.loadFiles(FOLDER, DIR, loader, saver, new RegistrationManager.LoadStats());
+
+        List<String> names = new ArrayList<>();
+        files.forEach(file -> names.add(file.name));
+        assertEquals(List.of("a", "b", "c"), names);
+        assertEquals("1", files.get(0).value);
+        assertEquals("3", files.get(2).value);
+    }
+
+    @Test
+    void workerFailuresAreRetriedOnTheCallingThread() throws IOException {
+        write("flaky", "flaky", "1");
+        write("broken", "broken", "2");
+
+        BiFunction<String, DataSection, String> failing = (name, section) -> {
+            String value = loader.apply(name, section);
+            if (name.equals("broken") || Thread.currentThread().getName().startsWith("SkillAPI-Loader")) {
+                throw new IllegalStateException("Expected");
+            }
+            return value;
+        };
+        List<RegistrationManager.LoadedFile<String>> files =
+                manager.loadFiles(FOLDER, DIR, failing, saver, new RegistrationManager.LoadStats());
+
+        RegistrationManager.LoadedFile<String> broken = files.get(0);
+        RegistrationManager.LoadedFile<String> flaky  = files.get(1);
+        assertEquals("1", flaky.value);
+        assertNull(flaky.error);
+        assertNull(broken.value);
+        assertNotNull(broken.error);
+
+        String caller = Thread.currentThread().getName();
+        assertEquals(2, threads.get("flaky").size());
+        assertTrue(threads.get("flaky").get(0).startsWith("SkillAPI-Loader"));
+        assertEquals(caller, threads.get("flaky").get(1));
+    }
+
+    @Test
+    void unchangedFilesAreNotRewritten() throws IOException {
+        File same    = write("same", "same", "1");
+        File changed = write("changed", "changed", "2");
+        long old     = System.currentTimeMillis() - 60_000;
+        same.setLastModified(old);
+        changed.setLastModified(old);
+
+        BiConsumer<String, DataSection> filling = (value, section) -> {
+            saver.accept(value, section);
+            if (value.equals("2")) section.set("added", "default");
+        };
+        RegistrationManager.LoadStats                stats    = new RegistrationManager.LoadStats();
+        List<RegistrationManager.LoadedFile<String>> files    =
+                manager.loadFiles(FOLDER, DIR, loader, filling, stats);
+        CommentedConfig                              combined = new CommentedConfig(plugin, DIR + "combined");
+        files.forEach(file -> manager.store(file, combined, stats));
+
+        assertEquals(1, stats.rewritten);
+        assertEquals(old / 1000, same.lastModified() / 1000);
+        assertEquals("same:\n  value: 1\n", new String(Files.readAllBytes(same.toPath()), StandardCharsets.UTF_8));
+        assertTrue(new String(Files.readAllBytes(changed.toPath()), StandardCharsets.UTF_8).contains("added"));
+
+        assertTrue(combined.getConfig().has("same"));
+        assertTrue(combined.getConfig().has("changed"));
+    }
+}
@@ -0,0 +1,126 @@
+package com.sucy.skill.manager;
+
+import be.seeseemelk.mockbukkit.entity.PlayerMock;
+import com.sucy.skill.SkillAPI;
+import com.sucy.skill.api.player.PlayerAccounts;
+import com.sucy.skill.testutil.MockedTest;
+import org.junit.jupiter.api.Test;
+
+import java.util.Map;
+import java.util.UUID;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.atomic.AtomicReference;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+public class PlayerRegistryTest extends MockedTest {
+
+    @Test
+    void quitWhileLoadingDropsPlaceholder() {
+        PlayerMock player = genPlayer("Loading");
+        SkillAPI.unloadPlayerData(player, true);
+
+        SkillAPI.initFakeData(player);
+        UUID id = player.getUniqueId();
+        assertEquals(PlayerRegistry.State.LOADING, SkillAPI.getPlayerRegistry().getState(id));
+
+        // Quitting cancels the load and skips saving the placeholder
+        SkillAPI.unloadPlayerData(player, true);
+        assertFalse(SkillAPI.hasPlayerData(player));
+
+        // A load that finishes late doesn't register data for the player again
+        SkillAPI.reloadPlayerData(player);
+        assertFalse(SkillAPI.hasPlayerData(player));
+    }
+
+    @Test
+    void rejoinWhileUnloadingKeepsData() {
+        PlayerMock     player   = genPlayer("Rejoining");
+        PlayerAccounts accounts = SkillAPI.getPlayerAccountData(player);
+        UUID           id       = player.getUniqueId();
+        PlayerRegistry registry = SkillAPI.getPlayerRegistry();
+
+        registry.setState(id, PlayerRegistry.State.UNLOADING);
+        assertSame(accounts, SkillAPI.loadPlayerData(player));
+        assertEquals(PlayerRegistry.State.LOADED, registry.getState(id));
+
+        // The unload finishing afterwards leaves the rejoined player's data alone
+        assertFalse(registry.remove(id, PlayerRegistry.State.UNLOADING));
+        assertSame(accounts, registry.get(id));
+    }
+
+    @Test
+    void unloadWithoutRejoinRemovesData() {
+        PlayerMock player = genPlayer("Leaving");
+        SkillAPI.getPlayerAccountData(player);
+
+        SkillAPI.unloadPlayerData(player, true);
+        assertFalse(SkillAPI.hasPlayerData(player));
+        assertNull(SkillAPI.getPlayerRegistry().getState(player.getUniqueId()));
+    }
+
+    @Test
+    void concurrentRejoinAndUnloadAgree() throws InterruptedException {
+        PlayerMock     player   = genPlayer("Racing");
+        PlayerAccounts accounts = SkillAPI.getPlayerAccountData(player);
+        UUID           id       = player.getUniqueId();
+        PlayerRegistry registry = SkillAPI.getPlayerRegistry();
+
+        for (int i = 0; i < 500; i++) {
+            registry.put(accounts, PlayerRegistry.State.UNLOADING);
+
+            CountDownLatch                  start    = new CountDownLatch(1);
+            AtomicReference<PlayerAccounts> acquired = new AtomicReference<>();
+            Thread unloader = new Thread(() -> {
+                await(start);
+                registry.remove(id, PlayerRegistry.State.UNLOADING);
+            });
+            Thread rejoin = new Thread(() -> {
+                await(start);
+                acquired.set(registry.acquire(id));
+            });
+            unloader.start();
+            rejoin.start();
+            start.countDown();
+            unloader.join();
+            rejoin.join();
+
+            // Either the rejoin took the data back and it stays, or the unload won and it is gone
+            if (acquired.get() != null) {
+                assertSame(accounts, registry.get(id));
+                assertEquals(PlayerRegistry.State.LOADED, registry.getState(id));
+            } else {
+                assertFalse(registry.contains(id));
+            }
+        }
+        registry.put(accounts, PlayerRegistry.State.LOADED);
+    }
+
+    @Test
+    void accountDataViewIsLiveAndReadOnly() {
+        Map<String, PlayerAccounts> view = SkillAPI.getPlayerAccountData();
+
+        // Players loaded after the view was taken still show up in it
+        PlayerMock     player   = genPlayer("Viewed");
+        PlayerAccounts accounts = SkillAPI.getPlayerAccountData(player);
+        String         key      = player.getUniqueId().toString().toLowerCase();
+        assertSame(accounts, view.get(key));
+        assertTrue(view.containsKey(key));
+        assertTrue(view.containsValue(accounts));
+        assertNull(view.get("not a uuid"));
+
+        assertThrows(UnsupportedOperationException.class, () -> view.remove(key));
+        assertThrows(UnsupportedOperationException.class, () -> view.put(key, accounts));
+
+        SkillAPI.unloadPlayerData(player, true);
+        assertFalse(view.containsKey(key));
+    }
+
+    private static void await(CountDownLatch latch) {
+        try {
+            latch.await();
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+        }
+    }
+}
@@ -0,0 +1,108 @@
+package com.sucy.skill.manager;
+
+import com.sucy.skill.SkillAPI;
+import com.sucy.skill.api.skills.Skill;
+import com.sucy.skill.dynamic.DynamicSkill;
+import com.sucy.skill.testutil.MockedTest;
+import com.sucy.skill.thread.SyncQueue;
+import mc.promcteam.engine.mccore.config.CommentedConfig;
+import mc.promcteam.engine.mccore.config.parse.DataSection;
+import org.bukkit.Location;
+import org.bukkit.entity.Zombie;
+import org.junit.jupiter.api.Test;
+
+import java.io.File;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+public class RegistrationManagerTest extends MockedTest {
+    private static final String SKILL_DIR = "dynamic" + File.separator + "skill" + File.separator;
+
+    @Override
+    public void preInit() {
+        loadSkills("Brilliance Strike");
+    }
+
+    @Test
+    void touchedFilesAreNotReloaded() {
+        assertEquals(0, SkillAPI.reloadChanged());
+
+        CommentedConfig config = SkillAPI.getConfig(SKILL_DIR + "Brilliance Strike");
+        config.getConfigFile().setLastModified(System.currentTimeMillis() + 10_000);
+        assertEquals(0, SkillAPI.reloadChanged());
+    }
+
+    @Test
+    void editedSkillIsSwappedIn() {
+        Skill before = SkillAPI.getSkill("Brilliance Strike");
+
+        CommentedConfig config = SkillAPI.getConfig(SKILL_DIR + "Brilliance Strike");
+        config.getConfig().getSection("Brilliance Strike").set("max-level", 15);
+        config.save();
+
+        assertEquals(1, SkillAPI.reloadChanged());
+        Skill after = SkillAPI.getSkill("Brilliance Strike");
+        assertNotSame(before, after);
+        assertEquals(15, after.getMaxLevel());
+        assertEquals(0, SkillAPI.reloadChanged());
+    }
+
+    @Test
+    void newSkillFilesAreRegistered() {
+        DataSection data = SkillAPI.getConfig(SKILL_DIR + "Brilliance Strike")
+                .getConfig()
+                .getSection("Brilliance Strike");
+        data.set("name", "Hot Strike");
+
+        CommentedConfig config = SkillAPI.getConfig(SKILL_DIR + "Hot Strike");
+        config.getConfig().set("Hot Strike", data);
+        config.save();
+
+        assertEquals(1, SkillAPI.reloadChanged());
+        assertNotNull(SkillAPI.getSkill("Hot Strike"));
+        assertNotNull(SkillAPI.getSkill("Brilliance Strike"));
+
+        config.getConfigFile().delete();
+    }
+
+    @Test
+    void asyncReloadSwapsOnTheServerThread() throws InterruptedException {
+        Skill before = SkillAPI.getSkill("Brilliance Strike");
+        editMaxLevel(20);
+
+        SkillAPI.reloadChangedAsync();
+        long timeout = System.currentTimeMillis() + 10_000;
+        // The swap only happens once the server thread drains the queue, like the tick would
+        while (SkillAPI.getSkill("Brilliance Strike") == before && System.currentTimeMillis() < timeout) {
+            Thread.sleep(10);
+            SyncQueue.drain(Long.MAX_VALUE);
+        }
+
+        Skill after = SkillAPI.getSkill("Brilliance Strike");
+        assertNotSame(before, after);
+        assertEquals(20, after.getMaxLevel());
+    }
+
+    @Test
+    void passivesRestartForNonPlayerCasters() {
+        DynamicSkill before = (DynamicSkill) SkillAPI.getSkill("Brilliance Strike");
+        Zombie       zombie = world.spawn(new Location(world, 0, 64, 0), Zombie.class);
+        before.initialize(zombie, 2);
+        editMaxLevel(25);
+
+        assertEquals(1, SkillAPI.reloadChanged());
+        DynamicSkill after = (DynamicSkill) SkillAPI.getSkill("Brilliance Strike");
+        assertFalse(before.isActive(zombie));
+        assertTrue(after.isActive(zombie));
+        assertEquals(2, after.getActiveLevel(zombie));
+
+        after.stopEffects(zombie, 2);
+        zombie.remove();
+    }
+
+    private void editMaxLevel(int maxLevel) {
+        CommentedConfig config = SkillAPI.getConfig(SKILL_DIR + "Brilliance Strike");
+        config.getConfig().getSection("Brilliance Strike").set("max-level", maxLevel);
+        config.save();
+    }
+}
@@ -0,0 +1,60 @@
+package com.sucy.skill.task;
+
+import com.sucy.skill.testutil.MockedTest;
+import com.sucy.skill.thread.MainThread;
+import com.sucy.skill.thread.TaskTimings;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+import java.util.ArrayList;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+public class ServerTickTaskTest extends MockedTest {
+    private final List<String> ran = new ArrayList<>();
+
+    @BeforeEach
+    public void resetTimings() {
+        ran.clear();
+        MainThread.getTimings().reset();
+    }
+
+    @Test
+    void stepsRunInOrderAtTheirPeriod() {
+        ServerTickTask task = new ServerTickTask();
+        task.add("first", () -> ran.add("first"));
+        task.add("second", () -> ran.add("second"));
+        task.add("third", () -> ran.add("third"), 3);
+
+        for (int i = 0; i < 3; i++) {
+            task.run();
+        }
+        assertEquals(List.of("first", "second", "first", "second", "first", "second", "third"), ran);
+    }
+
+    @Test
+    void failingStepDoesNotStopTheTick() {
+        ServerTickTask task = new ServerTickTask();
+        task.add("failing", () -> {
+            throw new IllegalStateException("Expected");
+        });
+        task.add("first", () -> ran.add("first"));
+
+        task.run();
+        task.run();
+        assertEquals(List.of("first", "first"), ran);
+
+        TaskTimings.Stats failing = stats("failing");
+        assertEquals(2, failing.getRuns());
+        assertEquals(2, failing.getErrors());
+        assertEquals(2, stats("first").getRuns());
+    }
+
+    private static TaskTimings.Stats stats(String name) {
+        for (TaskTimings.Stats stats : MainThread.getTimings().getStats()) {
+            if (stats.getName().equals(name)) return stats;
+        }
+        return fail("No timings recorded for " + name);
+    }
+}
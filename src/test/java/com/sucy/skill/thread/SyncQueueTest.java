@@ -0,0 +1,155 @@
+package com.sucy.skill.thread;
+
+import com.sucy.skill.testutil.MockedTest;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.atomic.AtomicBoolean;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+public class SyncQueueTest extends MockedTest {
+    private static final int PRODUCERS = 4;
+    private static final int CHANGES   = 2000;
+
+    @BeforeEach
+    void clear() {
+        SyncQueue.clear();
+        MainThread.getTimings().reset();
+    }
+
+    @Test
+    void changesFromEachProducerApplyInOrder() throws InterruptedException {
+        List<List<Integer>> applied = new ArrayList<>();
+        for (int i = 0; i < PRODUCERS; i++) {
+            applied.add(new ArrayList<>());
+        }
+
+        // Drains while the producers are still submitting, like the server thread would
+        AtomicBoolean running = new AtomicBoolean(true);
+        List<Thread>  threads = startProducers((producer, seq) ->
+                SyncQueue.submit(() -> applied.get(producer).add(seq)), running);
+        while (running.get()) {
+            SyncQueue.drain(Long.MAX_VALUE);
+        }
+        join(threads);
+        SyncQueue.drain(Long.MAX_VALUE);
+
+        assertEquals(0, SyncQueue.size());
+        for (List<Integer> list : applied) {
+            assertEquals(CHANGES, list.size());
+            for (int i = 0; i < CHANGES; i++) {
+                assertEquals(i, list.get(i));
+            }
+        }
+    }
+
+    @Test
+    void keyedChangesCoalesceToTheLatest() throws InterruptedException {
+        Map<Integer, List<Integer>> applied = new HashMap<>();
+
+        AtomicBoolean running = new AtomicBoolean(true);
+        List<Thread>  threads = startProducers((producer, seq) ->
+                SyncQueue.submit(new SyncQueue.Key(SyncQueueTest.class, producer),
+                        () -> applied.computeIfAbsent(producer, k -> new ArrayList<>()).add(seq)), running);
+        while (running.get()) {
+            SyncQueue.drain(Long.MAX_VALUE);
+        }
+        join(threads);
+
+        // At most one change per key can still be waiting
+        assertTrue(SyncQueue.size() <= PRODUCERS);
+        SyncQueue.drain(Long.MAX_VALUE);
+        assertEquals(0, SyncQueue.size());
+
+        for (int i = 0; i < PRODUCERS; i++) {
+            List<Integer> list = applied.get(i);
+            assertNotNull(list);
+            assertEquals(CHANGES - 1, list.get(list.size() - 1));
+            for (int j = 1; j < list.size(); j++) {
+                assertTrue(list.get(j - 1) < list.get(j), "Applied an outdated change");
+            }
+        }
+    }
+
+    @Test
+    void leftoverChangesCarryOverToTheNextDrain() {
+        List<Integer> applied = new ArrayList<>();
+        for (int i = 0; i < 10; i++) {
+            int seq = i;
+            SyncQueue.submit(() -> applied.add(seq));
+        }
+
+        // A spent budget still applies one change so the queue always makes progress
+        assertEquals(1, SyncQueue.drain(0));
+        assertEquals(List.of(0), applied);
+        assertEquals(9, SyncQueue.size());
+
+        assertEquals(9, SyncQueue.drain(Long.MAX_VALUE));
+        assertEquals(List.of(0, 1, 2, 3, 4, 5, 6, 7, 8, 9), applied);
+    }
+
+    @Test
+    void failingChangesAreCountedPerType() {
+        List<Integer> applied = new ArrayList<>();
+        for (int i = 0; i < 3; i++) {
+            int seq = i;
+            SyncQueue.submit(new SyncQueue.Key(SyncQueueTest.class, i), () -> {
+                throw new IllegalStateException("Expected " + seq);
+            });
+            SyncQueue.submit(() -> applied.add(seq));
+        }
+
+        // Failures don't stop the rest of the queue from being applied
+        assertEquals(6, SyncQueue.drain(Long.MAX_VALUE));
+        assertEquals(List.of(0, 1, 2), applied);
+
+        TaskTimings.Stats failing = null;
+        for (TaskTimings.Stats stats : MainThread.getTimings().getStats()) {
+            if (stats.getName().equals("sync: SyncQueueTest")) failing = stats;
+        }
+        assertNotNull(failing);
+        assertEquals(3, failing.getErrors());
+    }
+
+    private interface Producer {
+        void submit(int producer, int seq);
+    }
+
+    private static List<Thread> startProducers(Producer producer, AtomicBoolean running) {
+        CountDownLatch start = new CountDownLatch(1);
+        CountDownLatch done  = new CountDownLatch(PRODUCERS);
+        List<Thread>   list  = new ArrayList<>();
+        for (int i = 0; i < PRODUCERS; i++) {
+            int id = i;
+            Thread thread = new Thread(() -> {
+                try {
+                    start.await();
+                    for (int seq = 0; seq < CHANGES; seq++) {
+                        producer.submit(id, seq);
+                    }
+                } catch (InterruptedException e) {
+                    Thread.currentThread().interrupt();
+                } finally {
+                    done.countDown();
+                    if (done.getCount() == 0) running.set(false);
+                }
+            });
+            thread.start();
+            list.add(thread);
+        }
+        start.countDown();
+        return list;
+    }
+
+    private static void join(List<Thread> threads) throws InterruptedException {
+        for (Thread thread : threads) {
+            thread.join();
+        }
+    }
+}
@@ -0,0 +1,124 @@
+package com.sucy.skill.thread;
+
+import org.junit.jupiter.api.Test;
+
+import java.util.ArrayList;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+public class TimingWheelTest {
+
+    @Test
+    void tasksAreDueExactlyAfterTheirDelay() {
+        TimingWheel<IThreadTask> wheel  = new TimingWheel<>();
+        long[]                   delays = {1, 2, 63, 64, 65, 100, 4095, 4096, 4097, 70000, 300000};
+        for (long delay : delays) {
+            wheel.schedule(new TimingWheel.Node<>(new Counter()), delay);
+        }
+        assertEquals(delays.length, wheel.size());
+
+        List<Long> dueAt = new ArrayList<>();
+        while (wheel.size() > 0) {
+            TimingWheel.Node<IThreadTask> node = wheel.advance();
+            while (node != null) {
+                assertEquals(wheel.getTick(), node.deadline);
+                dueAt.add(wheel.getTick());
+                node = node.getNext();
+            }
+        }
+
+        List<Long> expected = new ArrayList<>();
+        for (long delay : delays) {
+            expected.add(delay);
+        }
+        assertEquals(expected, dueAt);
+    }
+
+    @Test
+    void delaysAfterAdvancingAreRelativeToTheCurrentTick() {
+        TimingWheel<IThreadTask> wheel = new TimingWheel<>();
+        for (int i = 0; i < 1000; i++) {
+            assertNull(wheel.advance());
+        }
+
+        wheel.schedule(new TimingWheel.Node<>(new Counter()), 5000);
+        TimingWheel.Node<IThreadTask> due = null;
+        while (due == null) {
+            due = wheel.advance();
+        }
+        assertEquals(6000, wheel.getTick());
+        assertNull(due.getNext());
+    }
+
+    @Test
+    void repeatingTaskKeepsItsInterval() {
+        TimingWheel<IThreadTask>      wheel = new TimingWheel<>();
+        Counter                       task  = new Counter();
+        TimingWheel.Node<IThreadTask> node  = new TimingWheel.Node<>(task);
+        wheel.schedule(node, 3);
+
+        List<Long> runs = new ArrayList<>();
+        for (int i = 0; i < 400; i++) {
+            TimingWheel.Node<IThreadTask> due = wheel.advance();
+            if (due != null) {
+                runs.add(wheel.getTick());
+                wheel.schedule(due, 97);
+            }
+        }
+        assertEquals(List.of(3L, 100L, 197L, 294L, 391L), runs);
+    }
+
+    @Test
+    void drainRemovesEverything() {
+        TimingWheel<IThreadTask> wheel = new TimingWheel<>();
+        for (int i = 1; i <= 200; i++) {
+            wheel.schedule(new TimingWheel.Node<>(new Counter()), i * 37L);
+        }
+
+        List<IThreadTask> drained = new ArrayList<>();
+        wheel.drain(drained::add);
+        assertEquals(200, drained.size());
+        assertEquals(0, wheel.size());
+        for (int i = 0; i < 10000; i++) {
+            assertNull(wheel.advance());
+        }
+    }
+
+    @Test
+    void cancelledTasksAreNeverDue() {
+        TimingWheel<IThreadTask>      wheel = new TimingWheel<>();
+        TimingWheel.Node<IThreadTask> kept  = new TimingWheel.Node<>(new Counter());
+        TimingWheel.Node<IThreadTask> near  = new TimingWheel.Node<>(new Counter());
+        TimingWheel.Node<IThreadTask> far   = new TimingWheel.Node<>(new Counter());
+        wheel.schedule(near, 10);
+        wheel.schedule(kept, 10);
+        wheel.schedule(far, 5000);
+        wheel.cancel(near);
+        wheel.cancel(far);
+        wheel.cancel(far);
+        assertEquals(1, wheel.size());
+
+        List<TimingWheel.Node<IThreadTask>> due = new ArrayList<>();
+        for (int i = 0; i < 6000; i++) {
+            TimingWheel.Node<IThreadTask> node = wheel.advance();
+            while (node != null) {
+                due.add(node);
+                node = node.getNext();
+            }
+        }
+        assertEquals(List.of(kept), due);
+        assertEquals(0, wheel.size());
+    }
+
+    private static class Counter implements IThreadTask {
+        @Override
+        public boolean tick() {
+            return true;
+        }
+
+        @Override
+        public void run() {
+        }
+    }
+}